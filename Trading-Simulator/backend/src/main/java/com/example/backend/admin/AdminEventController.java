@@ -3,6 +3,8 @@ package com.example.backend.admin;
 
 import com.example.backend.adminEvent.AdminEvent;
 import com.example.backend.adminEvent.AdminEventService;
+import com.example.backend.eventlog.EventStatisticDTO;
+import com.example.backend.eventlog.StatisticGranularity;
 import com.example.backend.exceptions.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,10 +16,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -65,6 +69,20 @@ public class AdminEventController {
         return ResponseEntity.ok(events);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats/timeline")
+    @Operation(summary = "Get admin event timeline", description = "Retrieve the number of admin events per event type and hour or day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Admin event timeline retrieved successfully")
+    })
+    public ResponseEntity<List<EventStatisticDTO>> getEventTimeline(
+            @Parameter(description = "Length of the time buckets") @RequestParam(defaultValue = "HOUR") StatisticGranularity granularity,
+            @Parameter(description = "Start of the range, defaults to 24 hours or 30 days before its end") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range, defaults to now") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<EventStatisticDTO> timeline = adminEventService.getEventTimeline(granularity, from, to);
+        return ResponseEntity.ok(timeline);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/latest")
     @Operation(summary = "Get the latest admin events", description = "Retrieve the latest admin events, with a configurable limit")
@@ -1,5 +1,7 @@
 package com.example.backend.admin;
 
+import com.example.backend.eventlog.EventStatisticDTO;
+import com.example.backend.eventlog.StatisticGranularity;
 import com.example.backend.exceptions.ErrorResponse;
 import com.example.backend.userEvent.UserEvent;
 import com.example.backend.userEvent.UserEventService;
@@ -13,10 +15,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -63,6 +67,20 @@ public class UserEventController {
         return ResponseEntity.ok(events);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats/timeline")
+    @Operation(summary = "Get user event timeline", description = "Retrieve the number of user events per event type and hour or day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User event timeline retrieved successfully")
+    })
+    public ResponseEntity<List<EventStatisticDTO>> getEventTimeline(
+            @Parameter(description = "Length of the time buckets") @RequestParam(defaultValue = "HOUR") StatisticGranularity granularity,
+            @Parameter(description = "Start of the range, defaults to 24 hours or 30 days before its end") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range, defaults to now") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<EventStatisticDTO> timeline = userEventService.getEventTimeline(granularity, from, to);
+        return ResponseEntity.ok(timeline);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/latest")
     @Operation(summary = "Get the latest user events", description = "Retrieve the latest user events, with a configurable limit")
@@ -1,5 +1,9 @@
 package com.example.backend.adminEvent;
 
+import com.example.backend.eventlog.EventStatisticDTO;
+import com.example.backend.eventlog.EventStatisticsStore;
+import com.example.backend.eventlog.QueuedEvent.EventTable;
+import com.example.backend.eventlog.StatisticGranularity;
 import com.example.backend.exceptions.EventNotFoundException;
 import com.example.backend.userEvent.UserEvent;
 import lombok.AllArgsConstructor;
@@ -9,16 +13,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class AdminEventService {
 
     private final AdminEventRepository adminEventRepository;
+    private final EventStatisticsStore eventStatisticsStore;
 
     public AdminEvent getEventById(Long id) {
         return adminEventRepository.findById(id)
@@ -30,12 +36,13 @@ public class AdminEventService {
     }
 
     public Map<String, Long> getEventStatistics() {
-        List<AdminEvent> events = adminEventRepository.findAll();
-        return events.stream()
-                .collect(Collectors.groupingBy(
-                        event -> event.getEventType().name(),
-                        Collectors.counting()
-                ));
+        return eventStatisticsStore.totals(EventTable.ADMIN_EVENT);
+    }
+
+    public List<EventStatisticDTO> getEventTimeline(StatisticGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(granularity.defaultRange());
+        return eventStatisticsStore.timeline(EventTable.ADMIN_EVENT, granularity, start, end);
     }
 
     public List<AdminEvent> getLatestEvents(int limit) {
@@ -43,9 +50,11 @@ public class AdminEventService {
         return adminEventRepository.findAll(pageable).getContent();
     }
 
+    @Transactional
     public void deleteEventById(long id) {
         AdminEvent adminEvent = adminEventRepository.findById(id)
                 .orElseThrow(() -> new EventNotFoundException("Event with id: " + id + " not found"));
         adminEventRepository.delete(adminEvent);
+        eventStatisticsStore.remove(EventTable.ADMIN_EVENT, adminEvent.getEventType() == null ? null : adminEvent.getEventType().name(), adminEvent.getEventTime());
     }
 }
@@ -1,7 +1,7 @@
 package com.example.backend.adminEvent;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.backend.eventlog.EventLogWriter;
+import com.example.backend.eventlog.QueuedEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,33 +12,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AdminEventTrackingService {
 
-    private final AdminEventRepository adminEventRepository;
-    private final ObjectMapper objectMapper;
+    private final EventLogWriter eventLogWriter;
 
     public void logEvent(String adminEmail, AdminEvent.EventType eventType, Map<String, Object> details) {
-        try {
-            String detailsJson = convertMapToJson(details);
-            AdminEvent event = AdminEvent.builder()
-                    .adminEmail(adminEmail)
-                    .eventType(eventType)
-                    .eventTime(LocalDateTime.now())
-                    .details(detailsJson)
-                    .build();
-            adminEventRepository.save(event);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private String convertMapToJson(Map<String, Object> map) {
-        if (map == null) {
-            return  null;
-        }
-        try {
-            return objectMapper.writeValueAsString(map);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
+        eventLogWriter.log(new QueuedEvent(QueuedEvent.EventTable.ADMIN_EVENT, adminEmail, eventType.name(),
+                LocalDateTime.now(), details));
     }
 
     public void logEvent(String adminEmail, AdminEvent.EventType eventType) {
@@ -1,14 +1,16 @@
 package com.example.backend.alert;
 
 import com.example.backend.alert.global.GlobalAlert;
+import com.example.backend.alert.global.GlobalAlertFanout;
 import com.example.backend.alert.global.GlobalAlertRepository;
 import com.example.backend.alert.mail.EmailAlert;
 import com.example.backend.alert.mail.EmailAlertRepository;
 import com.example.backend.currency.Currency;
+import com.example.backend.currency.LivePriceBook;
+import com.example.backend.currency.PriceSnapshot;
 import com.example.backend.exceptions.EmailSendingException;
 import com.example.backend.user.User;
 import com.example.backend.mailVerification.VerificationService;
-import com.example.backend.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +23,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
@@ -33,10 +36,11 @@ public class ScheduledAlertChecker {
     private static final Logger logger = LoggerFactory.getLogger(ScheduledAlertChecker.class);
     private final EmailAlertRepository emailAlertRepository;
     private final VerificationService verificationService;
-    private final TradeAlertRepository tradeAlertRepository;
-    private final UserRepository userRepository;
-    private final TradeAlertService tradeAlertService;
     private final GlobalAlertRepository globalAlertRepository;
+    private final GlobalAlertFanout globalAlertFanout;
+    private final LivePriceBook livePriceBook;
+    private final TradeAlertIndex tradeAlertIndex;
+    private final TradeAlertTrigger tradeAlertTrigger;
 
     /**
      * Checks all types of alerts at a fixed rate.
@@ -59,7 +63,7 @@ public class ScheduledAlertChecker {
 
         for (EmailAlert emailAlert : activeEmailAlerts) {
             Currency currency = emailAlert.getCurrency();
-            BigDecimal currentPrice = currency.getCurrentPrice();
+            BigDecimal currentPrice = currentPrice(currency);
 
             if (currentPrice == null) {
                 continue;
@@ -118,72 +122,32 @@ public class ScheduledAlertChecker {
     }
 
     /**
-     * Checks trade alerts and executes trades if conditions are met.
+     * Catches trade alerts that no price change has crossed since they were indexed, e.g. alerts created with a
+     * condition the current price already meets or put back after a failed execution. Alerts are normally
+     * executed on the price change itself by {@link TradeAlertTrigger}.
      */
-    @Transactional
     public void checkTradeAlerts() {
-        List<TradeAlert> activeTradeAlerts = tradeAlertRepository.findByActiveTrue();
-
-        for (TradeAlert tradeAlert : activeTradeAlerts) {
-            Currency currency = tradeAlert.getCurrency();
-            BigDecimal currentPrice = currency.getCurrentPrice();
-
-            if (currentPrice == null) {
-                continue;
-            }
-
-            boolean shouldTrigger = isShouldTrigger(tradeAlert, currentPrice);
-
-            if (shouldTrigger) {
-                try {
-                    if (tradeAlert.getTradeAlertType() == TradeAlertType.BUY) {
-                        tradeAlertService.executeBuyFromReserved(tradeAlert);
-                    } else {
-                        tradeAlertService.executeSell(tradeAlert);
-                    }
-                    tradeAlert.setActive(false);
-                    tradeAlertRepository.save(tradeAlert);
-                } catch (Exception e) {
-                    logger.error("Failed to execute trade alert {}: {}", tradeAlert.getTradeAlertid(), e.getMessage());
-                    continue;
-                }
-            }
+        for (Integer currencyId : tradeAlertIndex.getCurrencyIds()) {
+            livePriceBook.find(currencyId)
+                    .filter(snapshot -> !livePriceBook.isStale(snapshot))
+                    .ifPresent(snapshot -> tradeAlertTrigger.trigger(currencyId, snapshot.getPrice()));
         }
     }
 
-    private static boolean isShouldTrigger(TradeAlert tradeAlert, BigDecimal currentPrice) {
-        boolean shouldTrigger = false;
-        BigDecimal conditionPrice = tradeAlert.getConditionPrice();
-        OrderType orderType = tradeAlert.getOrderType();
-
-        if (orderType == OrderType.LIMIT) {
-            if (tradeAlert.getTradeAlertType() == TradeAlertType.BUY) {
-                if (currentPrice.compareTo(conditionPrice) <= 0) {
-                    shouldTrigger = true;
-                }
-            } else if (tradeAlert.getTradeAlertType() == TradeAlertType.SELL) {
-                if (currentPrice.compareTo(conditionPrice) >= 0) {
-                    shouldTrigger = true;
-                }
-            }
-        } else if (orderType == OrderType.STOP) {
-            if (tradeAlert.getTradeAlertType() == TradeAlertType.BUY) {
-                if (currentPrice.compareTo(conditionPrice) >= 0) {
-                    shouldTrigger = true;
-                }
-            } else if (tradeAlert.getTradeAlertType() == TradeAlertType.SELL) {
-                if (currentPrice.compareTo(conditionPrice) <= 0) {
-                    shouldTrigger = true;
-                }
-            }
+    /**
+     * Returns the live price of the currency, or null when the known price is too old to act on.
+     */
+    private BigDecimal currentPrice(Currency currency) {
+        Optional<PriceSnapshot> snapshot = livePriceBook.find(currency.getCurrencyid());
+        if (snapshot.isEmpty()) {
+            return currency.getCurrentPrice();
         }
-        return shouldTrigger;
+        return livePriceBook.isStale(snapshot.get()) ? null : snapshot.get().getPrice();
     }
 
     /**
-     * Checks global alerts and sends notifications if scheduled time is reached.
+     * Checks global alerts and queues them for all users if scheduled time is reached.
      */
-    @Transactional
     @Operation(summary = "Check global alerts", description = "Checks global alerts and sends notifications if scheduled time is reached")
     public void checkGlobalAlerts() {
         List<GlobalAlert> activeGlobalAlerts = globalAlertRepository.findAllByActiveTrue();
@@ -193,19 +157,11 @@ public class ScheduledAlertChecker {
                 continue;
             }
 
-            List<User> users = userRepository.findAll();
-
-            for (User user : users) {
-                try {
-                    verificationService.sendGlobalAlertEmail(user, globalAlert);
-                    logger.info("Global alert sent to user {}.", user.getEmail());
-                } catch (Exception e) {
-                    logger.error("Failed to send global alert email to user {}: {}", user.getEmail(), e.getMessage());
-                }
+            try {
+                globalAlertFanout.fanOut(globalAlert);
+            } catch (Exception e) {
+                logger.error("Failed to queue global alert {}: {}", globalAlert.getGlobalAlertid(), e.getMessage());
             }
-
-            globalAlert.setActive(false);
-            globalAlertRepository.save(globalAlert);
         }
     }
 }
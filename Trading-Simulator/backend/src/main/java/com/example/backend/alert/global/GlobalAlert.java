@@ -34,4 +34,7 @@ public class GlobalAlert {
     @Column(nullable = false)
     @Schema(description = "Indicates whether the alert is active", example = "true")
     private boolean active;
+
+    @Schema(description = "Id of the last user the alert was queued for; sending resumes after it", example = "1500")
+    private Integer lastNotifiedUserId;
 }
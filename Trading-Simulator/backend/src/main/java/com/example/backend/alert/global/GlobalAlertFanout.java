@@ -0,0 +1,87 @@
+package com.example.backend.alert.global;
+
+import com.example.backend.mailVerification.GlobalAlertEmailTemplate;
+import com.example.backend.mailVerification.VerificationService;
+import com.example.backend.user.UserRecipientProjection;
+import com.example.backend.user.UserRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Queues a global alert for every user. Users are read in chunks ordered by id, starting after the id stored on the
+ * alert; each chunk is written to the email outbox in the same transaction that moves the stored id forward, so a
+ * fan-out that is interrupted resumes after the last queued chunk without queueing anyone twice. The outbox
+ * dispatcher sends the emails at its configured rate.
+ */
+@Component
+@Tag(name = "Global Alert Fanout", description = "Queues global alert emails for all users in chunks")
+public class GlobalAlertFanout {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalAlertFanout.class);
+
+    private final GlobalAlertRepository globalAlertRepository;
+    private final UserRepository userRepository;
+    private final VerificationService verificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public GlobalAlertFanout(GlobalAlertRepository globalAlertRepository,
+                             UserRepository userRepository,
+                             VerificationService verificationService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${alerts.global.chunk-size:500}") int chunkSize) {
+        this.globalAlertRepository = globalAlertRepository;
+        this.userRepository = userRepository;
+        this.verificationService = verificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Queues the alert for the users it has not been queued for yet and deactivates it once all users are done.
+     */
+    @Operation(summary = "Fan out global alert", description = "Queues the global alert email for every user")
+    public void fanOut(GlobalAlert globalAlert) {
+        GlobalAlertEmailTemplate template = GlobalAlertEmailTemplate.render(globalAlert);
+        int queued = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> queueNextChunk(globalAlert.getGlobalAlertid(), template));
+            queued += chunk;
+        } while (chunk == chunkSize);
+        logger.info("Global alert {} queued for {} users", globalAlert.getGlobalAlertid(), queued);
+    }
+
+    /**
+     * Queues the users after the stored id and stores the last one. Returns the number of users queued; a short
+     * chunk means the alert is done and it is deactivated.
+     */
+    private int queueNextChunk(Integer globalAlertId, GlobalAlertEmailTemplate template) {
+        GlobalAlert globalAlert = globalAlertRepository.findById(globalAlertId).orElse(null);
+        if (globalAlert == null || !globalAlert.isActive()) {
+            return 0;
+        }
+        Integer after = globalAlert.getLastNotifiedUserId() != null ? globalAlert.getLastNotifiedUserId() : 0;
+        List<UserRecipientProjection> recipients =
+                userRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, chunkSize));
+
+        if (!recipients.isEmpty()) {
+            verificationService.enqueueGlobalAlertEmails(template, recipients);
+            globalAlert.setLastNotifiedUserId(recipients.get(recipients.size() - 1).getId());
+        }
+        if (recipients.size() < chunkSize) {
+            globalAlert.setActive(false);
+        }
+        globalAlertRepository.save(globalAlert);
+        return recipients.size();
+    }
+}
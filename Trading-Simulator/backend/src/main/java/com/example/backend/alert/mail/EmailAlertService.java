@@ -5,6 +5,7 @@ import com.example.backend.userEvent.UserEvent;
 import com.example.backend.auth.AuthenticationService;
 import com.example.backend.currency.Currency;
 import com.example.backend.currency.CurrencyRepository;
+import com.example.backend.currency.LivePriceBook;
 import com.example.backend.exceptions.*;
 import com.example.backend.user.User;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ public class EmailAlertService {
     private final CurrencyRepository currencyRepository;
     private final AuthenticationService authenticationService;
     private final UserEventTrackingService userEventTrackingService;
+    private final LivePriceBook livePriceBook;
 
     @Transactional
     public EmailAlertResponse createAlert(CreateEmailAlertRequest request) {
@@ -45,7 +47,8 @@ public class EmailAlertService {
             throw new UnsupportedAlertTypeException("Unsupported alert type");
         }
 
-        BigDecimal currentPrice = currency.getCurrentPrice();
+        BigDecimal currentPrice = livePriceBook.findPrice(currency.getCurrencyid())
+                .orElseGet(currency::getCurrentPrice);
         if (currentPrice == null) {
             throw new PriceNotAvailableException("Current price is not available for the selected currency");
         }
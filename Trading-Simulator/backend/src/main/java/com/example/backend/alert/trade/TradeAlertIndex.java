@@ -0,0 +1,185 @@
+package com.example.backend.alert.trade;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Active trade alerts per currency, ordered by condition price. Alerts that trigger when the price falls to their
+ * condition (LIMIT BUY, STOP SELL) are kept highest price first, alerts that trigger when it rises to it (LIMIT SELL,
+ * STOP BUY) lowest first, so a price only walks the head of each book and pops the alerts it crosses.
+ * <p>
+ * The index only holds alert ids. Popped alerts are loaded and checked again before they are executed, so an alert
+ * that is indexed but was rolled back or deactivated elsewhere is harmless.
+ */
+@Component
+@Tag(name = "Trade Alert Index", description = "Active trade alerts per currency ordered by trigger price")
+public class TradeAlertIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeAlertIndex.class);
+
+    private final TradeAlertRepository tradeAlertRepository;
+    private final Map<Integer, TriggerBook> books = new ConcurrentHashMap<>();
+
+    public TradeAlertIndex(TradeAlertRepository tradeAlertRepository) {
+        this.tradeAlertRepository = tradeAlertRepository;
+    }
+
+    /**
+     * Replaces the index with the active alerts stored in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<TradeAlert> activeTradeAlerts = tradeAlertRepository.findByActiveTrue();
+        books.clear();
+        activeTradeAlerts.forEach(this::add);
+        logger.info("Indexed {} active trade alerts for {} currencies", activeTradeAlerts.size(), books.size());
+    }
+
+    public void add(TradeAlert tradeAlert) {
+        if (!tradeAlert.isActive() || tradeAlert.getConditionPrice() == null || tradeAlert.getCurrency() == null) {
+            return;
+        }
+        books.computeIfAbsent(tradeAlert.getCurrency().getCurrencyid(), currencyId -> new TriggerBook())
+                .add(tradeAlert.getTradeAlertid(), tradeAlert.getConditionPrice(), triggersOnFall(tradeAlert));
+    }
+
+    public void remove(TradeAlert tradeAlert) {
+        if (tradeAlert.getCurrency() == null) {
+            return;
+        }
+        TriggerBook book = books.get(tradeAlert.getCurrency().getCurrencyid());
+        if (book != null) {
+            book.remove(tradeAlert.getTradeAlertid());
+        }
+    }
+
+    /**
+     * Adds the alert once the current transaction has committed, so alerts of rolled back requests are never
+     * indexed. Without an active transaction the alert is added right away.
+     */
+    public void addAfterCommit(TradeAlert tradeAlert) {
+        afterCommit(() -> add(tradeAlert));
+    }
+
+    /**
+     * Removes the alert once the current transaction has committed, so an alert whose deactivation or deletion was
+     * rolled back stays indexed. Without an active transaction the alert is removed right away.
+     */
+    public void removeAfterCommit(TradeAlert tradeAlert) {
+        afterCommit(() -> remove(tradeAlert));
+    }
+
+    /**
+     * Removes and returns the ids of the alerts of the currency whose condition the price has reached.
+     */
+    public List<Integer> popTriggered(Integer currencyId, BigDecimal price) {
+        TriggerBook book = books.get(currencyId);
+        return book == null ? List.of() : book.pop(price);
+    }
+
+    public Set<Integer> getCurrencyIds() {
+        return books.keySet();
+    }
+
+    public int size() {
+        return books.values().stream().mapToInt(TriggerBook::size).sum();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Whether the alert triggers when the price falls to its condition price rather than rises to it.
+     */
+    static boolean triggersOnFall(TradeAlert tradeAlert) {
+        return (tradeAlert.getOrderType() == OrderType.LIMIT) == (tradeAlert.getTradeAlertType() == TradeAlertType.BUY);
+    }
+
+    /**
+     * Whether the price has reached the condition of the alert.
+     */
+    static boolean isTriggered(TradeAlert tradeAlert, BigDecimal price) {
+        int comparison = price.compareTo(tradeAlert.getConditionPrice());
+        return triggersOnFall(tradeAlert) ? comparison <= 0 : comparison >= 0;
+    }
+
+    /**
+     * Both books of one currency. Access is synchronized on the book.
+     */
+    private static class TriggerBook {
+
+        private final NavigableMap<BigDecimal, Set<Integer>> onFall = new TreeMap<>(Comparator.reverseOrder());
+        private final NavigableMap<BigDecimal, Set<Integer>> onRise = new TreeMap<>();
+        private final Map<Integer, BigDecimal> conditionPrices = new HashMap<>();
+
+        synchronized void add(Integer tradeAlertId, BigDecimal conditionPrice, boolean triggersOnFall) {
+            remove(tradeAlertId);
+            NavigableMap<BigDecimal, Set<Integer>> book = triggersOnFall ? onFall : onRise;
+            book.computeIfAbsent(conditionPrice, price -> new LinkedHashSet<>()).add(tradeAlertId);
+            conditionPrices.put(tradeAlertId, conditionPrice);
+        }
+
+        synchronized void remove(Integer tradeAlertId) {
+            BigDecimal conditionPrice = conditionPrices.remove(tradeAlertId);
+            if (conditionPrice != null) {
+                remove(onFall, conditionPrice, tradeAlertId);
+                remove(onRise, conditionPrice, tradeAlertId);
+            }
+        }
+
+        synchronized List<Integer> pop(BigDecimal price) {
+            List<Integer> triggered = new ArrayList<>();
+            // In both books the head map up to the price holds exactly the crossed conditions
+            pop(onFall.headMap(price, true), triggered);
+            pop(onRise.headMap(price, true), triggered);
+            return triggered;
+        }
+
+        synchronized int size() {
+            return conditionPrices.size();
+        }
+
+        private void pop(NavigableMap<BigDecimal, Set<Integer>> crossed, List<Integer> triggered) {
+            for (Set<Integer> tradeAlertIds : crossed.values()) {
+                triggered.addAll(tradeAlertIds);
+                tradeAlertIds.forEach(conditionPrices::remove);
+            }
+            crossed.clear();
+        }
+
+        private static void remove(NavigableMap<BigDecimal, Set<Integer>> book, BigDecimal conditionPrice, Integer tradeAlertId) {
+            Set<Integer> tradeAlertIds = book.get(conditionPrice);
+            if (tradeAlertIds != null && tradeAlertIds.remove(tradeAlertId) && tradeAlertIds.isEmpty()) {
+                book.remove(conditionPrice);
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.example.backend.userEvent.UserEvent;
 import com.example.backend.auth.AuthenticationService;
 import com.example.backend.currency.Currency;
 import com.example.backend.currency.CurrencyRepository;
+import com.example.backend.currency.LivePriceBook;
 import com.example.backend.exceptions.*;
 import com.example.backend.portfolio.Portfolio;
 import com.example.backend.portfolio.PortfolioAsset;
@@ -14,6 +15,7 @@ import com.example.backend.portfolio.PortfolioRepository;
 import com.example.backend.transaction.Transaction;
 import com.example.backend.transaction.TransactionRepository;
 import com.example.backend.user.User;
+import com.example.backend.user.UserLock;
 import com.example.backend.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -40,13 +42,16 @@ public class TradeAlertService {
     private final TransactionRepository transactionRepository;
     private final VerificationService verificationService;
     private final UserEventTrackingService userEventTrackingService;
+    private final LivePriceBook livePriceBook;
+    private final TradeAlertIndex tradeAlertIndex;
+    private final UserLock userLock;
     private static final Logger logger = LoggerFactory.getLogger(TradeAlertService.class);
 
 
     @Transactional
     public TradeAlert createTradeAlert(CreateTradeAlertRequest request) {
         String email = authenticationService.getCurrentUserEmail();
-        User user = authenticationService.getCurrentUser(email);
+        User user = userLock.lock(authenticationService.getCurrentUser(email));
 
         Portfolio portfolio = portfolioRepository.findById(request.getPortfolioId())
                 .orElseThrow(() -> new PortfolioNotFoundException("Portfolio not found"));
@@ -74,7 +79,8 @@ public class TradeAlertService {
             userRepository.save(user);
         }
 
-        BigDecimal currentPrice = currency.getCurrentPrice();
+        BigDecimal currentPrice = livePriceBook.findPrice(currency.getCurrencyid())
+                .orElseGet(currency::getCurrentPrice);
         if (currentPrice == null) {
             throw new PriceNotAvailableException("Current price is not available for the selected currency");
         }
@@ -92,6 +98,7 @@ public class TradeAlertService {
                 .build();
 
         TradeAlert savedTradeAlert = tradeAlertRepository.save(tradeAlert);
+        tradeAlertIndex.addAfterCommit(savedTradeAlert);
 
         try {
             Map<String, Object> details = Map.of(
@@ -114,12 +121,13 @@ public class TradeAlertService {
 
     @Transactional
     public void deactivateTradeAlert(Integer tradeAlertId) {
+        // Lock first, so a trigger executing the alert concurrently has either finished or not started
+        String email = authenticationService.getCurrentUserEmail();
+        User user = userLock.lock(authenticationService.getCurrentUser(email));
+
         TradeAlert tradeAlert = tradeAlertRepository.findById(tradeAlertId)
                 .orElseThrow(() -> new UnsupportedAlertTypeException("Trade alert not found"));
 
-        String email = authenticationService.getCurrentUserEmail();
-        User user = authenticationService.getCurrentUser(email);
-
         if (tradeAlert.getTradeAlertType() == TradeAlertType.BUY && tradeAlert.isActive()) {
             BigDecimal tradeAmount = tradeAlert.getTradeAmount();
             user.setReservedBalance(user.getReservedBalance().subtract(tradeAmount));
@@ -128,16 +136,18 @@ public class TradeAlertService {
         }
         tradeAlert.setActive(false);
         tradeAlertRepository.save(tradeAlert);
+        tradeAlertIndex.removeAfterCommit(tradeAlert);
     }
 
     @Transactional
     public void deleteTradeAlert(Integer tradeAlertId) {
+        // Lock first, so a trigger executing the alert concurrently has either finished or not started
+        String email = authenticationService.getCurrentUserEmail();
+        User user = userLock.lock(authenticationService.getCurrentUser(email));
+
         TradeAlert tradeAlert = tradeAlertRepository.findById(tradeAlertId)
                 .orElseThrow(() -> new UnsupportedAlertTypeException("Trade alert not found"));
 
-        String email = authenticationService.getCurrentUserEmail();
-        User user = authenticationService.getCurrentUser(email);
-
         if (tradeAlert.getTradeAlertType() == TradeAlertType.BUY && tradeAlert.isActive()) {
             BigDecimal tradeAmount = tradeAlert.getTradeAmount();
             user.setReservedBalance(user.getReservedBalance().subtract(tradeAmount));
@@ -159,6 +169,7 @@ public class TradeAlertService {
         }
 
         tradeAlertRepository.delete(tradeAlert);
+        tradeAlertIndex.removeAfterCommit(tradeAlert);
     }
 
     @Transactional(readOnly = true)
@@ -168,11 +179,36 @@ public class TradeAlertService {
         return tradeAlertRepository.findByUser(user);
     }
 
+    /**
+     * Executes a triggered alert at the price that crossed its condition and deactivates it, in one transaction.
+     * The alert is read again under the user lock and skipped if it was deactivated or deleted in the meantime, as
+     * that already released its reserved balance.
+     */
+    @Transactional
+    public void executeTriggeredAlert(TradeAlert triggeredAlert, BigDecimal fillPrice) {
+        userLock.lock(triggeredAlert.getUser());
+        TradeAlert tradeAlert = tradeAlertRepository.findById(triggeredAlert.getTradeAlertid()).orElse(null);
+        if (tradeAlert == null || !tradeAlert.isActive()) {
+            logger.info("Trade alert {} is no longer active, skipping execution", triggeredAlert.getTradeAlertid());
+            return;
+        }
+        if (tradeAlert.getTradeAlertType() == TradeAlertType.BUY) {
+            executeBuyFromReserved(tradeAlert, fillPrice);
+        } else {
+            executeSell(tradeAlert, fillPrice);
+        }
+        tradeAlert.setActive(false);
+        tradeAlertRepository.save(tradeAlert);
+    }
+
+    /**
+     * @param fillPrice price to buy at, or {@code null} to use the current price
+     */
     @Transactional
-    public void executeBuyFromReserved(TradeAlert tradeAlert) {
+    public void executeBuyFromReserved(TradeAlert tradeAlert, BigDecimal fillPrice) {
         TradeAlertType alertType = tradeAlert.getTradeAlertType();
         BigDecimal tradeAmount = tradeAlert.getTradeAmount();
-        User user = tradeAlert.getUser();
+        User user = userLock.lock(tradeAlert.getUser());
 
         if (alertType != TradeAlertType.BUY) {
             throw new IllegalArgumentException("This method only handles BUY alerts.");
@@ -181,19 +217,23 @@ public class TradeAlertService {
         user.setReservedBalance(user.getReservedBalance().subtract(tradeAmount));
         userRepository.save(user);
 
-        buyAssetForAlert(tradeAlert.getPortfolio().getPortfolioid(),
+        BigDecimal rate = buyAssetForAlert(tradeAlert.getPortfolio().getPortfolioid(),
                 tradeAlert.getCurrency().getSymbol(),
                 tradeAmount,
+                fillPrice,
                 user);
 
-        verificationService.sendTradeExecutedEmail(user, tradeAlert.getCurrency(), tradeAmount, alertType);
+        verificationService.sendTradeExecutedEmail(user, tradeAlert.getCurrency(), tradeAmount, rate, alertType);
     }
 
+    /**
+     * @param fillPrice price to sell at, or {@code null} to use the current price
+     */
     @Transactional
-    public void executeSell(TradeAlert tradeAlert) {
+    public void executeSell(TradeAlert tradeAlert, BigDecimal fillPrice) {
         TradeAlertType alertType = tradeAlert.getTradeAlertType();
         BigDecimal tradeAmount = tradeAlert.getTradeAmount();
-        User user = tradeAlert.getUser();
+        User user = userLock.lock(tradeAlert.getUser());
         Portfolio portfolio = tradeAlert.getPortfolio();
         Currency currency = tradeAlert.getCurrency();
 
@@ -210,14 +250,17 @@ public class TradeAlertService {
             return;
         }
 
-        sellAssetForAlert(portfolio.getPortfolioid(), currency.getCurrencyid(), tradeAmount, user);
+        BigDecimal rate = sellAssetForAlert(portfolio.getPortfolioid(), currency.getCurrencyid(), tradeAmount, fillPrice, user);
 
-        verificationService.sendTradeExecutedEmail(user, currency, tradeAmount, alertType);
+        verificationService.sendTradeExecutedEmail(user, currency, tradeAmount, rate, alertType);
 
 
     }
 
-    private void buyAssetForAlert(Integer portfolioid, String currencySymbol, BigDecimal amountInUSD, User user) {
+    /**
+     * @return rate recorded on the transaction, or {@code null} when there was nothing to buy
+     */
+    private BigDecimal buyAssetForAlert(Integer portfolioid, String currencySymbol, BigDecimal amountInUSD, BigDecimal fillPrice, User user) {
 
         if (amountInUSD != null) {
             Currency currency = currencyRepository.findBySymbol(currencySymbol.toUpperCase())
@@ -226,7 +269,8 @@ public class TradeAlertService {
             Portfolio portfolio = portfolioRepository.findByPortfolioidAndUser(portfolioid, user)
                     .orElseThrow(() -> new PortfolioNotFoundException("Portfolio not found"));
 
-            BigDecimal rate = currency.getCurrentPrice();
+            BigDecimal rate = fillPrice != null ? fillPrice : livePriceBook.freshPrice(currency.getCurrencyid())
+                    .orElseGet(currency::getCurrentPrice);
             if (rate == null) {
                 throw new PriceNotAvailableException("Current price not available for " + currencySymbol);
             }
@@ -267,10 +311,15 @@ public class TradeAlertService {
                     .build();
 
             transactionRepository.save(transaction);
+            return transaction.getRate();
         }
+        return null;
     }
 
-    private void sellAssetForAlert(Integer portfolioid, Integer currencyid, BigDecimal amountOfCurrency, User user) {
+    /**
+     * @return rate recorded on the transaction, or {@code null} when there was nothing to sell
+     */
+    private BigDecimal sellAssetForAlert(Integer portfolioid, Integer currencyid, BigDecimal amountOfCurrency, BigDecimal fillPrice, User user) {
         if (amountOfCurrency != null) {
             Currency currency = currencyRepository.findById(currencyid)
                     .orElseThrow(() -> new CurrencyNotFoundException("Currency not found in database"));
@@ -278,7 +327,8 @@ public class TradeAlertService {
             Portfolio portfolio = portfolioRepository.findByPortfolioidAndUser(portfolioid, user)
                     .orElseThrow(() -> new PortfolioNotFoundException("Portfolio not found"));
 
-            BigDecimal rate = currency.getCurrentPrice();
+            BigDecimal rate = fillPrice != null ? fillPrice : livePriceBook.freshPrice(currency.getCurrencyid())
+                    .orElseGet(currency::getCurrentPrice);
             if (rate == null) {
                 throw new PriceNotAvailableException("Current price not available for currency ID: " + currencyid);
             }
@@ -314,6 +364,8 @@ public class TradeAlertService {
                     .build();
 
             transactionRepository.save(transaction);
+            return transaction.getRate();
         }
+        return null;
     }
 }
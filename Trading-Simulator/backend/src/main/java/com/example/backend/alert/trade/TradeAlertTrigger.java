@@ -0,0 +1,132 @@
+package com.example.backend.alert.trade;
+
+import com.example.backend.currency.LivePriceBook;
+import com.example.backend.currency.PriceChangeListener;
+import com.example.backend.currency.PriceSnapshot;
+import com.example.backend.transaction.OrderExecutor;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes trade alerts when a price change crosses their condition. Each price change pops the crossed alerts from
+ * the {@link TradeAlertIndex} right away on the feed thread and remembers the price that crossed them, which becomes
+ * the fill price. Execution runs on a separate thread once per currency and debounce window, so a burst of ticks
+ * costs one database round instead of one per tick. Each alert executes through the {@link OrderExecutor}, in line with
+ * the other orders of its user.
+ */
+@Component
+@Tag(name = "Trade Alert Trigger", description = "Executes trade alerts on the price changes that cross them")
+public class TradeAlertTrigger implements PriceChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeAlertTrigger.class);
+
+    private final TradeAlertIndex tradeAlertIndex;
+    private final TradeAlertRepository tradeAlertRepository;
+    private final TradeAlertService tradeAlertService;
+    private final OrderExecutor orderExecutor;
+    private final long debounceMs;
+    private final ScheduledExecutorService executor;
+    private final Map<Integer, Map<Integer, BigDecimal>> pending = new ConcurrentHashMap<>();
+
+    public TradeAlertTrigger(TradeAlertIndex tradeAlertIndex,
+                             TradeAlertRepository tradeAlertRepository,
+                             TradeAlertService tradeAlertService,
+                             OrderExecutor orderExecutor,
+                             LivePriceBook livePriceBook,
+                             @Value("${alerts.trade.debounce-ms:250}") long debounceMs) {
+        this.tradeAlertIndex = tradeAlertIndex;
+        this.tradeAlertRepository = tradeAlertRepository;
+        this.tradeAlertService = tradeAlertService;
+        this.orderExecutor = orderExecutor;
+        this.debounceMs = debounceMs;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TradeAlertTrigger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        livePriceBook.addListener(this);
+    }
+
+    @Override
+    public void onPriceChange(PriceSnapshot snapshot) {
+        trigger(snapshot.getCurrencyId(), snapshot.getPrice());
+    }
+
+    /**
+     * Pops the alerts of the currency crossed by the price and schedules their execution at that price.
+     */
+    public void trigger(Integer currencyId, BigDecimal price) {
+        List<Integer> crossed = tradeAlertIndex.popTriggered(currencyId, price);
+        if (!crossed.isEmpty()) {
+            schedule(currencyId, crossed, price);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void schedule(Integer currencyId, List<Integer> tradeAlertIds, BigDecimal price) {
+        boolean[] first = new boolean[1];
+        pending.compute(currencyId, (id, alerts) -> {
+            if (alerts == null) {
+                alerts = new LinkedHashMap<>();
+                first[0] = true;
+            }
+            for (Integer tradeAlertId : tradeAlertIds) {
+                alerts.putIfAbsent(tradeAlertId, price);
+            }
+            return alerts;
+        });
+        if (first[0]) {
+            executor.schedule(() -> execute(currencyId), debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void execute(Integer currencyId) {
+        Map<Integer, BigDecimal> alerts = pending.remove(currencyId);
+        if (alerts == null) {
+            return;
+        }
+        List<TradeAlert> tradeAlerts;
+        try {
+            tradeAlerts = tradeAlertRepository.findAllById(alerts.keySet());
+        } catch (Exception e) {
+            logger.error("Failed to load triggered trade alerts of currency {}: {}", currencyId, e.getMessage());
+            alerts.forEach((tradeAlertId, price) -> schedule(currencyId, List.of(tradeAlertId), price));
+            return;
+        }
+        for (TradeAlert tradeAlert : tradeAlerts) {
+            BigDecimal fillPrice = alerts.get(tradeAlert.getTradeAlertid());
+            if (!tradeAlert.isActive()) {
+                continue;
+            }
+            if (!TradeAlertIndex.isTriggered(tradeAlert, fillPrice)) {
+                tradeAlertIndex.add(tradeAlert);
+                continue;
+            }
+            try {
+                orderExecutor.execute(tradeAlert.getUser().getId(),
+                        () -> tradeAlertService.executeTriggeredAlert(tradeAlert, fillPrice));
+                logger.info("Trade alert {} executed at {}", tradeAlert.getTradeAlertid(), fillPrice);
+            } catch (Exception e) {
+                logger.error("Failed to execute trade alert {}: {}", tradeAlert.getTradeAlertid(), e.getMessage());
+                tradeAlertIndex.add(tradeAlert);
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.backend.analytics;
 
+import com.example.backend.currency.CandleSeriesStore;
+import com.example.backend.exceptions.AppException;
+import com.example.backend.exceptions.InvalidIndicatorPeriodsException;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -8,10 +11,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/analytics")
@@ -21,295 +29,288 @@ public class AnalyticsController {
     private final AnalyticsService analyticsService;
     private final IndicatorCacheService indicatorCacheService;
     private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
-    private final AdxCalculator adxCalculator;
-    private final BullBearPowerCalculator bullBearPowerCalculator;
-    private final AtrCalculator atrCalculator;
+    private final IndicatorCalculatorFactory indicatorCalculators;
+    private final StreamingIndicatorService streamingIndicatorService;
+    private final CandleSeriesStore candleSeriesStore;
 
     @GetMapping("/sma/{symbol}/{interval}/{periods}") // Pomyśleć nad logiką
-    public ResponseEntity<BigDecimal> getSimpleMovingAverage(
+    public Mono<ResponseEntity<BigDecimal>> getSimpleMovingAverage(
             @PathVariable String symbol,
             @PathVariable String interval,
-            @PathVariable @Min(1) int periods) {
-        try {
-            BigDecimal cached = indicatorCacheService.getSma(symbol.toUpperCase(), interval, periods);
-            if (cached != null) {
-                return ResponseEntity.ok(cached);
-            }
-
-            BigDecimal sma = analyticsService.calculateIndicator(symbol, interval, new SmaCalculator(periods));
-            return ResponseEntity.ok(sma);
-        } catch (Exception e) {
-            logger.error("Error retrieving SMA for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+            @PathVariable @Min(1) int periods,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        checkPeriods(periods);
+        return respond("SMA", symbol, indicator("SMA", symbol, interval, periods, BigDecimal.class,
+                () -> streamed(symbol, interval, engine, IncrementalIndicatorType.SMA, periods),
+                () -> analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.sma(periods, selectedEngine))));
     }
 
     @GetMapping("/ema/{symbol}/{interval}/{periods}")
-    public ResponseEntity<BigDecimal> getEma(
+    public Mono<ResponseEntity<BigDecimal>> getEma(
             @PathVariable String symbol,
             @PathVariable String interval,
-            @PathVariable @Min(1) int periods) {
-        try {
-            BigDecimal cached = indicatorCacheService.getEma(symbol.toUpperCase(), interval, periods);
-            if (cached != null) {
-                return ResponseEntity.ok(cached);
-            }
-
-            List<BigDecimal> emaSeries = analyticsService.calculateIndicator(symbol, interval, new EmaCalculator(periods));
-            BigDecimal latestEma = emaSeries.get(emaSeries.size() - 1);
-
-            indicatorCacheService.saveEma(symbol.toUpperCase(), interval, periods, latestEma);
-            return ResponseEntity.ok(latestEma);
-        } catch (Exception e) {
-            logger.error("Error retrieving EMA for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+            @PathVariable @Min(1) int periods,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        checkPeriods(periods);
+        return respond("EMA", symbol, indicator("EMA", symbol, interval, periods, BigDecimal.class,
+                () -> streamed(symbol, interval, engine, IncrementalIndicatorType.EMA, periods),
+                () -> {
+                    List<BigDecimal> emaSeries = analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.ema(periods, selectedEngine));
+                    return emaSeries.get(emaSeries.size() - 1);
+                }));
     }
 
     @GetMapping("/rsi/{symbol}/{interval}/{periods}")
-    public ResponseEntity<BigDecimal> getRsi(
+    public Mono<ResponseEntity<BigDecimal>> getRsi(
             @PathVariable String symbol,
             @PathVariable String interval,
-            @PathVariable @Min(1) int periods) {
-        try {
-            BigDecimal cached = indicatorCacheService.getRsi(symbol.toUpperCase(), interval, periods);
-            if (cached != null) {
-                return ResponseEntity.ok(cached);
-            }
-
-            BigDecimal rsi = analyticsService.calculateIndicator(symbol, interval, new RsiCalculator(periods));
-            indicatorCacheService.saveRsi(symbol.toUpperCase(), interval, periods, rsi);
-            return ResponseEntity.ok(rsi);
-        } catch (Exception e) {
-            logger.error("Error retrieving RSI for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
-
+            @PathVariable @Min(1) int periods,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        checkPeriods(periods);
+        return respond("RSI", symbol, indicator("RSI", symbol, interval, periods, BigDecimal.class,
+                () -> streamed(symbol, interval, engine, IncrementalIndicatorType.RSI, periods),
+                () -> analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.rsi(periods, selectedEngine))));
     }
 
     @GetMapping("/volatility/{symbol}/{interval}/{periods}")
-    public ResponseEntity<BigDecimal> getVolatility(
+    public Mono<ResponseEntity<BigDecimal>> getVolatility(
             @PathVariable String symbol,
             @PathVariable String interval,
-            @PathVariable @Min(1) int periods) {
-        try {
-            BigDecimal cached = indicatorCacheService.getVolatility(symbol.toUpperCase(), interval, periods);
-            if (cached != null) {
-                return ResponseEntity.ok(cached);
-            }
-
-            BigDecimal volatility = analyticsService.calculateIndicator(symbol, interval, new VolatilityCalculator(periods));
-            indicatorCacheService.saveVolatility(symbol.toUpperCase(), interval, periods, volatility);
-            return ResponseEntity.ok(volatility);
-        } catch (Exception e) {
-            logger.error("Error retrieving volatility for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+            @PathVariable @Min(1) int periods,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        checkPeriods(periods);
+        return respond("VOLATILITY", symbol, indicator("VOLATILITY", symbol, interval, periods, BigDecimal.class,
+                Optional::empty,
+                () -> analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.volatility(periods, selectedEngine))));
     }
 
     @GetMapping("/macd/{symbol}/{interval}")
-    public ResponseEntity<MacdResult> getMacd(
+    public Mono<ResponseEntity<MacdResult>> getMacd(
             @PathVariable String symbol,
-            @PathVariable String interval
-    ) {
-        try {
-            MacdResult cached = indicatorCacheService.getMacd(symbol.toUpperCase(), interval);
-            if (cached != null) {
-                return ResponseEntity.ok(cached.format(8));
-            }
-
-            MacdResult result = analyticsService.calculateIndicator(symbol, interval, new MacdCalculator());
-            indicatorCacheService.saveMacd(symbol.toUpperCase(), interval, result);
-            return ResponseEntity.ok(result.format(8));
-        } catch (Exception e) {
-            logger.error("Error retrieving MACD for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+            @PathVariable String interval,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        return respond("MACD", symbol, indicator("MACD", symbol, interval, null, MacdResult.class,
+                () -> streamedMacd(symbol, interval, engine),
+                () -> analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.macd(selectedEngine)))
+                .map(macd -> macd.format(8)));
     }
 
     @GetMapping("/adx/{symbol}/{interval}")
-    public ResponseEntity<BigDecimal> getAdx(
+    public Mono<ResponseEntity<BigDecimal>> getAdx(
             @PathVariable String symbol,
-            @PathVariable String interval) {
-        try {
-            BigDecimal cached = indicatorCacheService.getAdx(symbol.toUpperCase(), interval);
-            if (cached != null) {
-                return ResponseEntity.ok(cached);
-            }
-
-            BigDecimal adx = analyticsService.calculateIndicator(symbol, interval, adxCalculator);
-            indicatorCacheService.saveAdx(symbol.toUpperCase(), interval, adx);
-
-            return ResponseEntity.ok(adx);
-        } catch (Exception e) {
-            logger.error("Error retrieving ADX for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+            @PathVariable String interval,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        return respond("ADX", symbol, indicator("ADX", symbol, interval, null, BigDecimal.class,
+                () -> streamed(symbol, interval, engine, IncrementalIndicatorType.ADX, 0),
+                () -> analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.adx(selectedEngine))));
     }
 
     @GetMapping("/bp/{symbol}/{interval}")
-    public ResponseEntity<BigDecimal> getBp(
+    public Mono<ResponseEntity<BigDecimal>> getBp(
             @PathVariable String symbol,
-            @PathVariable String interval) {
-        try {
-            BigDecimal cached = indicatorCacheService.getBP(symbol.toUpperCase(), interval);
-            if (cached != null) {
-                return ResponseEntity.ok(cached);
-            }
-
-            BigDecimal bp = analyticsService.calculateIndicator(symbol, interval, bullBearPowerCalculator);
-            indicatorCacheService.saveBP(symbol, interval, bp);
-
-            return ResponseEntity.ok(bp);
-        } catch (Exception e) {
-            logger.error("Error retrieving BP for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+            @PathVariable String interval,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        return respond("BP", symbol, indicator("BP", symbol, interval, null, BigDecimal.class,
+                () -> streamed(symbol, interval, engine, IncrementalIndicatorType.BULL_BEAR_POWER, 0),
+                () -> analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.bullBearPower(selectedEngine))));
     }
 
     @GetMapping("/williamsR/{symbol}/{interval}")
-    public ResponseEntity<BigDecimal> getWilliamsR(
+    public Mono<ResponseEntity<BigDecimal>> getWilliamsR(
             @PathVariable String symbol,
-            @PathVariable String interval) {
-        try {
-            BigDecimal cached = indicatorCacheService.getWilliamsR(symbol.toUpperCase(), interval);
-            if (cached != null) {
-                return ResponseEntity.ok(cached);
-            }
-
-            BigDecimal williamsR = analyticsService.calculateIndicator(symbol, interval, new WilliamsRCalculator());
-            indicatorCacheService.saveWilliamsR(symbol, interval, williamsR);
-
-            return ResponseEntity.ok(williamsR);
-        } catch (Exception e) {
-            logger.error("Error retrieving williamsR for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+            @PathVariable String interval,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        return respond("WILLIAMS_R", symbol, indicator("WILLIAMS_R", symbol, interval, null, BigDecimal.class,
+                () -> streamed(symbol, interval, engine, IncrementalIndicatorType.WILLIAMS_R, 0),
+                () -> analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.williamsR(selectedEngine))));
     }
 
     @GetMapping("/cci/{symbol}/{interval}")
-    public ResponseEntity<BigDecimal> getCci(
+    public Mono<ResponseEntity<BigDecimal>> getCci(
             @PathVariable String symbol,
-            @PathVariable String interval) {
-        try {
-            BigDecimal cached = indicatorCacheService.getCci(symbol.toUpperCase(), interval);
-            if (cached != null) {
-                return ResponseEntity.ok(cached);
-            }
-
-            BigDecimal cci = analyticsService.calculateIndicator(symbol, interval, new CciCalculator());
-
-            indicatorCacheService.saveCci(symbol, interval, cci);
-
-            return ResponseEntity.ok(cci);
-        } catch (Exception e) {
-            logger.error("Error retrieving Cci for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+            @PathVariable String interval,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        return respond("CCI", symbol, indicator("CCI", symbol, interval, null, BigDecimal.class,
+                Optional::empty,
+                () -> analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.cci(selectedEngine))));
     }
 
     @GetMapping("/atr/{symbol}/{interval}")
-    public ResponseEntity<BigDecimal> getAtr(
+    public Mono<ResponseEntity<BigDecimal>> getAtr(
             @PathVariable String symbol,
-            @PathVariable String interval) {
-        try {
-            BigDecimal cached = indicatorCacheService.getAtr(symbol, interval);
-            if (cached != null) {
-                return ResponseEntity.ok(cached);
-            }
-
-            BigDecimal atr = analyticsService.calculateIndicator(symbol, interval, atrCalculator);
-            indicatorCacheService.saveAtr(symbol, interval, atr);
-            return ResponseEntity.ok(atr);
-        } catch (Exception e) {
-            logger.error("Error retrieving Atr for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+            @PathVariable String interval,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        return respond("ATR", symbol, indicator("ATR", symbol, interval, null, BigDecimal.class,
+                () -> streamed(symbol, interval, engine, IncrementalIndicatorType.ATR, 0),
+                () -> analyticsService.calculateIndicator(symbol, interval, indicatorCalculators.atr(selectedEngine))));
     }
 
     @GetMapping("/all/{symbol}/{interval}/{periods}")
-    public ResponseEntity<AllIndicatorsResponse> getAllIndicators(
+    public Mono<ResponseEntity<AllIndicatorsResponse>> getAllIndicators(
             @PathVariable String symbol,
             @PathVariable String interval,
-            @PathVariable @Min(1) int periods) {
-        try {
+            @PathVariable @Min(1) int periods,
+            @RequestParam(required = false) String engine) {
+        IndicatorEngine selectedEngine = indicatorCalculators.resolve(engine);
+        checkPeriods(periods);
+        return respond("all indicators", symbol, Mono.fromCallable(() -> {
             String upperSymbol = symbol.toUpperCase();
             AllIndicatorsResponse response = new AllIndicatorsResponse();
+            IndicatorGraph graph = analyticsService.graph(upperSymbol, interval, selectedEngine);
+            IndicatorCacheService.CachedIndicators cached = indicatorCacheService.getAll(upperSymbol, interval, periods);
+            IndicatorCacheService.Batch computed = indicatorCacheService.batch(upperSymbol, interval);
 
-            BigDecimal sma = indicatorCacheService.getSma(upperSymbol, interval, periods);
+            BigDecimal sma = streamed(upperSymbol, interval, engine, IncrementalIndicatorType.SMA, periods)
+                    .orElseGet(cached::getSma);
             if (sma == null) {
-                sma = analyticsService.calculateIndicator(upperSymbol, interval, new SmaCalculator(periods));
+                sma = graph.sma(periods);
             }
             response.setSma(sma);
 
-            BigDecimal ema = indicatorCacheService.getEma(upperSymbol, interval, periods);
+            BigDecimal ema = streamed(upperSymbol, interval, engine, IncrementalIndicatorType.EMA, periods)
+                    .orElseGet(cached::getEma);
             if (ema == null) {
-                List<BigDecimal> emaSeries = analyticsService.calculateIndicator(upperSymbol, interval, new EmaCalculator(periods));
-                ema = emaSeries.get(emaSeries.size() - 1);
-                indicatorCacheService.saveEma(upperSymbol, interval, periods, ema);
+                ema = graph.ema(periods);
+                computed.ema(periods, ema);
             }
             response.setEma(ema);
 
-            BigDecimal rsi = indicatorCacheService.getRsi(upperSymbol, interval, periods);
+            BigDecimal rsi = streamed(upperSymbol, interval, engine, IncrementalIndicatorType.RSI, periods)
+                    .orElseGet(cached::getRsi);
             if (rsi == null) {
-                rsi = analyticsService.calculateIndicator(upperSymbol, interval, new RsiCalculator(periods));
-                indicatorCacheService.saveRsi(upperSymbol, interval, periods, rsi);
+                rsi = graph.rsi(periods);
+                computed.rsi(periods, rsi);
             }
             response.setRsi(rsi);
 
-            BigDecimal volatility = indicatorCacheService.getVolatility(upperSymbol, interval, periods);
+            BigDecimal volatility = cached.getVolatility();
             if (volatility == null) {
-                volatility = analyticsService.calculateIndicator(upperSymbol, interval, new VolatilityCalculator(periods));
-                indicatorCacheService.saveVolatility(upperSymbol, interval, periods, volatility);
+                volatility = graph.volatility(periods);
+                computed.volatility(periods, volatility);
             }
             response.setVolatility(volatility);
 
-            MacdResult macd = indicatorCacheService.getMacd(upperSymbol, interval);
+            MacdResult macd = streamedMacd(upperSymbol, interval, engine)
+                    .orElseGet(cached::getMacd);
             if (macd == null) {
-                macd = analyticsService.calculateIndicator(upperSymbol, interval, new MacdCalculator());
-                indicatorCacheService.saveMacd(upperSymbol, interval, macd);
+                macd = graph.macd();
+                computed.macd(macd);
             }
             response.setMacd(macd.format(8));
 
-            BigDecimal adx = indicatorCacheService.getAdx(upperSymbol, interval);
+            BigDecimal adx = streamed(upperSymbol, interval, engine, IncrementalIndicatorType.ADX, 0)
+                    .orElseGet(cached::getAdx);
             if (adx == null) {
-                adx = analyticsService.calculateIndicator(upperSymbol, interval, adxCalculator);
-                indicatorCacheService.saveAdx(upperSymbol, interval, adx);
+                adx = graph.adx();
+                computed.adx(adx);
             }
             response.setAdx(adx);
 
-            BigDecimal bp = indicatorCacheService.getBP(upperSymbol, interval);
+            BigDecimal bp = streamed(upperSymbol, interval, engine, IncrementalIndicatorType.BULL_BEAR_POWER, 0)
+                    .orElseGet(cached::getBp);
             if (bp == null) {
-                bp = analyticsService.calculateIndicator(upperSymbol, interval, bullBearPowerCalculator);
-                indicatorCacheService.saveBP(upperSymbol, interval, bp);
+                bp = graph.bullBearPower();
+                computed.bp(bp);
             }
             response.setBp(bp);
 
-            BigDecimal williamsR = indicatorCacheService.getWilliamsR(upperSymbol, interval);
+            BigDecimal williamsR = streamed(upperSymbol, interval, engine, IncrementalIndicatorType.WILLIAMS_R, 0)
+                    .orElseGet(cached::getWilliamsR);
             if (williamsR == null) {
-                williamsR = analyticsService.calculateIndicator(upperSymbol, interval, new WilliamsRCalculator());
-                indicatorCacheService.saveWilliamsR(upperSymbol, interval, williamsR);
+                williamsR = graph.williamsR();
+                computed.williamsR(williamsR);
             }
             response.setWilliamsR(williamsR);
 
-            BigDecimal cci = indicatorCacheService.getCci(upperSymbol, interval);
+            BigDecimal cci = cached.getCci();
             if (cci == null) {
-                cci = analyticsService.calculateIndicator(upperSymbol, interval, new CciCalculator());
-                indicatorCacheService.saveCci(upperSymbol, interval, cci);
+                cci = graph.cci();
+                computed.cci(cci);
             }
             response.setCci(cci);
 
-            BigDecimal atr = indicatorCacheService.getAtr(upperSymbol, interval);
+            BigDecimal atr = streamed(upperSymbol, interval, engine, IncrementalIndicatorType.ATR, 0)
+                    .orElseGet(cached::getAtr);
             if (atr == null) {
-                atr = analyticsService.calculateIndicator(upperSymbol, interval, atrCalculator);
-                indicatorCacheService.saveAtr(upperSymbol, interval, atr);
+                atr = graph.atr();
+                computed.atr(atr);
             }
             response.setAtr(atr);
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error retrieving all indicators for {}: {}", symbol, e.getMessage());
-            return ResponseEntity.status(500).build();
+            indicatorCacheService.saveAll(computed);
+            return response;
+        }).subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * Rejects periods the candle series cannot cover; they would only size indicator buffers for nothing.
+     */
+    private void checkPeriods(int periods) {
+        if (periods < 1 || periods > candleSeriesStore.getCapacity()) {
+            throw new InvalidIndicatorPeriodsException(
+                    "Periods must be between 1 and " + candleSeriesStore.getCapacity() + ", got " + periods);
+        }
+    }
+
+    /**
+     * Indicator value without holding the request thread while Redis, the database or the calculation is busy.
+     * Values already in memory, i.e. streamed or in the near-cache of a loaded candle series, are returned on the
+     * calling thread; everything else runs on the bounded elastic scheduler.
+     */
+    private <T> Mono<T> indicator(String indicatorName, String symbol, String interval, Integer periods, Class<T> type,
+                                  Supplier<Optional<T>> streamed, Supplier<T> loader) {
+        String upperSymbol = symbol.toUpperCase();
+        return Mono.defer(() -> {
+            if (candleSeriesStore.isLoaded(upperSymbol, interval)) {
+                Optional<T> inMemory = streamed.get()
+                        .or(() -> indicatorCacheService.findLocal(indicatorName, upperSymbol, interval, periods, type));
+                if (inMemory.isPresent()) {
+                    return Mono.just(inMemory.get());
+                }
+            }
+            return Mono.fromSupplier(() -> streamed.get()
+                            .orElseGet(() -> indicatorCacheService.getOrCompute(indicatorName, upperSymbol, interval, periods, type, loader)))
+                    .subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    /**
+     * Application exceptions, such as an unknown symbol or an interval that is not synced, are passed on to the
+     * exception handler, which answers with their status. Any other failure is answered with a 500.
+     */
+    private <T> Mono<ResponseEntity<T>> respond(String indicatorName, String symbol, Mono<T> value) {
+        return value.map(ResponseEntity::ok)
+                .onErrorResume(e -> !(e instanceof AppException), e -> {
+                    logger.error("Error retrieving {} for {}: {}", indicatorName, symbol, e.getMessage());
+                    return Mono.just(ResponseEntity.status(500).build());
+                });
+    }
+
+    /**
+     * Incrementally maintained value, used unless the request asks for a specific engine.
+     */
+    private Optional<BigDecimal> streamed(String symbol, String interval, String engine,
+                                          IncrementalIndicatorType type, int periods) {
+        if (engine != null && !engine.isBlank()) {
+            return Optional.empty();
+        }
+        return streamingIndicatorService.findValue(symbol, interval, type, periods);
+    }
+
+    private Optional<MacdResult> streamedMacd(String symbol, String interval, String engine) {
+        if (engine != null && !engine.isBlank()) {
+            return Optional.empty();
         }
+        return streamingIndicatorService.findMacd(symbol, interval);
     }
-}
\ No newline at end of file
+}
@@ -1,26 +1,28 @@
 package com.example.backend.analytics;
 
-import com.example.backend.currency.*;
-import com.example.backend.exceptions.CurrencyNotFoundException;
+import com.example.backend.currency.CandleSeriesStore;
+import com.example.backend.currency.CandleSnapshot;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 @AllArgsConstructor
 public class AnalyticsService {
 
-    private final HistoricalKlineRepository historicalKlineRepository;
-    private final CurrencyRepository currencyRepository;
+    private final CandleSeriesStore candleSeriesStore;
+    private final IndicatorCalculatorFactory indicatorCalculators;
 
     public <T> T calculateIndicator(String symbol, String timeInterval, IndicatorCalculator<T> calculator) {
-        Currency currency = currencyRepository.findBySymbol(symbol.toUpperCase())
-                .orElseThrow(() -> new CurrencyNotFoundException("Currency not found: " + symbol));
+        CandleSnapshot candles = candleSeriesStore.snapshot(symbol, timeInterval);
 
-        List<HistoricalKline> klines = historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(currency, timeInterval);
+        return calculator.calculate(candles);
+    }
 
-        return calculator.calculate(klines);
+    /**
+     * Indicator graph over the candles of a currency and interval. The candles are only read when the first
+     * indicator is calculated.
+     */
+    public IndicatorGraph graph(String symbol, String timeInterval, IndicatorEngine engine) {
+        return new IndicatorGraph(() -> candleSeriesStore.snapshot(symbol, timeInterval), engine, indicatorCalculators);
     }
 }
-
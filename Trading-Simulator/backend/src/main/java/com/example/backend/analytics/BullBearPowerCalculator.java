@@ -34,6 +34,17 @@ public class BullBearPowerCalculator implements IndicatorCalculator<BigDecimal>
         // EMA (13)
         List<BigDecimal> emaSeries = emaCalculator.calculate(klines);
 
+        return calculate(klines, emaSeries);
+    }
+
+    /**
+     * Bull/Bear Power from an already calculated 13 period EMA series of the same klines.
+     */
+    public BigDecimal calculate(List<HistoricalKline> klines, List<BigDecimal> emaSeries) {
+        if (klines.size() < PERIODS) {
+            throw new NotEnoughDataForCalculationException("Not enough data for Bull/Bear calculations");
+        }
+
         BigDecimal latestBullBearPower = BigDecimal.ZERO;
 
         for (int i = PERIODS - 1; i < klines.size(); i++) {
@@ -0,0 +1,105 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSnapshot;
+import com.example.backend.currency.HistoricalKline;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * {@link IndicatorCalculator} backed by a {@link DoubleIndicators} formula. Works directly on candle snapshots;
+ * kline lists are converted to a snapshot first.
+ */
+public class DoubleIndicatorCalculator<T> implements IndicatorCalculator<T> {
+
+    private final Function<CandleSnapshot, T> formula;
+
+    public DoubleIndicatorCalculator(Function<CandleSnapshot, T> formula) {
+        this.formula = formula;
+    }
+
+    @Override
+    public T calculate(List<HistoricalKline> klines) {
+        return calculate(CandleSnapshot.of(klines));
+    }
+
+    @Override
+    public T calculate(CandleSnapshot candles) {
+        return formula.apply(candles);
+    }
+
+    public static DoubleIndicatorCalculator<BigDecimal> sma(int periods) {
+        return new DoubleIndicatorCalculator<>(candles -> decimal(DoubleIndicators.sma(candles, periods)));
+    }
+
+    public static DoubleIndicatorCalculator<List<BigDecimal>> ema(int periods) {
+        return new DoubleIndicatorCalculator<>(candles -> decimals(DoubleIndicators.ema(candles, periods)));
+    }
+
+    public static DoubleIndicatorCalculator<BigDecimal> rsi(int periods) {
+        return new DoubleIndicatorCalculator<>(candles -> decimal(DoubleIndicators.rsi(candles, periods)));
+    }
+
+    public static DoubleIndicatorCalculator<BigDecimal> volatility(int periods) {
+        return new DoubleIndicatorCalculator<>(candles -> decimal(DoubleIndicators.volatility(candles, periods)));
+    }
+
+    public static DoubleIndicatorCalculator<MacdResult> macd() {
+        return new DoubleIndicatorCalculator<>(candles -> {
+            double[] macd = DoubleIndicators.macd(candles);
+            return new MacdResult(decimal(macd[0]), decimal(macd[1]));
+        });
+    }
+
+    public static DoubleIndicatorCalculator<BigDecimal> adx() {
+        return new DoubleIndicatorCalculator<>(candles -> decimal(DoubleIndicators.adx(candles)));
+    }
+
+    public static DoubleIndicatorCalculator<BigDecimal> bullBearPower() {
+        return new DoubleIndicatorCalculator<>(candles -> decimal(DoubleIndicators.bullBearPower(candles)));
+    }
+
+    public static DoubleIndicatorCalculator<BigDecimal> williamsR() {
+        return new DoubleIndicatorCalculator<>(candles -> decimal(DoubleIndicators.williamsR(candles)));
+    }
+
+    public static DoubleIndicatorCalculator<BigDecimal> cci() {
+        return new DoubleIndicatorCalculator<>(candles -> decimal(DoubleIndicators.cci(candles)));
+    }
+
+    public static DoubleIndicatorCalculator<BigDecimal> atr() {
+        return new DoubleIndicatorCalculator<>(candles -> decimal(DoubleIndicators.atr(candles)));
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value);
+    }
+
+    /**
+     * Read-only list view over a double series; elements are converted to BigDecimal only when read.
+     */
+    private static List<BigDecimal> decimals(double[] values) {
+        return new DecimalListView(values);
+    }
+
+    private static final class DecimalListView extends AbstractList<BigDecimal> implements RandomAccess {
+        private final double[] values;
+
+        private DecimalListView(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public BigDecimal get(int index) {
+            return BigDecimal.valueOf(values[index]);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
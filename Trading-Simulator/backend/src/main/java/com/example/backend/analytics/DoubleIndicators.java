@@ -0,0 +1,330 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSnapshot;
+import com.example.backend.exceptions.NotEnoughDataForCalculationException;
+
+/**
+ * Primitive {@code double} versions of the indicator formulas. They follow the BigDecimal calculators step by step,
+ * including the fixed-scale roundings those apply (e.g. 5 decimal places for true range and directional movement),
+ * but keep running state in local variables instead of building intermediate series.
+ */
+public final class DoubleIndicators {
+
+    static final int ADX_PERIODS = 14;
+    static final int BULL_BEAR_PERIODS = 13;
+    static final int WILLIAMS_R_PERIODS = 14;
+    static final int CCI_PERIODS = 20;
+    static final int MACD_SHORT_PERIODS = 12;
+    static final int MACD_LONG_PERIODS = 26;
+    static final int MACD_SIGNAL_PERIODS = 9;
+
+    private static final double CCI_CONSTANT = 0.015;
+
+    private DoubleIndicators() {
+    }
+
+    public static double sma(CandleSnapshot candles, int periods) {
+        int size = candles.size();
+        if (size < periods) {
+            throw new NotEnoughDataForCalculationException("Not enough data for SMA calculation");
+        }
+        double sum = 0;
+        for (int i = size - periods; i < size; i++) {
+            sum += candles.close(i);
+        }
+        return sum / periods;
+    }
+
+    /**
+     * EMA series starting with the SMA of the first {@code periods} closes.
+     */
+    public static double[] ema(CandleSnapshot candles, int periods) {
+        int size = candles.size();
+        if (size < periods) {
+            throw new NotEnoughDataForCalculationException("Not enough data for EMA calculation");
+        }
+        double[] series = new double[size - periods + 1];
+        double sum = 0;
+        for (int i = 0; i < periods; i++) {
+            sum += candles.close(i);
+        }
+        series[0] = sum / periods;
+
+        double k = 2.0 / (periods + 1.0);
+        for (int i = periods; i < size; i++) {
+            series[i - periods + 1] = candles.close(i) * k + series[i - periods] * (1 - k);
+        }
+        return series;
+    }
+
+    public static double lastEma(CandleSnapshot candles, int periods) {
+        int size = candles.size();
+        if (size < periods) {
+            throw new NotEnoughDataForCalculationException("Not enough data for EMA calculation");
+        }
+        double ema = 0;
+        for (int i = 0; i < periods; i++) {
+            ema += candles.close(i);
+        }
+        ema /= periods;
+
+        double k = 2.0 / (periods + 1.0);
+        for (int i = periods; i < size; i++) {
+            ema = candles.close(i) * k + ema * (1 - k);
+        }
+        return ema;
+    }
+
+    public static double rsi(CandleSnapshot candles, int periods) {
+        int size = candles.size();
+        if (size < periods + 1) {
+            throw new NotEnoughDataForCalculationException("Not enough data for RSI calculation");
+        }
+        double gain = 0;
+        double loss = 0;
+        for (int i = size - periods; i < size; i++) {
+            double change = candles.close(i) - candles.close(i - 1);
+            if (change > 0) {
+                gain += change;
+            } else {
+                loss -= change;
+            }
+        }
+        return rsi(gain, loss);
+    }
+
+    public static double volatility(CandleSnapshot candles, int periods) {
+        int size = candles.size();
+        if (size < periods) {
+            throw new NotEnoughDataForCalculationException("Not enough data for Volatility calculation");
+        }
+        double mean = 0;
+        for (int i = size - periods; i < size; i++) {
+            mean += candles.close(i);
+        }
+        mean /= periods;
+
+        double varianceSum = 0;
+        for (int i = size - periods; i < size; i++) {
+            double diff = candles.close(i) - mean;
+            varianceSum += diff * diff;
+        }
+        return Math.sqrt(round(round(varianceSum, 2) / periods, 2));
+    }
+
+    /**
+     * Latest MACD line and signal line, both rounded to 8 decimal places.
+     *
+     * @return {@code [macd, signal]}
+     */
+    public static double[] macd(CandleSnapshot candles) {
+        int size = candles.size();
+        if (size < MACD_LONG_PERIODS + MACD_SIGNAL_PERIODS) {
+            throw new NotEnoughDataForCalculationException("Not enough data for MACD calculator");
+        }
+        double shortK = 2.0 / (MACD_SHORT_PERIODS + 1.0);
+        double longK = 2.0 / (MACD_LONG_PERIODS + 1.0);
+        double signalK = 2.0 / (MACD_SIGNAL_PERIODS + 1.0);
+
+        double shortEma = 0;
+        double longEma = 0;
+        for (int i = 0; i < MACD_LONG_PERIODS; i++) {
+            double close = candles.close(i);
+            if (i < MACD_SHORT_PERIODS) {
+                shortEma += close;
+                if (i == MACD_SHORT_PERIODS - 1) {
+                    shortEma /= MACD_SHORT_PERIODS;
+                }
+            } else {
+                shortEma = close * shortK + shortEma * (1 - shortK);
+            }
+            longEma += close;
+        }
+        longEma /= MACD_LONG_PERIODS;
+
+        double macd = shortEma - longEma;
+        double signal = macd;
+        int macdCount = 1;
+        for (int i = MACD_LONG_PERIODS; i < size; i++) {
+            double close = candles.close(i);
+            shortEma = close * shortK + shortEma * (1 - shortK);
+            longEma = close * longK + longEma * (1 - longK);
+            macd = shortEma - longEma;
+            macdCount++;
+            if (macdCount < MACD_SIGNAL_PERIODS) {
+                signal += macd;
+            } else if (macdCount == MACD_SIGNAL_PERIODS) {
+                signal = (signal + macd) / MACD_SIGNAL_PERIODS;
+            } else {
+                signal = macd * signalK + signal * (1 - signalK);
+            }
+        }
+        return new double[]{round(macd, 8), round(signal, 8)};
+    }
+
+    public static double adx(CandleSnapshot candles) {
+        int size = candles.size();
+        if (size < ADX_PERIODS * 2 + 1) {
+            throw new NotEnoughDataForCalculationException("Not enough ADX data to calculate");
+        }
+        double smoothedTr = 0;
+        double smoothedPositiveDm = 0;
+        double smoothedNegativeDm = 0;
+        double adx = 0;
+        int dxCount = 0;
+
+        for (int i = 1; i < size; i++) {
+            double tr = trueRange(candles, i);
+            double diffHigh = round(candles.high(i) - candles.high(i - 1), 5);
+            double diffLow = round(candles.low(i - 1) - candles.low(i), 5);
+            double positiveDm = diffHigh > diffLow && diffHigh > 0 ? diffHigh : 0;
+            double negativeDm = diffLow > diffHigh && diffLow > 0 ? diffLow : 0;
+
+            if (i < ADX_PERIODS) {
+                smoothedTr += tr;
+                smoothedPositiveDm += positiveDm;
+                smoothedNegativeDm += negativeDm;
+                continue;
+            }
+            if (i == ADX_PERIODS) {
+                smoothedTr = (smoothedTr + tr) / ADX_PERIODS;
+                smoothedPositiveDm = (smoothedPositiveDm + positiveDm) / ADX_PERIODS;
+                smoothedNegativeDm = (smoothedNegativeDm + negativeDm) / ADX_PERIODS;
+            } else {
+                smoothedTr = wilder(smoothedTr, tr);
+                smoothedPositiveDm = wilder(smoothedPositiveDm, positiveDm);
+                smoothedNegativeDm = wilder(smoothedNegativeDm, negativeDm);
+            }
+
+            double positiveDi = directionalIndicator(smoothedPositiveDm, smoothedTr);
+            double negativeDi = directionalIndicator(smoothedNegativeDm, smoothedTr);
+            double dx = directionalIndex(positiveDi, negativeDi);
+
+            dxCount++;
+            if (dxCount < ADX_PERIODS) {
+                adx += dx;
+            } else if (dxCount == ADX_PERIODS) {
+                adx = (adx + dx) / ADX_PERIODS;
+            } else {
+                adx = wilder(adx, dx);
+            }
+        }
+        return adx;
+    }
+
+    public static double atr(CandleSnapshot candles) {
+        int size = candles.size();
+        if (size - 1 < ADX_PERIODS) {
+            throw new NotEnoughDataForCalculationException("Not enough data to calculate ATR");
+        }
+        double atr = 0;
+        for (int i = 1; i < size; i++) {
+            double tr = trueRange(candles, i);
+            if (i < ADX_PERIODS) {
+                atr += tr;
+            } else if (i == ADX_PERIODS) {
+                atr = (atr + tr) / ADX_PERIODS;
+            } else {
+                atr = wilder(atr, tr);
+            }
+        }
+        return atr;
+    }
+
+    public static double bullBearPower(CandleSnapshot candles) {
+        int size = candles.size();
+        if (size < BULL_BEAR_PERIODS) {
+            throw new NotEnoughDataForCalculationException("Not enough data for Bull/Bear calculations");
+        }
+        double ema = lastEma(candles, BULL_BEAR_PERIODS);
+        return bullBearPower(candles.high(size - 1), candles.low(size - 1), ema);
+    }
+
+    public static double williamsR(CandleSnapshot candles) {
+        int size = candles.size();
+        if (size < WILLIAMS_R_PERIODS) {
+            throw new NotEnoughDataForCalculationException("Not enough data to calculate WilliamsR indicator");
+        }
+        double highestHigh = Double.NEGATIVE_INFINITY;
+        double lowestLow = Double.POSITIVE_INFINITY;
+        for (int i = size - WILLIAMS_R_PERIODS; i < size; i++) {
+            highestHigh = Math.max(highestHigh, candles.high(i));
+            lowestLow = Math.min(lowestLow, candles.low(i));
+        }
+        double denominator = highestHigh - lowestLow;
+        if (denominator == 0) {
+            return 0;
+        }
+        return round((highestHigh - candles.close(size - 1)) / denominator, 8) * -100;
+    }
+
+    public static double cci(CandleSnapshot candles) {
+        int size = candles.size();
+        if (size < CCI_PERIODS) {
+            throw new NotEnoughDataForCalculationException("Not enough data for CCI calculator");
+        }
+        double sumOfTp = 0;
+        for (int i = size - CCI_PERIODS; i < size; i++) {
+            sumOfTp += typicalPrice(candles, i);
+        }
+        double sma = sumOfTp / CCI_PERIODS;
+
+        double meanDeviationSum = 0;
+        for (int i = size - CCI_PERIODS; i < size; i++) {
+            meanDeviationSum += Math.abs(typicalPrice(candles, i) - sma);
+        }
+        double meanDeviation = meanDeviationSum / CCI_PERIODS;
+        if (meanDeviation == 0) {
+            return 0;
+        }
+        return (typicalPrice(candles, size - 1) - sma) / (CCI_CONSTANT * meanDeviation);
+    }
+
+    /**
+     * Rounds half away from zero, like {@link java.math.RoundingMode#HALF_UP}.
+     */
+    static double round(double value, int scale) {
+        double factor = Math.pow(10, scale);
+        return Math.signum(value) * Math.floor(Math.abs(value) * factor + 0.5) / factor;
+    }
+
+    /**
+     * RSI from the summed gains and losses of the same number of periods.
+     */
+    static double rsi(double gain, double loss) {
+        if (loss == 0) {
+            return 100;
+        }
+        // Like RsiCalculator, which divides 100 at scale 0, 100 / (1 + RS) is rounded to a whole number
+        return 100 - round(100 / (1 + gain / loss), 0);
+    }
+
+    static double trueRange(double high, double low, double closePrev) {
+        return round(Math.max(high - low, Math.max(Math.abs(high - closePrev), Math.abs(low - closePrev))), 5);
+    }
+
+    static double directionalIndicator(double smoothedDm, double smoothedTr) {
+        return smoothedTr == 0 ? 0 : round(smoothedDm / smoothedTr * 100, 5);
+    }
+
+    static double directionalIndex(double positiveDi, double negativeDi) {
+        double sum = round(positiveDi + negativeDi, 5);
+        return sum == 0 ? 0 : round(round(Math.abs(positiveDi - negativeDi), 5) / sum * 100, 5);
+    }
+
+    static double bullBearPower(double high, double low, double ema) {
+        return (round(high - ema, 5) + round(low - ema, 5)) / 2;
+    }
+
+    private static double trueRange(CandleSnapshot candles, int index) {
+        return trueRange(candles.high(index), candles.low(index), candles.close(index - 1));
+    }
+
+    static double wilder(double previous, double value) {
+        return (previous * (ADX_PERIODS - 1) + value) / ADX_PERIODS;
+    }
+
+    private static double typicalPrice(CandleSnapshot candles, int index) {
+        return (candles.high(index) + candles.low(index) + candles.close(index)) / 3;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.analytics;
+
+/**
+ * ADX with Wilder smoothing over 14 periods, following {@link AdxCalculator}: true range and directional movement
+ * are smoothed first, then the directional index is smoothed into the ADX.
+ */
+public class IncrementalAdx extends IncrementalIndicator {
+
+    private static final int PERIODS = DoubleIndicators.ADX_PERIODS;
+
+    private int candles;
+    private double previousHigh;
+    private double previousLow;
+    private double previousClose;
+    private double smoothedTr;
+    private double smoothedPositiveDm;
+    private double smoothedNegativeDm;
+    private double adx;
+
+    @Override
+    protected double update(double high, double low, double close, boolean commit) {
+        if (candles == 0) {
+            if (commit) {
+                remember(high, low, close);
+                candles = 1;
+            }
+            return Double.NaN;
+        }
+        double tr = DoubleIndicators.trueRange(high, low, previousClose);
+        double diffHigh = DoubleIndicators.round(high - previousHigh, 5);
+        double diffLow = DoubleIndicators.round(previousLow - low, 5);
+        double positiveDm = diffHigh > diffLow && diffHigh > 0 ? diffHigh : 0;
+        double negativeDm = diffLow > diffHigh && diffLow > 0 ? diffLow : 0;
+
+        double newTr;
+        double newPositiveDm;
+        double newNegativeDm;
+        double newAdx = adx;
+        if (candles < PERIODS) {
+            newTr = smoothedTr + tr;
+            newPositiveDm = smoothedPositiveDm + positiveDm;
+            newNegativeDm = smoothedNegativeDm + negativeDm;
+        } else {
+            if (candles == PERIODS) {
+                newTr = (smoothedTr + tr) / PERIODS;
+                newPositiveDm = (smoothedPositiveDm + positiveDm) / PERIODS;
+                newNegativeDm = (smoothedNegativeDm + negativeDm) / PERIODS;
+            } else {
+                newTr = DoubleIndicators.wilder(smoothedTr, tr);
+                newPositiveDm = DoubleIndicators.wilder(smoothedPositiveDm, positiveDm);
+                newNegativeDm = DoubleIndicators.wilder(smoothedNegativeDm, negativeDm);
+            }
+            double positiveDi = DoubleIndicators.directionalIndicator(newPositiveDm, newTr);
+            double negativeDi = DoubleIndicators.directionalIndicator(newNegativeDm, newTr);
+            double dx = DoubleIndicators.directionalIndex(positiveDi, negativeDi);
+
+            int dxCount = candles - PERIODS + 1;
+            if (dxCount < PERIODS) {
+                newAdx = adx + dx;
+            } else if (dxCount == PERIODS) {
+                newAdx = (adx + dx) / PERIODS;
+            } else {
+                newAdx = DoubleIndicators.wilder(adx, dx);
+            }
+        }
+        if (commit) {
+            smoothedTr = newTr;
+            smoothedPositiveDm = newPositiveDm;
+            smoothedNegativeDm = newNegativeDm;
+            adx = newAdx;
+            remember(high, low, close);
+            candles++;
+        }
+        return candles + (commit ? 0 : 1) <= PERIODS * 2 ? Double.NaN : newAdx;
+    }
+
+    private void remember(double high, double low, double close) {
+        previousHigh = high;
+        previousLow = low;
+        previousClose = close;
+    }
+}
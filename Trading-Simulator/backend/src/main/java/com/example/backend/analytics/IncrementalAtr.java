@@ -0,0 +1,37 @@
+package com.example.backend.analytics;
+
+/**
+ * ATR with Wilder smoothing over 14 periods, following {@link AtrCalculator}.
+ */
+public class IncrementalAtr extends IncrementalIndicator {
+
+    private int candles;
+    private double atr;
+    private double previousClose;
+
+    @Override
+    protected double update(double high, double low, double close, boolean commit) {
+        if (candles == 0) {
+            if (commit) {
+                previousClose = close;
+                candles = 1;
+            }
+            return Double.NaN;
+        }
+        double tr = DoubleIndicators.trueRange(high, low, previousClose);
+        double result;
+        if (candles < DoubleIndicators.ADX_PERIODS) {
+            result = atr + tr;
+        } else if (candles == DoubleIndicators.ADX_PERIODS) {
+            result = (atr + tr) / DoubleIndicators.ADX_PERIODS;
+        } else {
+            result = DoubleIndicators.wilder(atr, tr);
+        }
+        if (commit) {
+            atr = result;
+            previousClose = close;
+            candles++;
+        }
+        return candles + (commit ? 0 : 1) <= DoubleIndicators.ADX_PERIODS ? Double.NaN : result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.analytics;
+
+/**
+ * Bull/Bear Power of the latest candle against the 13-period EMA of the closes, following
+ * {@link BullBearPowerCalculator}.
+ */
+public class IncrementalBullBearPower extends IncrementalIndicator {
+
+    private final IncrementalEma ema = new IncrementalEma(DoubleIndicators.BULL_BEAR_PERIODS);
+
+    @Override
+    protected double update(double high, double low, double close, boolean commit) {
+        double emaValue = ema.update(close, commit);
+        return Double.isNaN(emaValue) ? Double.NaN : DoubleIndicators.bullBearPower(high, low, emaValue);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.analytics;
+
+/**
+ * EMA of the closes, seeded with the SMA of the first {@code periods} closes like {@link EmaCalculator}.
+ */
+public class IncrementalEma extends IncrementalIndicator {
+
+    private final int periods;
+    private final double k;
+    private int count;
+    private double ema;
+
+    public IncrementalEma(int periods) {
+        this.periods = periods;
+        this.k = 2.0 / (periods + 1.0);
+    }
+
+    @Override
+    protected double update(double high, double low, double close, boolean commit) {
+        return update(close, commit);
+    }
+
+    /**
+     * Same as {@link #advance} or {@link #peek} for an arbitrary input series, so other indicators can smooth
+     * values that are not closes.
+     */
+    double update(double input, boolean commit) {
+        double result;
+        if (count < periods) {
+            // ema holds the sum of the inputs until the seed is complete
+            double sum = ema + input;
+            result = count + 1 == periods ? sum / periods : sum;
+        } else {
+            result = input * k + ema * (1 - k);
+        }
+        if (commit) {
+            ema = result;
+            count = Math.min(count + 1, periods);
+        }
+        return count + (commit ? 0 : 1) < periods ? Double.NaN : result;
+    }
+}
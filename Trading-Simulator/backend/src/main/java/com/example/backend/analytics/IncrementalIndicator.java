@@ -0,0 +1,42 @@
+package com.example.backend.analytics;
+
+/**
+ * Indicator that keeps running state and is updated one candle at a time instead of being recalculated over the
+ * whole series. Each update is O(1) in the number of candles seen so far.
+ * <p>
+ * Closed candles are committed with {@link #advance}. The candle that is still forming is evaluated with
+ * {@link #peek}, which returns the value the indicator would have if that candle closed now and leaves the state
+ * untouched, so it can be called on every price change. Both return {@link Double#NaN} until enough candles have
+ * been committed for the same calculation to succeed on the batch calculators.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public abstract class IncrementalIndicator {
+
+    private double value = Double.NaN;
+
+    public double advance(double high, double low, double close) {
+        value = update(high, low, close, true);
+        return value;
+    }
+
+    public double peek(double high, double low, double close) {
+        return update(high, low, close, false);
+    }
+
+    /**
+     * Value after the last committed candle, or {@link Double#NaN} when there is not enough data yet.
+     */
+    public double value() {
+        return value;
+    }
+
+    public boolean isReady() {
+        return !Double.isNaN(value);
+    }
+
+    /**
+     * Calculates the value including the given candle and, when {@code commit} is set, makes it part of the state.
+     */
+    protected abstract double update(double high, double low, double close, boolean commit);
+}
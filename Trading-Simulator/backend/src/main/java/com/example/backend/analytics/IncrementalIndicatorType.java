@@ -0,0 +1,41 @@
+package com.example.backend.analytics;
+
+import java.util.function.IntFunction;
+
+/**
+ * Indicators that have an {@link IncrementalIndicator} implementation. Types with a fixed period ignore the
+ * periods passed to {@link #create}.
+ */
+public enum IncrementalIndicatorType {
+    SMA(true, IncrementalSma::new),
+    EMA(true, IncrementalEma::new),
+    RSI(true, IncrementalRsi::new),
+    MACD(false, periods -> new IncrementalMacd()),
+    ADX(false, periods -> new IncrementalAdx()),
+    ATR(false, periods -> new IncrementalAtr()),
+    BULL_BEAR_POWER(false, periods -> new IncrementalBullBearPower()),
+    WILLIAMS_R(false, periods -> new IncrementalWilliamsR());
+
+    private final boolean periodic;
+    private final IntFunction<IncrementalIndicator> factory;
+
+    IncrementalIndicatorType(boolean periodic, IntFunction<IncrementalIndicator> factory) {
+        this.periodic = periodic;
+        this.factory = factory;
+    }
+
+    public IncrementalIndicator create(int periods) {
+        return factory.apply(periods);
+    }
+
+    /**
+     * Key of the indicator state for the given periods, e.g. {@code SMA:30} or {@code ADX}.
+     */
+    public String key(int periods) {
+        return periodic ? name() + ":" + periods : name();
+    }
+
+    public boolean isPeriodic() {
+        return periodic;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.analytics;
+
+/**
+ * MACD(12, 26, 9) following {@link MacdCalculator}. The indicator value is the MACD line; the signal line of the
+ * last committed candle and of the last peek are available separately. Both lines are rounded to 8 decimal places.
+ */
+public class IncrementalMacd extends IncrementalIndicator {
+
+    private static final int REQUIRED_CANDLES =
+            DoubleIndicators.MACD_LONG_PERIODS + DoubleIndicators.MACD_SIGNAL_PERIODS;
+
+    private final IncrementalEma shortEma = new IncrementalEma(DoubleIndicators.MACD_SHORT_PERIODS);
+    private final IncrementalEma longEma = new IncrementalEma(DoubleIndicators.MACD_LONG_PERIODS);
+    private final IncrementalEma signalEma = new IncrementalEma(DoubleIndicators.MACD_SIGNAL_PERIODS);
+    private int candles;
+    private double signal = Double.NaN;
+    private double peekedSignal = Double.NaN;
+
+    @Override
+    protected double update(double high, double low, double close, boolean commit) {
+        double shortValue = shortEma.update(close, commit);
+        double longValue = longEma.update(close, commit);
+        double macd = Double.NaN;
+        double signalValue = Double.NaN;
+        if (!Double.isNaN(longValue)) {
+            macd = shortValue - longValue;
+            signalValue = signalEma.update(macd, commit);
+        }
+        if (commit) {
+            candles++;
+        }
+        boolean ready = candles + (commit ? 0 : 1) >= REQUIRED_CANDLES;
+        double signalResult = ready ? DoubleIndicators.round(signalValue, 8) : Double.NaN;
+        if (commit) {
+            signal = signalResult;
+        } else {
+            peekedSignal = signalResult;
+        }
+        return ready ? DoubleIndicators.round(macd, 8) : Double.NaN;
+    }
+
+    /**
+     * Signal line after the last committed candle.
+     */
+    public double signal() {
+        return signal;
+    }
+
+    /**
+     * Signal line returned alongside the MACD line of the last {@link #peek}.
+     */
+    public double peekedSignal() {
+        return peekedSignal;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.analytics;
+
+/**
+ * RSI over the last {@code periods} close-to-close changes. Like {@link RsiCalculator} it averages gains and losses
+ * with a simple mean, so it keeps running sums over a ring of changes, recomputed once per full turn.
+ */
+public class IncrementalRsi extends IncrementalIndicator {
+
+    private final int periods;
+    private final double[] changes;
+    private int next;
+    private int count;
+    private double gain;
+    private double loss;
+    private double previousClose = Double.NaN;
+
+    public IncrementalRsi(int periods) {
+        this.periods = periods;
+        this.changes = new double[periods];
+    }
+
+    @Override
+    protected double update(double high, double low, double close, boolean commit) {
+        if (Double.isNaN(previousClose)) {
+            if (commit) {
+                previousClose = close;
+            }
+            return Double.NaN;
+        }
+        double change = close - previousClose;
+        double gainTotal = gain + Math.max(change, 0);
+        double lossTotal = loss + Math.max(-change, 0);
+        if (count == periods) {
+            double evicted = changes[next];
+            gainTotal -= Math.max(evicted, 0);
+            lossTotal -= Math.max(-evicted, 0);
+        }
+        int newCount = Math.min(count + 1, periods);
+        if (commit) {
+            changes[next] = change;
+            next = (next + 1) % periods;
+            count = newCount;
+            previousClose = close;
+            if (next == 0) {
+                recompute();
+            } else {
+                gain = gainTotal;
+                loss = lossTotal;
+            }
+            gainTotal = gain;
+            lossTotal = loss;
+        }
+        return newCount < periods ? Double.NaN : DoubleIndicators.rsi(gainTotal, lossTotal);
+    }
+
+    private void recompute() {
+        gain = 0;
+        loss = 0;
+        for (int i = 0; i < count; i++) {
+            gain += Math.max(changes[i], 0);
+            loss += Math.max(-changes[i], 0);
+        }
+    }
+}
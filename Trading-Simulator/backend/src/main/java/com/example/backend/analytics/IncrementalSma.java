@@ -0,0 +1,42 @@
+package com.example.backend.analytics;
+
+/**
+ * SMA of the closes kept as a running sum over a ring of the last {@code periods} closes. The sum is recomputed
+ * from the ring once per full turn so floating point error does not build up.
+ */
+public class IncrementalSma extends IncrementalIndicator {
+
+    private final int periods;
+    private final double[] closes;
+    private int next;
+    private int count;
+    private double sum;
+
+    public IncrementalSma(int periods) {
+        this.periods = periods;
+        this.closes = new double[periods];
+    }
+
+    @Override
+    protected double update(double high, double low, double close, boolean commit) {
+        double evicted = count == periods ? closes[next] : 0;
+        double total = sum - evicted + close;
+        int newCount = Math.min(count + 1, periods);
+        if (commit) {
+            closes[next] = close;
+            next = (next + 1) % periods;
+            count = newCount;
+            sum = next == 0 ? recompute() : total;
+            total = sum;
+        }
+        return newCount < periods ? Double.NaN : total / periods;
+    }
+
+    private double recompute() {
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += closes[i];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.backend.analytics;
+
+/**
+ * Williams %R over 14 periods following {@link WilliamsRCalculator}. The highs and lows of the window are kept in
+ * fixed-size rings, so an update scans a constant number of slots.
+ */
+public class IncrementalWilliamsR extends IncrementalIndicator {
+
+    private static final int PERIODS = DoubleIndicators.WILLIAMS_R_PERIODS;
+
+    private final double[] highs = new double[PERIODS];
+    private final double[] lows = new double[PERIODS];
+    private int next;
+    private int count;
+
+    @Override
+    protected double update(double high, double low, double close, boolean commit) {
+        int newCount = Math.min(count + 1, PERIODS);
+        double highestHigh = high;
+        double lowestLow = low;
+        for (int i = 0; i < count; i++) {
+            // the slot at next is the oldest candle and drops out of a full window
+            if (count == PERIODS && i == next) {
+                continue;
+            }
+            highestHigh = Math.max(highestHigh, highs[i]);
+            lowestLow = Math.min(lowestLow, lows[i]);
+        }
+        if (commit) {
+            highs[next] = high;
+            lows[next] = low;
+            next = (next + 1) % PERIODS;
+            count = newCount;
+        }
+        if (newCount < PERIODS) {
+            return Double.NaN;
+        }
+        double denominator = highestHigh - lowestLow;
+        if (denominator == 0) {
+            return 0;
+        }
+        return DoubleIndicators.round((highestHigh - close) / denominator, 8) * -100;
+    }
+}
@@ -1,53 +1,295 @@
 package com.example.backend.analytics;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.backend.currency.CandleSeriesListener;
+import com.example.backend.currency.CandleSeriesStore;
+import com.example.backend.currency.Currency;
+import com.example.backend.currency.HistoricalKline;
+import com.example.backend.currency.KlineIntervals;
+import com.example.backend.exceptions.CurrencyNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Two-level indicator cache: a local Caffeine cache in front of Redis. Values are stored in Redis in the compact
+ * binary form of {@link IndicatorValueCodec}.
+ * <p>
+ * Keys end with the open time of the newest candle of the series, so entries are invalidated as soon as a new
+ * candle appears, i.e. when the previous one closes. The TTL only bounds how long a value calculated on the
+ * forming candle is served.
+ * <p>
+ * {@link #getOrCompute} coalesces concurrent misses of the same key into one calculation and, while the last value
+ * of an indicator is younger than {@code analytics.cache.stale-seconds}, serves it immediately and recalculates in
+ * the background, so requests do not all stall when an entry expires or a candle closes.
+ */
 @Service
-public class IndicatorCacheService {
+public class IndicatorCacheService implements CandleSeriesListener {
 
     private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final CandleSeriesStore candleSeriesStore;
+    private final Expiration expiration;
+    private final Cache<String, Object> localCache;
+    private final Cache<String, Object> staleCache;
+    private final SingleFlight<String, Object> loads = new SingleFlight<>();
+    private final ThreadPoolExecutor refreshExecutor;
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
     private static final Logger logger = LoggerFactory.getLogger(IndicatorCacheService.class);
-    private static final Duration CACHE_TTL = Duration.ofMinutes(1);
+    // A refresh rejected because the queue is full is simply skipped; the stale value is served until the next miss
+    private static final int REFRESH_QUEUE_CAPACITY = 256;
 
-    public IndicatorCacheService(RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper) {
+    public IndicatorCacheService(RedisTemplate<String, String> redisTemplate,
+                                 CandleSeriesStore candleSeriesStore,
+                                 @Value("${analytics.cache.ttl-seconds:60}") long ttlSeconds,
+                                 @Value("${analytics.cache.local-max-size:10000}") long localMaxSize,
+                                 @Value("${analytics.cache.stale-seconds:600}") long staleSeconds,
+                                 @Value("${analytics.cache.refresh-threads:2}") int refreshThreads) {
         this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+        this.candleSeriesStore = candleSeriesStore;
+        this.expiration = Expiration.seconds(ttlSeconds);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.staleCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(staleSeconds))
+                .build();
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "IndicatorRefresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        candleSeriesStore.addListener(this);
     }
 
-    private <T> void saveIndicator(String indicatorName, String symbol, String interval, Integer periods, T value) {
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Cached value of an indicator, calculated with the loader on a miss. Concurrent misses of the same key share
+     * one calculation. When only a previous value of the indicator is available, e.g. from the candle before, it is
+     * returned right away and the new value is calculated in the background.
+     */
+    public <T> T getOrCompute(String indicatorName, String symbol, String interval, Integer periods, Class<T> type,
+                              Supplier<T> loader) {
         String key = buildKey(indicatorName, symbol, interval, periods);
+        T cached = getIndicator(key, indicatorName, type);
+        if (cached != null) {
+            return cached;
+        }
+        Object stale = staleCache.getIfPresent(staleKey(key));
+        if (type.isInstance(stale)) {
+            loads.submit(key, () -> {
+                try {
+                    return load(key, indicatorName, loader);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to refresh {} for {} {}: {}", indicatorName, symbol, interval, e.getMessage());
+                    throw e;
+                }
+            }, refreshExecutor);
+            return type.cast(stale);
+        }
+        return type.cast(loads.execute(key, () -> load(key, indicatorName, loader)));
+    }
+
+    /**
+     * Fresh value held in the near-cache, without going to Redis.
+     */
+    public <T> Optional<T> findLocal(String indicatorName, String symbol, String interval, Integer periods, Class<T> type) {
+        Object value = localCache.getIfPresent(buildKey(indicatorName, symbol, interval, periods));
+        return type.isInstance(value) ? Optional.of(type.cast(value)) : Optional.empty();
+    }
+
+    private <T> T load(String key, String indicatorName, Supplier<T> loader) {
+        T value = loader.get();
+        saveIndicator(key, indicatorName, value);
+        return value;
+    }
+
+    private <T> void saveIndicator(String indicatorName, String symbol, String interval, Integer periods, T value) {
+        saveIndicator(buildKey(indicatorName, symbol, interval, periods), indicatorName, value);
+    }
+
+    private void saveIndicator(String key, String indicatorName, Object value) {
         try {
-            String serializedValue = objectMapper.writeValueAsString(value);
-            redisTemplate.opsForValue().set(key, serializedValue, CACHE_TTL);
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize {}: {}", indicatorName, e.getMessage());
+            byte[] encoded = IndicatorValueCodec.encode(value);
+            localCache.put(key, value);
+            staleCache.put(staleKey(key), value);
+            redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.stringCommands().set(bytes(key), encoded, expiration, RedisStringCommands.SetOption.upsert()));
+        } catch (Exception e) {
+            logger.error("Failed to save {}: {}", indicatorName, e.getMessage());
         }
     }
 
     private <T> T getIndicator(String indicatorName, String symbol, String interval, Integer periods, Class<T> type) {
-        String key = buildKey(indicatorName, symbol, interval, periods);
+        return getIndicator(buildKey(indicatorName, symbol, interval, periods), indicatorName, type);
+    }
+
+    private <T> T getIndicator(String key, String indicatorName, Class<T> type) {
         try {
-            String cachedValue = redisTemplate.opsForValue().get(key);
-            return cachedValue != null ? objectMapper.readValue(cachedValue, type) : null;
+            Object value = localCache.getIfPresent(key);
+            if (value == null) {
+                byte[] cachedValue = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                        connection.stringCommands().get(bytes(key)));
+                value = cachedValue != null ? IndicatorValueCodec.decode(cachedValue) : null;
+                if (value != null) {
+                    localCache.put(key, value);
+                }
+            }
+            return type.isInstance(value) ? type.cast(value) : null;
         } catch (Exception e) {
-            logger.error("Failed to deserialize {}: {}", indicatorName, e.getMessage());
+            logger.error("Failed to read {}: {}", indicatorName, e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Writes every indicator of the batch in one Redis pipeline instead of one round trip per indicator.
+     */
+    public void saveAll(Batch batch) {
+        if (batch.values.isEmpty()) {
+            return;
+        }
+        localCache.putAll(batch.values);
+        batch.values.forEach((key, value) -> staleCache.put(staleKey(key), value));
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                batch.values.forEach((key, value) -> connection.stringCommands()
+                        .set(bytes(key), IndicatorValueCodec.encode(value), expiration, RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (Exception e) {
+            logger.error("Failed to save indicators of {} {}: {}", batch.symbol, batch.interval, e.getMessage());
+        }
+    }
+
+    public Batch batch(String symbol, String interval) {
+        return new Batch(symbol, interval);
+    }
+
+    /**
+     * Every cached indicator of a symbol and interval, read with one local lookup per indicator and a single MGET
+     * for those missing locally.
+     */
+    public CachedIndicators getAll(String symbol, String interval, int periods) {
+        CachedIndicators cached = new CachedIndicators(symbol, interval, periods);
+        List<String> missing = new ArrayList<>();
+        for (String key : cached.keys.values()) {
+            Object value = localCache.getIfPresent(key);
+            if (value != null) {
+                cached.values.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return cached;
+        }
+        try {
+            byte[][] keys = missing.stream().map(IndicatorCacheService::bytes).toArray(byte[][]::new);
+            List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.stringCommands().mGet(keys));
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    Object value = IndicatorValueCodec.decode(values.get(i));
+                    cached.values.put(missing.get(i), value);
+                    localCache.put(missing.get(i), value);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to read indicators of {} {}: {}", symbol, interval, e.getMessage());
+        }
+        return cached;
+    }
+
+    /**
+     * Moves the series to a new generation when the sync brings a newer candle.
+     */
+    @Override
+    public void onKlines(Currency currency, String interval, List<HistoricalKline> klines) {
+        if (klines.isEmpty()) {
+            return;
+        }
+        long newest = klines.get(klines.size() - 1).getOpenTime();
+        generations.merge(seriesKey(currency.getSymbol(), interval), newest, Math::max);
+    }
+
     private String buildKey(String indicatorName, String symbol, String interval, Integer periods) {
-        String baseKey = String.format("%s:%s:%s", indicatorName.toUpperCase(), symbol.toUpperCase(), interval);
-        return periods != null ? baseKey + ":" + periods : baseKey;
+        StringBuilder key = new StringBuilder(48)
+                .append(indicatorName.toUpperCase()).append(':')
+                .append(symbol.toUpperCase()).append(':')
+                .append(interval);
+        if (periods != null) {
+            key.append(':').append(periods);
+        }
+        return key.append('@').append(generation(symbol, interval)).toString();
+    }
+
+    /**
+     * Open time of the newest candle known for the series. Series that the sync has not reported yet are looked
+     * up in the candle store; unknown symbols and intervals use generation 0 and are not remembered.
+     */
+    private long generation(String symbol, String interval) {
+        String seriesKey = seriesKey(symbol, interval);
+        Long generation = generations.get(seriesKey);
+        if (generation != null) {
+            return generation;
+        }
+        if (!KlineIntervals.ALL.contains(interval)) {
+            return 0;
+        }
+        try {
+            Long lastOpenTime = candleSeriesStore.lastOpenTime(candleSeriesStore.resolveCurrencyId(symbol), interval);
+            long resolved = lastOpenTime != null ? lastOpenTime : 0;
+            return generations.merge(seriesKey, resolved, Math::max);
+        } catch (CurrencyNotFoundException e) {
+            return 0;
+        }
     }
+
+    /**
+     * Key without the generation, shared by every generation of the same indicator.
+     */
+    private static String staleKey(String key) {
+        return key.substring(0, key.lastIndexOf('@'));
+    }
+
+    private static String seriesKey(String symbol, String interval) {
+        return symbol.toUpperCase() + ':' + interval;
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
     public void saveSma(String symbol, String interval, int periods, BigDecimal value) {
         saveIndicator("SMA", symbol, interval, periods, value);
     }
@@ -127,4 +369,132 @@ public class IndicatorCacheService {
     public BigDecimal getAtr(String symbol, String interval) {
         return getIndicator("ATR", symbol, interval, null, BigDecimal.class);
     }
-}
\ No newline at end of file
+
+    /**
+     * Indicators of one symbol and interval to be written together with {@link #saveAll}.
+     */
+    @Getter
+    public class Batch {
+        private final String symbol;
+        private final String interval;
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        private Batch(String symbol, String interval) {
+            this.symbol = symbol;
+            this.interval = interval;
+        }
+
+        public Batch sma(int periods, BigDecimal value) {
+            return add("SMA", periods, value);
+        }
+
+        public Batch ema(int periods, BigDecimal value) {
+            return add("EMA", periods, value);
+        }
+
+        public Batch rsi(int periods, BigDecimal value) {
+            return add("RSI", periods, value);
+        }
+
+        public Batch volatility(int periods, BigDecimal value) {
+            return add("VOLATILITY", periods, value);
+        }
+
+        public Batch macd(MacdResult value) {
+            return add("MACD", null, value);
+        }
+
+        public Batch adx(BigDecimal value) {
+            return add("ADX", null, value);
+        }
+
+        public Batch bp(BigDecimal value) {
+            return add("BP", null, value);
+        }
+
+        public Batch williamsR(BigDecimal value) {
+            return add("WILLIAMS_R", null, value);
+        }
+
+        public Batch cci(BigDecimal value) {
+            return add("CCI", null, value);
+        }
+
+        public Batch atr(BigDecimal value) {
+            return add("ATR", null, value);
+        }
+
+        public boolean contains(String indicatorName, Integer periods) {
+            return values.containsKey(buildKey(indicatorName, symbol, interval, periods));
+        }
+
+        private Batch add(String indicatorName, Integer periods, Object value) {
+            if (value != null) {
+                values.put(buildKey(indicatorName, symbol, interval, periods), value);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Result of {@link #getAll}; each getter returns {@code null} when the indicator is not cached.
+     */
+    public class CachedIndicators {
+        private final Map<String, String> keys = new LinkedHashMap<>();
+        private final Map<String, Object> values = new HashMap<>();
+
+        private CachedIndicators(String symbol, String interval, int periods) {
+            for (String indicatorName : List.of("SMA", "EMA", "RSI", "VOLATILITY")) {
+                keys.put(indicatorName, buildKey(indicatorName, symbol, interval, periods));
+            }
+            for (String indicatorName : List.of("MACD", "ADX", "BP", "WILLIAMS_R", "CCI", "ATR")) {
+                keys.put(indicatorName, buildKey(indicatorName, symbol, interval, null));
+            }
+        }
+
+        public BigDecimal getSma() {
+            return get("SMA", BigDecimal.class);
+        }
+
+        public BigDecimal getEma() {
+            return get("EMA", BigDecimal.class);
+        }
+
+        public BigDecimal getRsi() {
+            return get("RSI", BigDecimal.class);
+        }
+
+        public BigDecimal getVolatility() {
+            return get("VOLATILITY", BigDecimal.class);
+        }
+
+        public MacdResult getMacd() {
+            return get("MACD", MacdResult.class);
+        }
+
+        public BigDecimal getAdx() {
+            return get("ADX", BigDecimal.class);
+        }
+
+        public BigDecimal getBp() {
+            return get("BP", BigDecimal.class);
+        }
+
+        public BigDecimal getWilliamsR() {
+            return get("WILLIAMS_R", BigDecimal.class);
+        }
+
+        public BigDecimal getCci() {
+            return get("CCI", BigDecimal.class);
+        }
+
+        public BigDecimal getAtr() {
+            return get("ATR", BigDecimal.class);
+        }
+
+        private <T> T get(String indicatorName, Class<T> type) {
+            Object value = values.get(keys.get(indicatorName));
+            return type.isInstance(value) ? type.cast(value) : null;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.backend.analytics;
 
+import com.example.backend.currency.CandleSnapshot;
 import com.example.backend.currency.HistoricalKline;
 
 import java.util.List;
 
 public interface IndicatorCalculator<T> {
     T calculate(List<HistoricalKline> klines);
+
+    default T calculate(CandleSnapshot candles) {
+        return calculate(candles.toKlines());
+    }
 }
@@ -0,0 +1,162 @@
+package com.example.backend.analytics;
+
+import com.example.backend.exceptions.UnsupportedIndicatorEngineException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Creates indicator calculators for the requested {@link IndicatorEngine}. The engine used when none is requested
+ * is set with {@code analytics.engine}.
+ */
+@Component
+public class IndicatorCalculatorFactory {
+
+    private final AdxCalculator adxCalculator;
+    private final BullBearPowerCalculator bullBearPowerCalculator;
+    private final AtrCalculator atrCalculator;
+    private final EmaCalculatorFactory emaCalculatorFactory;
+    private final TrueRangeCalculator trueRangeCalculator;
+    private final PositiveDMCalculator positiveDMCalculator;
+    private final NegativeDMCalculator negativeDMCalculator;
+    private final WilderSmoothingCalculator wilderSmoothingCalculator;
+    private final DirectionalIndicatorCalculator directionalIndicatorCalculator;
+    private final DXCalculator dxCalculator;
+    private final IndicatorEngine defaultEngine;
+
+    public IndicatorCalculatorFactory(AdxCalculator adxCalculator,
+                                      BullBearPowerCalculator bullBearPowerCalculator,
+                                      AtrCalculator atrCalculator,
+                                      EmaCalculatorFactory emaCalculatorFactory,
+                                      TrueRangeCalculator trueRangeCalculator,
+                                      PositiveDMCalculator positiveDMCalculator,
+                                      NegativeDMCalculator negativeDMCalculator,
+                                      WilderSmoothingCalculator wilderSmoothingCalculator,
+                                      DirectionalIndicatorCalculator directionalIndicatorCalculator,
+                                      DXCalculator dxCalculator,
+                                      @Value("${analytics.engine:decimal}") String defaultEngine) {
+        this.adxCalculator = adxCalculator;
+        this.bullBearPowerCalculator = bullBearPowerCalculator;
+        this.atrCalculator = atrCalculator;
+        this.emaCalculatorFactory = emaCalculatorFactory;
+        this.trueRangeCalculator = trueRangeCalculator;
+        this.positiveDMCalculator = positiveDMCalculator;
+        this.negativeDMCalculator = negativeDMCalculator;
+        this.wilderSmoothingCalculator = wilderSmoothingCalculator;
+        this.directionalIndicatorCalculator = directionalIndicatorCalculator;
+        this.dxCalculator = dxCalculator;
+        this.defaultEngine = IndicatorEngine.from(defaultEngine);
+    }
+
+    /**
+     * Engine for a request, falling back to the configured default when none is given.
+     *
+     * @throws UnsupportedIndicatorEngineException when the name is not a known engine
+     */
+    public IndicatorEngine resolve(String engine) {
+        if (engine == null || engine.isBlank()) {
+            return defaultEngine;
+        }
+        try {
+            return IndicatorEngine.from(engine);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedIndicatorEngineException("Unsupported indicator engine: " + engine);
+        }
+    }
+
+    public IndicatorEngine getDefaultEngine() {
+        return defaultEngine;
+    }
+
+    public IndicatorCalculator<BigDecimal> sma(int periods, IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.sma(periods)
+                : new SmaCalculator(periods);
+    }
+
+    public IndicatorCalculator<List<BigDecimal>> ema(int periods, IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.ema(periods)
+                : emaCalculatorFactory.create(periods);
+    }
+
+    public IndicatorCalculator<BigDecimal> rsi(int periods, IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.rsi(periods)
+                : new RsiCalculator(periods);
+    }
+
+    public IndicatorCalculator<BigDecimal> volatility(int periods, IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.volatility(periods)
+                : new VolatilityCalculator(periods);
+    }
+
+    public IndicatorCalculator<MacdResult> macd(IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.macd()
+                : new MacdCalculator();
+    }
+
+    public IndicatorCalculator<BigDecimal> adx(IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.adx()
+                : adxCalculator;
+    }
+
+    public IndicatorCalculator<BigDecimal> bullBearPower(IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.bullBearPower()
+                : bullBearPowerCalculator;
+    }
+
+    public IndicatorCalculator<BigDecimal> williamsR(IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.williamsR()
+                : new WilliamsRCalculator();
+    }
+
+    public IndicatorCalculator<BigDecimal> cci(IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.cci()
+                : new CciCalculator();
+    }
+
+    public IndicatorCalculator<BigDecimal> atr(IndicatorEngine engine) {
+        return engine == IndicatorEngine.DOUBLE
+                ? DoubleIndicatorCalculator.atr()
+                : atrCalculator;
+    }
+
+    // Building blocks shared by several decimal indicators, used by IndicatorGraph
+
+    BullBearPowerCalculator bullBearPowerCalculator() {
+        return bullBearPowerCalculator;
+    }
+
+    TrueRangeCalculator trueRangeCalculator() {
+        return trueRangeCalculator;
+    }
+
+    PositiveDMCalculator positiveDMCalculator() {
+        return positiveDMCalculator;
+    }
+
+    NegativeDMCalculator negativeDMCalculator() {
+        return negativeDMCalculator;
+    }
+
+    WilderSmoothingCalculator wilderSmoothingCalculator() {
+        return wilderSmoothingCalculator;
+    }
+
+    DirectionalIndicatorCalculator directionalIndicatorCalculator() {
+        return directionalIndicatorCalculator;
+    }
+
+    DXCalculator dxCalculator() {
+        return dxCalculator;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.analytics;
+
+import java.math.BigDecimal;
+
+/**
+ * Arithmetic used to calculate indicators.
+ * <p>
+ * {@link #DECIMAL} runs the BigDecimal calculators. {@link #DOUBLE} runs the {@link DoubleIndicators} formulas on
+ * primitive candle columns, which is much faster and allocates almost nothing. Because indicators are advisory,
+ * the double results only have to agree with the decimal ones within the tolerance of {@link #isWithinTolerance}.
+ */
+public enum IndicatorEngine {
+    DECIMAL,
+    DOUBLE;
+
+    /**
+     * Largest relative difference allowed between the two engines.
+     */
+    public static final double RELATIVE_TOLERANCE = 1e-9;
+
+    /**
+     * Whether a double engine result agrees with the decimal engine result. The allowed difference is the larger of
+     * {@link #RELATIVE_TOLERANCE} times the decimal value and one unit in the last place of the decimal value, since
+     * several decimal calculators round to the scale of their input (CCI, SMA) or to a fixed scale (RSI, MACD).
+     */
+    public static boolean isWithinTolerance(BigDecimal decimalResult, BigDecimal doubleResult) {
+        double expected = decimalResult.doubleValue();
+        double allowed = Math.max(Math.abs(expected) * RELATIVE_TOLERANCE, decimalResult.ulp().doubleValue());
+        return Math.abs(doubleResult.doubleValue() - expected) <= allowed;
+    }
+
+    /**
+     * Parses an engine name, case-insensitively.
+     *
+     * @throws IllegalArgumentException when the name is unknown
+     */
+    public static IndicatorEngine from(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSnapshot;
+import com.example.backend.currency.HistoricalKline;
+import com.example.backend.exceptions.NotEnoughDataForCalculationException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Calculates several indicators of one candle series for a single request. The candles are read once, on first
+ * use, and every intermediate result (EMA series, true range, directional movement, Wilder smoothings) is
+ * memoized, so indicators that share intermediates, such as ADX and ATR or MACD and EMA, calculate them only once.
+ * <p>
+ * Not thread-safe; create one per request with {@link AnalyticsService#graph}.
+ */
+public class IndicatorGraph {
+
+    private static final int ADX_PERIODS = 14;
+
+    private final Supplier<CandleSnapshot> candleSource;
+    private final IndicatorEngine engine;
+    private final IndicatorCalculatorFactory calculators;
+    private final Map<String, Object> nodes = new HashMap<>();
+
+    public IndicatorGraph(Supplier<CandleSnapshot> candleSource, IndicatorEngine engine, IndicatorCalculatorFactory calculators) {
+        this.candleSource = candleSource;
+        this.engine = engine;
+        this.calculators = calculators;
+    }
+
+    public BigDecimal sma(int periods) {
+        return node("SMA:" + periods, () -> run(calculators.sma(periods, engine)));
+    }
+
+    /**
+     * Latest EMA value.
+     */
+    public BigDecimal ema(int periods) {
+        List<BigDecimal> series = emaSeries(periods);
+        return series.get(series.size() - 1);
+    }
+
+    public List<BigDecimal> emaSeries(int periods) {
+        return node("EMA:" + periods, () -> run(calculators.ema(periods, engine)));
+    }
+
+    public BigDecimal rsi(int periods) {
+        return node("RSI:" + periods, () -> run(calculators.rsi(periods, engine)));
+    }
+
+    public BigDecimal volatility(int periods) {
+        return node("VOLATILITY:" + periods, () -> run(calculators.volatility(periods, engine)));
+    }
+
+    public MacdResult macd() {
+        return node("MACD", () -> engine == IndicatorEngine.DOUBLE
+                ? run(calculators.macd(engine))
+                : new MacdCalculator().calculate(klines(), emaSeries(12), emaSeries(26)));
+    }
+
+    public BigDecimal adx() {
+        return node("ADX", () -> {
+            if (engine == IndicatorEngine.DOUBLE) {
+                return run(calculators.adx(engine));
+            }
+            if (klines().size() < ADX_PERIODS * 2 + 1) {
+                throw new NotEnoughDataForCalculationException("Not enough ADX data to calculate");
+            }
+            DirectionalIndicatorCalculator directionalIndicator = calculators.directionalIndicatorCalculator();
+            List<BigDecimal> positiveDI = directionalIndicator.calculate(smoothed("POSITIVE_DM", positiveDMs()), smoothedTrueRanges());
+            List<BigDecimal> negativeDI = directionalIndicator.calculate(smoothed("NEGATIVE_DM", negativeDMs()), smoothedTrueRanges());
+            List<BigDecimal> dxValues = calculators.dxCalculator().calculate(positiveDI, negativeDI);
+            List<BigDecimal> adxValues = calculators.wilderSmoothingCalculator().calculate(dxValues);
+            return adxValues.get(adxValues.size() - 1);
+        });
+    }
+
+    public BigDecimal atr() {
+        return node("ATR", () -> {
+            if (engine == IndicatorEngine.DOUBLE) {
+                return run(calculators.atr(engine));
+            }
+            if (trueRanges().size() < ADX_PERIODS) {
+                throw new NotEnoughDataForCalculationException("Not enough data to calculate ATR");
+            }
+            List<BigDecimal> atrValues = smoothedTrueRanges();
+            return atrValues.get(atrValues.size() - 1);
+        });
+    }
+
+    public BigDecimal bullBearPower() {
+        return node("BULL_BEAR_POWER", () -> engine == IndicatorEngine.DOUBLE
+                ? run(calculators.bullBearPower(engine))
+                : calculators.bullBearPowerCalculator().calculate(klines(), emaSeries(13)));
+    }
+
+    public BigDecimal williamsR() {
+        return node("WILLIAMS_R", () -> run(calculators.williamsR(engine)));
+    }
+
+    public BigDecimal cci() {
+        return node("CCI", () -> run(calculators.cci(engine)));
+    }
+
+    private CandleSnapshot candles() {
+        return node("CANDLES", candleSource);
+    }
+
+    private List<HistoricalKline> klines() {
+        return node("KLINES", () -> candles().toKlines());
+    }
+
+    private List<BigDecimal> trueRanges() {
+        return node("TRUE_RANGE", () -> calculators.trueRangeCalculator().calculate(klines()));
+    }
+
+    private List<BigDecimal> smoothedTrueRanges() {
+        return smoothed("TRUE_RANGE", trueRanges());
+    }
+
+    private List<BigDecimal> positiveDMs() {
+        return node("POSITIVE_DM", () -> calculators.positiveDMCalculator().calculate(klines()));
+    }
+
+    private List<BigDecimal> negativeDMs() {
+        return node("NEGATIVE_DM", () -> calculators.negativeDMCalculator().calculate(klines()));
+    }
+
+    private List<BigDecimal> smoothed(String name, List<BigDecimal> values) {
+        return node("SMOOTHED_" + name, () -> calculators.wilderSmoothingCalculator().calculate(values));
+    }
+
+    private <T> T run(IndicatorCalculator<T> calculator) {
+        return engine == IndicatorEngine.DOUBLE ? calculator.calculate(candles()) : calculator.calculate(klines());
+    }
+
+    /**
+     * Memoized node. Nodes may depend on other nodes, so this does not use {@link Map#computeIfAbsent}, which
+     * does not allow the map to be modified while the value is being computed.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T node(String key, Supplier<T> supplier) {
+        Object value = nodes.get(key);
+        if (value == null) {
+            value = supplier.get();
+            nodes.put(key, value);
+        }
+        return (T) value;
+    }
+}
@@ -2,62 +2,128 @@ package com.example.backend.analytics;
 
 import static com.example.backend.util.CryptoSymbols.CURRENCY_SYMBOLS;
 
+import com.example.backend.currency.KlineIntervals;
 import com.example.backend.util.LogExecutionTime;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Precomputes the indicators of every symbol and interval into the cache. Each symbol and interval pair is one task
+ * on a bounded pool: it reads the candles once through an {@link IndicatorGraph} and writes all its indicators in
+ * one Redis pipeline. An indicator that cannot be computed, e.g. for lack of candles, is left out of the pipeline
+ * without dropping the others. When the queue is full the scheduler thread runs the task itself, which slows submission down
+ * instead of piling up work.
+ */
 @Component
-@RequiredArgsConstructor
 public class IndicatorScheduler {
 
+    private static final Logger logger = LoggerFactory.getLogger(IndicatorScheduler.class);
+
     private final AnalyticsService analyticsService;
     private final IndicatorCacheService indicatorCacheService;
-    private final List<String> intervals = List.of("1m", "3m", "5m", "30m", "1h", "1d");
-    private final AdxCalculator adxCalculator;
-    private final BullBearPowerCalculator bullBearPowerCalculator;
-    private final EmaCalculatorFactory emaCalculatorFactory;
+    private final IndicatorCalculatorFactory indicatorCalculators;
+    private final ThreadPoolExecutor executor;
+    private final Timer jobTimer;
+    private final MeterRegistry meterRegistry;
+    private final Counter failures;
+
+    public IndicatorScheduler(AnalyticsService analyticsService,
+                              IndicatorCacheService indicatorCacheService,
+                              IndicatorCalculatorFactory indicatorCalculators,
+                              MeterRegistry meterRegistry,
+                              @Value("${analytics.scheduler.threads:4}") int threads,
+                              @Value("${analytics.scheduler.queue-capacity:64}") int queueCapacity) {
+        this.analyticsService = analyticsService;
+        this.indicatorCacheService = indicatorCacheService;
+        this.indicatorCalculators = indicatorCalculators;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads(), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.jobTimer = Timer.builder("analytics.indicators.job")
+                .description("Duration of a full indicator precompute run")
+                .register(meterRegistry);
+        this.failures = Counter.builder("analytics.indicators.task.failures")
+                .description("Symbol and interval pairs whose indicators could not be precomputed")
+                .register(meterRegistry);
+    }
 
     @LogExecutionTime
     @Scheduled(fixedRate = 1000 * 60 * 30, initialDelay = 1000 * 60 * 5)
     public void updateIndicators() {
-        for (String symbol : CURRENCY_SYMBOLS) {
-            for (String interval : intervals) {
-                try {
-                    BigDecimal sma = analyticsService.calculateIndicator(symbol, interval, new SmaCalculator(30));
-                    indicatorCacheService.saveSma(symbol, interval, 30, sma);
-
-                    EmaCalculator emaCalc12 = emaCalculatorFactory.create(14);
-                    List<BigDecimal> emaSeries12 = analyticsService.calculateIndicator(symbol, interval, emaCalc12);
-                    BigDecimal latestEma12 = emaSeries12.get(emaSeries12.size() - 1);
-                    indicatorCacheService.saveEma(symbol, interval, 14, latestEma12);
-
-                    BigDecimal rsi = analyticsService.calculateIndicator(symbol, interval, new RsiCalculator(14));
-                    indicatorCacheService.saveRsi(symbol, interval, 14, rsi);
-
-                    BigDecimal volatility = analyticsService.calculateIndicator(symbol, interval, new VolatilityCalculator(14));
-                    indicatorCacheService.saveVolatility(symbol, interval, 14, volatility);
+        IndicatorEngine engine = indicatorCalculators.getDefaultEngine();
+        jobTimer.record(() -> {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (String symbol : CURRENCY_SYMBOLS) {
+                for (String interval : KlineIntervals.ALL) {
+                    tasks.add(CompletableFuture.runAsync(() -> updateIndicators(symbol, interval, engine), executor));
+                }
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        });
+    }
 
-                    MacdResult macdResult = analyticsService.calculateIndicator(symbol, interval, new MacdCalculator());
-                    indicatorCacheService.saveMacd(symbol, interval, macdResult);
+    void updateIndicators(String symbol, String interval, IndicatorEngine engine) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            IndicatorGraph graph = analyticsService.graph(symbol, interval, engine);
+            IndicatorCacheService.Batch batch = indicatorCacheService.batch(symbol, interval);
+            compute(symbol, interval, "SMA", () -> batch.sma(30, graph.sma(30)));
+            compute(symbol, interval, "EMA", () -> batch.ema(14, graph.ema(14)));
+            compute(symbol, interval, "RSI", () -> batch.rsi(14, graph.rsi(14)));
+            compute(symbol, interval, "VOLATILITY", () -> batch.volatility(14, graph.volatility(14)));
+            compute(symbol, interval, "MACD", () -> batch.macd(graph.macd()));
+            compute(symbol, interval, "ADX", () -> batch.adx(graph.adx()));
+            compute(symbol, interval, "BP", () -> batch.bp(graph.bullBearPower()));
+            compute(symbol, interval, "WILLIAMS_R", () -> batch.williamsR(graph.williamsR()));
+            indicatorCacheService.saveAll(batch);
+        } catch (Exception e) {
+            failures.increment();
+            logger.warn("Failed to update analytics for {} {}: {}", symbol, interval, e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("analytics.indicators.task", "interval", interval));
+        }
+    }
 
-                    BigDecimal adx = analyticsService.calculateIndicator(symbol, interval, adxCalculator);
-                    indicatorCacheService.saveAdx(symbol, interval, adx);
+    /**
+     * Adds one indicator to the batch. An indicator that cannot be computed is counted and left out, so the others of
+     * the symbol and interval are still saved.
+     */
+    private void compute(String symbol, String interval, String indicator, Runnable addToBatch) {
+        try {
+            addToBatch.run();
+        } catch (Exception e) {
+            meterRegistry.counter("analytics.indicators.failures", "indicator", indicator).increment();
+            logger.warn("Failed to compute {} for {} {}: {}", indicator, symbol, interval, e.getMessage());
+        }
+    }
 
-                    BigDecimal bp = analyticsService.calculateIndicator(symbol, interval, bullBearPowerCalculator);
-                    indicatorCacheService.saveBP(symbol, interval, bp);
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
 
-                    BigDecimal williamsR = analyticsService.calculateIndicator(symbol, interval, new WilliamsRCalculator());
-                    indicatorCacheService.saveWilliamsR(symbol, interval, williamsR);
-                } catch (Exception e) {
-                    System.err.println("Failed to update analytics for " + symbol + " " + interval + ": " + e.getMessage());
-                }
-            }
-        }
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "IndicatorTask-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,76 @@
+package com.example.backend.analytics;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary form of cached indicator values. A decimal whose unscaled value fits in a long takes 13 bytes
+ * (tag, scale, unscaled long); larger decimals store the unscaled bytes instead. A MACD result is a tag followed by
+ * its two decimals.
+ */
+final class IndicatorValueCodec {
+
+    private static final byte DECIMAL = 1;
+    private static final byte BIG_DECIMAL = 2;
+    private static final byte MACD = 3;
+
+    private IndicatorValueCodec() {
+    }
+
+    static byte[] encode(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            ByteBuffer buffer = ByteBuffer.allocate(size(decimal));
+            putDecimal(buffer, decimal);
+            return buffer.array();
+        }
+        if (value instanceof MacdResult macd) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 + size(macd.getMacd()) + size(macd.getSignalLine()));
+            buffer.put(MACD);
+            putDecimal(buffer, macd.getMacd());
+            putDecimal(buffer, macd.getSignalLine());
+            return buffer.array();
+        }
+        throw new IllegalArgumentException("Unsupported indicator value: " + value);
+    }
+
+    static Object decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length > 0 && bytes[0] == MACD) {
+            buffer.get();
+            return new MacdResult(getDecimal(buffer), getDecimal(buffer));
+        }
+        return getDecimal(buffer);
+    }
+
+    private static int size(BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        return unscaled.bitLength() < Long.SIZE
+                ? 1 + Integer.BYTES + Long.BYTES
+                : 1 + Integer.BYTES + Integer.BYTES + unscaled.toByteArray().length;
+    }
+
+    private static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            buffer.put(DECIMAL).putInt(value.scale()).putLong(unscaled.longValue());
+        } else {
+            byte[] magnitude = unscaled.toByteArray();
+            buffer.put(BIG_DECIMAL).putInt(value.scale()).putInt(magnitude.length).put(magnitude);
+        }
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        int scale = buffer.getInt();
+        if (tag == DECIMAL) {
+            return BigDecimal.valueOf(buffer.getLong(), scale);
+        }
+        if (tag == BIG_DECIMAL) {
+            byte[] magnitude = new byte[buffer.getInt()];
+            buffer.get(magnitude);
+            return new BigDecimal(new BigInteger(magnitude), scale);
+        }
+        throw new IllegalArgumentException("Unknown indicator value tag: " + tag);
+    }
+}
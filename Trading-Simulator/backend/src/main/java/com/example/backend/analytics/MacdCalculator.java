@@ -29,6 +29,17 @@ public class MacdCalculator implements IndicatorCalculator<MacdResult> {
         EmaCalculator emaLongCalculator = new EmaCalculator(LONG_PERIODS);
         List<BigDecimal> emaLongSeries = emaLongCalculator.calculate(klines);
 
+        return calculate(klines, emaShortSeries, emaLongSeries);
+    }
+
+    /**
+     * MACD from already calculated 12 and 26 period EMA series of the same klines.
+     */
+    public MacdResult calculate(List<HistoricalKline> klines, List<BigDecimal> emaShortSeries, List<BigDecimal> emaLongSeries) {
+        if (klines.size() < LONG_PERIODS + SIGNAL_PERIODS) {
+            throw new NotEnoughDataForCalculationException("Not enough data for MACD calculator");
+        }
+
         List<BigDecimal> macdSeries = getBigDecimals(klines, emaShortSeries, emaLongSeries);
 
         if (macdSeries.size() < SIGNAL_PERIODS) {
@@ -0,0 +1,217 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSeriesListener;
+import com.example.backend.currency.CandleSeriesStore;
+import com.example.backend.currency.CandleSnapshot;
+import com.example.backend.currency.Currency;
+import com.example.backend.currency.HistoricalKline;
+import com.example.backend.currency.KlineIntervals;
+import com.example.backend.exceptions.CurrencyNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@link IncrementalIndicator} state per symbol, interval and indicator parameters, fed by the klines the
+ * sync applies to the {@link CandleSeriesStore}. An indicator is seeded from the in-memory candles the first time it
+ * is requested; after that every closed candle advances it once and the forming candle is only peeked, so reads do
+ * not recalculate over the series.
+ * <p>
+ * The newest candle of a series is treated as forming until a newer one arrives, since the sync fetches it again
+ * from the cursor on every run; only then is it committed. Values include the forming candle, like the batch
+ * calculators which run over every stored kline.
+ * <p>
+ * A series tracks at most {@code analytics.streaming.max-indicators-per-series} indicators; requesting another one
+ * evicts the least recently read.
+ */
+@Service
+@Tag(name = "Streaming Indicator Service", description = "Incrementally updated indicators per currency and interval")
+public class StreamingIndicatorService implements CandleSeriesListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingIndicatorService.class);
+
+    private final CandleSeriesStore candleSeriesStore;
+    private final boolean enabled;
+    private final int maxIndicatorsPerSeries;
+    private final Map<String, IndicatorStream> streams = new ConcurrentHashMap<>();
+
+    public StreamingIndicatorService(CandleSeriesStore candleSeriesStore,
+                                     @Value("${analytics.streaming.enabled:true}") boolean enabled,
+                                     @Value("${analytics.streaming.max-indicators-per-series:16}") int maxIndicatorsPerSeries) {
+        this.candleSeriesStore = candleSeriesStore;
+        this.enabled = enabled;
+        this.maxIndicatorsPerSeries = maxIndicatorsPerSeries;
+        candleSeriesStore.addListener(this);
+    }
+
+    /**
+     * Current value of an indicator, or empty when streaming is disabled, the symbol is unknown, the interval is
+     * not synced, the periods exceed the stored candles or there are not enough candles yet.
+     */
+    @Operation(summary = "Get streamed indicator", description = "Returns the incrementally maintained value of an indicator")
+    public Optional<BigDecimal> findValue(String symbol, String interval, IncrementalIndicatorType type, int periods) {
+        if (type.isPeriodic() && (periods < 1 || periods > candleSeriesStore.getCapacity())) {
+            return Optional.empty();
+        }
+        return findStream(symbol, interval)
+                .flatMap(stream -> stream.value(type, periods))
+                .map(BigDecimal::valueOf);
+    }
+
+    @Operation(summary = "Get streamed MACD", description = "Returns the incrementally maintained MACD and signal line")
+    public Optional<MacdResult> findMacd(String symbol, String interval) {
+        return findStream(symbol, interval)
+                .flatMap(IndicatorStream::macd)
+                .map(values -> new MacdResult(BigDecimal.valueOf(values[0]), BigDecimal.valueOf(values[1])));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void onKlines(Currency currency, String interval, List<HistoricalKline> klines) {
+        IndicatorStream stream = streams.get(key(currency.getCurrencyid(), interval));
+        if (stream != null) {
+            stream.apply(CandleSnapshot.of(klines));
+        }
+    }
+
+    private Optional<IndicatorStream> findStream(String symbol, String interval) {
+        if (!enabled || !KlineIntervals.ALL.contains(interval)) {
+            return Optional.empty();
+        }
+        Integer currencyId;
+        try {
+            currencyId = candleSeriesStore.resolveCurrencyId(symbol);
+        } catch (CurrencyNotFoundException e) {
+            return Optional.empty();
+        }
+        return Optional.of(streams.computeIfAbsent(key(currencyId, interval),
+                key -> new IndicatorStream(currencyId, interval)));
+    }
+
+    private static String key(Integer currencyId, String interval) {
+        return currencyId + ":" + interval;
+    }
+
+    /**
+     * Indicators of one symbol and interval. Access is synchronized on the stream.
+     */
+    private class IndicatorStream {
+
+        private final Integer currencyId;
+        private final String interval;
+        private final LinkedHashMap<String, TrackedIndicator> indicators = new LinkedHashMap<>(16, 0.75f, true);
+        private long lastClosedOpenTime = Long.MIN_VALUE;
+        private double[] forming;
+        private long formingOpenTime = Long.MIN_VALUE;
+
+        IndicatorStream(Integer currencyId, String interval) {
+            this.currencyId = currencyId;
+            this.interval = interval;
+        }
+
+        synchronized Optional<Double> value(IncrementalIndicatorType type, int periods) {
+            return track(type, periods).current();
+        }
+
+        synchronized Optional<double[]> macd() {
+            TrackedIndicator tracked = track(IncrementalIndicatorType.MACD, 0);
+            IncrementalMacd macd = (IncrementalMacd) tracked.indicator;
+            return tracked.current().map(value -> new double[]{value, hasForming() ? macd.peekedSignal() : macd.signal()});
+        }
+
+        synchronized void apply(CandleSnapshot klines) {
+            int last = klines.size() - 1;
+            for (int i = 0; i <= last; i++) {
+                long openTime = klines.openTime(i);
+                if (openTime <= lastClosedOpenTime) {
+                    continue;
+                }
+                if (i < last) {
+                    for (TrackedIndicator tracked : indicators.values()) {
+                        tracked.indicator.advance(klines.high(i), klines.low(i), klines.close(i));
+                    }
+                    lastClosedOpenTime = openTime;
+                } else {
+                    forming = new double[]{klines.high(i), klines.low(i), klines.close(i)};
+                    formingOpenTime = openTime;
+                }
+            }
+            for (TrackedIndicator tracked : indicators.values()) {
+                tracked.peekForming();
+            }
+        }
+
+        private TrackedIndicator track(IncrementalIndicatorType type, int periods) {
+            String indicatorKey = type.key(periods);
+            TrackedIndicator tracked = indicators.get(indicatorKey);
+            if (tracked != null) {
+                return tracked;
+            }
+            if (indicators.size() >= maxIndicatorsPerSeries) {
+                Iterator<String> leastRecentlyRead = indicators.keySet().iterator();
+                logger.debug("Evicting streamed indicator {} of currency {} ({})", leastRecentlyRead.next(), currencyId, interval);
+                leastRecentlyRead.remove();
+            }
+            tracked = new TrackedIndicator(type.create(periods));
+            seed(tracked);
+            indicators.put(indicatorKey, tracked);
+            return tracked;
+        }
+
+        /**
+         * Replays the stored candles into a new indicator. The first indicator of the stream also sets the
+         * position of the stream; later ones are replayed up to that position so all indicators stay aligned.
+         */
+        private void seed(TrackedIndicator tracked) {
+            CandleSnapshot candles = candleSeriesStore.snapshot(currencyId, interval);
+            int last = candles.size() - 1;
+            if (indicators.isEmpty() && last >= 0) {
+                lastClosedOpenTime = last > 0 ? candles.openTime(last - 1) : Long.MIN_VALUE;
+                forming = new double[]{candles.high(last), candles.low(last), candles.close(last)};
+                formingOpenTime = candles.openTime(last);
+            }
+            for (int i = 0; i < candles.size() && candles.openTime(i) <= lastClosedOpenTime; i++) {
+                tracked.indicator.advance(candles.high(i), candles.low(i), candles.close(i));
+            }
+            tracked.peekForming();
+            logger.debug("Seeded streamed indicator for currency {} ({}) from {} candles", currencyId, interval, candles.size());
+        }
+
+        private boolean hasForming() {
+            return forming != null && formingOpenTime > lastClosedOpenTime;
+        }
+
+        private class TrackedIndicator {
+
+            private final IncrementalIndicator indicator;
+            private double formingValue = Double.NaN;
+
+            TrackedIndicator(IncrementalIndicator indicator) {
+                this.indicator = indicator;
+            }
+
+            void peekForming() {
+                formingValue = hasForming() ? indicator.peek(forming[0], forming[1], forming[2]) : Double.NaN;
+            }
+
+            Optional<Double> current() {
+                double value = hasForming() ? formingValue : indicator.value();
+                return Double.isNaN(value) ? Optional.empty() : Optional.of(value);
+            }
+        }
+    }
+}
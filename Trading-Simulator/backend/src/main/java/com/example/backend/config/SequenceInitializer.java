@@ -0,0 +1,62 @@
+package com.example.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the id sequences of entities that used to take IDENTITY ids above the ids already stored.
+ * <p>
+ * Transactions, portfolio assets and outbox emails take their ids from pooled sequences with an allocation size of
+ * 50. On a database that was created while they used IDENTITY columns, {@code ddl-auto=update} creates the sequences
+ * at 1, so the first inserts would collide with existing rows. A sequence is only ever moved forward, so running this
+ * on every start, or on several instances, is harmless. Only PostgreSQL databases are touched; the in-memory test
+ * database is created with the sequences.
+ * <p>
+ * The sequences are moved while the context starts, once Hibernate has updated the schema. That is before the web
+ * server accepts requests and before scheduled tasks and the trade alert trigger can insert rows.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceInitializer.class);
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final List<SequenceTarget> TARGETS = List.of(
+            new SequenceTarget("transactions_seq", "transactions", "transactionid"),
+            new SequenceTarget("portfolio_assets_seq", "portfolio_assets", "portfolio_assetid"),
+            new SequenceTarget("email_outbox_seq", "email_outbox", "email_outboxid"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void moveSequences() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        for (SequenceTarget target : TARGETS) {
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + target.sequence() + "', GREATEST(" +
+                            "(SELECT COALESCE(MAX(" + target.idColumn() + "), 0) FROM " + target.table() + ") + " + ALLOCATION_SIZE + ", " +
+                            "(SELECT last_value FROM " + target.sequence() + ")))",
+                    Long.class);
+            logger.info("Sequence {} starts above {}", target.sequence(), value);
+        }
+    }
+
+    private record SequenceTarget(String sequence, String table, String idColumn) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.currency;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Tag(name = "Binance WebSocket Price Feed", description = "Streams prices from the Binance combined mini-ticker stream")
+public class BinanceWebSocketPriceFeed implements PriceFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinanceWebSocketPriceFeed.class);
+
+    private final String baseUrl;
+    private final WebSocketClient webSocketClient;
+
+    public BinanceWebSocketPriceFeed(@Value("${binance.ws.url:wss://stream.binance.com:9443}") String baseUrl) {
+        this(baseUrl, new ReactorNettyWebSocketClient());
+    }
+
+    BinanceWebSocketPriceFeed(String baseUrl, WebSocketClient webSocketClient) {
+        this.baseUrl = baseUrl;
+        this.webSocketClient = webSocketClient;
+    }
+
+    @Override
+    public String getName() {
+        return "binance-websocket";
+    }
+
+    @Override
+    public Flux<PriceTick> ticks(List<String> symbols) {
+        URI uri = streamUri(symbols);
+        return Flux.create(sink -> {
+            var connection = webSocketClient.execute(uri, session -> session.receive()
+                            .map(WebSocketMessage::getPayloadAsText)
+                            .mapNotNull(this::parseTick)
+                            .doOnNext(sink::next)
+                            .then())
+                    .then(Mono.<Void>error(new IllegalStateException("Binance stream closed by server")))
+                    .subscribe(null, sink::error);
+            sink.onDispose(connection);
+        });
+    }
+
+    URI streamUri(List<String> symbols) {
+        String streams = symbols.stream()
+                .map(symbol -> symbol.toLowerCase() + "@miniTicker")
+                .collect(Collectors.joining("/"));
+        return URI.create(baseUrl + "/stream?streams=" + streams);
+    }
+
+    PriceTick parseTick(String payload) {
+        try {
+            JSONObject message = new JSONObject(payload);
+            JSONObject data = message.has("data") ? message.getJSONObject("data") : message;
+            String symbol = data.getString("s").replace("USDT", "");
+            return new PriceTick(symbol, new BigDecimal(data.getString("c")), data.getLong("E"),
+                    PriceTick.TimeSource.EXCHANGE);
+        } catch (Exception e) {
+            logger.warn("Skipping malformed mini-ticker message: {}", payload);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.backend.currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-capacity ring buffer of candles for one currency and interval, stored column-wise in primitive arrays.
+ * Prices are kept as longs scaled by {@link #PRICE_SCALE} decimal places (the scale of the database columns),
+ * volumes as doubles. Once full, appending a newer candle evicts the oldest one.
+ * <p>
+ * The last snapshot is kept until the next upsert, so readers between two syncs share one snapshot and the kline view
+ * it memoizes.
+ */
+public class CandleSeries {
+
+    public static final int PRICE_SCALE = 10;
+
+    private final int capacity;
+    private final long[] openTimes;
+    private final long[] closeTimes;
+    private final long[] opens;
+    private final long[] highs;
+    private final long[] lows;
+    private final long[] closes;
+    private final double[] volumes;
+
+    private int head;
+    private int size;
+    private CandleSnapshot snapshot;
+
+    public CandleSeries(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.openTimes = new long[capacity];
+        this.closeTimes = new long[capacity];
+        this.opens = new long[capacity];
+        this.highs = new long[capacity];
+        this.lows = new long[capacity];
+        this.closes = new long[capacity];
+        this.volumes = new double[capacity];
+    }
+
+    public void upsert(HistoricalKline kline) {
+        upsert(kline.getOpenTime(), toScaled(kline.getOpenPrice()), toScaled(kline.getHighPrice()),
+                toScaled(kline.getLowPrice()), toScaled(kline.getClosePrice()),
+                kline.getVolume().doubleValue(), kline.getCloseTime());
+    }
+
+    /**
+     * Replaces the candle with the same open time, or appends the candle when it is newer than the last one.
+     * Older candles that are not in the buffer are ignored.
+     */
+    public synchronized void upsert(long openTime, long open, long high, long low, long close, double volume, long closeTime) {
+        int slot;
+        if (size > 0 && openTime <= openTimes[physical(size - 1)]) {
+            int index = indexOf(openTime);
+            if (index < 0) {
+                return;
+            }
+            slot = physical(index);
+        } else if (size < capacity) {
+            slot = physical(size++);
+        } else {
+            slot = head;
+            head = (head + 1) % capacity;
+        }
+
+        openTimes[slot] = openTime;
+        opens[slot] = open;
+        highs[slot] = high;
+        lows[slot] = low;
+        closes[slot] = close;
+        volumes[slot] = volume;
+        closeTimes[slot] = closeTime;
+        snapshot = null;
+    }
+
+    /**
+     * Copies the buffered candles, oldest first. The copy is reused until the series changes.
+     */
+    public synchronized CandleSnapshot snapshot() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long[] snapshotOpenTimes = new long[size];
+        long[] snapshotCloseTimes = new long[size];
+        long[] snapshotOpens = new long[size];
+        long[] snapshotHighs = new long[size];
+        long[] snapshotLows = new long[size];
+        long[] snapshotCloses = new long[size];
+        double[] snapshotVolumes = new double[size];
+
+        int firstPart = Math.min(size, capacity - head);
+        copy(head, 0, firstPart, snapshotOpenTimes, snapshotCloseTimes, snapshotOpens, snapshotHighs,
+                snapshotLows, snapshotCloses, snapshotVolumes);
+        copy(0, firstPart, size - firstPart, snapshotOpenTimes, snapshotCloseTimes, snapshotOpens, snapshotHighs,
+                snapshotLows, snapshotCloses, snapshotVolumes);
+
+        snapshot = new CandleSnapshot(snapshotOpenTimes, snapshotCloseTimes, snapshotOpens, snapshotHighs,
+                snapshotLows, snapshotCloses, snapshotVolumes);
+        return snapshot;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Open time of the newest candle, or {@code null} when the series is empty.
+     */
+    public synchronized Long lastOpenTime() {
+        return size == 0 ? null : openTimes[physical(size - 1)];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public static long toScaled(BigDecimal value) {
+        return value.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private void copy(int from, int to, int length, long[] openTimesCopy, long[] closeTimesCopy, long[] opensCopy,
+                      long[] highsCopy, long[] lowsCopy, long[] closesCopy, double[] volumesCopy) {
+        System.arraycopy(openTimes, from, openTimesCopy, to, length);
+        System.arraycopy(closeTimes, from, closeTimesCopy, to, length);
+        System.arraycopy(opens, from, opensCopy, to, length);
+        System.arraycopy(highs, from, highsCopy, to, length);
+        System.arraycopy(lows, from, lowsCopy, to, length);
+        System.arraycopy(closes, from, closesCopy, to, length);
+        System.arraycopy(volumes, from, volumesCopy, to, length);
+    }
+
+    private int indexOf(long openTime) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midOpenTime = openTimes[physical(mid)];
+            if (midOpenTime < openTime) {
+                low = mid + 1;
+            } else if (midOpenTime > openTime) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int physical(int index) {
+        return (head + index) % capacity;
+    }
+}
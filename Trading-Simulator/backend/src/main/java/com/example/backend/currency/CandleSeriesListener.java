@@ -0,0 +1,12 @@
+package com.example.backend.currency;
+
+import java.util.List;
+
+/**
+ * Receives klines applied to the {@link CandleSeriesStore}, oldest first. Called on the kline sync thread, whether
+ * or not the series is loaded in memory.
+ */
+public interface CandleSeriesListener {
+
+    void onKlines(Currency currency, String interval, List<HistoricalKline> klines);
+}
@@ -0,0 +1,159 @@
+package com.example.backend.currency;
+
+import com.example.backend.exceptions.CurrencyNotFoundException;
+import com.example.backend.exceptions.UnsupportedKlineIntervalException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory candle series per currency and interval. A series is loaded from the database the first time it is
+ * read and is kept up to date by the kline sync afterwards, so chart and indicator reads do not hit the database.
+ */
+@Component
+@Tag(name = "Candle Series Store", description = "In-memory candles per currency and interval")
+public class CandleSeriesStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CandleSeriesStore.class);
+
+    private static final String LOAD_SQL =
+            "SELECT * FROM (" +
+            "SELECT open_time, open_price, high_price, low_price, close_price, volume, close_time " +
+            "FROM historical_klines WHERE currencyid = ? AND \"interval\" = ? ORDER BY open_time DESC LIMIT ?" +
+            ") recent ORDER BY open_time";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CurrencyRepository currencyRepository;
+    private final LivePriceBook livePriceBook;
+    private final int capacity;
+    private final Map<String, CandleSeries> series = new ConcurrentHashMap<>();
+    private final List<CandleSeriesListener> listeners = new CopyOnWriteArrayList<>();
+
+    public CandleSeriesStore(JdbcTemplate jdbcTemplate,
+                             CurrencyRepository currencyRepository,
+                             LivePriceBook livePriceBook,
+                             @Value("${candles.capacity:1000}") int capacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.currencyRepository = currencyRepository;
+        this.livePriceBook = livePriceBook;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Candles of the currency with the given symbol, oldest first.
+     *
+     * @throws CurrencyNotFoundException when the symbol is unknown
+     * @throws UnsupportedKlineIntervalException when the interval is not synced
+     */
+    @Operation(summary = "Get candles", description = "Returns a snapshot of the in-memory candles of a currency and interval")
+    public CandleSnapshot snapshot(String symbol, String interval) {
+        return snapshot(resolveCurrencyId(symbol), interval);
+    }
+
+    /**
+     * @throws UnsupportedKlineIntervalException when the interval is not synced
+     */
+    public CandleSnapshot snapshot(Integer currencyId, String interval) {
+        return series(currencyId, interval).snapshot();
+    }
+
+    /**
+     * Open time of the newest candle of the currency and interval, or {@code null} when there are none.
+     *
+     * @throws UnsupportedKlineIntervalException when the interval is not synced
+     */
+    public Long lastOpenTime(Integer currencyId, String interval) {
+        return series(currencyId, interval).lastOpenTime();
+    }
+
+    /**
+     * Whether the candles of the symbol and interval are already in memory, so reading them does not touch the
+     * database. Symbols are only looked up in the price book.
+     */
+    public boolean isLoaded(String symbol, String interval) {
+        return livePriceBook.findCurrencyId(symbol.toUpperCase())
+                .map(currencyId -> series.containsKey(key(currencyId, interval)))
+                .orElse(false);
+    }
+
+    /**
+     * Applies freshly synced klines to the series if it is already loaded. Series that were never read are
+     * left alone and will pick the klines up from the database on first access. Listeners are notified either way.
+     */
+    public void apply(Currency currency, String interval, List<HistoricalKline> klines) {
+        CandleSeries candleSeries = series.get(key(currency.getCurrencyid(), interval));
+        if (candleSeries != null) {
+            for (HistoricalKline kline : klines) {
+                candleSeries.upsert(kline);
+            }
+        }
+        for (CandleSeriesListener listener : listeners) {
+            try {
+                listener.onKlines(currency, interval, klines);
+            } catch (Exception e) {
+                logger.warn("Candle listener failed for {} ({}): {}", currency.getSymbol(), interval, e.getMessage());
+            }
+        }
+    }
+
+    public void addListener(CandleSeriesListener listener) {
+        listeners.add(listener);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Series of a synced interval, loaded on first access. Other intervals are rejected before a series is allocated,
+     * so request paths cannot grow the store beyond currencies times {@link KlineIntervals#ALL}.
+     */
+    private CandleSeries series(Integer currencyId, String interval) {
+        if (!KlineIntervals.ALL.contains(interval)) {
+            throw new UnsupportedKlineIntervalException("Unsupported interval: " + interval);
+        }
+        return series.computeIfAbsent(key(currencyId, interval), key -> load(currencyId, interval));
+    }
+
+    private CandleSeries load(Integer currencyId, String interval) {
+        long start = System.currentTimeMillis();
+        CandleSeries candleSeries = new CandleSeries(capacity);
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            candleSeries.upsert(
+                    rs.getLong("open_time"),
+                    CandleSeries.toScaled(rs.getBigDecimal("open_price")),
+                    CandleSeries.toScaled(rs.getBigDecimal("high_price")),
+                    CandleSeries.toScaled(rs.getBigDecimal("low_price")),
+                    CandleSeries.toScaled(rs.getBigDecimal("close_price")),
+                    rs.getDouble("volume"),
+                    rs.getLong("close_time"));
+        }, currencyId, interval, capacity);
+
+        logger.debug("Loaded {} candles for currency {} ({}) in {} ms", candleSeries.size(), currencyId, interval,
+                System.currentTimeMillis() - start);
+        return candleSeries;
+    }
+
+    /**
+     * @throws CurrencyNotFoundException when the symbol is unknown
+     */
+    public Integer resolveCurrencyId(String symbol) {
+        String upperSymbol = symbol.toUpperCase();
+        return livePriceBook.findCurrencyId(upperSymbol)
+                .or(() -> currencyRepository.findBySymbol(upperSymbol).map(Currency::getCurrencyid))
+                .orElseThrow(() -> new CurrencyNotFoundException("Currency not found: " + upperSymbol));
+    }
+
+    private static String key(Integer currencyId, String interval) {
+        return currencyId + ":" + interval;
+    }
+}
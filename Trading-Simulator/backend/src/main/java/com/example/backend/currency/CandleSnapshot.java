@@ -0,0 +1,153 @@
+package com.example.backend.currency;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable copy of a {@link CandleSeries}, oldest candle first. Prices are scaled longs with
+ * {@link CandleSeries#PRICE_SCALE} decimal places.
+ */
+public class CandleSnapshot {
+
+    private static final double PRICE_FACTOR = Math.pow(10, CandleSeries.PRICE_SCALE);
+
+    private final long[] openTimes;
+    private final long[] closeTimes;
+    private final long[] opens;
+    private final long[] highs;
+    private final long[] lows;
+    private final long[] closes;
+    private final double[] volumes;
+    private volatile List<HistoricalKline> klines;
+
+    CandleSnapshot(long[] openTimes, long[] closeTimes, long[] opens, long[] highs, long[] lows, long[] closes, double[] volumes) {
+        this.openTimes = openTimes;
+        this.closeTimes = closeTimes;
+        this.opens = opens;
+        this.highs = highs;
+        this.lows = lows;
+        this.closes = closes;
+        this.volumes = volumes;
+    }
+
+    public static CandleSnapshot empty() {
+        return new CandleSnapshot(new long[0], new long[0], new long[0], new long[0], new long[0], new long[0], new double[0]);
+    }
+
+    /**
+     * Builds a snapshot from klines, oldest first. Missing values are treated as zero.
+     */
+    public static CandleSnapshot of(List<HistoricalKline> klines) {
+        int size = klines.size();
+        long[] openTimes = new long[size];
+        long[] closeTimes = new long[size];
+        long[] opens = new long[size];
+        long[] highs = new long[size];
+        long[] lows = new long[size];
+        long[] closes = new long[size];
+        double[] volumes = new double[size];
+        for (int i = 0; i < size; i++) {
+            HistoricalKline kline = klines.get(i);
+            openTimes[i] = kline.getOpenTime() == null ? 0 : kline.getOpenTime();
+            closeTimes[i] = kline.getCloseTime() == null ? 0 : kline.getCloseTime();
+            opens[i] = scaled(kline.getOpenPrice());
+            highs[i] = scaled(kline.getHighPrice());
+            lows[i] = scaled(kline.getLowPrice());
+            closes[i] = scaled(kline.getClosePrice());
+            volumes[i] = kline.getVolume() == null ? 0 : kline.getVolume().doubleValue();
+        }
+        return new CandleSnapshot(openTimes, closeTimes, opens, highs, lows, closes, volumes);
+    }
+
+    public int size() {
+        return openTimes.length;
+    }
+
+    public boolean isEmpty() {
+        return openTimes.length == 0;
+    }
+
+    public long openTime(int index) {
+        return openTimes[index];
+    }
+
+    public long closeTime(int index) {
+        return closeTimes[index];
+    }
+
+    public double open(int index) {
+        return opens[index] / PRICE_FACTOR;
+    }
+
+    public double high(int index) {
+        return highs[index] / PRICE_FACTOR;
+    }
+
+    public double low(int index) {
+        return lows[index] / PRICE_FACTOR;
+    }
+
+    public double close(int index) {
+        return closes[index] / PRICE_FACTOR;
+    }
+
+    public double volume(int index) {
+        return volumes[index];
+    }
+
+    /**
+     * Open time of the newest candle, or {@code null} when the snapshot is empty.
+     */
+    public Long lastOpenTime() {
+        return isEmpty() ? null : openTimes[openTimes.length - 1];
+    }
+
+    /**
+     * Detached klines for calculators that work on {@link HistoricalKline} lists. Prices get the same scale as values
+     * read from the database. The list is built on first use and shared by every later caller of this snapshot, so
+     * neither the list nor its klines may be modified.
+     */
+    public List<HistoricalKline> toKlines() {
+        List<HistoricalKline> built = klines;
+        if (built == null) {
+            built = Collections.unmodifiableList(buildKlines());
+            klines = built;
+        }
+        return built;
+    }
+
+    private List<HistoricalKline> buildKlines() {
+        List<HistoricalKline> klines = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            klines.add(HistoricalKline.builder()
+                    .openTime(openTimes[i])
+                    .openPrice(decimal(opens[i]))
+                    .highPrice(decimal(highs[i]))
+                    .lowPrice(decimal(lows[i]))
+                    .closePrice(decimal(closes[i]))
+                    .volume(BigDecimal.valueOf(volumes[i]))
+                    .closeTime(closeTimes[i])
+                    .build());
+        }
+        return klines;
+    }
+
+    public List<HistoricalKlineDTO> toDtos() {
+        List<HistoricalKlineDTO> dtos = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            dtos.add(new HistoricalKlineDTO(openTimes[i], decimal(opens[i]), decimal(highs[i]), decimal(lows[i]),
+                    decimal(closes[i]), BigDecimal.valueOf(volumes[i]), closeTimes[i]));
+        }
+        return dtos;
+    }
+
+    private static long scaled(BigDecimal value) {
+        return value == null ? 0 : CandleSeries.toScaled(value);
+    }
+
+    private static BigDecimal decimal(long scaled) {
+        return BigDecimal.valueOf(scaled, CandleSeries.PRICE_SCALE);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -22,10 +23,9 @@ public class ChartController {
 
     @GetMapping("/{symbol}/{interval}")
     @Operation(summary = "Get chart data", description = "Retrieves historical kline data for a given symbol and interval")
-    public ResponseEntity<List<HistoricalKlineDTO>> getChartData(
+    public Mono<ResponseEntity<List<HistoricalKlineDTO>>> getChartData(
             @PathVariable String symbol,
             @PathVariable String interval) {
-            List<HistoricalKlineDTO> klinesDTO = chartService.getChartData(symbol, interval);
-            return ResponseEntity.ok(klinesDTO);
+        return chartService.chartData(symbol, interval).map(ResponseEntity::ok);
     }
 }
@@ -1,31 +1,30 @@
 package com.example.backend.currency;
 
-import com.example.backend.exceptions.CurrencyNotFoundException;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class ChartService {
 
-    private final HistoricalKlineRepository historicalKlineRepository;
-    private final CurrencyRepository currencyRepository;
+    private final CandleSeriesStore candleSeriesStore;
 
     public List<HistoricalKlineDTO> getChartData(String symbol, String timeInterval) {
-        Optional<Currency> currencyOpt = currencyRepository.findBySymbol(symbol.toUpperCase());
-        if (currencyOpt.isEmpty()) {
-            throw new CurrencyNotFoundException("Currency not found: " + symbol);
-        }
-
-        List<HistoricalKline> klines = historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(
-                currencyOpt.get(), timeInterval);
+        return candleSeriesStore.snapshot(symbol, timeInterval).toDtos();
+    }
 
-        return klines.stream()
-                .map(HistoricalKlineDTO::new)
-                .collect(Collectors.toList());
+    /**
+     * Chart data built on the calling thread when the candles are in memory; otherwise the series is loaded from
+     * the database on the bounded elastic scheduler.
+     */
+    public Mono<List<HistoricalKlineDTO>> chartData(String symbol, String timeInterval) {
+        Mono<List<HistoricalKlineDTO>> chartData = Mono.fromSupplier(() -> getChartData(symbol, timeInterval));
+        return candleSeriesStore.isLoaded(symbol, timeInterval)
+                ? chartData
+                : chartData.subscribeOn(Schedulers.boundedElastic());
     }
 }
@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import static com.example.backend.util.CryptoSymbols.CURRENCY_SYMBOLS;
 
@@ -40,17 +41,29 @@ public class CurrencyService {
     private final WebClient binanceClient;
     private final WebClient coingeckoClient;
     private final HistoricalKlineRepository historicalKlineRepository;
+    private final LivePriceBook livePriceBook;
+    private final HistoricalKlineWriter historicalKlineWriter;
+    private final KlineSyncCursor klineSyncCursor;
+    private final CandleSeriesStore candleSeriesStore;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public CurrencyService(
             CurrencyRepository currencyRepository,
             @Qualifier("binanceClient") WebClient binanceClient,
             @Qualifier("coingeckoClient") WebClient coingeckoClient,
-            HistoricalKlineRepository historicalKlineRepository) {
+            HistoricalKlineRepository historicalKlineRepository,
+            LivePriceBook livePriceBook,
+            HistoricalKlineWriter historicalKlineWriter,
+            KlineSyncCursor klineSyncCursor,
+            CandleSeriesStore candleSeriesStore) {
         this.currencyRepository = currencyRepository;
         this.binanceClient = binanceClient;
         this.coingeckoClient = coingeckoClient;
         this.historicalKlineRepository = historicalKlineRepository;
+        this.livePriceBook = livePriceBook;
+        this.historicalKlineWriter = historicalKlineWriter;
+        this.klineSyncCursor = klineSyncCursor;
+        this.candleSeriesStore = candleSeriesStore;
     }
 
     private List<List<String>> partitionList(List<String> list, int size) {
@@ -66,7 +79,8 @@ public class CurrencyService {
     @Operation(summary = "Create new assets", description = "Create assets after the application start")
     public void initializeCurrencies() {
             try {
-                Set<String> existingSymbols = currencyRepository.findAll().stream()
+                List<Currency> existingCurrencies = currencyRepository.findAll();
+                Set<String> existingSymbols = existingCurrencies.stream()
                         .map(Currency::getSymbol)
                         .collect(Collectors.toSet());
 
@@ -82,59 +96,31 @@ public class CurrencyService {
                 }
 
                 if (!newCurrencies.isEmpty()) {
-                    currencyRepository.saveAll(newCurrencies);
+                    livePriceBook.registerAll(currencyRepository.saveAll(newCurrencies));
                     logger.info("Initialized {} new currencies", newCurrencies.size());
                 } else {
                     logger.info("All currencies are already initialized");
                 }
+                livePriceBook.registerAll(existingCurrencies);
             } catch (Exception e) {
                 logger.error("Failed to initialize currencies", e);
             }
     }
 
-    @LogExecutionTime
-    @Transactional
-    @Operation(summary = "Update current prices", description = "Updates the current price of all tracked currencies")
-    public void updateCurrentPrice() {
+    @Operation(summary = "Fetch current prices", description = "Polls the Binance REST ticker for the current price of all tracked currencies")
+    public Flux<PriceTick> fetchCurrentPrices(List<String> symbolsToRequest) {
         try {
-            List<String> symbolsToRequest = CURRENCY_SYMBOLS.stream()
-                    .map(symbol -> symbol + "USDT")
-                    .collect(Collectors.toList());
-
             List<Mono<String>> monos = createApiRequests("/api/v3/ticker/price", symbolsToRequest, 30, binanceClient);
+            long fetchTime = System.currentTimeMillis();
 
-            Map<String, Currency> currencyMap = new ConcurrentHashMap<>(currencyRepository.findAll().stream()
-                    .collect(Collectors.toMap(Currency::getSymbol, currency -> currency)));
-
-            List<Currency> currenciesToUpdate = Flux.merge(monos)
+            return Flux.merge(monos)
                     .flatMap(responseStr -> Flux.fromIterable(processApiResponse(responseStr, jsonObject -> {
-                        String symbolWithUSDT = jsonObject.getString("symbol");
-                        String symbol = symbolWithUSDT.replace("USDT", "");
-                        BigDecimal currentPrice = new BigDecimal(jsonObject.getString("price"));
-
-                        Currency existingCurrency = currencyMap.get(symbol);
-                        if (existingCurrency == null) {
-                            logger.error("Currency {} not found in database. Skipping.", symbol);
-                            return null;
-                        }
-
-                        if (currentPrice != null && (existingCurrency.getCurrentPrice() == null || currentPrice.compareTo(existingCurrency.getCurrentPrice()) != 0)) {
-                            existingCurrency.setCurrentPrice(currentPrice);
-                            return existingCurrency;
-                        }
-                        return null;
-                    })))
-                    .collectList()
-                    .block();
-
-            if (currenciesToUpdate != null && !currenciesToUpdate.isEmpty()) {
-                currencyRepository.saveAll(currenciesToUpdate);
-            }
-
+                        String symbol = jsonObject.getString("symbol").replace("USDT", "");
+                        return new PriceTick(symbol, new BigDecimal(jsonObject.getString("price")), fetchTime,
+                                PriceTick.TimeSource.LOCAL);
+                    })));
         } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize symbols for API request", e);
-        } catch (Exception e) {
-            logger.error("Failed to update prices", e);
+            return Flux.error(e);
         }
     }
 
@@ -321,21 +307,19 @@ public class CurrencyService {
         return monos;
     }
 
-    private List<Currency> processApiResponse(String responseStr, Function<JSONObject, Currency> updateFunction) {
+    private <T> List<T> processApiResponse(String responseStr, Function<JSONObject, T> updateFunction) {
         JSONArray responseArray = new JSONArray(responseStr);
-        List<Currency> updatedCurrencies = new ArrayList<>();
+        List<T> updatedItems = new ArrayList<>();
 
         for (int i = 0; i < responseArray.length(); i++) {
             JSONObject jsonObject = responseArray.getJSONObject(i);
-            Currency updatedCurrency = updateFunction.apply(jsonObject);
-            if (updatedCurrency != null) {
-                synchronized (updatedCurrency) {
-                    updatedCurrencies.add(updatedCurrency);
-                }
+            T updatedItem = updateFunction.apply(jsonObject);
+            if (updatedItem != null) {
+                updatedItems.add(updatedItem);
             }
         }
 
-        return updatedCurrencies;
+        return updatedItems;
     }
 
     @LogExecutionTime
@@ -354,19 +338,19 @@ public class CurrencyService {
                             return Mono.empty();
                         }
 
+                        Optional<Long> startTime = klineSyncCursor.startTime(currency, interval, limit);
+
                         return binanceClient.get()
                                 .uri(uriBuilder -> uriBuilder
                                         .path("/api/v3/klines")
                                         .queryParam("symbol", symbolWithUSDT)
                                         .queryParam("interval", interval)
                                         .queryParam("limit", limit)
+                                        .queryParamIfPresent("startTime", startTime)
                                         .build())
                                 .retrieve()
                                 .bodyToMono(String.class)
                                 .flatMap(responseStr -> processKlinesResponse(responseStr, currency, interval))
-                                .doOnSuccess(v -> {
-                                    removeOldKlines(currency, interval);
-                                })
                                 .onErrorResume(e -> {
                                     logger.error("Error fetching klines for symbol {}", symbolWithUSDT, e);
                                     return Mono.empty();
@@ -380,72 +364,47 @@ public class CurrencyService {
     }
 
     private Mono<Void> processKlinesResponse(String responseStr, Currency currency, String timeInterval) {
-        return Mono.fromRunnable(() -> {
+        return Mono.<Void>fromRunnable(() -> {
             if (responseStr == null) {
                 logger.error("No response for symbol {}", currency.getSymbol());
                 return;
             }
 
             JSONArray klines = new JSONArray(responseStr);
-            List<HistoricalKline> historicalKlines = new ArrayList<>();
+            List<HistoricalKline> historicalKlines = new ArrayList<>(klines.length());
 
             for (int i = 0; i < klines.length(); i++) {
                 JSONArray kline = klines.getJSONArray(i);
-                Long openTime = kline.getLong(0);
-                BigDecimal openPrice = new BigDecimal(kline.getString(1));
-                BigDecimal highPrice = new BigDecimal(kline.getString(2));
-                BigDecimal lowPrice = new BigDecimal(kline.getString(3));
-                BigDecimal closePrice = new BigDecimal(kline.getString(4));
-                BigDecimal volume = new BigDecimal(kline.getString(5));
-                Long closeTime = kline.getLong(6);
-
-                Optional<HistoricalKline> existingKlineOpt = historicalKlineRepository.findByCurrencyAndTimeIntervalAndOpenTime(
-                        currency, timeInterval, openTime);
-                HistoricalKline historicalKline;
-                if (existingKlineOpt.isPresent()) {
-                    historicalKline = existingKlineOpt.get();
-                    historicalKline.setOpenPrice(openPrice);
-                    historicalKline.setHighPrice(highPrice);
-                    historicalKline.setLowPrice(lowPrice);
-                    historicalKline.setClosePrice(closePrice);
-                    historicalKline.setVolume(volume);
-                    historicalKline.setCloseTime(closeTime);
-                } else {
-                    historicalKline = HistoricalKline.builder()
-                            .currency(currency)
-                            .openTime(openTime)
-                            .openPrice(openPrice)
-                            .highPrice(highPrice)
-                            .lowPrice(lowPrice)
-                            .closePrice(closePrice)
-                            .volume(volume)
-                            .closeTime(closeTime)
-                            .timeInterval(timeInterval)
-                            .build();
-                }
-
-                historicalKlines.add(historicalKline);
+                historicalKlines.add(HistoricalKline.builder()
+                        .currency(currency)
+                        .openTime(kline.getLong(0))
+                        .openPrice(new BigDecimal(kline.getString(1)))
+                        .highPrice(new BigDecimal(kline.getString(2)))
+                        .lowPrice(new BigDecimal(kline.getString(3)))
+                        .closePrice(new BigDecimal(kline.getString(4)))
+                        .volume(new BigDecimal(kline.getString(5)))
+                        .closeTime(kline.getLong(6))
+                        .timeInterval(timeInterval)
+                        .build());
             }
 
-            if (!historicalKlines.isEmpty()) {
-                historicalKlineRepository.saveAll(historicalKlines);
-            } else {
+            if (historicalKlines.isEmpty()) {
                 logger.info("No new klines found for symbol {}", currency.getSymbol());
+                return;
             }
-        });
-    }
-
-    private void removeOldKlines(Currency currency, String interval) {
-        List<HistoricalKline> klinesSorted = historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(currency, interval);
 
-        int size = klinesSorted.size();
-        if (size > 1000) {
-            List<HistoricalKline> toDelete = klinesSorted.subList(0, size - 1000);
-            historicalKlineRepository.deleteAll(toDelete);
-        }
+            historicalKlineWriter.upsert(currency, timeInterval, historicalKlines);
+            klineSyncCursor.advance(currency, timeInterval, historicalKlines.get(historicalKlines.size() - 1).getOpenTime());
+            candleSeriesStore.apply(currency, timeInterval, historicalKlines);
+        }).subscribeOn(Schedulers.boundedElastic());
     }
 
     public BigDecimal getCurrentPrice(String symbol) {
+        Optional<PriceSnapshot> snapshot = livePriceBook.find(symbol.toUpperCase());
+        if (snapshot.isPresent()) {
+            return snapshot.get().getPrice();
+        }
+
         Currency currency = currencyRepository.findBySymbol(symbol.toUpperCase())
                 .orElseThrow(() -> new CurrencyNotFoundException("Currency with symbol: " + symbol + " not found!"));
 
@@ -459,13 +418,15 @@ public class CurrencyService {
 
             List<Map<String, Object>> assets = currencies.stream()
                     .map(currency -> {
+                        BigDecimal currentPrice = livePriceBook.findPrice(currency.getCurrencyid())
+                                .orElseGet(currency::getCurrentPrice);
                         Map<String, Object> assetMap = new HashMap<>();
                         assetMap.put("id", currency.getSymbol());
                         assetMap.put("name", currency.getName());
-                        assetMap.put("price_in_usd", currency.getCurrentPrice());
+                        assetMap.put("price_in_usd", currentPrice);
                         assetMap.put("price_change_24h", currency.getPriceChange());
                         assetMap.put("price_change_percent_24h", currency.getPriceChangePercent());
-                        assetMap.put("volume_24h", currency.getVolume().multiply(currency.getCurrentPrice()));
+                        assetMap.put("volume_24h", currency.getVolume().multiply(currentPrice));
                         assetMap.put("image_url", currency.getImageUrl());
                         assetMap.put("currencyid", currency.getCurrencyid());
                         assetMap.put("market_cap", currency.getMarketCap());
@@ -0,0 +1,75 @@
+package com.example.backend.currency;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for price ticks. Only the latest price per symbol is kept between flushes,
+ * so a burst of ticks for one currency turns into a single row update.
+ * <p>
+ * This writer owns {@code current_price}. {@link Currency} is updated dynamically, so the market data jobs that save
+ * currencies loaded before a slow API call write only the columns they changed and never put back an older price.
+ */
+@Component
+@Tag(name = "Current Price Writer", description = "Buffers live prices and writes them to the database in batches")
+public class CurrentPriceWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrentPriceWriter.class);
+
+    private static final String UPDATE_PRICE_SQL = "UPDATE currencies SET current_price = ? WHERE symbol = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, BigDecimal> pendingPrices = new ConcurrentHashMap<>();
+    private final Map<String, BigDecimal> writtenPrices = new ConcurrentHashMap<>();
+
+    public CurrentPriceWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void enqueue(PriceTick tick) {
+        pendingPrices.put(tick.getSymbol(), tick.getPrice());
+    }
+
+    @Operation(summary = "Flush buffered prices", description = "Writes all prices received since the last flush in one JDBC batch")
+    public int flush() {
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (String symbol : pendingPrices.keySet()) {
+            BigDecimal price = pendingPrices.remove(symbol);
+            if (price == null) {
+                continue;
+            }
+            BigDecimal written = writtenPrices.get(symbol);
+            if (written == null || written.compareTo(price) != 0) {
+                batchArgs.add(new Object[]{price, symbol});
+            }
+        }
+
+        if (batchArgs.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_PRICE_SQL, batchArgs);
+            for (Object[] args : batchArgs) {
+                writtenPrices.put((String) args[1], (BigDecimal) args[0]);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to write {} current prices", batchArgs.size(), e);
+            for (Object[] args : batchArgs) {
+                pendingPrices.putIfAbsent((String) args[1], (BigDecimal) args[0]);
+            }
+            return 0;
+        }
+        return batchArgs.size();
+    }
+}
@@ -16,8 +16,10 @@ import java.math.BigDecimal;
 @Entity
 @Table(
         name = "HistoricalKlines",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_currency_timeInterval_openTime", columnNames = {"currencyid", "interval", "openTime"})
+        },
         indexes = {
-                @Index(name = "idx_currency_timeInterval_openTime", columnList = "currencyid, interval, openTime"),
                 @Index(name = "idx_currency", columnList = "currencyid"),
                 @Index(name = "idx_timeInterval", columnList = "interval"),
                 @Index(name = "idx_openTime", columnList = "openTime")
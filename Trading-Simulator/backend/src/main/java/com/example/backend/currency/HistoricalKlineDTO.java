@@ -1,10 +1,12 @@
 package com.example.backend.currency;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.math.BigDecimal;
 
 @Data
+@AllArgsConstructor
 public class HistoricalKlineDTO {
     private Long openTime;
     private BigDecimal openPrice;
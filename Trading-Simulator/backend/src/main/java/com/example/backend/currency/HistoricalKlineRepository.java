@@ -1,6 +1,8 @@
 package com.example.backend.currency;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,4 +11,11 @@ public interface HistoricalKlineRepository extends JpaRepository<HistoricalKline
     List<HistoricalKline> findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(Currency currency, String timeInterval);
     Optional<HistoricalKline> findByCurrencyAndTimeIntervalAndOpenTime(Currency currency, String timeInterval, Long openTime);
 
+    @Query("""
+    SELECT k.currency.currencyid AS currencyid, MAX(k.openTime) AS openTime
+    FROM HistoricalKline k
+    WHERE k.timeInterval = :timeInterval
+    GROUP BY k.currency.currencyid
+    """)
+    List<KlineCursorProjection> findLatestOpenTimes(@Param("timeInterval") String timeInterval);
 }
@@ -0,0 +1,148 @@
+package com.example.backend.currency;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk writer for klines. Candles are upserted in JDBC batches keyed by the
+ * (currency, interval, open time) unique constraint instead of being looked up and saved one by one.
+ * <p>
+ * On PostgreSQL the constraint is checked before the first write. {@code ddl-auto=update} cannot add it to a table
+ * that already holds duplicate candles, so in that case the duplicates are removed, keeping the latest row of each
+ * candle, and the constraint is created here.
+ */
+@Component
+@Tag(name = "Historical Kline Writer", description = "Upserts klines in JDBC batches")
+public class HistoricalKlineWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoricalKlineWriter.class);
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String NATURAL_KEY_EXISTS_SQL =
+            "SELECT COUNT(*) FROM pg_index i JOIN pg_class t ON t.oid = i.indrelid " +
+            "WHERE t.relname = 'historical_klines' AND i.indisunique AND " +
+            "(SELECT array_agg(a.attname::text ORDER BY a.attname::text) FROM pg_attribute a " +
+            "WHERE a.attrelid = t.oid AND a.attnum = ANY(i.indkey)) = ARRAY['currencyid', 'interval', 'open_time']";
+
+    private static final String DELETE_DUPLICATES_SQL =
+            "DELETE FROM historical_klines older USING historical_klines newer " +
+            "WHERE older.currencyid = newer.currencyid AND older.\"interval\" = newer.\"interval\" " +
+            "AND older.open_time = newer.open_time AND older.historical_klinesid < newer.historical_klinesid";
+
+    private static final String ADD_NATURAL_KEY_SQL =
+            "ALTER TABLE historical_klines ADD CONSTRAINT uk_currency_timeInterval_openTime " +
+            "UNIQUE (currencyid, \"interval\", open_time)";
+
+    private static final String POSTGRES_UPSERT_SQL =
+            "INSERT INTO historical_klines (currencyid, \"interval\", open_time, open_price, high_price, low_price, close_price, volume, close_time, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0) " +
+            "ON CONFLICT (currencyid, \"interval\", open_time) DO UPDATE SET " +
+            "open_price = EXCLUDED.open_price, high_price = EXCLUDED.high_price, low_price = EXCLUDED.low_price, " +
+            "close_price = EXCLUDED.close_price, volume = EXCLUDED.volume, close_time = EXCLUDED.close_time, " +
+            "version = historical_klines.version + 1 " +
+            "WHERE (historical_klines.open_price, historical_klines.high_price, historical_klines.low_price, " +
+            "historical_klines.close_price, historical_klines.volume, historical_klines.close_time) IS DISTINCT FROM " +
+            "(EXCLUDED.open_price, EXCLUDED.high_price, EXCLUDED.low_price, EXCLUDED.close_price, EXCLUDED.volume, EXCLUDED.close_time)";
+
+    private static final String H2_MERGE_SQL =
+            "MERGE INTO historical_klines (currencyid, \"interval\", open_time, open_price, high_price, low_price, close_price, volume, close_time, version) " +
+            "KEY (currencyid, \"interval\", open_time) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Long> lastClosedOpenTimes = new ConcurrentHashMap<>();
+    private volatile String upsertSql;
+
+    public HistoricalKlineWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes the candles that may have changed since the last sync of this currency and interval.
+     * Candles that were already stored after they closed are skipped.
+     *
+     * @return number of candles sent to the database
+     */
+    @Operation(summary = "Upsert klines", description = "Writes new and changed klines of one currency and interval in JDBC batches")
+    public int upsert(Currency currency, String interval, List<HistoricalKline> klines) {
+        String syncKey = currency.getCurrencyid() + ":" + interval;
+        long lastClosedOpenTime = lastClosedOpenTimes.getOrDefault(syncKey, Long.MIN_VALUE);
+
+        List<HistoricalKline> changed = klines.stream()
+                .filter(kline -> kline.getOpenTime() > lastClosedOpenTime)
+                .collect(Collectors.toList());
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(upsertSql(), changed, BATCH_SIZE, (ps, kline) -> {
+            ps.setInt(1, currency.getCurrencyid());
+            ps.setString(2, interval);
+            ps.setLong(3, kline.getOpenTime());
+            ps.setBigDecimal(4, kline.getOpenPrice());
+            ps.setBigDecimal(5, kline.getHighPrice());
+            ps.setBigDecimal(6, kline.getLowPrice());
+            ps.setBigDecimal(7, kline.getClosePrice());
+            ps.setBigDecimal(8, kline.getVolume());
+            ps.setLong(9, kline.getCloseTime());
+        });
+
+        long now = System.currentTimeMillis();
+        changed.stream()
+                .filter(kline -> kline.getCloseTime() < now)
+                .mapToLong(HistoricalKline::getOpenTime)
+                .max()
+                .ifPresent(openTime -> lastClosedOpenTimes.merge(syncKey, openTime, Math::max));
+
+        return changed.size();
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            synchronized (this) {
+                if (upsertSql == null) {
+                    String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                            connection.getMetaData().getDatabaseProductName());
+                    if ("H2".equalsIgnoreCase(product)) {
+                        upsertSql = H2_MERGE_SQL;
+                    } else {
+                        ensureNaturalKey();
+                        upsertSql = POSTGRES_UPSERT_SQL;
+                    }
+                }
+            }
+        }
+        return upsertSql;
+    }
+
+    private void ensureNaturalKey() {
+        if (naturalKeyExists()) {
+            return;
+        }
+        int removed = jdbcTemplate.update(DELETE_DUPLICATES_SQL);
+        try {
+            jdbcTemplate.execute(ADD_NATURAL_KEY_SQL);
+            logger.info("Removed {} duplicate klines and added the kline natural key", removed);
+        } catch (Exception e) {
+            if (!naturalKeyExists()) {
+                throw e;
+            }
+        }
+    }
+
+    private boolean naturalKeyExists() {
+        Long count = jdbcTemplate.queryForObject(NATURAL_KEY_EXISTS_SQL, Long.class);
+        return count != null && count > 0;
+    }
+}
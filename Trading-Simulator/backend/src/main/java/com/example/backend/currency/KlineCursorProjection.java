@@ -0,0 +1,6 @@
+package com.example.backend.currency;
+
+public interface KlineCursorProjection {
+    Integer getCurrencyid();
+    Long getOpenTime();
+}
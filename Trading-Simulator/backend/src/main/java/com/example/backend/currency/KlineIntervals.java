@@ -0,0 +1,34 @@
+package com.example.backend.currency;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binance kline intervals used by the application.
+ */
+public final class KlineIntervals {
+
+    public static final List<String> ALL = List.of("1m", "3m", "5m", "30m", "1h", "1d");
+
+    private static final long MINUTE = 60_000L;
+
+    private static final Map<String, Long> INTERVAL_MILLIS = Map.of(
+            "1m", MINUTE,
+            "3m", 3 * MINUTE,
+            "5m", 5 * MINUTE,
+            "30m", 30 * MINUTE,
+            "1h", 60 * MINUTE,
+            "1d", 24 * 60 * MINUTE
+    );
+
+    private KlineIntervals() {
+    }
+
+    public static long toMillis(String interval) {
+        Long millis = INTERVAL_MILLIS.get(interval);
+        if (millis == null) {
+            throw new IllegalArgumentException("Unsupported kline interval: " + interval);
+        }
+        return millis;
+    }
+}
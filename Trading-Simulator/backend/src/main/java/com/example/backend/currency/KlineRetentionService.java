@@ -0,0 +1,89 @@
+package com.example.backend.currency;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prunes klines beyond the retention limits of each interval. Limits are read from
+ * {@code kline.retention.max-rows[.<interval>]} (newest rows kept per currency) and
+ * {@code kline.retention.max-age-days[.<interval>]} (0 disables the age limit).
+ */
+@Service
+@Tag(name = "Kline Retention Service", description = "Deletes klines beyond the configured retention limits")
+public class KlineRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KlineRetentionService.class);
+
+    private static final String DELETE_BEYOND_ROW_LIMIT_SQL =
+            "DELETE FROM historical_klines WHERE historical_klinesid IN (" +
+            "SELECT historical_klinesid FROM (" +
+            "SELECT historical_klinesid, ROW_NUMBER() OVER (PARTITION BY currencyid ORDER BY open_time DESC) AS rn " +
+            "FROM historical_klines WHERE \"interval\" = ?) ranked " +
+            "WHERE rn > ?)";
+
+    private static final String DELETE_OLDER_THAN_SQL =
+            "DELETE FROM historical_klines WHERE \"interval\" = ? AND open_time < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+
+    public KlineRetentionService(JdbcTemplate jdbcTemplate, Environment environment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.environment = environment;
+    }
+
+    /**
+     * Applies the retention limits of every interval.
+     *
+     * @return number of pruned klines per interval
+     */
+    @Operation(summary = "Prune klines", description = "Deletes klines beyond the row-count and age limits of each interval")
+    public Map<String, Integer> prune() {
+        long start = System.nanoTime();
+        Map<String, Integer> pruned = new LinkedHashMap<>();
+
+        for (String interval : KlineIntervals.ALL) {
+            try {
+                pruned.put(interval, prune(interval));
+            } catch (Exception e) {
+                logger.error("Failed to prune {} klines", interval, e);
+            }
+        }
+
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        int total = pruned.values().stream().mapToInt(Integer::intValue).sum();
+        logger.info("Kline retention pruned {} rows in {} ms {}", total, elapsedMs, pruned);
+        return pruned;
+    }
+
+    int prune(String interval) {
+        int pruned = 0;
+
+        int maxRows = limit("kline.retention.max-rows", interval, 1000);
+        if (maxRows > 0) {
+            pruned += jdbcTemplate.update(DELETE_BEYOND_ROW_LIMIT_SQL, interval, maxRows);
+        }
+
+        int maxAgeDays = limit("kline.retention.max-age-days", interval, 0);
+        if (maxAgeDays > 0) {
+            long cutoff = System.currentTimeMillis() - Duration.ofDays(maxAgeDays).toMillis();
+            pruned += jdbcTemplate.update(DELETE_OLDER_THAN_SQL, interval, cutoff);
+        }
+
+        return pruned;
+    }
+
+    private int limit(String property, String interval, int defaultValue) {
+        Integer globalLimit = environment.getProperty(property, Integer.class, defaultValue);
+        return environment.getProperty(property + "." + interval, Integer.class, globalLimit);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.currency;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Open time of the newest stored kline per currency and interval. Seeded from the database the first
+ * time an interval is synced, then advanced in memory after every successful write.
+ */
+@Component
+@Tag(name = "Kline Sync Cursor", description = "Tracks how far klines have been synced per currency and interval")
+public class KlineSyncCursor {
+
+    private final HistoricalKlineRepository historicalKlineRepository;
+    private final Map<String, Long> cursors = new ConcurrentHashMap<>();
+    private final Set<String> loadedIntervals = ConcurrentHashMap.newKeySet();
+
+    public KlineSyncCursor(HistoricalKlineRepository historicalKlineRepository) {
+        this.historicalKlineRepository = historicalKlineRepository;
+    }
+
+    public Optional<Long> get(Currency currency, String interval) {
+        loadInterval(interval);
+        return Optional.ofNullable(cursors.get(key(currency.getCurrencyid(), interval)));
+    }
+
+    public void advance(Currency currency, String interval, long openTime) {
+        cursors.merge(key(currency.getCurrencyid(), interval), openTime, Math::max);
+    }
+
+    /**
+     * Open time to request klines from, or empty when the whole window should be downloaded because
+     * nothing is stored yet or more than {@code limit} candles are missing.
+     */
+    public Optional<Long> startTime(Currency currency, String interval, int limit) {
+        long intervalMillis = KlineIntervals.toMillis(interval);
+        return get(currency, interval)
+                .filter(openTime -> (System.currentTimeMillis() - openTime) / intervalMillis < limit);
+    }
+
+    private void loadInterval(String interval) {
+        if (loadedIntervals.contains(interval)) {
+            return;
+        }
+        synchronized (loadedIntervals) {
+            if (loadedIntervals.contains(interval)) {
+                return;
+            }
+            for (KlineCursorProjection latest : historicalKlineRepository.findLatestOpenTimes(interval)) {
+                cursors.merge(key(latest.getCurrencyid(), interval), latest.getOpenTime(), Math::max);
+            }
+            loadedIntervals.add(interval);
+        }
+    }
+
+    private static String key(Integer currencyId, String interval) {
+        return currencyId + ":" + interval;
+    }
+}
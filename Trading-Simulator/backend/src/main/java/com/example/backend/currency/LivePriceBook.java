@@ -0,0 +1,154 @@
+package com.example.backend.currency;
+
+import com.example.backend.exceptions.PriceNotAvailableException;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory table of the latest price of every tracked currency, indexed by currency id and symbol.
+ * Snapshots are immutable and replaced as a whole, so reads never block and need no database access.
+ * <p>
+ * Prices seeded from the database have no known time and count as stale until a feed confirms them. A tick only
+ * loses against the stored snapshot when both carry event times of the same clock and the stored one is newer;
+ * otherwise the tick that arrives last wins.
+ */
+@Component
+@Tag(name = "Live Price Book", description = "Latest known prices of all tracked currencies")
+public class LivePriceBook {
+
+    private static final Logger logger = LoggerFactory.getLogger(LivePriceBook.class);
+
+    private final Map<String, Integer> currencyIdsBySymbol = new ConcurrentHashMap<>();
+    private final Map<Integer, PriceSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<PriceChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Duration maxAge;
+
+    public LivePriceBook(@Value("${price-book.max-age-ms:120000}") long maxAgeMs) {
+        this.maxAge = Duration.ofMillis(maxAgeMs);
+    }
+
+    /**
+     * Makes the currency known to the book and seeds it with the price stored in the database. The seeded price is
+     * stale, as the database does not record when it was current.
+     */
+    public void register(Currency currency) {
+        currencyIdsBySymbol.put(currency.getSymbol(), currency.getCurrencyid());
+        if (currency.getCurrentPrice() != null) {
+            snapshots.putIfAbsent(currency.getCurrencyid(), new PriceSnapshot(currency.getCurrencyid(), currency.getSymbol(),
+                    currency.getCurrentPrice(), sequence.incrementAndGet(), 0, null));
+        }
+    }
+
+    public void registerAll(Collection<Currency> currencies) {
+        currencies.forEach(this::register);
+    }
+
+    /**
+     * Publishes a new price. Ticks for unknown symbols and ticks older than the current snapshot of the same clock
+     * are ignored.
+     * Listeners are notified when the stored price differs from the previous one.
+     *
+     * @return the stored snapshot, or {@code null} when the tick was ignored
+     */
+    public PriceSnapshot publish(PriceTick tick) {
+        Integer currencyId = currencyIdsBySymbol.get(tick.getSymbol());
+        if (currencyId == null) {
+            return null;
+        }
+        PriceSnapshot[] stored = new PriceSnapshot[1];
+        BigDecimal[] previousPrice = new BigDecimal[1];
+        snapshots.compute(currencyId, (id, current) -> {
+            if (current != null && current.getTimeSource() == tick.getTimeSource()
+                    && current.getTimestamp() > tick.getEventTime()) {
+                return current;
+            }
+            previousPrice[0] = current != null ? current.getPrice() : null;
+            stored[0] = new PriceSnapshot(id, tick.getSymbol(), tick.getPrice(), sequence.incrementAndGet(),
+                    tick.getEventTime(), tick.getTimeSource());
+            return stored[0];
+        });
+        if (stored[0] != null && (previousPrice[0] == null || previousPrice[0].compareTo(stored[0].getPrice()) != 0)) {
+            notifyListeners(stored[0]);
+        }
+        return stored[0];
+    }
+
+    public void addListener(PriceChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public Optional<PriceSnapshot> find(Integer currencyId) {
+        return Optional.ofNullable(snapshots.get(currencyId));
+    }
+
+    public Optional<Integer> findCurrencyId(String symbol) {
+        return Optional.ofNullable(currencyIdsBySymbol.get(symbol));
+    }
+
+    public Optional<PriceSnapshot> find(String symbol) {
+        Integer currencyId = currencyIdsBySymbol.get(symbol);
+        return currencyId == null ? Optional.empty() : find(currencyId);
+    }
+
+    /**
+     * Latest price of the currency, regardless of its age.
+     */
+    public Optional<BigDecimal> findPrice(Integer currencyId) {
+        return find(currencyId).map(PriceSnapshot::getPrice);
+    }
+
+    /**
+     * Latest price of the currency for operations that must not act on old data.
+     *
+     * @throws PriceNotAvailableException when the known price is older than the configured maximum age or was only
+     * seeded from the database
+     */
+    public Optional<BigDecimal> freshPrice(Integer currencyId) {
+        Optional<PriceSnapshot> snapshot = find(currencyId);
+        if (snapshot.isPresent() && snapshot.get().isSeeded()) {
+            throw new PriceNotAvailableException("Price for " + snapshot.get().getSymbol()
+                    + " has not been received from the price feed yet");
+        }
+        if (snapshot.isPresent() && isStale(snapshot.get())) {
+            throw new PriceNotAvailableException("Price for " + snapshot.get().getSymbol() + " is stale ("
+                    + snapshot.get().getAge().toSeconds() + "s old)");
+        }
+        return snapshot.map(PriceSnapshot::getPrice);
+    }
+
+    public Optional<Duration> staleness(String symbol) {
+        return find(symbol).map(PriceSnapshot::getAge);
+    }
+
+    public boolean isStale(PriceSnapshot snapshot) {
+        return snapshot.isSeeded() || snapshot.getAge().compareTo(maxAge) > 0;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    private void notifyListeners(PriceSnapshot snapshot) {
+        for (PriceChangeListener listener : listeners) {
+            try {
+                listener.onPriceChange(snapshot);
+            } catch (Exception e) {
+                logger.warn("Price listener failed for {}: {}", snapshot.getSymbol(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.backend.currency;
+
+/**
+ * Receives prices published to the {@link LivePriceBook} that differ from the previous price of the currency.
+ * Called on the price feed thread, so implementations must return quickly and hand slow work off.
+ */
+public interface PriceChangeListener {
+
+    void onPriceChange(PriceSnapshot snapshot);
+}
@@ -0,0 +1,20 @@
+package com.example.backend.currency;
+
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Source of live price ticks for the tracked currencies.
+ */
+public interface PriceFeed {
+
+    String getName();
+
+    /**
+     * Opens the feed for the given Binance symbols (e.g. BTCUSDT). The returned flux emits ticks
+     * keyed by the plain currency symbol (e.g. BTC) and terminates with an error when the
+     * underlying source is lost.
+     */
+    Flux<PriceTick> ticks(List<String> symbols);
+}
@@ -0,0 +1,113 @@
+package com.example.backend.currency;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static com.example.backend.util.CryptoSymbols.CURRENCY_SYMBOLS;
+
+/**
+ * Keeps the primary price feed connected and falls back to the secondary feed while it is down.
+ * The fallback is stopped again as soon as the primary feed delivers its first tick.
+ */
+@Profile("!test")
+@Component
+@Tag(name = "Price Feed Manager", description = "Routes live price ticks from the active feed into the price book")
+public class PriceFeedManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceFeedManager.class);
+
+    private final PriceFeed primaryFeed;
+    private final PriceFeed fallbackFeed;
+    private final LivePriceBook livePriceBook;
+    private final CurrentPriceWriter currentPriceWriter;
+    private final Duration reconnectBackoff;
+
+    private final AtomicReference<Disposable> fallbackSubscription = new AtomicReference<>();
+    private Disposable primarySubscription;
+
+    public PriceFeedManager(@Qualifier("binanceWebSocketPriceFeed") PriceFeed primaryFeed,
+                            @Qualifier("restPollingPriceFeed") PriceFeed fallbackFeed,
+                            LivePriceBook livePriceBook,
+                            CurrentPriceWriter currentPriceWriter,
+                            @Value("${price-feed.reconnect-backoff-ms:1000}") long reconnectBackoffMs) {
+        this.primaryFeed = primaryFeed;
+        this.fallbackFeed = fallbackFeed;
+        this.livePriceBook = livePriceBook;
+        this.currentPriceWriter = currentPriceWriter;
+        this.reconnectBackoff = Duration.ofMillis(reconnectBackoffMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<String> symbols = CURRENCY_SYMBOLS.stream()
+                .map(symbol -> symbol + "USDT")
+                .collect(Collectors.toList());
+
+        primarySubscription = Flux.defer(() -> primaryFeed.ticks(symbols))
+                .doOnSubscribe(s -> logger.info("Connecting to price feed {}", primaryFeed.getName()))
+                .doOnNext(tick -> stopFallback())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnectBackoff)
+                        .maxBackoff(reconnectBackoff.multipliedBy(60))
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> {
+                            logger.warn("Price feed {} failed: {}", primaryFeed.getName(), signal.failure().getMessage());
+                            startFallback(symbols);
+                        }))
+                .subscribe(this::onTick, e -> logger.error("Price feed {} stopped", primaryFeed.getName(), e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (primarySubscription != null) {
+            primarySubscription.dispose();
+        }
+        stopFallback();
+    }
+
+    public boolean isFallbackActive() {
+        return fallbackSubscription.get() != null;
+    }
+
+    private void onTick(PriceTick tick) {
+        if (livePriceBook.publish(tick) != null) {
+            currentPriceWriter.enqueue(tick);
+        }
+    }
+
+    private void startFallback(List<String> symbols) {
+        if (fallbackSubscription.get() != null) {
+            return;
+        }
+        Disposable subscription = fallbackFeed.ticks(symbols)
+                .subscribe(this::onTick, e -> logger.error("Fallback price feed {} stopped", fallbackFeed.getName(), e));
+        if (fallbackSubscription.compareAndSet(null, subscription)) {
+            logger.info("Switched to fallback price feed {}", fallbackFeed.getName());
+        } else {
+            subscription.dispose();
+        }
+    }
+
+    private void stopFallback() {
+        Disposable subscription = fallbackSubscription.getAndSet(null);
+        if (subscription != null) {
+            subscription.dispose();
+            logger.info("Price feed {} is back, fallback stopped", primaryFeed.getName());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.currency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Immutable view of the latest known price of a currency.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PriceSnapshot {
+    private final Integer currencyId;
+    private final String symbol;
+    private final BigDecimal price;
+    private final long sequence;
+    private final long timestamp;
+    /**
+     * Clock of the timestamp, or {@code null} for a price seeded from the database that no feed has confirmed yet.
+     */
+    private final PriceTick.TimeSource timeSource;
+
+    public boolean isSeeded() {
+        return timeSource == null;
+    }
+
+    public Duration getAge() {
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - timestamp));
+    }
+}
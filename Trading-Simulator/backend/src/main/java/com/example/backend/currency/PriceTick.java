@@ -0,0 +1,30 @@
+package com.example.backend.currency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Single price update for a currency, as delivered by a {@link PriceFeed}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PriceTick {
+    private final String symbol;
+    private final BigDecimal price;
+    private final long eventTime;
+    private final TimeSource timeSource;
+
+    /**
+     * Clock the event time was taken from. Event times of different clocks are not comparable.
+     */
+    public enum TimeSource {
+        /** Event time reported by the exchange */
+        EXCHANGE,
+        /** Local time at which the price was fetched */
+        LOCAL
+    }
+}
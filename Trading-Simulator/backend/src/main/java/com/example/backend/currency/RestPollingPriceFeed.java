@@ -0,0 +1,43 @@
+package com.example.backend.currency;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@Tag(name = "REST Polling Price Feed", description = "Fallback feed polling the Binance REST ticker")
+public class RestPollingPriceFeed implements PriceFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestPollingPriceFeed.class);
+
+    private final CurrencyService currencyService;
+    private final Duration pollInterval;
+
+    public RestPollingPriceFeed(CurrencyService currencyService,
+                                @Value("${price-feed.rest.poll-interval-ms:25000}") long pollIntervalMs) {
+        this.currencyService = currencyService;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+    }
+
+    @Override
+    public String getName() {
+        return "binance-rest";
+    }
+
+    @Override
+    public Flux<PriceTick> ticks(List<String> symbols) {
+        return Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> currencyService.fetchCurrentPrices(symbols)
+                        .onErrorResume(e -> {
+                            logger.error("Failed to poll current prices", e);
+                            return Flux.empty();
+                        }));
+    }
+}
@@ -12,15 +12,20 @@ import io.swagger.v3.oas.annotations.Operation;
 public class ScheduledTasks {
 
     private final CurrencyService currencyService;
+    private final CurrentPriceWriter currentPriceWriter;
+    private final KlineRetentionService klineRetentionService;
 
-    public ScheduledTasks(CurrencyService currencyService) {
+    public ScheduledTasks(CurrencyService currencyService, CurrentPriceWriter currentPriceWriter,
+                          KlineRetentionService klineRetentionService) {
         this.currencyService = currencyService;
+        this.currentPriceWriter = currentPriceWriter;
+        this.klineRetentionService = klineRetentionService;
     }
 
-    @Scheduled(fixedRate = 1000 * 25, initialDelay = 0)
-    @Operation(summary = "Update current prices", description = "Scheduled task to update current prices every 10 seconds")
-    public synchronized void updateCurrentPrices() {
-        currencyService.updateCurrentPrice();
+    @Scheduled(fixedDelayString = "${price-feed.flush-interval-ms:1000}", initialDelay = 1000)
+    @Operation(summary = "Flush current prices", description = "Scheduled task to write prices received from the live feed")
+    public void flushCurrentPrices() {
+        currentPriceWriter.flush();
     }
 
     @Scheduled(fixedRate = 1000 * 60 * 5, initialDelay = 2000)
@@ -71,4 +76,10 @@ public class ScheduledTasks {
         currencyService.updateHistoricalData("1d", 365);
     }
 
+    @Scheduled(fixedDelayString = "${kline.retention.interval-ms:600000}", initialDelay = 1000 * 60 * 10)
+    @Operation(summary = "Prune old klines", description = "Deletes klines beyond the retention limit of each interval")
+    public void pruneHistoricalData() {
+        klineRetentionService.prune();
+    }
+
 }
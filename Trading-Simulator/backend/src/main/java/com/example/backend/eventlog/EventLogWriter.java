@@ -0,0 +1,230 @@
+package com.example.backend.eventlog;
+
+import com.example.backend.eventlog.QueuedEvent.EventTable;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Writes user and admin events. In async mode events are put on a bounded in-memory queue and a single background
+ * thread drains it, inserting everything that has accumulated in JDBC batches, so callers pay only for the enqueue.
+ * How much the log may lose is configurable:
+ * <ul>
+ *     <li>{@code events.log.async=false} writes each event in the caller's thread, in a transaction of its own so
+ *     that it also works after the caller's transaction has committed.</li>
+ *     <li>In async mode events still in the queue are lost if the process dies; they are flushed on shutdown.</li>
+ *     <li>When the queue is full, the caller waits up to {@code events.log.offer-timeout-ms} for space (0 means not at
+ *     all) and the event is dropped after that.</li>
+ * </ul>
+ * Full queues, dropped events and events lost to failed inserts are counted as metrics. A failed batch is written
+ * again event by event, so one bad event does not take the rest of its batch with it. Each batch updates the
+ * {@link EventStatisticsStore} counters in the transaction that inserts it.
+ */
+@Component
+@Tag(name = "Event Log Writer", description = "Writes user and admin events in JDBC batches off the caller's thread")
+public class EventLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLogWriter.class);
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventStatisticsStore statisticsStore;
+    private final TransactionTemplate newTransaction;
+    private final boolean async;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<QueuedEvent> queue;
+    private final Counter overflows;
+    private final Counter dropped;
+    private final Counter writeFailures;
+    private final Thread writer;
+    private volatile boolean running;
+
+    public EventLogWriter(JdbcTemplate jdbcTemplate,
+                          ObjectMapper objectMapper,
+                          EventStatisticsStore statisticsStore,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${events.log.async:true}") boolean async,
+                          @Value("${events.log.queue-capacity:10000}") int queueCapacity,
+                          @Value("${events.log.batch-size:500}") int batchSize,
+                          @Value("${events.log.offer-timeout-ms:0}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.statisticsStore = statisticsStore;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.async = async;
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::drainLoop, "EventLogWriter");
+        this.writer.setDaemon(true);
+        Gauge.builder("events.log.queue.size", queue, BlockingQueue::size)
+                .description("Events waiting to be written")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("events.log.overflow")
+                .description("Events that found the queue full")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("events.log.dropped")
+                .description("Events dropped because the queue stayed full")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("events.log.write.failures")
+                .description("Events lost because their batch insert failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (EventTable table : EventTable.values()) {
+            try {
+                statisticsStore.backfill(table);
+            } catch (RuntimeException e) {
+                logger.error("Failed to backfill event statistics of {}", table, e);
+            }
+        }
+        if (async) {
+            running = true;
+            writer.start();
+        }
+    }
+
+    /**
+     * Logs the event: in async mode by queueing it for the writer, otherwise by inserting it right away.
+     */
+    @Operation(summary = "Log event", description = "Queues an event for the batch writer, or writes it directly in sync mode")
+    public void log(QueuedEvent event) {
+        if (!async) {
+            newTransaction.executeWithoutResult(status -> write(List.of(event)));
+            return;
+        }
+        if (queue.offer(event)) {
+            return;
+        }
+        overflows.increment();
+        if (offerTimeoutMs > 0) {
+            try {
+                if (queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        dropped.increment();
+    }
+
+    /**
+     * Stops the writer and writes what is still queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (writer.isAlive()) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeQuietly(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainLoop() {
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                QueuedEvent first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeQuietly(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the batch in one transaction. If that fails, each event is written in a transaction of its own, so only
+     * the events that cannot be inserted are lost.
+     */
+    private void writeQuietly(List<QueuedEvent> batch) {
+        try {
+            newTransaction.executeWithoutResult(status -> write(batch));
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                writeFailures.increment();
+                logger.error("Failed to write {} event", batch.get(0).getEventType(), e);
+                return;
+            }
+            logger.warn("Failed to write batch of {} events, writing them one by one: {}", batch.size(), e.getMessage());
+        }
+        for (QueuedEvent event : batch) {
+            try {
+                newTransaction.executeWithoutResult(status -> write(List.of(event)));
+            } catch (RuntimeException e) {
+                writeFailures.increment();
+                logger.error("Failed to write {} event", event.getEventType(), e);
+            }
+        }
+    }
+
+    private void write(List<QueuedEvent> batch) {
+        Map<EventTable, List<QueuedEvent>> byTable = batch.stream()
+                .collect(Collectors.groupingBy(QueuedEvent::getTable, () -> new EnumMap<>(EventTable.class), Collectors.toList()));
+        byTable.forEach((table, events) -> jdbcTemplate.batchUpdate(table.insertSql(), events, batchSize, (ps, event) -> {
+            ps.setString(1, event.getEmail());
+            ps.setString(2, event.getEventType());
+            ps.setTimestamp(3, Timestamp.valueOf(event.getEventTime()));
+            ps.setString(4, toJson(event.getDetails()));
+        }));
+        statisticsStore.add(batch);
+    }
+
+    private String toJson(Map<String, Object> details) {
+        if (details == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize event details {}", details, e);
+            return null;
+        }
+    }
+}
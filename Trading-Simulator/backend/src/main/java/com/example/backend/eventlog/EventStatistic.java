@@ -0,0 +1,52 @@
+package com.example.backend.eventlog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "event_statistics",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_event_statistics_bucket", columnNames = {"source", "event_type", "granularity", "bucket_start"})
+        }
+)
+@Schema(description = "Number of events of one type in one time bucket, maintained as events are written")
+public class EventStatistic {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Unique identifier of the statistic", example = "1")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false)
+    @Schema(description = "Table the counted events are stored in", example = "USER_EVENT")
+    private QueuedEvent.EventTable source;
+
+    @Column(name = "event_type", nullable = false)
+    @Schema(description = "Type of the counted events", example = "LOGIN")
+    private String eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false)
+    @Schema(description = "Length of the time bucket", example = "HOUR")
+    private StatisticGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    @Schema(description = "Start of the time bucket", example = "2024-01-01T10:00:00")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "event_count", nullable = false)
+    @Schema(description = "Number of events in the bucket", example = "42")
+    private long eventCount;
+}
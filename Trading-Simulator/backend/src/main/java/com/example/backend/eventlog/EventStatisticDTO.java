@@ -0,0 +1,34 @@
+package com.example.backend.eventlog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of events of one type in one time bucket")
+public class EventStatisticDTO {
+
+    @Schema(description = "Type of the counted events", example = "LOGIN")
+    private String eventType;
+
+    @Schema(description = "Start of the time bucket", example = "2024-01-01T10:00:00")
+    private LocalDateTime bucketStart;
+
+    @Schema(description = "Number of events in the bucket", example = "42")
+    private long count;
+
+    public static EventStatisticDTO fromEventStatistic(EventStatistic statistic) {
+        return EventStatisticDTO.builder()
+                .eventType(statistic.getEventType())
+                .bucketStart(statistic.getBucketStart())
+                .count(statistic.getEventCount())
+                .build();
+    }
+}
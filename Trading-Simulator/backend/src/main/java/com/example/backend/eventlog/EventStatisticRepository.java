@@ -0,0 +1,18 @@
+package com.example.backend.eventlog;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Tag(name = "Event Statistic Repository", description = "Repository interface for EventStatistic entity")
+public interface EventStatisticRepository extends JpaRepository<EventStatistic, Long> {
+
+    List<EventStatistic> findBySourceAndGranularity(QueuedEvent.EventTable source, StatisticGranularity granularity);
+
+    List<EventStatistic> findBySourceAndGranularityAndBucketStartBetweenOrderByBucketStartAsc(
+            QueuedEvent.EventTable source, StatisticGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    boolean existsBySource(QueuedEvent.EventTable source);
+}
@@ -0,0 +1,211 @@
+package com.example.backend.eventlog;
+
+import com.example.backend.eventlog.QueuedEvent.EventTable;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Counters of user and admin events per event type, per hour, per day and in total. They are incremented in the
+ * same transaction that inserts the events and decremented when an event is deleted, so the statistics endpoints
+ * read a handful of counter rows instead of grouping the event tables. Counters missing for events written before
+ * they existed are backfilled once from the event tables.
+ */
+@Component
+@Tag(name = "Event Statistics Store", description = "Maintains per-type and per-bucket event counters")
+public class EventStatisticsStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStatisticsStore.class);
+
+    private static final String POSTGRES_UPSERT_SQL =
+            "INSERT INTO event_statistics (source, event_type, granularity, bucket_start, event_count) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (source, event_type, granularity, bucket_start) DO UPDATE SET " +
+            "event_count = event_statistics.event_count + EXCLUDED.event_count";
+
+    private static final String H2_MERGE_SQL =
+            "MERGE INTO event_statistics t " +
+            "USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS TIMESTAMP), CAST(? AS BIGINT))) " +
+            "AS s (source, event_type, granularity, bucket_start, event_count) " +
+            "ON t.source = s.source AND t.event_type = s.event_type AND t.granularity = s.granularity AND t.bucket_start = s.bucket_start " +
+            "WHEN MATCHED THEN UPDATE SET event_count = t.event_count + s.event_count " +
+            "WHEN NOT MATCHED THEN INSERT (source, event_type, granularity, bucket_start, event_count) " +
+            "VALUES (s.source, s.event_type, s.granularity, s.bucket_start, s.event_count)";
+
+    private static final String BACKFILL_BUCKETS_SQL =
+            "INSERT INTO event_statistics (source, event_type, granularity, bucket_start, event_count) " +
+            "SELECT ?, event_type, ?, DATE_TRUNC('%s', event_time), COUNT(*) FROM %s " +
+            "WHERE event_type IS NOT NULL AND event_time IS NOT NULL " +
+            "GROUP BY event_type, DATE_TRUNC('%s', event_time)";
+
+    private static final String BACKFILL_TOTAL_SQL =
+            "INSERT INTO event_statistics (source, event_type, granularity, bucket_start, event_count) " +
+            "SELECT ?, event_type, ?, ?, COUNT(*) FROM %s " +
+            "WHERE event_type IS NOT NULL " +
+            "GROUP BY event_type";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventStatisticRepository eventStatisticRepository;
+    private volatile String upsertSql;
+
+    public EventStatisticsStore(JdbcTemplate jdbcTemplate, EventStatisticRepository eventStatisticRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventStatisticRepository = eventStatisticRepository;
+    }
+
+    /**
+     * Adds the events to their counters, one upsert per distinct counter. Runs in the caller's transaction.
+     */
+    @Operation(summary = "Count events", description = "Increments the counters of the given events")
+    public void add(List<QueuedEvent> events) {
+        Map<CounterKey, Long> deltas = new HashMap<>();
+        for (QueuedEvent event : events) {
+            for (StatisticGranularity granularity : StatisticGranularity.values()) {
+                deltas.merge(CounterKey.of(event.getTable(), event.getEventType(), granularity, event.getEventTime()), 1L, Long::sum);
+            }
+        }
+        upsert(deltas);
+    }
+
+    /**
+     * Takes a deleted event off its counters.
+     */
+    @Operation(summary = "Uncount event", description = "Decrements the counters of a deleted event")
+    public void remove(EventTable source, String eventType, LocalDateTime eventTime) {
+        if (eventType == null) {
+            return;
+        }
+        Map<CounterKey, Long> deltas = new HashMap<>();
+        for (StatisticGranularity granularity : StatisticGranularity.values()) {
+            if (eventTime != null || granularity == StatisticGranularity.TOTAL) {
+                deltas.put(CounterKey.of(source, eventType, granularity, eventTime), -1L);
+            }
+        }
+        upsert(deltas);
+    }
+
+    /**
+     * Fills the counters of a source from its event table if it has none yet, e.g. on the first start with
+     * statistics or after they were cleared.
+     */
+    @Transactional
+    @Operation(summary = "Backfill counters", description = "Builds the counters of an event table from its history")
+    public void backfill(EventTable source) {
+        if (eventStatisticRepository.existsBySource(source)) {
+            return;
+        }
+        for (StatisticGranularity granularity : List.of(StatisticGranularity.HOUR, StatisticGranularity.DAY)) {
+            String field = granularity.name().toLowerCase();
+            jdbcTemplate.update(String.format(BACKFILL_BUCKETS_SQL, field, source.tableName(), field),
+                    source.name(), granularity.name());
+        }
+        int types = jdbcTemplate.update(String.format(BACKFILL_TOTAL_SQL, source.tableName()),
+                source.name(), StatisticGranularity.TOTAL.name(), Timestamp.valueOf(StatisticGranularity.TOTAL_BUCKET));
+        if (types > 0) {
+            logger.info("Backfilled statistics of {} event types from {}", types, source.tableName());
+        }
+    }
+
+    @Operation(summary = "Get totals", description = "Returns the number of events per event type")
+    public Map<String, Long> totals(EventTable source) {
+        return eventStatisticRepository.findBySourceAndGranularity(source, StatisticGranularity.TOTAL).stream()
+                .filter(statistic -> statistic.getEventCount() > 0)
+                .collect(Collectors.toMap(EventStatistic::getEventType, EventStatistic::getEventCount));
+    }
+
+    @Operation(summary = "Get timeline", description = "Returns the number of events per event type and time bucket in a range")
+    public List<EventStatisticDTO> timeline(EventTable source, StatisticGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        return eventStatisticRepository
+                .findBySourceAndGranularityAndBucketStartBetweenOrderByBucketStartAsc(source, granularity, granularity.bucketOf(from), to)
+                .stream()
+                .filter(statistic -> statistic.getEventCount() > 0)
+                .map(EventStatisticDTO::fromEventStatistic)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Applies the deltas in counter key order, so concurrent writers lock shared counter rows in the same order and
+     * cannot deadlock each other.
+     */
+    private void upsert(Map<CounterKey, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<CounterKey, Long>> entries = new ArrayList<>(deltas.entrySet());
+        entries.sort(Map.Entry.comparingByKey(CounterKey.ORDER));
+        jdbcTemplate.batchUpdate(upsertSql(), entries, entries.size(), (ps, entry) -> {
+            CounterKey key = entry.getKey();
+            ps.setString(1, key.source.name());
+            ps.setString(2, key.eventType);
+            ps.setString(3, key.granularity.name());
+            ps.setTimestamp(4, Timestamp.valueOf(key.bucketStart));
+            ps.setLong(5, entry.getValue());
+        });
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            upsertSql = "H2".equalsIgnoreCase(product) ? H2_MERGE_SQL : POSTGRES_UPSERT_SQL;
+        }
+        return upsertSql;
+    }
+
+    private static final class CounterKey {
+
+        static final Comparator<CounterKey> ORDER = Comparator
+                .comparing((CounterKey key) -> key.source.name())
+                .thenComparing(key -> key.eventType, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(key -> key.granularity.name())
+                .thenComparing(key -> key.bucketStart);
+
+        private final EventTable source;
+        private final String eventType;
+        private final StatisticGranularity granularity;
+        private final LocalDateTime bucketStart;
+
+        private CounterKey(EventTable source, String eventType, StatisticGranularity granularity, LocalDateTime bucketStart) {
+            this.source = source;
+            this.eventType = eventType;
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+        }
+
+        static CounterKey of(EventTable source, String eventType, StatisticGranularity granularity, LocalDateTime eventTime) {
+            return new CounterKey(source, eventType, granularity, granularity.bucketOf(eventTime));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterKey other)) {
+                return false;
+            }
+            return source == other.source && eventType.equals(other.eventType)
+                    && granularity == other.granularity && bucketStart.equals(other.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, eventType, granularity, bucketStart);
+        }
+    }
+}
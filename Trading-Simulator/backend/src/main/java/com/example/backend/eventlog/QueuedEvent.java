@@ -0,0 +1,46 @@
+package com.example.backend.eventlog;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A user or admin event waiting in the {@link EventLogWriter} queue. The details are kept as the caller's map and
+ * only serialized to JSON by the writer.
+ */
+@Getter
+@AllArgsConstructor
+public class QueuedEvent {
+
+    private final EventTable table;
+    private final String email;
+    private final String eventType;
+    private final LocalDateTime eventTime;
+    private final Map<String, Object> details;
+
+    /**
+     * Tables events are written to, with the column holding the email of the user or admin.
+     */
+    public enum EventTable {
+        USER_EVENT("user_event", "email"),
+        ADMIN_EVENT("admin_event", "admin_email");
+
+        private final String tableName;
+        private final String insertSql;
+
+        EventTable(String table, String emailColumn) {
+            this.tableName = table;
+            this.insertSql = "INSERT INTO " + table + " (" + emailColumn + ", event_type, event_time, details) VALUES (?, ?, ?, ?)";
+        }
+
+        String tableName() {
+            return tableName;
+        }
+
+        String insertSql() {
+            return insertSql;
+        }
+    }
+}
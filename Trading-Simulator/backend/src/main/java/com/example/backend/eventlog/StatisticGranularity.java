@@ -0,0 +1,40 @@
+package com.example.backend.eventlog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Schema(description = "Time bucket an event statistic counts events for")
+public enum StatisticGranularity {
+    HOUR(Duration.ofHours(24)),
+    DAY(Duration.ofDays(30)),
+    TOTAL(Duration.ZERO);
+
+    /**
+     * Bucket the total counter is stored under.
+     */
+    static final LocalDateTime TOTAL_BUCKET = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final Duration defaultRange;
+
+    StatisticGranularity(Duration defaultRange) {
+        this.defaultRange = defaultRange;
+    }
+
+    /**
+     * How far back a timeline of this granularity reaches when no start is given.
+     */
+    public Duration defaultRange() {
+        return defaultRange;
+    }
+
+    LocalDateTime bucketOf(LocalDateTime eventTime) {
+        return switch (this) {
+            case HOUR -> eventTime.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> eventTime.truncatedTo(ChronoUnit.DAYS);
+            case TOTAL -> TOTAL_BUCKET;
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an indicator is requested with fewer than one period or more periods than candles are kept.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidIndicatorPeriodsException extends AppException {
+    public InvalidIndicatorPeriodsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an order cannot be queued because the user's order queue is full.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class OrderRejectedException extends AppException {
+    public OrderRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an unknown indicator engine is requested.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedIndicatorEngineException extends AppException {
+    public UnsupportedIndicatorEngineException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when candles are requested for an interval that is not synced.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedKlineIntervalException extends AppException {
+    public UnsupportedKlineIntervalException(String message) {
+        super(message);
+    }
+}
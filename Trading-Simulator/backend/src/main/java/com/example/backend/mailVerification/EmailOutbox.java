@@ -0,0 +1,82 @@
+package com.example.backend.mailVerification;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "email_outbox",
+        indexes = {
+                @Index(name = "idx_email_outbox_due", columnList = "status, nextAttemptAt"),
+                @Index(name = "idx_email_outbox_claim", columnList = "claimToken")
+        }
+)
+@Schema(description = "Email written in the transaction that caused it and sent later by the outbox dispatcher")
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    @Schema(description = "Unique identifier of the email", example = "1")
+    private Long emailOutboxid;
+
+    @Column(nullable = false)
+    @Schema(description = "Recipient address", example = "user@example.com")
+    private String recipient;
+
+    @Column(nullable = false)
+    @Schema(description = "Sender address", example = "no-reply@royalcoin.com")
+    private String fromAddress;
+
+    @Schema(description = "Sender name", example = "Royal Coin")
+    private String fromName;
+
+    @Column(nullable = false)
+    @Schema(description = "Subject of the email")
+    private String subject;
+
+    @Column(columnDefinition = "text", nullable = false)
+    @Schema(description = "Plain text body")
+    private String textBody;
+
+    @Column(columnDefinition = "text", nullable = false)
+    @Schema(description = "HTML body")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Delivery status", example = "PENDING")
+    private EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    @Schema(description = "Number of failed delivery attempts", example = "0")
+    private int attempts;
+
+    @Column(nullable = false)
+    @Schema(description = "Earliest time of the next delivery attempt")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    @Schema(description = "Time the email was written")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Time the email was delivered")
+    private LocalDateTime sentAt;
+
+    @Column(columnDefinition = "text")
+    @Schema(description = "Error of the last failed attempt")
+    private String lastError;
+
+    @Column(length = 36)
+    @Schema(description = "Token of the dispatcher poll that last claimed the email")
+    private String claimToken;
+}
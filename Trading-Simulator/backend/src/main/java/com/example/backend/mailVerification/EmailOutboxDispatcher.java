@@ -0,0 +1,218 @@
+package com.example.backend.mailVerification;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the emails written to the {@link EmailOutbox}. Due emails are split across a fixed number of workers; each
+ * worker sends its share in one {@link JavaMailSender#send(MimeMessage...)} call, which delivers them over a single
+ * SMTP connection. Failed emails are retried with exponential backoff until the maximum number of attempts.
+ * <p>
+ * With a maximum rate configured, each poll claims only as many emails as the permits accumulated since the last
+ * one, so a large fan-out drains at a steady pace instead of in bursts of the batch size.
+ * <p>
+ * Emails are claimed before they are sent: one committed update moves their next attempt to the end of a lease of
+ * {@code mail.outbox.lease-ms} and tags them with the poll's token, so concurrent polls and other instances skip
+ * them. Each worker records the outcome of its share as soon as it is sent. If the process dies before that, the
+ * lease runs out and the share is sent again; delivery is at least once, not exactly once.
+ */
+@Component
+@Tag(name = "Email Outbox Dispatcher", description = "Delivers queued emails with bounded concurrency and retries")
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+    private final double maxPerSecond;
+    private final ExecutorService executor;
+    private double permits;
+    private long lastRefill = System.nanoTime();
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 @Value("${mail.outbox.batch-size:100}") int batchSize,
+                                 @Value("${mail.outbox.concurrency:4}") int concurrency,
+                                 @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+                                 @Value("${mail.outbox.retry-backoff-ms:30000}") long retryBackoffMs,
+                                 @Value("${mail.outbox.max-per-second:0}") double maxPerSecond,
+                                 @Value("${mail.outbox.lease-ms:300000}") long leaseMs) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.maxPerSecond = maxPerSecond;
+        this.permits = Math.min(batchSize, maxPerSecond);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "EmailOutbox-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}", initialDelay = 1000 * 5)
+    @Operation(summary = "Dispatch outbox", description = "Sends the due emails of the outbox")
+    public void dispatch() {
+        int limit = claimablePermits();
+        if (limit == 0) {
+            return;
+        }
+        List<EmailOutbox> due = claim(limit);
+        if (due.isEmpty()) {
+            return;
+        }
+        if (maxPerSecond > 0) {
+            permits -= due.size();
+        }
+        List<List<EmailOutbox>> shares = new ArrayList<>();
+        for (int i = 0; i < Math.min(concurrency, due.size()); i++) {
+            shares.add(new ArrayList<>());
+        }
+        for (int i = 0; i < due.size(); i++) {
+            shares.get(i % shares.size()).add(due.get(i));
+        }
+        CompletableFuture.allOf(shares.stream()
+                        .map(share -> CompletableFuture.runAsync(() -> {
+                            send(share);
+                            emailOutboxRepository.saveAll(share);
+                        }, executor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Number of emails the current poll may claim: the batch size, or without it the permits accumulated at the
+     * maximum rate, capped at the batch size.
+     */
+    private int claimablePermits() {
+        if (maxPerSecond <= 0) {
+            return batchSize;
+        }
+        long now = System.nanoTime();
+        permits = Math.min(batchSize, permits + (now - lastRefill) / 1_000_000_000.0 * maxPerSecond);
+        lastRefill = now;
+        return (int) permits;
+    }
+
+    /**
+     * Claims up to {@code limit} due emails for this poll. Emails another dispatcher claimed in between are left
+     * out.
+     */
+    private List<EmailOutbox> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = emailOutboxRepository.findDueIds(EmailOutboxStatus.PENDING, now, PageRequest.of(0, limit));
+        if (dueIds.isEmpty()) {
+            return List.of();
+        }
+        String claimToken = UUID.randomUUID().toString();
+        int claimed = emailOutboxRepository.claim(dueIds, EmailOutboxStatus.PENDING, now, now.plus(lease), claimToken);
+        if (claimed == 0) {
+            return List.of();
+        }
+        return emailOutboxRepository.findByClaimTokenOrderByEmailOutboxidAsc(claimToken);
+    }
+
+    /**
+     * Sends the emails over one connection and records the outcome of each on the entity.
+     */
+    void send(List<EmailOutbox> emails) {
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        for (EmailOutbox email : emails) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException | UnsupportedEncodingException | MailException e) {
+                markFailed(email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        Map<Object, Exception> failed = Map.of();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                messages.values().forEach(email -> markFailed(email, e));
+                return;
+            }
+        } catch (MailException e) {
+            messages.values().forEach(email -> markFailed(email, e));
+            return;
+        }
+        for (Map.Entry<MimeMessage, EmailOutbox> message : messages.entrySet()) {
+            Exception error = failed.get(message.getKey());
+            if (error != null) {
+                markFailed(message.getValue(), error);
+            } else {
+                message.getValue().setStatus(EmailOutboxStatus.SENT);
+                message.getValue().setSentAt(LocalDateTime.now());
+            }
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, "UTF-8");
+        helper.setFrom(email.getFromAddress(), email.getFromName());
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getTextBody(), email.getHtmlBody());
+        return mimeMessage;
+    }
+
+    private void markFailed(EmailOutbox email, Exception error) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(error.getMessage());
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutboxStatus.FAILED);
+            logger.error("Giving up on email {} to {} after {} attempts: {}", email.getEmailOutboxid(),
+                    email.getRecipient(), attempts, error.getMessage());
+        } else {
+            email.setNextAttemptAt(LocalDateTime.now().plus(retryBackoff.multipliedBy(1L << (attempts - 1))));
+            logger.warn("Failed to send email {} to {} (attempt {}): {}", email.getEmailOutboxid(),
+                    email.getRecipient(), attempts, error.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.backend.mailVerification;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e.emailOutboxid FROM EmailOutbox e " +
+            "WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.emailOutboxid")
+    List<Long> findDueIds(@Param("status") EmailOutboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims those of the given emails that are still due by moving their next attempt to the end of the lease and
+     * tagging them with the claim token. Commits on return, so other dispatchers skip the claimed emails.
+     *
+     * @return number of emails claimed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.nextAttemptAt = :leaseUntil, e.claimToken = :claimToken " +
+            "WHERE e.emailOutboxid IN :ids AND e.status = :status AND e.nextAttemptAt <= :now")
+    int claim(@Param("ids") List<Long> ids,
+              @Param("status") EmailOutboxStatus status,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("claimToken") String claimToken);
+
+    List<EmailOutbox> findByClaimTokenOrderByEmailOutboxidAsc(String claimToken);
+}
@@ -0,0 +1,10 @@
+package com.example.backend.mailVerification;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Delivery status of an outbox email")
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,105 @@
+package com.example.backend.mailVerification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email body with {@code {{name}}} placeholders, parsed once into the literal parts between the placeholders.
+ * Rendering appends the parts and values into one builder sized exactly for the result, so the body is never
+ * copied to grow. Values are inserted as given; callers pass HTML-ready values to HTML templates.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private EmailTemplate(String[] literals, String[] names) {
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate parse(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at index " + open);
+            }
+            literals.add(source.substring(position, open));
+            names.add(source.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new EmailTemplate(literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    /**
+     * Values keyed by placeholder name from alternating names and values. Unlike {@link Map#of} it accepts null
+     * values, which render as {@code null} like in a concatenation.
+     */
+    public static Map<String, Object> values(Object... namesAndValues) {
+        Map<String, Object> values = new HashMap<>(namesAndValues.length);
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            values.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return values;
+    }
+
+    /**
+     * Renders the template. Every placeholder must have an entry in the values.
+     */
+    public String render(Map<String, ?> values) {
+        String[] rendered = new String[names.length];
+        int length = literalLength;
+        for (int i = 0; i < names.length; i++) {
+            Object value = values.get(names[i]);
+            if (value == null && !values.containsKey(names[i])) {
+                throw new IllegalArgumentException("No value for placeholder " + names[i]);
+            }
+            rendered[i] = String.valueOf(value);
+            length += rendered[i].length();
+        }
+        StringBuilder builder = new StringBuilder(length);
+        builder.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            builder.append(rendered[i]).append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Substitutes the given values and keeps the other placeholders, e.g. to fill in the fields shared by all
+     * recipients once and only the recipient's fields per email.
+     */
+    public EmailTemplate bind(Map<String, ?> values) {
+        List<String> boundLiterals = new ArrayList<>();
+        List<String> boundNames = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            if (values.containsKey(names[i])) {
+                literal.append(values.get(names[i]));
+            } else {
+                boundLiterals.add(literal.toString());
+                boundNames.add(names[i]);
+                literal.setLength(0);
+            }
+            literal.append(literals[i + 1]);
+        }
+        boundLiterals.add(literal.toString());
+        return new EmailTemplate(boundLiterals.toArray(new String[0]), boundNames.toArray(new String[0]));
+    }
+}
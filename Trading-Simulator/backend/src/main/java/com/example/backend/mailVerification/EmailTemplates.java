@@ -0,0 +1,184 @@
+package com.example.backend.mailVerification;
+
+/**
+ * Templates of the emails sent by {@link VerificationService}, parsed once when the class is loaded. HTML templates
+ * are written across lines for readability; the line continuations keep them on one line like the emails sent
+ * before.
+ */
+public final class EmailTemplates {
+
+    public static final EmailTemplate VERIFICATION_TEXT = EmailTemplate.parse("""
+            Hello {{firstname}},
+
+            Thank you for registering at Royal Coin!
+            To activate your account, please click the link below:
+            {{url}}
+
+            If you did not register at our application, please ignore this email.
+
+            Best regards,
+            Royal Coin Team""");
+
+    public static final EmailTemplate VERIFICATION_HTML = EmailTemplate.parse("""
+            <html>\
+            <body style='font-family: Arial, sans-serif;'>\
+            <p>Hello {{firstname}},</p>\
+            <p>Thank you for registering at <strong>Royal Coin</strong>!</p>\
+            <p>To activate your account, please click the button below:</p>\
+            <p style='text-align: center;'>\
+            <a href='{{url}}' style='background-color: #4CAF50; color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px;'>Activate Account</a>\
+            </p>\
+            <p>If the button above does not work, copy and paste the following link into your browser:</p>\
+            <p><a href='{{url}}'>{{url}}</a></p>\
+            <p>If you did not register at our application, please ignore this email.</p>\
+            <br>\
+            <p>Best regards,<br>Royal Coin Team</p>\
+            <hr>\
+            <p style='font-size: small;'>If you have any questions, feel free to contact us at RoyalCoinSupport@gmail.com.</p>\
+            </body>\
+            </html>""");
+
+    public static final EmailTemplate PASSWORD_RESET_TEXT = EmailTemplate.parse("""
+            Hello {{firstname}},
+
+            We received a request to reset your password.
+            To reset your password, please click the link below:
+            {{url}}
+
+            If you did not request a password reset, please ignore this email.
+
+            Best regards,
+            Royal Coin Team""");
+
+    public static final EmailTemplate PASSWORD_RESET_HTML = EmailTemplate.parse("""
+            <html>\
+            <body style='font-family: Arial, sans-serif;'>\
+            <p>Hello {{firstname}},</p>\
+            <p>We received a request to reset your password.</p>\
+            <p>To reset your password, please click the button below:</p>\
+            <p style='text-align: center;'>\
+            <a href='{{url}}' style='background-color: #f44336; color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px;'>Reset Password</a>\
+            </p>\
+            <p>If the button above does not work, copy and paste the following link into your browser:</p>\
+            <p><a href='{{url}}'>{{url}}</a></p>\
+            <p>If you did not request a password reset, please ignore this email.</p>\
+            <br>\
+            <p>Best regards,<br>Royal Coin Team</p>\
+            <hr>\
+            <p style='font-size: small;'>If you have any questions, feel free to contact us at RoyalCoinSupport@gmail.com.</p>\
+            </body>\
+            </html>""");
+
+    public static final EmailTemplate ALERT_TEXT = EmailTemplate.parse("""
+            Hello {{firstname}},
+
+            {{message}}
+
+            Best regards,
+            Royal Coin Team""");
+
+    public static final EmailTemplate ALERT_HTML = EmailTemplate.parse("""
+            <html>\
+            <body style='font-family: Arial, sans-serif;'>\
+            <p>Hello {{firstname}},</p>\
+            <p>{{messageHtml}}</p>\
+            <br>\
+            <p>Best regards,<br>Royal Coin Team</p>\
+            <hr>\
+            <p style='font-size: small;'>If you have any questions, feel free to contact us at RoyalCoinSupport@gmail.com.</p>\
+            </body>\
+            </html>""");
+
+    public static final EmailTemplate TRADE_EXECUTED_TEXT = EmailTemplate.parse("""
+            Hello {{firstname}},
+
+            Your automatic trade has been executed successfully.
+            Trade Type: {{tradeType}}
+            Currency: {{currencyName}} ({{currencySymbol}})
+            Trade Amount: {{tradeAmount}}
+            Fill Price: ${{fillPrice}}
+            Timestamp: {{timestamp}}
+
+            Best regards,
+            Royal Coin Team""");
+
+    public static final EmailTemplate TRADE_EXECUTED_HTML = EmailTemplate.parse("""
+            <html>\
+            <body style='font-family: Arial, sans-serif;'>\
+            <p>Hello {{firstname}},</p>\
+            <p>Your automatic trade has been executed successfully.</p>\
+            <ul>\
+            <li><strong>Trade Type:</strong> {{tradeType}}</li>\
+            <li><strong>Currency:</strong> {{currencyName}} ({{currencySymbol}})</li>\
+            <li><strong>Trade Amount:</strong> {{tradeAmount}}</li>\
+            <li><strong>Fill Price:</strong> ${{fillPrice}}</li>\
+            <li><strong>Timestamp:</strong> {{timestamp}}</li>\
+            </ul>\
+            <p>Best regards,<br>Royal Coin Team</p>\
+            <hr>\
+            <p style='font-size: small;'>If you have any questions, feel free to contact us at RoyalCoinSupport@gmail.com.</p>\
+            </body>\
+            </html>""");
+
+    public static final EmailTemplate SUSPICIOUS_TRANSACTION_TEXT = EmailTemplate.parse("""
+            Hello {{firstname}},
+
+            We have detected a suspicious transaction in your Royal Coin account.
+            Transaction Details:
+            Transaction ID: {{transactionId}}
+            Transaction Type: {{transactionType}}
+            Currency: {{currencyName}} ({{currencySymbol}})
+            Amount: ${{amount}}
+            Rate: ${{rate}}
+            If you did not authorize this transaction, please contact our support team immediately.
+
+            Best regards,
+            Royal Coin Team""");
+
+    public static final EmailTemplate SUSPICIOUS_TRANSACTION_HTML = EmailTemplate.parse("""
+            <html>\
+            <body style='font-family: Arial, sans-serif;'>\
+            <p>Hello {{firstname}},</p>\
+            <p>We have detected a <strong>suspicious transaction</strong> in your <strong>Royal Coin</strong> account.</p>\
+            <h3>Transaction Details:</h3>\
+            <ul>\
+            <li><strong>Transaction ID:</strong> {{transactionId}}</li>\
+            <li><strong>Transaction Type:</strong> {{transactionType}}</li>\
+            <li><strong>Currency:</strong> {{currencyName}} ({{currencySymbol}})</li>\
+            <li><strong>Amount:</strong> {{amount}}</li>\
+            <li><strong>Rate:</strong> ${{exactRate}}</li>\
+            <li><strong>Total price:</strong> ${{totalPrice}}</li>\
+            </ul>\
+            <p>If you did not authorize this transaction, please contact our support team immediately.</p>\
+            <p>Best regards,<br>Royal Coin Team</p>\
+            <hr>\
+            <p style='font-size: small;'>If you have any questions, feel free to contact us at <a href='mailto:RoyalCoinSupport@gmail.com'>RoyalCoinSupport@gmail.com</a>.</p>\
+            </body>\
+            </html>""");
+
+    public static final EmailTemplate GLOBAL_ALERT_TEXT = EmailTemplate.parse("""
+            Hello {{firstname}},
+
+            {{message}}
+
+            This notification is scheduled for: {{scheduledDate}}.
+
+            Best regards,
+            Royal Coin Team""");
+
+    public static final EmailTemplate GLOBAL_ALERT_HTML = EmailTemplate.parse("""
+            <html>\
+            <body style='font-family: Arial, sans-serif;'>\
+            <p>Hello {{firstname}},</p>\
+            <p>{{messageHtml}}</p>\
+            <p>This notification is scheduled for: <strong>{{scheduledDate}}</strong>.</p>\
+            <br>\
+            <p>Best regards,<br>Royal Coin Team</p>\
+            <hr>\
+            <p style='font-size: small;'>If you have any questions, feel free to contact us at <a href='mailto:RoyalCoinSupport@gmail.com'>RoyalCoinSupport@gmail.com</a>.</p>\
+            </body>\
+            </html>""");
+
+    private EmailTemplates() {
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.backend.mailVerification;
+
+import com.example.backend.alert.global.GlobalAlert;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Global alert email rendered once per alert. The message and schedule are bound into the templates up front, so
+ * each recipient only fills in the first name.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class GlobalAlertEmailTemplate {
+
+    static final String SUBJECT = "Important Notification from Royal Coin";
+    static final String FROM_ADDRESS = "no-reply@royalcoin.com";
+    static final String FROM_NAME = "Royal Coin";
+
+    private final EmailTemplate text;
+    private final EmailTemplate html;
+
+    public static GlobalAlertEmailTemplate render(GlobalAlert globalAlert) {
+        String message = globalAlert.getMessage();
+        String scheduledDate = globalAlert.getScheduledFor() != null
+                ? globalAlert.getScheduledFor().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
+                : "immediately";
+
+        Map<String, Object> values = EmailTemplate.values(
+                "message", message,
+                "messageHtml", message.replace("\n", "<br>"),
+                "scheduledDate", scheduledDate
+        );
+        return new GlobalAlertEmailTemplate(EmailTemplates.GLOBAL_ALERT_TEXT.bind(values),
+                EmailTemplates.GLOBAL_ALERT_HTML.bind(values));
+    }
+
+    public String text(String firstname) {
+        return text.render(recipient(firstname));
+    }
+
+    public String html(String firstname) {
+        return html.render(recipient(firstname));
+    }
+
+    EmailOutbox toOutbox(String recipient, String firstname, LocalDateTime now) {
+        Map<String, Object> values = recipient(firstname);
+        return EmailOutbox.builder()
+                .recipient(recipient)
+                .fromAddress(FROM_ADDRESS)
+                .fromName(FROM_NAME)
+                .subject(SUBJECT)
+                .textBody(text.render(values))
+                .htmlBody(html.render(values))
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    private static Map<String, Object> recipient(String firstname) {
+        return EmailTemplate.values("firstname", firstname);
+    }
+}
@@ -2,7 +2,6 @@ package com.example.backend.mailVerification;
 
 import com.example.backend.userEvent.UserEventTrackingService;
 import com.example.backend.userEvent.UserEvent;
-import com.example.backend.alert.global.GlobalAlert;
 import com.example.backend.alert.mail.EmailAlert;
 import com.example.backend.alert.mail.EmailAlertType;
 import com.example.backend.alert.trade.TradeAlertType;
@@ -10,6 +9,7 @@ import com.example.backend.currency.Currency;
 import com.example.backend.exceptions.EmailSendingException;
 import com.example.backend.exceptions.UserNotFoundException;
 import com.example.backend.user.User;
+import com.example.backend.user.UserRecipientProjection;
 import com.example.backend.user.UserRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,8 +28,8 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -41,6 +41,7 @@ public class VerificationService {
     private final UserRepository userRepository;
     private final Map<String, Instant> resendCooldowns = new HashMap<>();
     private final UserEventTrackingService userEventTrackingService;
+    private final EmailOutboxRepository emailOutboxRepository;
     private static final Logger logger = LoggerFactory.getLogger(VerificationService.class);
 
     @Value("${app.base-url}")
@@ -61,30 +62,12 @@ public class VerificationService {
         String subject = "Activate Your Account at Royal Coin";
         String verificationUrl = baseUrl + "/verify?token=" + verificationToken;
 
-        String textMessage = "Hello " + user.getFirstname() + ",\n\n" +
-                "Thank you for registering at Royal Coin!\n" +
-                "To activate your account, please click the link below:\n" +
-                verificationUrl + "\n\n" +
-                "If you did not register at our application, please ignore this email.\n\n" +
-                "Best regards,\nRoyal Coin Team";
-
-        String htmlMessage = "<html>" +
-                "<body style='font-family: Arial, sans-serif;'>" +
-                "<p>Hello " + user.getFirstname() + ",</p>" +
-                "<p>Thank you for registering at <strong>Royal Coin</strong>!</p>" +
-                "<p>To activate your account, please click the button below:</p>" +
-                "<p style='text-align: center;'>" +
-                "<a href='" + verificationUrl + "' style='background-color: #4CAF50; color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px;'>Activate Account</a>" +
-                "</p>" +
-                "<p>If the button above does not work, copy and paste the following link into your browser:</p>" +
-                "<p><a href='" + verificationUrl + "'>" + verificationUrl + "</a></p>" +
-                "<p>If you did not register at our application, please ignore this email.</p>" +
-                "<br>" +
-                "<p>Best regards,<br>Royal Coin Team</p>" +
-                "<hr>" +
-                "<p style='font-size: small;'>If you have any questions, feel free to contact us at RoyalCoinSupport@gmail.com.</p>" +
-                "</body>" +
-                "</html>";
+        Map<String, Object> values = EmailTemplate.values(
+                "firstname", user.getFirstname(),
+                "url", verificationUrl
+        );
+        String textMessage = EmailTemplates.VERIFICATION_TEXT.render(values);
+        String htmlMessage = EmailTemplates.VERIFICATION_HTML.render(values);
         MimeMessage mimeMessage;
         try {
             mimeMessage = mailSender.createMimeMessage();
@@ -133,30 +116,12 @@ public class VerificationService {
         String subject = "Password Reset Request";
         String resetUrl = baseUrl + "/reset-password?token=" + resetToken;
 
-        String textMessage = "Hello " + user.getFirstname() + ",\n\n" +
-                "We received a request to reset your password.\n" +
-                "To reset your password, please click the link below:\n" +
-                resetUrl + "\n\n" +
-                "If you did not request a password reset, please ignore this email.\n\n" +
-                "Best regards,\nRoyal Coin Team";
-
-        String htmlMessage = "<html>" +
-                "<body style='font-family: Arial, sans-serif;'>" +
-                "<p>Hello " + user.getFirstname() + ",</p>" +
-                "<p>We received a request to reset your password.</p>" +
-                "<p>To reset your password, please click the button below:</p>" +
-                "<p style='text-align: center;'>" +
-                "<a href='" + resetUrl + "' style='background-color: #f44336; color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px;'>Reset Password</a>" +
-                "</p>" +
-                "<p>If the button above does not work, copy and paste the following link into your browser:</p>" +
-                "<p><a href='" + resetUrl + "'>" + resetUrl + "</a></p>" +
-                "<p>If you did not request a password reset, please ignore this email.</p>" +
-                "<br>" +
-                "<p>Best regards,<br>Royal Coin Team</p>" +
-                "<hr>" +
-                "<p style='font-size: small;'>If you have any questions, feel free to contact us at RoyalCoinSupport@gmail.com.</p>" +
-                "</body>" +
-                "</html>";
+        Map<String, Object> values = EmailTemplate.values(
+                "firstname", user.getFirstname(),
+                "url", resetUrl
+        );
+        String textMessage = EmailTemplates.PASSWORD_RESET_TEXT.render(values);
+        String htmlMessage = EmailTemplates.PASSWORD_RESET_HTML.render(values);
         MimeMessage mimeMessage;
         try {
             mimeMessage = mailSender.createMimeMessage();
@@ -219,43 +184,15 @@ public class VerificationService {
 
         String alertMessage = getString(currency, currentPrice, emailAlert);
 
-        String textMessage = "Hello " + user.getFirstname() + ",\n\n" +
-                alertMessage + "\n\n" +
-                "Best regards,\nRoyal Coin Team";
-
-        String htmlMessage = "<html>" +
-                "<body style='font-family: Arial, sans-serif;'>" +
-                "<p>Hello " + user.getFirstname() + ",</p>" +
-                "<p>" + alertMessage.replace("\n", "<br>") + "</p>" +
-                "<br>" +
-                "<p>Best regards,<br>Royal Coin Team</p>" +
-                "<hr>" +
-                "<p style='font-size: small;'>If you have any questions, feel free to contact us at RoyalCoinSupport@gmail.com.</p>" +
-                "</body>" +
-                "</html>";
-
-        MimeMessage mimeMessage;
-        try {
-            mimeMessage = mailSender.createMimeMessage();
-        } catch (MailException e) {
-            throw new EmailSendingException("Failed to create email message for: " + user.getEmail());
-        }
-
-        try {
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, "UTF-8");
-            helper.setFrom("kamilsmtp@gmail.com", "Royal Coin");
-            helper.setTo(user.getEmail());
-            helper.setSubject(subject);
-            helper.setText(textMessage, htmlMessage);
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            throw new EmailSendingException("Failed to construct email message for: " + user.getEmail());
-        }
+        Map<String, Object> values = EmailTemplate.values(
+                "firstname", user.getFirstname(),
+                "message", alertMessage,
+                "messageHtml", alertMessage.replace("\n", "<br>")
+        );
+        String textMessage = EmailTemplates.ALERT_TEXT.render(values);
+        String htmlMessage = EmailTemplates.ALERT_HTML.render(values);
 
-        try {
-            mailSender.send(mimeMessage);
-        } catch (MailException e) {
-            throw new EmailSendingException("Failed to send email to: " + user.getEmail());
-        }
+        enqueue(user, "kamilsmtp@gmail.com", subject, textMessage, htmlMessage);
     }
 
     private static String getString(Currency currency, BigDecimal currentPrice, EmailAlert emailAlert) {
@@ -274,167 +211,72 @@ public class VerificationService {
     }
 
     @Operation(summary = "Send trade executed email", description = "Sends an email notification when a trade is executed")
-    public void sendTradeExecutedEmail(User user, Currency currency, BigDecimal tradeAmountUSD, TradeAlertType tradeAlertType) {
+    public void sendTradeExecutedEmail(User user, Currency currency, BigDecimal tradeAmountUSD, BigDecimal fillPrice,
+                                       TradeAlertType tradeAlertType) {
         String subject = "Trade Executed: " + tradeAlertType + " " + currency.getName();
 
         String tradeType = tradeAlertType == TradeAlertType.BUY ? "Buy" : "Sell";
         String tradeAmountDescription = "$" + tradeAmountUSD.setScale(2, RoundingMode.HALF_UP).toPlainString();
 
-        String textMessage = "Hello " + user.getFirstname() + ",\n\n" +
-                "Your automatic trade has been executed successfully.\n" +
-                "Trade Type: " + tradeType + "\n" +
-                "Currency: " + currency.getName() + " (" + currency.getSymbol() + ")\n" +
-                "Trade Amount: " + tradeAmountDescription + "\n" +
-                "Current Price: $" + currency.getCurrentPrice().setScale(2, RoundingMode.HALF_UP) + "\n" +
-                "Timestamp: " + LocalDateTime.now() + "\n\n" +
-                "Best regards,\nRoyal Coin Team";
-
-        String htmlMessage = "<html>" +
-                "<body style='font-family: Arial, sans-serif;'>" +
-                "<p>Hello " + user.getFirstname() + ",</p>" +
-                "<p>Your automatic trade has been executed successfully.</p>" +
-                "<ul>" +
-                "<li><strong>Trade Type:</strong> " + tradeType + "</li>" +
-                "<li><strong>Currency:</strong> " + currency.getName() + " (" + currency.getSymbol() + ")</li>" +
-                "<li><strong>Trade Amount:</strong> " + tradeAmountDescription + "</li>" +
-                "<li><strong>Current Price:</strong> $" + currency.getCurrentPrice().setScale(2, RoundingMode.HALF_UP) + "</li>" +
-                "<li><strong>Timestamp:</strong> " + LocalDateTime.now() + "</li>" +
-                "</ul>" +
-                "<p>Best regards,<br>Royal Coin Team</p>" +
-                "<hr>" +
-                "<p style='font-size: small;'>If you have any questions, feel free to contact us at RoyalCoinSupport@gmail.com.</p>" +
-                "</body>" +
-                "</html>";
-
-        MimeMessage mimeMessage;
-        try {
-            mimeMessage = mailSender.createMimeMessage();
-        } catch (MailException e) {
-            throw new EmailSendingException("Failed to create email message for: " + user.getEmail());
-        }
-
-        try {
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, "UTF-8");
-            helper.setFrom("kamilsmtp@gmail.com", "Royal Coin");
-            helper.setTo(user.getEmail());
-            helper.setSubject(subject);
-            helper.setText(textMessage, htmlMessage);
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            throw new EmailSendingException("Failed to construct email message for: " + user.getEmail());
-        }
-
-        try {
-            mailSender.send(mimeMessage);
-        } catch (MailException e) {
-            throw new EmailSendingException("Failed to send email to: " + user.getEmail());
-        }
+        Map<String, Object> values = EmailTemplate.values(
+                "firstname", user.getFirstname(),
+                "tradeType", tradeType,
+                "currencyName", currency.getName(),
+                "currencySymbol", currency.getSymbol(),
+                "tradeAmount", tradeAmountDescription,
+                "fillPrice", fillPrice.setScale(2, RoundingMode.HALF_UP),
+                "timestamp", LocalDateTime.now()
+        );
+        String textMessage = EmailTemplates.TRADE_EXECUTED_TEXT.render(values);
+        String htmlMessage = EmailTemplates.TRADE_EXECUTED_HTML.render(values);
+
+        enqueue(user, "kamilsmtp@gmail.com", subject, textMessage, htmlMessage);
     }
 
     @Operation(summary = "Send suspicious transaction email", description = "Sends an email alert if a suspicious transaction is detected")
     public void sendSuspiciousTransactionEmail(User user, Integer transactionId, Currency currency, BigDecimal amount, BigDecimal rate, String transactionType) {
         String subject = "Important: Suspicious Transaction Detected in Your Royal Coin Account";
-        String textMessage = "Hello " + user.getFirstname() + ",\n\n" +
-                "We have detected a suspicious transaction in your Royal Coin account.\n" +
-                "Transaction Details:\n" +
-                "Transaction ID: " + transactionId + "\n" +
-                "Transaction Type: " + transactionType + "\n" +
-                "Currency: " + currency.getName() + " (" + currency.getSymbol() + ")\n" +
-                "Amount: $" + amount.setScale(2, RoundingMode.HALF_UP) + "\n" +
-                "Rate: $" + rate.setScale(2, RoundingMode.HALF_UP) + "\n" +
-                "If you did not authorize this transaction, please contact our support team immediately.\n\n" +
-                "Best regards,\nRoyal Coin Team";
-
-        String htmlMessage = "<html>" +
-                "<body style='font-family: Arial, sans-serif;'>" +
-                "<p>Hello " + user.getFirstname() + ",</p>" +
-                "<p>We have detected a <strong>suspicious transaction</strong> in your <strong>Royal Coin</strong> account.</p>" +
-                "<h3>Transaction Details:</h3>" +
-                "<ul>" +
-                "<li><strong>Transaction ID:</strong> " + transactionId + "</li>" +
-                "<li><strong>Transaction Type:</strong> " + transactionType + "</li>" +
-                "<li><strong>Currency:</strong> " + currency.getName() + " (" + currency.getSymbol() + ")</li>" +
-                "<li><strong>Amount:</strong> " + amount.setScale(2, RoundingMode.HALF_UP) + "</li>" +
-                "<li><strong>Rate:</strong> $" + rate.setScale(8, RoundingMode.HALF_UP) + "</li>" +
-                "<li><strong>Total price:</strong> $" + amount.multiply(rate).setScale(2, RoundingMode.HALF_UP) + "</li>" +
-                "</ul>" +
-                "<p>If you did not authorize this transaction, please contact our support team immediately.</p>" +
-                "<p>Best regards,<br>Royal Coin Team</p>" +
-                "<hr>" +
-                "<p style='font-size: small;'>If you have any questions, feel free to contact us at <a href='mailto:RoyalCoinSupport@gmail.com'>RoyalCoinSupport@gmail.com</a>.</p>" +
-                "</body>" +
-                "</html>";
-
-        MimeMessage mimeMessage;
-        try {
-            mimeMessage = mailSender.createMimeMessage();
-        } catch (MailException e) {
-            throw new EmailSendingException("Failed to create email message for: " + user.getEmail());
-        }
-
-        try {
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, "UTF-8");
-            helper.setFrom("no-reply@royalcoin.com", "Royal Coin");
-            helper.setTo(user.getEmail());
-            helper.setSubject(subject);
-            helper.setText(textMessage, htmlMessage);
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            throw new EmailSendingException("Failed to construct email message for: " + user.getEmail());
-        }
-
-        try {
-            mailSender.send(mimeMessage);
-        } catch (MailException e) {
-            throw new EmailSendingException("Failed to send email to: " + user.getEmail());
-        }
+        Map<String, Object> values = EmailTemplate.values(
+                "firstname", user.getFirstname(),
+                "transactionId", transactionId,
+                "transactionType", transactionType,
+                "currencyName", currency.getName(),
+                "currencySymbol", currency.getSymbol(),
+                "amount", amount.setScale(2, RoundingMode.HALF_UP),
+                "rate", rate.setScale(2, RoundingMode.HALF_UP),
+                "exactRate", rate.setScale(8, RoundingMode.HALF_UP),
+                "totalPrice", amount.multiply(rate).setScale(2, RoundingMode.HALF_UP)
+        );
+        String textMessage = EmailTemplates.SUSPICIOUS_TRANSACTION_TEXT.render(values);
+        String htmlMessage = EmailTemplates.SUSPICIOUS_TRANSACTION_HTML.render(values);
+
+        enqueue(user, "no-reply@royalcoin.com", subject, textMessage, htmlMessage);
     }
 
-    @Operation(summary = "Send global alert email", description = "Sends a global alert email to all users")
-    public void sendGlobalAlertEmail(User user, GlobalAlert globalAlert) {
-        String subject = "Important Notification from Royal Coin";
-
-        String message = globalAlert.getMessage();
-        String scheduledDate = globalAlert.getScheduledFor() != null
-                ? globalAlert.getScheduledFor().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
-                : "immediately";
-
-        String textMessage = "Hello " + user.getFirstname() + ",\n\n" +
-                message + "\n\n" +
-                "This notification is scheduled for: " + scheduledDate + ".\n\n" +
-                "Best regards,\nRoyal Coin Team";
-
-        String htmlMessage = "<html>" +
-                "<body style='font-family: Arial, sans-serif;'>" +
-                "<p>Hello " + user.getFirstname() + ",</p>" +
-                "<p>" + message.replace("\n", "<br>") + "</p>" +
-                "<p>This notification is scheduled for: <strong>" + scheduledDate + "</strong>.</p>" +
-                "<br>" +
-                "<p>Best regards,<br>Royal Coin Team</p>" +
-                "<hr>" +
-                "<p style='font-size: small;'>If you have any questions, feel free to contact us at <a href='mailto:RoyalCoinSupport@gmail.com'>RoyalCoinSupport@gmail.com</a>.</p>" +
-                "</body>" +
-                "</html>";
-
-        MimeMessage mimeMessage;
-        try {
-            mimeMessage = mailSender.createMimeMessage();
-        } catch (MailException e) {
-            throw new EmailSendingException("Failed to create email message for: " + user.getEmail());
-        }
-
-        try {
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED, "UTF-8");
-            helper.setFrom("no-reply@royalcoin.com", "Royal Coin");
-            helper.setTo(user.getEmail());
-            helper.setSubject(subject);
-            helper.setText(textMessage, htmlMessage);
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            throw new EmailSendingException("Failed to construct email message for: " + user.getEmail());
-        }
+    @Operation(summary = "Queue global alert emails", description = "Writes the global alert email of each recipient to the outbox")
+    public void enqueueGlobalAlertEmails(GlobalAlertEmailTemplate template, List<UserRecipientProjection> recipients) {
+        LocalDateTime now = LocalDateTime.now();
+        emailOutboxRepository.saveAll(recipients.stream()
+                .map(recipient -> template.toOutbox(recipient.getEmail(), recipient.getFirstname(), now))
+                .toList());
+    }
 
-        try {
-            mailSender.send(mimeMessage);
-        } catch (MailException e) {
-            throw new EmailSendingException("Failed to send email to: " + user.getEmail());
-        }
+    /**
+     * Writes the email to the outbox in the current transaction; {@link EmailOutboxDispatcher} sends it.
+     */
+    private void enqueue(User user, String fromAddress, String subject, String textMessage, String htmlMessage) {
+        LocalDateTime now = LocalDateTime.now();
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(user.getEmail())
+                .fromAddress(fromAddress)
+                .fromName("Royal Coin")
+                .subject(subject)
+                .textBody(textMessage)
+                .htmlBody(htmlMessage)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
     }
-}
\ No newline at end of file
+}
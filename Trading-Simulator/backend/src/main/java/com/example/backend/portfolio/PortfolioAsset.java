@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class PortfolioAsset {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "portfolio_assets_seq")
+    @SequenceGenerator(name = "portfolio_assets_seq", sequenceName = "portfolio_assets_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the portfolio asset", example = "1")
     private Integer portfolioAssetid;
 
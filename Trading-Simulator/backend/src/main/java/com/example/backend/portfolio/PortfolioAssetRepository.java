@@ -1,8 +1,10 @@
 package com.example.backend.portfolio;
 
 import com.example.backend.currency.Currency;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -11,5 +13,8 @@ public interface PortfolioAssetRepository extends JpaRepository<PortfolioAsset,
 
     Optional<PortfolioAsset> findByPortfolioAndCurrency(Portfolio portfolio, Currency currency);
 
+    @EntityGraph(attributePaths = "currency")
+    List<PortfolioAsset> findByPortfolio(Portfolio portfolio);
+
     void deleteAllByPortfolio(Portfolio portfolio);
 }
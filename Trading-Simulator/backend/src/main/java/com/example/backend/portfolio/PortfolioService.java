@@ -8,6 +8,8 @@ import com.example.backend.userEvent.UserEvent;
 import com.example.backend.admin.UpdatePortfolioRequest;
 import com.example.backend.alert.trade.TradeAlertRepository;
 import com.example.backend.auth.AuthenticationService;
+import com.example.backend.currency.Currency;
+import com.example.backend.currency.LivePriceBook;
 import com.example.backend.exceptions.PortfolioAlreadyExistsException;
 import com.example.backend.exceptions.PortfolioNotFoundException;
 import com.example.backend.exceptions.UserNotFoundException;
@@ -40,6 +42,7 @@ public class PortfolioService {
     private final UserEventTrackingService userEventTrackingService;
     private final AdminEventTrackingService adminEventTrackingService;
     private final TransactionOperationService transactionOperationService;
+    private final LivePriceBook livePriceBook;
 
     @Transactional
     @Operation(summary = "Create portfolio", description = "Creates a new portfolio for the authenticated user")
@@ -83,7 +86,7 @@ public class PortfolioService {
                     asset.getCurrency().getImageUrl(),
                     asset.getAmount(),
                     asset.getAveragePurchasePrice(),
-                    asset.getCurrency().getCurrentPrice(),
+                    currentPrice(asset.getCurrency()),
                     null,
                     asset.getCurrency().getCurrencyid()
             )).collect(Collectors.toList());
@@ -103,7 +106,7 @@ public class PortfolioService {
                 asset.getCurrency().getImageUrl(),
                 asset.getAmount(),
                 asset.getAveragePurchasePrice(),
-                asset.getCurrency().getCurrentPrice(),
+                currentPrice(asset.getCurrency()),
                 null,
                 asset.getCurrency().getCurrencyid()
         )).collect(Collectors.toList());
@@ -128,7 +131,7 @@ public class PortfolioService {
                 .map(asset -> {
                     BigDecimal amount = asset.getAmount();
 
-                    BigDecimal currentCurrencyPrice = asset.getCurrency().getCurrentPrice();
+                    BigDecimal currentCurrencyPrice = currentPrice(asset.getCurrency());
 
                     BigDecimal gainOrLoss = amount.multiply(currentCurrencyPrice.subtract(asset.getAveragePurchasePrice()));
 
@@ -157,7 +160,8 @@ public class PortfolioService {
 
         for (PortfolioAsset asset : portfolio.getPortfolioAssets()) {
             BigDecimal amount = asset.getAmount();
-            BigDecimal currentPrice = asset.getCurrency().getCurrentPrice() != null ? asset.getCurrency().getCurrentPrice() : BigDecimal.ZERO;
+            BigDecimal livePrice = currentPrice(asset.getCurrency());
+            BigDecimal currentPrice = livePrice != null ? livePrice : BigDecimal.ZERO;
             BigDecimal initialValue = amount.multiply(asset.getAveragePurchasePrice());
             BigDecimal currentValue = amount.multiply(currentPrice);
 
@@ -301,4 +305,9 @@ public class PortfolioService {
                 .map(r -> new UserRankingDTO(r.getFirstname(), r.getTotalGain()))
                 .toList();
     }
+
+    private BigDecimal currentPrice(Currency currency) {
+        return livePriceBook.findPrice(currency.getCurrencyid())
+                .orElseGet(currency::getCurrentPrice);
+    }
 }
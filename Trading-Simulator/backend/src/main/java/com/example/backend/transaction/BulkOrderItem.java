@@ -0,0 +1,30 @@
+package com.example.backend.transaction;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Data
+@Schema(description = "Single buy or sell within a bulk order request")
+public class BulkOrderItem {
+
+    @NotNull(message = "Order type is required")
+    @Schema(description = "Whether to buy or sell", example = "BUY", required = true)
+    private BulkOrderType type;
+
+    @NotNull(message = "Currency ID is required")
+    @Schema(description = "ID of the currency", example = "1", required = true)
+    private Integer currencyid;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Amount in USD must be positive")
+    @Schema(description = "Amount in USD to spend or to sell for", example = "1000.00")
+    private BigDecimal amountInUSD;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Amount of currency must be positive")
+    @Schema(description = "Amount of currency to buy or sell", example = "0.05")
+    private BigDecimal amountOfCurrency;
+}
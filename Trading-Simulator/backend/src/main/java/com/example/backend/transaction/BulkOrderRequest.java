@@ -0,0 +1,28 @@
+package com.example.backend.transaction;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Request to execute many buys and sells of one portfolio at once")
+public class BulkOrderRequest {
+
+    @NotNull(message = "Portfolio ID is required")
+    @Schema(description = "ID of the portfolio", example = "1", required = true)
+    private Integer portfolioid;
+
+    @Schema(description = "Whether one failing order cancels all orders of the request", example = "true")
+    private boolean allOrNothing = true;
+
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = 100, message = "At most 100 orders can be submitted at once")
+    @Schema(description = "Orders to execute, in this order", required = true)
+    private List<@Valid @NotNull BulkOrderItem> orders;
+}
@@ -0,0 +1,42 @@
+package com.example.backend.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk order request")
+public class BulkOrderResponse {
+
+    @Schema(description = "Whether one failing order cancelled all orders of the request", example = "true")
+    private boolean allOrNothing;
+
+    @Schema(description = "Whether the executed orders were committed", example = "true")
+    private boolean committed;
+
+    @Schema(description = "Number of orders that were executed and committed", example = "30")
+    private int executedCount;
+
+    @Schema(description = "Outcome of each order, in request order")
+    private List<BulkOrderResult> results;
+
+    public static BulkOrderResponse of(boolean allOrNothing, boolean committed, List<BulkOrderResult> results) {
+        int executedCount = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkOrderStatus.EXECUTED)
+                .count();
+        return BulkOrderResponse.builder()
+                .allOrNothing(allOrNothing)
+                .committed(committed)
+                .executedCount(executedCount)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.backend.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one order of a bulk order request")
+public class BulkOrderResult {
+
+    @Schema(description = "Position of the order in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Whether the order was a buy or a sell", example = "BUY")
+    private BulkOrderType type;
+
+    @Schema(description = "ID of the currency", example = "1")
+    private Integer currencyid;
+
+    @Schema(description = "Outcome of the order", example = "EXECUTED")
+    private BulkOrderStatus status;
+
+    @Schema(description = "ID of the created transaction, if the order was executed", example = "42")
+    private Integer transactionid;
+
+    @Schema(description = "Reason the order failed or was skipped", example = "Insufficient balance")
+    private String message;
+
+    public static BulkOrderResult of(int index, BulkOrderItem order, BulkOrderStatus status, Integer transactionid, String message) {
+        return BulkOrderResult.builder()
+                .index(index)
+                .type(order.getType())
+                .currencyid(order.getCurrencyid())
+                .status(status)
+                .transactionid(transactionid)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.backend.transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of an order in a bulk order request")
+public enum BulkOrderStatus {
+    EXECUTED,
+    FAILED,
+    ROLLED_BACK,
+    SKIPPED
+}
@@ -0,0 +1,9 @@
+package com.example.backend.transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Side of an order in a bulk order request")
+public enum BulkOrderType {
+    BUY,
+    SELL
+}
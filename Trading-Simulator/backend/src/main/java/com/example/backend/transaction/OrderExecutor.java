@@ -0,0 +1,117 @@
+package com.example.backend.transaction;
+
+import com.example.backend.exceptions.OrderRejectedException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the orders of a user one at a time. Users are sharded by id across a fixed number of single-threaded
+ * workers, each with its own bounded queue, so the orders of one user execute strictly in submission order while
+ * users on different shards execute in parallel. The caller blocks until its order has run and gets its result or
+ * exception, so the REST layer stays synchronous.
+ * <p>
+ * Because orders of a user never overlap on this instance, the user row lock taken in the order transaction is
+ * uncontended; it only still orders them against updates that do not go through the executor.
+ */
+@Component
+@Tag(name = "Order Executor", description = "Executes the orders of each user in sequence on a sharded worker pool")
+public class OrderExecutor {
+
+    private final ThreadPoolExecutor[] shards;
+    private final ThreadLocal<Integer> currentShard = new ThreadLocal<>();
+
+    public OrderExecutor(@Value("${orders.executor.shards:8}") int shardCount,
+                         @Value("${orders.executor.queue-capacity:1000}") int queueCapacity) {
+        this.shards = new ThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            int shard = i;
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(() -> {
+                    currentShard.set(shard);
+                    runnable.run();
+                }, "OrderExecutor-" + shard);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Runs the order on the user's shard and waits for it. Orders submitted from the shard's own worker run
+     * directly, since waiting for the worker from itself would never return.
+     */
+    @Operation(summary = "Execute order", description = "Runs an order after the user's earlier orders and returns its result")
+    public <T> T execute(Integer userId, Callable<T> order) {
+        int shard = shardOf(userId);
+        if (Integer.valueOf(shard).equals(currentShard.get())) {
+            return call(order);
+        }
+        Future<T> future;
+        try {
+            future = shards[shard].submit(() -> call(order));
+        } catch (RejectedExecutionException e) {
+            throw new OrderRejectedException("Too many pending orders, please try again later");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the order to execute", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void execute(Integer userId, Runnable order) {
+        execute(userId, () -> {
+            order.run();
+            return null;
+        });
+    }
+
+    int shardOf(Integer userId) {
+        return Math.floorMod(userId, shards.length);
+    }
+
+    /**
+     * Orders waiting on the user's shard, not counting the one running.
+     */
+    int pendingOrders(Integer userId) {
+        return shards[shardOf(userId)].getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    private static <T> T call(Callable<T> order) {
+        try {
+            return order.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
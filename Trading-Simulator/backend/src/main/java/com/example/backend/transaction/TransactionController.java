@@ -35,6 +35,7 @@ public class TransactionController {
     private final CurrencyService currencyService;
     private final TransactionOperationService transactionOperationService;
     private final TransactionHistoryService transactionHistoryService;
+    private final OrderExecutor orderExecutor;
 
     @PostMapping("/buy-asset")
     @Operation(summary = "Buy an asset", description = "Allows the user to buy an asset")
@@ -52,7 +53,8 @@ public class TransactionController {
             return ResponseEntity.badRequest().body("Please provide amount in USD or amount of Currency, not both.");
         }
 
-        transactionOperationService.buyAsset(request.getPortfolioid(), request.getCurrencyid(), request.getAmountInUSD(), request.getAmountOfCurrency(), currentUser);
+        orderExecutor.execute(currentUser.getId(), () -> transactionOperationService.buyAsset(request.getPortfolioid(),
+                request.getCurrencyid(), request.getAmountInUSD(), request.getAmountOfCurrency(), currentUser));
         return ResponseEntity.ok("Asset purchased successfully");
     }
 
@@ -70,10 +72,26 @@ public class TransactionController {
             return ResponseEntity.badRequest().body("Please provide amount in USD or amount of Currency, not both.");
         }
 
-        transactionOperationService.sellAsset(request.getPortfolioid(), request.getCurrencyid(), request.getAmount(), request.getPriceInUSD(), currentUser);
+        orderExecutor.execute(currentUser.getId(), () -> transactionOperationService.sellAsset(request.getPortfolioid(),
+                request.getCurrencyid(), request.getAmount(), request.getPriceInUSD(), currentUser));
         return ResponseEntity.ok("Asset sold successfully");
     }
 
+    @PostMapping("/bulk-orders")
+    @Operation(summary = "Execute bulk orders", description = "Executes many buys and sells of one portfolio in one transaction and reports the outcome of each order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders processed, see the result of each order"),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Portfolio not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BulkOrderResponse> executeBulkOrders(@RequestBody @Valid BulkOrderRequest request, @Parameter(hidden = true) Authentication authentication) {
+        User currentUser = authenticationService.getCurrentUser(authentication.getName());
+
+        BulkOrderResponse response = orderExecutor.execute(currentUser.getId(), () -> transactionOperationService.executeBulkOrders(
+                request.getPortfolioid(), request.getOrders(), request.isAllOrNothing(), currentUser));
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/available-assets") // DO ZMIANY
     @Operation(summary = "Get available assets", description = "Retrieves a list of available assets with their current prices")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Assets retrieved successfully")
@@ -2,13 +2,14 @@ package com.example.backend.transaction;
 
 import com.example.backend.currency.Currency;
 import com.example.backend.currency.CurrencyRepository;
+import com.example.backend.currency.LivePriceBook;
 import com.example.backend.exceptions.*;
 import com.example.backend.portfolio.Portfolio;
 import com.example.backend.portfolio.PortfolioAsset;
 import com.example.backend.portfolio.PortfolioAssetRepository;
 import com.example.backend.portfolio.PortfolioRepository;
 import com.example.backend.user.User;
-import com.example.backend.user.UserRepository;
+import com.example.backend.user.UserLock;
 import com.example.backend.userEvent.UserEvent;
 import com.example.backend.userEvent.UserEventService;
 import com.example.backend.userEvent.UserEventTrackingService;
@@ -17,12 +18,18 @@ import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,10 +37,11 @@ public class TransactionOperationService {
 
     private final PortfolioRepository portfolioRepository;
     private final CurrencyRepository currencyRepository;
-    private final UserRepository userRepository;
     private final PortfolioAssetRepository portfolioAssetRepository;
     private final TransactionRepository transactionRepository;
     private final UserEventTrackingService userEventTrackingService;
+    private final LivePriceBook livePriceBook;
+    private final UserLock userLock;
 
     @Transactional
     @Operation(summary = "Buy an asset", description = "Processes the purchase of an asset")
@@ -42,13 +50,17 @@ public class TransactionOperationService {
         BigDecimal finalAmountInUsd = validatedAmounts.getLeft();
         BigDecimal finalAmountOfCurrency = validatedAmounts.getRight();
 
+        user = userLock.lock(user);
         Portfolio portfolio = getPortfolioOrThrow(portfolioid, user);
         Currency currency = getCurrencyOrThrow(currencySymbol);
 
+        BigDecimal rate = currentRate(currency);
+        PortfolioAsset portfolioAsset = findOrNewPortfolioAsset(portfolio, currency);
+
         if (finalAmountInUsd != null) {
-            buyAssetByUSD(finalAmountInUsd, currency, portfolio, user);
+            buyAssetByUSD(finalAmountInUsd, currency, rate, portfolioAsset, portfolio, user);
         } else {
-            buyAssetByCurrency(finalAmountOfCurrency, currency, portfolio, user);
+            buyAssetByCurrency(finalAmountOfCurrency, currency, rate, portfolioAsset, portfolio, user);
         }
 
     }
@@ -60,14 +72,102 @@ public class TransactionOperationService {
         BigDecimal finalAmountOfCurrency = validatedAmounts.getRight();
         BigDecimal finalPriceInUSD = validatedAmounts.getLeft();
 
+        user = userLock.lock(user);
         Portfolio portfolio = getPortfolioOrThrow(portfolioid, user);
         Currency currency = getCurrencyByIdOrThrow(currencyid);
 
+        BigDecimal rate = currentRateOrThrow(currency);
+        PortfolioAsset portfolioAsset = getPortfolioAssetOrThrow(portfolio, currency);
+
         if (finalAmountOfCurrency != null) {
-            sellByCurrencyAmount(finalAmountOfCurrency, currency, portfolio, user);
+            sellByCurrencyAmount(finalAmountOfCurrency, currency, rate, portfolioAsset, portfolio, user);
         } else {
-            sellByUSDValue(finalPriceInUSD, currency, portfolio, user);
+            sellByUSDValue(finalPriceInUSD, currency, rate, portfolioAsset, portfolio, user);
+        }
+    }
+
+    /**
+     * Executes a list of orders for one portfolio in a single transaction. The user is locked and the portfolio, its
+     * holdings, the currencies and their prices are loaded once for all orders; each order then runs against the state
+     * left by the orders before it. With {@code allOrNothing} the first failing order rolls back the orders before it
+     * and the remaining orders are skipped; otherwise failing orders are reported and the others are executed.
+     */
+    @Transactional
+    @Operation(summary = "Execute bulk orders", description = "Executes many buys and sells of one portfolio in one transaction")
+    public BulkOrderResponse executeBulkOrders(Integer portfolioid, List<BulkOrderItem> orders, boolean allOrNothing, User user) {
+        user = userLock.lock(user);
+        Portfolio portfolio = getPortfolioOrThrow(portfolioid, user);
+
+        Set<Integer> currencyIds = orders.stream().map(BulkOrderItem::getCurrencyid).collect(Collectors.toSet());
+        Map<Integer, Currency> currencies = currencyRepository.findAllById(currencyIds).stream()
+                .collect(Collectors.toMap(Currency::getCurrencyid, Function.identity()));
+        Map<Integer, PortfolioAsset> portfolioAssets = portfolioAssetRepository.findByPortfolio(portfolio).stream()
+                .collect(Collectors.toMap(asset -> asset.getCurrency().getCurrencyid(), Function.identity()));
+        Map<Integer, BigDecimal> rates = new HashMap<>();
+
+        List<BulkOrderResult> results = new ArrayList<>(orders.size());
+        for (int index = 0; index < orders.size(); index++) {
+            BulkOrderItem order = orders.get(index);
+            try {
+                Transaction transaction = executeBulkOrder(order, currencies, rates, portfolioAssets, portfolio, user);
+                results.add(BulkOrderResult.of(index, order, BulkOrderStatus.EXECUTED, transaction.getTransactionid(), null));
+            } catch (AppException | IllegalArgumentException e) {
+                results.add(BulkOrderResult.of(index, order, BulkOrderStatus.FAILED, null, e.getMessage()));
+                if (allOrNothing) {
+                    TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                    for (int executed = 0; executed < index; executed++) {
+                        results.set(executed, BulkOrderResult.of(executed, orders.get(executed), BulkOrderStatus.ROLLED_BACK,
+                                null, "Rolled back because order " + index + " failed"));
+                    }
+                    for (int skipped = index + 1; skipped < orders.size(); skipped++) {
+                        results.add(BulkOrderResult.of(skipped, orders.get(skipped), BulkOrderStatus.SKIPPED, null,
+                                "Not executed because order " + index + " failed"));
+                    }
+                    return BulkOrderResponse.of(allOrNothing, false, results);
+                }
+            }
         }
+        return BulkOrderResponse.of(allOrNothing, true, results);
+    }
+
+    /**
+     * Runs one order of a bulk request on the preloaded state. Every check happens before the first change, so an
+     * order that fails leaves the user and the holdings as they were.
+     */
+    private Transaction executeBulkOrder(BulkOrderItem order,
+                                         Map<Integer, Currency> currencies,
+                                         Map<Integer, BigDecimal> rates,
+                                         Map<Integer, PortfolioAsset> portfolioAssets,
+                                         Portfolio portfolio,
+                                         User user) {
+        Pair<BigDecimal, BigDecimal> validatedAmounts = validateInput(order.getAmountInUSD(), order.getAmountOfCurrency());
+        BigDecimal amountInUSD = validatedAmounts.getLeft();
+        BigDecimal amountOfCurrency = validatedAmounts.getRight();
+
+        Currency currency = currencies.get(order.getCurrencyid());
+        if (currency == null) {
+            throw new CurrencyNotFoundException("Currency not found");
+        }
+        BigDecimal rate = rates.get(currency.getCurrencyid());
+        if (rate == null) {
+            rate = currentRateOrThrow(currency);
+            rates.put(currency.getCurrencyid(), rate);
+        }
+
+        if (order.getType() == BulkOrderType.BUY) {
+            PortfolioAsset portfolioAsset = portfolioAssets.computeIfAbsent(currency.getCurrencyid(),
+                    currencyid -> newPortfolioAsset(portfolio, currency));
+            return amountInUSD != null
+                    ? buyAssetByUSD(amountInUSD, currency, rate, portfolioAsset, portfolio, user)
+                    : buyAssetByCurrency(amountOfCurrency, currency, rate, portfolioAsset, portfolio, user);
+        }
+        PortfolioAsset portfolioAsset = portfolioAssets.get(currency.getCurrencyid());
+        if (portfolioAsset == null || portfolioAsset.getPortfolioAssetid() == null) {
+            throw new AssetNotOwnedException("You do not own this currency");
+        }
+        return amountOfCurrency != null
+                ? sellByCurrencyAmount(amountOfCurrency, currency, rate, portfolioAsset, portfolio, user)
+                : sellByUSDValue(amountInUSD, currency, rate, portfolioAsset, portfolio, user);
     }
 
     private Pair<BigDecimal, BigDecimal> validateInput(BigDecimal amountInUsd, BigDecimal amountOfCurrency) {
@@ -96,12 +196,25 @@ public class TransactionOperationService {
     private Currency getCurrencyOrThrow(String currencySymbol) {
         Currency currency = currencyRepository.findBySymbol(currencySymbol.toUpperCase())
                 .orElseThrow(() -> new CurrencyNotFoundException("Currency not found"));
-        if (currency.getCurrentPrice() == null) {
+        if (currentRate(currency) == null) {
             throw new PriceNotAvailableException("Current price not available for " + currencySymbol);
         }
         return currency;
     }
 
+    private BigDecimal currentRate(Currency currency) {
+        return livePriceBook.freshPrice(currency.getCurrencyid())
+                .orElseGet(currency::getCurrentPrice);
+    }
+
+    private BigDecimal currentRateOrThrow(Currency currency) {
+        BigDecimal rate = currentRate(currency);
+        if (rate == null) {
+            throw new PriceNotAvailableException("Current price not available for currency ID: " + currency.getCurrencyid());
+        }
+        return rate;
+    }
+
     private Currency getCurrencyByIdOrThrow(Integer currencyid) {
         return currencyRepository.findById(currencyid)
                 .orElseThrow(() -> new CurrencyNotFoundException("Currency not found in database"));
@@ -113,52 +226,32 @@ public class TransactionOperationService {
     }
 
 
-    private void buyAssetByUSD(BigDecimal finalAmountInUSD,
-                               Currency currency,
-                               Portfolio portfolio,
-                               User user) {
-        BigDecimal rate = currency.getCurrentPrice();
+    private Transaction buyAssetByUSD(BigDecimal finalAmountInUSD,
+                                      Currency currency,
+                                      BigDecimal rate,
+                                      PortfolioAsset portfolioAsset,
+                                      Portfolio portfolio,
+                                      User user) {
         BigDecimal amountOfCurrencyCalculated = finalAmountInUSD.divide(rate, 8, RoundingMode.HALF_UP);
         if (user.getBalance().compareTo(finalAmountInUSD) < 0) {
             throw new InsufficientFundsException("Insufficient balance");
         }
 
         user.setBalance(user.getBalance().subtract(finalAmountInUSD));
-        userRepository.save(user);
-
-        PortfolioAsset portfolioAsset = portfolioAssetRepository
-                .findByPortfolioAndCurrency(portfolio, currency)
-                .orElse(PortfolioAsset.builder()
-                        .portfolio(portfolio)
-                        .currency(currency)
-                        .amount(BigDecimal.ZERO)
-                        .averagePurchasePrice(BigDecimal.ZERO)
-                        .updatedAt(LocalDateTime.now())
-                        .build());
-
-        BigDecimal totalAmount = portfolioAsset.getAmount().add(amountOfCurrencyCalculated);
-        BigDecimal totalCost = portfolioAsset.getAmount().multiply(portfolioAsset.getAveragePurchasePrice())
-                .add(finalAmountInUSD);
-
-        BigDecimal newAveragePrice = totalCost.divide(totalAmount, 8, RoundingMode.HALF_UP);
-
-        portfolioAsset.setAmount(totalAmount);
-        portfolioAsset.setAveragePurchasePrice(newAveragePrice);
-        portfolioAsset.setUpdatedAt(LocalDateTime.now());
-
+        addToPortfolioAsset(portfolioAsset, amountOfCurrencyCalculated, finalAmountInUSD);
         portfolio.setUpdatedAt(LocalDateTime.now());
-        portfolioRepository.save(portfolio);
-        portfolioAssetRepository.save(portfolioAsset);
 
-        logTransaction("BUY", currency, portfolio, user, amountOfCurrencyCalculated, rate);
+        Transaction transaction = logTransaction("BUY", currency, portfolio, user, amountOfCurrencyCalculated, rate);
         logTradeEvent("BUY", portfolio, user, currency, finalAmountInUSD, amountOfCurrencyCalculated, rate);
+        return transaction;
     }
 
-    private void buyAssetByCurrency(BigDecimal finalAmountOfCurrency,
-                                    Currency currency,
-                                    Portfolio portfolio,
-                                    User user) {
-        BigDecimal rate = currency.getCurrentPrice();
+    private Transaction buyAssetByCurrency(BigDecimal finalAmountOfCurrency,
+                                           Currency currency,
+                                           BigDecimal rate,
+                                           PortfolioAsset portfolioAsset,
+                                           Portfolio portfolio,
+                                           User user) {
 
         BigDecimal amountInUSDCalculated = finalAmountOfCurrency.multiply(rate)
                 .setScale(8, RoundingMode.HALF_UP);
@@ -168,35 +261,51 @@ public class TransactionOperationService {
         }
 
         user.setBalance(user.getBalance().subtract(amountInUSDCalculated));
-        userRepository.save(user);
+        addToPortfolioAsset(portfolioAsset, finalAmountOfCurrency, amountInUSDCalculated);
+        portfolio.setUpdatedAt(LocalDateTime.now());
 
-        PortfolioAsset portfolioAsset = portfolioAssetRepository.findByPortfolioAndCurrency(portfolio, currency)
-                .orElse(PortfolioAsset.builder()
-                        .portfolio(portfolio)
-                        .currency(currency)
-                        .amount(BigDecimal.ZERO)
-                        .averagePurchasePrice(BigDecimal.ZERO)
-                        .updatedAt(LocalDateTime.now())
-                        .build());
+        Transaction transaction = logTransaction("BUY", currency, portfolio, user, amountInUSDCalculated, rate);
+        logTradeEvent("BUY", portfolio, user, currency, amountInUSDCalculated, finalAmountOfCurrency, rate);
+        return transaction;
+    }
 
-        BigDecimal totalAmount = portfolioAsset.getAmount().add(finalAmountOfCurrency);
+    /**
+     * Returns the user's holding of the currency, or a new empty one. Everything the order reads is read before the
+     * first entity is changed, so no query in between has to flush.
+     */
+    private PortfolioAsset findOrNewPortfolioAsset(Portfolio portfolio, Currency currency) {
+        return portfolioAssetRepository.findByPortfolioAndCurrency(portfolio, currency)
+                .orElseGet(() -> newPortfolioAsset(portfolio, currency));
+    }
+
+    private PortfolioAsset newPortfolioAsset(Portfolio portfolio, Currency currency) {
+        return PortfolioAsset.builder()
+                .portfolio(portfolio)
+                .currency(currency)
+                .amount(BigDecimal.ZERO)
+                .averagePurchasePrice(BigDecimal.ZERO)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
 
+    /**
+     * Adds the bought amount to the holding. A new holding is persisted only once it is filled in, so it is inserted
+     * with its final state instead of inserted and then updated; existing ones are written by dirty checking.
+     */
+    private void addToPortfolioAsset(PortfolioAsset portfolioAsset, BigDecimal amountOfCurrency, BigDecimal amountInUSD) {
+        BigDecimal totalAmount = portfolioAsset.getAmount().add(amountOfCurrency);
         BigDecimal totalCost = portfolioAsset.getAmount()
                 .multiply(portfolioAsset.getAveragePurchasePrice())
-                .add(amountInUSDCalculated);
+                .add(amountInUSD);
 
         BigDecimal newAveragePrice = totalCost.divide(totalAmount, 8, RoundingMode.HALF_UP);
 
         portfolioAsset.setAmount(totalAmount);
         portfolioAsset.setAveragePurchasePrice(newAveragePrice);
         portfolioAsset.setUpdatedAt(LocalDateTime.now());
-
-        portfolio.setUpdatedAt(LocalDateTime.now());
-        portfolioRepository.save(portfolio);
-        portfolioAssetRepository.save(portfolioAsset);
-
-        logTransaction("BUY", currency, portfolio, user, amountInUSDCalculated, rate);
-        logTradeEvent("BUY", portfolio, user, currency, amountInUSDCalculated, finalAmountOfCurrency, rate);
+        if (portfolioAsset.getPortfolioAssetid() == null) {
+            portfolioAssetRepository.save(portfolioAsset);
+        }
     }
 
     private void logTradeEvent(String tradeType,
@@ -219,23 +328,18 @@ public class TransactionOperationService {
                 ? UserEvent.EventType.BUY_CRYPTO
                 : UserEvent.EventType.SELL_CRYPTO;
 
-        userEventTrackingService.logEvent(user.getEmail(), eventType, details);
+        userEventTrackingService.logEventAfterCommit(user.getEmail(), eventType, details);
     }
 
 
-    private void sellByCurrencyAmount(BigDecimal amountOfCurrency,
-                                      Currency currency,
-                                      Portfolio portfolio,
-                                      User user) {
-        BigDecimal rate = currency.getCurrentPrice();
-        if (rate == null) {
-            throw new PriceNotAvailableException("Current price not available for currency ID: " + currency.getCurrencyid());
-        }
-
+    private Transaction sellByCurrencyAmount(BigDecimal amountOfCurrency,
+                                             Currency currency,
+                                             BigDecimal rate,
+                                             PortfolioAsset portfolioAsset,
+                                             Portfolio portfolio,
+                                             User user) {
         BigDecimal amountInUSD = amountOfCurrency.multiply(rate).setScale(8, RoundingMode.HALF_UP);
 
-        PortfolioAsset portfolioAsset = getPortfolioAssetOrThrow(portfolio, currency);
-
         if (portfolioAsset.getAmount().compareTo(amountOfCurrency) < 0) {
             throw new InsufficientAssetAmountException("Insufficient amount of currency to sell");
         }
@@ -244,53 +348,47 @@ public class TransactionOperationService {
 
         updateUserBalanceAfterSell(user, amountInUSD);
 
-        logTransaction("SELL", currency, portfolio, user, amountOfCurrency, rate);
+        Transaction transaction = logTransaction("SELL", currency, portfolio, user, amountOfCurrency, rate);
         logTradeEvent("SELL", portfolio, user, currency, amountInUSD, amountOfCurrency, rate);
+        return transaction;
     }
 
-    private void sellByUSDValue(BigDecimal priceInUSD,
-                                Currency currency,
-                                Portfolio portfolio,
-                                User user) {
-        BigDecimal rate = currency.getCurrentPrice();
-        if (rate == null) {
-            throw new PriceNotAvailableException("Current price not available for currency ID: " + currency.getCurrencyid());
-        }
-
+    private Transaction sellByUSDValue(BigDecimal priceInUSD,
+                                       Currency currency,
+                                       BigDecimal rate,
+                                       PortfolioAsset portfolioAsset,
+                                       Portfolio portfolio,
+                                       User user) {
         BigDecimal amountOfCurrency = priceInUSD.divide(rate, 8, RoundingMode.HALF_UP);
 
-        PortfolioAsset portfolioAsset = getPortfolioAssetOrThrow(portfolio, currency);
-
         if (portfolioAsset.getAmount().compareTo(amountOfCurrency) < 0) {
             throw new InsufficientAssetAmountException("Insufficient amount of currency to sell");
         }
 
         updatePortfolioAssetAfterSell(portfolioAsset, amountOfCurrency);
         updateUserBalanceAfterSell(user, priceInUSD);
-        logTransaction("SELL", currency, portfolio, user, amountOfCurrency, rate);
+        Transaction transaction = logTransaction("SELL", currency, portfolio, user, amountOfCurrency, rate);
         logTradeEvent("SELL", portfolio, user, currency, priceInUSD, amountOfCurrency, rate);
+        return transaction;
     }
 
     private void updatePortfolioAssetAfterSell(PortfolioAsset portfolioAsset, BigDecimal amountOfCurrency) {
         BigDecimal newAmount = portfolioAsset.getAmount().subtract(amountOfCurrency).setScale(8, RoundingMode.HALF_UP);
-            portfolioAsset.setAmount(newAmount);
-            portfolioAsset.setUpdatedAt(LocalDateTime.now());
-            portfolioAssetRepository.save(portfolioAsset);
-
+        portfolioAsset.setAmount(newAmount);
+        portfolioAsset.setUpdatedAt(LocalDateTime.now());
     }
 
     private void updateUserBalanceAfterSell(User user, BigDecimal amountInUSD) {
         BigDecimal newBalance = user.getBalance().add(amountInUSD).setScale(8, RoundingMode.HALF_UP);
         user.setBalance(newBalance);
-        userRepository.save(user);
     }
 
-    private void logTransaction(String type,
-                                Currency currency,
-                                Portfolio portfolio,
-                                User user,
-                                BigDecimal amount,
-                                BigDecimal rate) {
+    private Transaction logTransaction(String type,
+                                       Currency currency,
+                                       Portfolio portfolio,
+                                       User user,
+                                       BigDecimal amount,
+                                       BigDecimal rate) {
         Transaction transaction = Transaction.builder()
                 .currency(currency)
                 .transactionType(type)
@@ -301,5 +399,6 @@ public class TransactionOperationService {
                 .portfolio(portfolio)
                 .build();
         transactionRepository.save(transaction);
+        return transaction;
     }
 }
@@ -0,0 +1,37 @@
+package com.example.backend.user;
+
+import com.example.backend.exceptions.UserNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Row lock on a user for the rest of the current transaction. Every update of a user's balance, reserved balance or
+ * portfolio assets takes it first, so concurrent orders of one user run one after another on the current state
+ * instead of overwriting each other's read-modify-write. Orders of different users do not contend.
+ */
+@Component
+@Tag(name = "User Lock", description = "Serializes balance and holdings updates per user")
+public class UserLock {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Locks the user's row with {@code SELECT ... FOR UPDATE} and returns the managed user with the state read under
+     * the lock. Callers must continue with the returned user; the given one may be detached or stale. Requires an
+     * active transaction.
+     */
+    @Operation(summary = "Lock user", description = "Locks the user's row and reloads its current state")
+    public User lock(User user) {
+        User managed = entityManager.find(User.class, user.getId());
+        if (managed == null) {
+            throw new UserNotFoundException("User not found");
+        }
+        entityManager.refresh(managed, LockModeType.PESSIMISTIC_WRITE);
+        return managed;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.backend.user;
+
+public interface UserRecipientProjection {
+    Integer getId();
+    String getEmail();
+    String getFirstname();
+}
@@ -1,6 +1,8 @@
 package com.example.backend.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
 import java.util.Optional;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -14,4 +16,6 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByPasswordResetToken(String token);
 
     boolean existsByRole(Role role);
+
+    List<UserRecipientProjection> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
 }
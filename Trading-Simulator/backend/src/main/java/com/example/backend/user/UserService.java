@@ -31,12 +31,13 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final UserEventTrackingService userEventTrackingService;
     private final AdminEventTrackingService adminEventTrackingService;
+    private final UserLock userLock;
 
     @Transactional
     @Operation(summary = "Add funds to account", description = "Adds a specified amount to the logged-in user's balance")
     public BalanceResponse addFunds(BigDecimal amount) {
         String email = authenticationService.getCurrentUserEmail();
-        User user = authenticationService.getCurrentUser(email);
+        User user = userLock.lock(authenticationService.getCurrentUser(email));
 
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new InvalidAmountException("Amount must be greater than zero.");
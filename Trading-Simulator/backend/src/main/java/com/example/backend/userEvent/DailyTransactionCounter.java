@@ -0,0 +1,124 @@
+package com.example.backend.userEvent;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of BUY_CRYPTO and SELL_CRYPTO transactions per day, shared by all backend instances through Redis.
+ * <p>
+ * Trades only bump a local {@link LongAdder} of their day, so counting never waits for Redis. The adders are added
+ * to the day's Redis key with INCRBY every {@code events.daily-counter.flush-interval-ms}; the totals Redis returns
+ * are kept, so reading today's count is a local sum as well. A count therefore includes the other instances' trades
+ * up to their last flush. Each day has a key of its own that expires after {@code events.daily-counter.retention-days},
+ * so there is nothing to reset at midnight and the count survives restarts.
+ */
+@Service
+public class DailyTransactionCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyTransactionCounter.class);
+    private static final String KEY_PREFIX = "COUNTER:TRANSACTIONS:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Clock clock;
+    private final Duration retention;
+    private final Map<LocalDate, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Long> sharedTotals = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DailyTransactionCounter(RedisTemplate<String, String> redisTemplate,
+                                   @Value("${events.daily-counter.retention-days:2}") int retentionDays) {
+        this(redisTemplate, Clock.systemDefaultZone(), retentionDays);
+    }
+
+    DailyTransactionCounter(RedisTemplate<String, String> redisTemplate, Clock clock, int retentionDays) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    public void increment() {
+        pending.computeIfAbsent(LocalDate.now(clock), day -> new LongAdder()).increment();
+    }
+
+    /**
+     * Today's count across all instances as of their last flush, plus what this instance has not flushed yet.
+     */
+    public long getTodayCount() {
+        LocalDate today = LocalDate.now(clock);
+        LongAdder local = pending.get(today);
+        return sharedTotals.getOrDefault(today, 0L) + (local == null ? 0 : local.sum());
+    }
+
+    /**
+     * Adds the local counts to Redis and picks up today's total, including the other instances' trades. A count
+     * Redis did not take is kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${events.daily-counter.flush-interval-ms:1000}", initialDelay = 1000)
+    public void flush() {
+        LocalDate today = LocalDate.now(clock);
+        try {
+            boolean todayRefreshed = false;
+            for (Map.Entry<LocalDate, LongAdder> entry : pending.entrySet()) {
+                if (flushDay(entry.getKey(), entry.getValue()) && entry.getKey().equals(today)) {
+                    todayRefreshed = true;
+                }
+            }
+            if (!todayRefreshed) {
+                String total = redisTemplate.opsForValue().get(key(today));
+                sharedTotals.put(today, total == null ? 0L : Long.parseLong(total));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush daily transaction counts: {}", e.getMessage());
+        }
+        pending.entrySet().removeIf(entry -> entry.getKey().isBefore(today) && entry.getValue().sum() == 0);
+        sharedTotals.keySet().removeIf(day -> day.isBefore(today));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Adds the day's local count to Redis, returning whether its total was picked up. Only the counted amount is
+     * taken off the adder, so trades that increment it meanwhile stay for the next flush.
+     */
+    private boolean flushDay(LocalDate day, LongAdder adder) {
+        long delta = adder.sum();
+        if (delta == 0) {
+            return false;
+        }
+        adder.add(-delta);
+        String key = key(day);
+        Long total;
+        try {
+            total = redisTemplate.opsForValue().increment(key, delta);
+        } catch (RuntimeException e) {
+            adder.add(delta);
+            throw e;
+        }
+        redisTemplate.expire(key, retention);
+        if (total == null) {
+            return false;
+        }
+        sharedTotals.put(day, total);
+        return true;
+    }
+
+    private static String key(LocalDate day) {
+        return KEY_PREFIX + day;
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.backend.userEvent;
 
+import com.example.backend.eventlog.EventStatisticDTO;
+import com.example.backend.eventlog.EventStatisticsStore;
+import com.example.backend.eventlog.QueuedEvent.EventTable;
+import com.example.backend.eventlog.StatisticGranularity;
 import com.example.backend.exceptions.EventNotFoundException;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -7,16 +11,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class UserEventService {
 
     private final UserEventRepository userEventRepository;
+    private final EventStatisticsStore eventStatisticsStore;
 
     public UserEvent getEventById(Long id) {
         return userEventRepository.findById(id)
@@ -28,12 +34,13 @@ public class UserEventService {
     }
 
     public Map<String, Long> getEventStatistics() {
-        List<UserEvent> events = userEventRepository.findAll();
-        return events.stream()
-                .collect(Collectors.groupingBy(
-                        event -> event.getEventType().name(),
-                        Collectors.counting()
-                ));
+        return eventStatisticsStore.totals(EventTable.USER_EVENT);
+    }
+
+    public List<EventStatisticDTO> getEventTimeline(StatisticGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(granularity.defaultRange());
+        return eventStatisticsStore.timeline(EventTable.USER_EVENT, granularity, start, end);
     }
 
     public List<UserEvent> getLatestEvents(int limit) {
@@ -41,9 +48,11 @@ public class UserEventService {
         return userEventRepository.findAll(pageable).getContent();
     }
 
+    @Transactional
     public void deleteEventById(long id) {
         UserEvent userEvent = userEventRepository.findById(id)
                 .orElseThrow(() -> new EventNotFoundException("Event with id: " + id + " not found"));
         userEventRepository.delete(userEvent);
+        eventStatisticsStore.remove(EventTable.USER_EVENT, userEvent.getEventType() == null ? null : userEvent.getEventType().name(), userEvent.getEventTime());
     }
 }
@@ -1,55 +1,58 @@
 package com.example.backend.userEvent;
 
+import com.example.backend.eventlog.EventLogWriter;
+import com.example.backend.eventlog.QueuedEvent;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
 public class UserEventTrackingService {
 
-    private final UserEventRepository eventRepository;
-    private final ObjectMapper objectMapper;
-    private final AtomicLong dailyCount = new AtomicLong(0);
+    private static final Logger logger = LoggerFactory.getLogger(UserEventTrackingService.class);
+
+    private final EventLogWriter eventLogWriter;
+    private final DailyTransactionCounter dailyTransactionCounter;
+
     public void logEvent(String email, UserEvent.EventType eventType, Map<String, Object> details) {
-            String detailsJson = convertMapToJson(details);
-            UserEvent event = UserEvent.builder()
-                    .email(email)
-                    .eventType(eventType)
-                    .eventTime(LocalDateTime.now())
-                    .details(detailsJson)
-                    .build();
-            eventRepository.save(event);
+            eventLogWriter.log(new QueuedEvent(QueuedEvent.EventTable.USER_EVENT, email, eventType.name(),
+                    LocalDateTime.now(), details));
             if (eventType == UserEvent.EventType.BUY_CRYPTO || eventType == UserEvent.EventType.SELL_CRYPTO) {
-                dailyCount.incrementAndGet();
+                dailyTransactionCounter.increment();
             }
     }
 
-    public long getDailyTransactionCount() {
-        return dailyCount.get();
-    }
-
-    public void resetDailyCount() {
-        dailyCount.set(0);
-    }
-
-    private String convertMapToJson(Map<String, Object> map) {
-        if (map == null) {
-            return null;
-        }
-        try {
-            return objectMapper.writeValueAsString(map);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+    /**
+     * Logs the event once the current transaction has committed, so events of rolled back operations are neither
+     * logged nor counted. Without an active transaction the event is logged right away.
+     */
+    public void logEventAfterCommit(String email, UserEvent.EventType eventType, Map<String, Object> details) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            logEvent(email, eventType, details);
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    logEvent(email, eventType, details);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to log {} event for {}", eventType, email, e);
+                }
+            }
+        });
     }
 
-
+    public long getDailyTransactionCount() {
+        return dailyTransactionCounter.getTodayCount();
+    }
 
     public void logEvent(String email, UserEvent.EventType eventType) {
         logEvent(email, eventType, null);
@@ -0,0 +1,126 @@
+package com.example.backend.alert.global;
+
+import com.example.backend.mailVerification.GlobalAlertEmailTemplate;
+import com.example.backend.mailVerification.VerificationService;
+import com.example.backend.user.UserRecipientProjection;
+import com.example.backend.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GlobalAlertFanoutTest {
+
+    @Mock
+    private GlobalAlertRepository globalAlertRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private VerificationService verificationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GlobalAlertFanout globalAlertFanout;
+    private GlobalAlert globalAlert;
+
+    @BeforeEach
+    void setUp() {
+        globalAlertFanout = new GlobalAlertFanout(globalAlertRepository, userRepository, verificationService, transactionManager, 2);
+        globalAlert = GlobalAlert.builder()
+                .globalAlertid(1)
+                .message("Maintenance tonight")
+                .createdAt(LocalDateTime.now())
+                .active(true)
+                .build();
+    }
+
+    @Test
+    void fanOut_ShouldQueueUsersInChunksAndDeactivateAlert() {
+        when(globalAlertRepository.findById(1)).thenReturn(Optional.of(globalAlert));
+        List<UserRecipientProjection> first = List.of(recipient(3), recipient(7));
+        List<UserRecipientProjection> second = List.of(recipient(9));
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 2))).thenReturn(first);
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(7, PageRequest.of(0, 2))).thenReturn(second);
+
+        globalAlertFanout.fanOut(globalAlert);
+
+        verify(verificationService).enqueueGlobalAlertEmails(any(GlobalAlertEmailTemplate.class), eq(first));
+        verify(verificationService).enqueueGlobalAlertEmails(any(GlobalAlertEmailTemplate.class), eq(second));
+        verify(globalAlertRepository, times(2)).save(globalAlert);
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(globalAlert.getLastNotifiedUserId()).isEqualTo(9);
+        assertThat(globalAlert.isActive()).isFalse();
+    }
+
+    @Test
+    void fanOut_ShouldResumeAfterLastNotifiedUser() {
+        when(globalAlertRepository.findById(1)).thenReturn(Optional.of(globalAlert));
+        globalAlert.setLastNotifiedUserId(7);
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(7, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        globalAlertFanout.fanOut(globalAlert);
+
+        verify(verificationService, never()).enqueueGlobalAlertEmails(any(), anyList());
+        assertThat(globalAlert.getLastNotifiedUserId()).isEqualTo(7);
+        assertThat(globalAlert.isActive()).isFalse();
+    }
+
+    @Test
+    void fanOut_ShouldStop_WhenAlertWasDeactivated() {
+        when(globalAlertRepository.findById(1)).thenReturn(Optional.of(globalAlert));
+        globalAlert.setActive(false);
+
+        globalAlertFanout.fanOut(globalAlert);
+
+        verify(userRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+        verify(globalAlertRepository, never()).save(any());
+    }
+
+    @Test
+    void template_ShouldOnlyDifferInFirstName() {
+        GlobalAlertEmailTemplate template = GlobalAlertEmailTemplate.render(globalAlert);
+
+        assertThat(template.text("Anna")).startsWith("Hello Anna,\n\nMaintenance tonight");
+        assertThat(template.html("Anna")).contains("<p>Hello Anna,</p><p>Maintenance tonight</p>");
+        assertThat(template.html("Jan")).isEqualTo(template.html("Anna").replace("Anna", "Jan"));
+    }
+
+    private static UserRecipientProjection recipient(int id) {
+        return new UserRecipientProjection() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return "user" + id + "@example.com";
+            }
+
+            @Override
+            public String getFirstname() {
+                return "User" + id;
+            }
+        };
+    }
+}
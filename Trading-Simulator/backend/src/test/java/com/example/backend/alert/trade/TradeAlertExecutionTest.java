@@ -0,0 +1,116 @@
+package com.example.backend.alert.trade;
+
+import com.example.backend.auth.AuthenticationService;
+import com.example.backend.mailVerification.VerificationService;
+import com.example.backend.transaction.transactionService.BaseTradeTest;
+import com.example.backend.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Executes triggered BUY alerts against the database, including alerts the user deactivated or deleted after the
+ * trigger had loaded them.
+ */
+@Import(TradeAlertService.class)
+class TradeAlertExecutionTest extends BaseTradeTest {
+
+    private static final BigDecimal RESERVED = new BigDecimal("100");
+
+    @Autowired
+    private TradeAlertService tradeAlertService;
+
+    @Autowired
+    private TradeAlertRepository tradeAlertRepository;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @MockBean
+    private VerificationService verificationService;
+
+    @MockBean
+    private TradeAlertIndex tradeAlertIndex;
+
+    private TradeAlert triggered;
+
+    @BeforeEach
+    void setUp() {
+        // The alert's amount is already moved from the balance to the reserved balance
+        user.setBalance(INITIAL_BALANCE.subtract(RESERVED));
+        user.setReservedBalance(RESERVED);
+        user = userRepository.save(user);
+        TradeAlert saved = tradeAlertRepository.save(TradeAlert.builder()
+                .user(user)
+                .portfolio(portfolio)
+                .currency(btc)
+                .tradeAlertType(TradeAlertType.BUY)
+                .orderType(OrderType.LIMIT)
+                .conditionPrice(new BigDecimal("95"))
+                .tradeAmount(RESERVED)
+                .initialPrice(PRICE)
+                .active(true)
+                .build());
+        // What the trigger holds: loaded before the user acts, outside of any transaction
+        triggered = tradeAlertRepository.findById(saved.getTradeAlertid()).orElseThrow();
+
+        when(authenticationService.getCurrentUserEmail()).thenReturn(user.getEmail());
+        when(authenticationService.getCurrentUser(user.getEmail())).thenReturn(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tradeAlertRepository.deleteAll();
+    }
+
+    @Test
+    void executeTriggeredAlert_ShouldBuyFromReservedBalance() {
+        tradeAlertService.executeTriggeredAlert(triggered, new BigDecimal("95"));
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(stored.getBalance()).isEqualByComparingTo("900");
+        assertThat(stored.getReservedBalance()).isEqualByComparingTo("0");
+        assertThat(transactionRepository.count()).isEqualTo(1);
+        assertThat(tradeAlertRepository.findById(triggered.getTradeAlertid()).orElseThrow().isActive()).isFalse();
+        verify(verificationService).sendTradeExecutedEmail(any(), any(), any(), argThat(price -> price.compareTo(new BigDecimal("95")) == 0),
+                eq(TradeAlertType.BUY));
+    }
+
+    @Test
+    void executeTriggeredAlert_ShouldSkipAlertDeactivatedAfterTrigger() {
+        tradeAlertService.deactivateTradeAlert(triggered.getTradeAlertid());
+
+        tradeAlertService.executeTriggeredAlert(triggered, new BigDecimal("95"));
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(stored.getBalance()).isEqualByComparingTo("1000");
+        assertThat(stored.getReservedBalance()).isEqualByComparingTo("0");
+        assertThat(transactionRepository.count()).isZero();
+        verify(verificationService, never()).sendTradeExecutedEmail(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void executeTriggeredAlert_ShouldSkipAlertDeletedAfterTrigger() {
+        tradeAlertService.deleteTradeAlert(triggered.getTradeAlertid());
+
+        tradeAlertService.executeTriggeredAlert(triggered, new BigDecimal("95"));
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(stored.getBalance()).isEqualByComparingTo("1000");
+        assertThat(stored.getReservedBalance()).isEqualByComparingTo("0");
+        assertThat(transactionRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.backend.alert.trade;
+
+import com.example.backend.currency.Currency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TradeAlertIndexTest {
+
+    @Mock
+    private TradeAlertRepository tradeAlertRepository;
+
+    private TradeAlertIndex tradeAlertIndex;
+    private Currency btc;
+
+    @BeforeEach
+    void setUp() {
+        tradeAlertIndex = new TradeAlertIndex(tradeAlertRepository);
+        btc = new Currency();
+        btc.setCurrencyid(1);
+        btc.setSymbol("BTC");
+    }
+
+    @Test
+    void priceShouldPopOnlyCrossedAlerts() {
+        tradeAlertIndex.add(alert(1, OrderType.LIMIT, TradeAlertType.BUY, "100"));
+        tradeAlertIndex.add(alert(2, OrderType.LIMIT, TradeAlertType.BUY, "90"));
+        tradeAlertIndex.add(alert(3, OrderType.STOP, TradeAlertType.SELL, "95"));
+        tradeAlertIndex.add(alert(4, OrderType.LIMIT, TradeAlertType.SELL, "110"));
+        tradeAlertIndex.add(alert(5, OrderType.STOP, TradeAlertType.BUY, "120"));
+
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("105"))).isEmpty();
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("95.0"))).containsExactly(1, 3);
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("95"))).isEmpty();
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("115"))).containsExactly(4);
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("150"))).containsExactly(5);
+        assertThat(tradeAlertIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedAndInactiveAlertsShouldNotTrigger() {
+        TradeAlert removed = alert(1, OrderType.LIMIT, TradeAlertType.BUY, "100");
+        TradeAlert inactive = alert(2, OrderType.LIMIT, TradeAlertType.BUY, "100");
+        inactive.setActive(false);
+        tradeAlertIndex.add(removed);
+        tradeAlertIndex.add(inactive);
+        tradeAlertIndex.add(alert(3, OrderType.LIMIT, TradeAlertType.BUY, "100"));
+
+        tradeAlertIndex.remove(removed);
+
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("50"))).containsExactly(3);
+        assertThat(tradeAlertIndex.popTriggered(2, new BigDecimal("50"))).isEmpty();
+    }
+
+    @Test
+    void rebuildShouldIndexActiveAlertsFromDatabase() {
+        tradeAlertIndex.add(alert(9, OrderType.LIMIT, TradeAlertType.BUY, "100"));
+        when(tradeAlertRepository.findByActiveTrue()).thenReturn(List.of(alert(1, OrderType.LIMIT, TradeAlertType.SELL, "100")));
+
+        tradeAlertIndex.rebuild();
+
+        assertThat(tradeAlertIndex.getCurrencyIds()).containsExactly(1);
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("50"))).isEmpty();
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("100"))).containsExactly(1);
+    }
+
+    @Test
+    void changesInTransactionShouldApplyOnlyOnCommit() {
+        TradeAlert removed = alert(1, OrderType.LIMIT, TradeAlertType.BUY, "100");
+        tradeAlertIndex.add(removed);
+        TradeAlert added = alert(2, OrderType.LIMIT, TradeAlertType.BUY, "100");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tradeAlertIndex.addAfterCommit(added);
+            tradeAlertIndex.removeAfterCommit(removed);
+            assertThat(tradeAlertIndex.size()).isEqualTo(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("50"))).containsExactly(2);
+    }
+
+    @Test
+    void changesInRolledBackTransactionShouldNotApply() {
+        TradeAlert removed = alert(1, OrderType.LIMIT, TradeAlertType.BUY, "100");
+        tradeAlertIndex.add(removed);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tradeAlertIndex.addAfterCommit(alert(2, OrderType.LIMIT, TradeAlertType.BUY, "100"));
+            tradeAlertIndex.removeAfterCommit(removed);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("50"))).containsExactly(1);
+    }
+
+    private TradeAlert alert(int id, OrderType orderType, TradeAlertType tradeAlertType, String conditionPrice) {
+        return TradeAlert.builder()
+                .tradeAlertid(id)
+                .currency(btc)
+                .orderType(orderType)
+                .tradeAlertType(tradeAlertType)
+                .conditionPrice(new BigDecimal(conditionPrice))
+                .active(true)
+                .build();
+    }
+}
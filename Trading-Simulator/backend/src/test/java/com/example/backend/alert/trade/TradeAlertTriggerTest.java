@@ -0,0 +1,122 @@
+package com.example.backend.alert.trade;
+
+import com.example.backend.currency.Currency;
+import com.example.backend.currency.LivePriceBook;
+import com.example.backend.currency.PriceSnapshot;
+import com.example.backend.currency.PriceTick;
+import com.example.backend.transaction.OrderExecutor;
+import com.example.backend.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TradeAlertTriggerTest {
+
+    @Mock
+    private TradeAlertRepository tradeAlertRepository;
+
+    @Mock
+    private TradeAlertService tradeAlertService;
+
+    private TradeAlertIndex tradeAlertIndex;
+    private OrderExecutor orderExecutor;
+    private TradeAlertTrigger tradeAlertTrigger;
+    private Currency btc;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tradeAlertIndex = new TradeAlertIndex(tradeAlertRepository);
+        orderExecutor = new OrderExecutor(2, 10);
+        tradeAlertTrigger = new TradeAlertTrigger(tradeAlertIndex, tradeAlertRepository, tradeAlertService,
+                orderExecutor, new LivePriceBook(60_000), 10);
+        btc = new Currency();
+        btc.setCurrencyid(1);
+        btc.setSymbol("BTC");
+        user = new User();
+        user.setId(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tradeAlertTrigger.shutdown();
+        orderExecutor.shutdown();
+    }
+
+    @Test
+    void crossingPriceShouldBeTheFillPrice() {
+        TradeAlert limitBuy = alert(1, OrderType.LIMIT, TradeAlertType.BUY, "100");
+        tradeAlertIndex.add(limitBuy);
+        when(tradeAlertRepository.findAllById(anyIterable())).thenReturn(List.of(limitBuy));
+
+        tradeAlertTrigger.onPriceChange(snapshot("99.5"));
+        tradeAlertTrigger.onPriceChange(snapshot("101"));
+
+        verify(tradeAlertService, timeout(2000)).executeTriggeredAlert(limitBuy, new BigDecimal("99.5"));
+        assertThat(tradeAlertIndex.size()).isZero();
+    }
+
+    @Test
+    void priceChangeNotCrossingShouldNotLoadAlerts() {
+        tradeAlertIndex.add(alert(1, OrderType.STOP, TradeAlertType.SELL, "90"));
+
+        tradeAlertTrigger.onPriceChange(snapshot("95"));
+
+        verify(tradeAlertRepository, timeout(200).times(0)).findAllById(anyIterable());
+        assertThat(tradeAlertIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void failedExecutionShouldReturnAlertToIndex() throws InterruptedException {
+        TradeAlert stopBuy = alert(1, OrderType.STOP, TradeAlertType.BUY, "100");
+        tradeAlertIndex.add(stopBuy);
+        when(tradeAlertRepository.findAllById(anyIterable())).thenReturn(List.of(stopBuy));
+        doThrow(new IllegalStateException("boom")).when(tradeAlertService).executeTriggeredAlert(any(), any());
+
+        tradeAlertTrigger.onPriceChange(snapshot("100"));
+
+        verify(tradeAlertService, timeout(2000)).executeTriggeredAlert(stopBuy, new BigDecimal("100"));
+        verify(tradeAlertRepository, never()).save(any());
+        awaitIndexSize(1);
+        assertThat(tradeAlertIndex.popTriggered(1, new BigDecimal("100"))).containsExactly(1);
+    }
+
+    private void awaitIndexSize(int size) throws InterruptedException {
+        for (int i = 0; i < 200 && tradeAlertIndex.size() != size; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private PriceSnapshot snapshot(String price) {
+        return new PriceSnapshot(1, "BTC", new BigDecimal(price), 0, System.currentTimeMillis(),
+                PriceTick.TimeSource.EXCHANGE);
+    }
+
+    private TradeAlert alert(int id, OrderType orderType, TradeAlertType tradeAlertType, String conditionPrice) {
+        return TradeAlert.builder()
+                .tradeAlertid(id)
+                .user(user)
+                .currency(btc)
+                .orderType(orderType)
+                .tradeAlertType(tradeAlertType)
+                .conditionPrice(new BigDecimal(conditionPrice))
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSeriesStore;
+import com.example.backend.exceptions.CurrencyNotFoundException;
+import com.example.backend.exceptions.GlobalExceptionHandler;
+import com.example.backend.exceptions.InvalidIndicatorPeriodsException;
+import com.example.backend.exceptions.UnsupportedKlineIntervalException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsControllerTest {
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private IndicatorCacheService indicatorCacheService;
+
+    @Mock
+    private IndicatorCalculatorFactory indicatorCalculators;
+
+    @Mock
+    private StreamingIndicatorService streamingIndicatorService;
+
+    @Mock
+    private CandleSeriesStore candleSeriesStore;
+
+    private AnalyticsController analyticsController;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        analyticsController = new AnalyticsController(analyticsService, indicatorCacheService, indicatorCalculators,
+                streamingIndicatorService, candleSeriesStore);
+        mockMvc = MockMvcBuilders.standaloneSetup(analyticsController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        lenient().when(candleSeriesStore.getCapacity()).thenReturn(1000);
+    }
+
+    @Test
+    void nearCacheHitOfLoadedSeriesShouldBeServedWithoutLoading() {
+        when(candleSeriesStore.isLoaded("BTC", "1h")).thenReturn(true);
+        when(streamingIndicatorService.findValue("btc", "1h", IncrementalIndicatorType.ADX, 0)).thenReturn(Optional.empty());
+        when(indicatorCacheService.findLocal("ADX", "BTC", "1h", null, BigDecimal.class))
+                .thenReturn(Optional.of(new BigDecimal("25.5")));
+
+        ResponseEntity<BigDecimal> response = analyticsController.getAdx("btc", "1h", null).block();
+
+        assertThat(response.getBody()).isEqualByComparingTo("25.5");
+        verify(indicatorCacheService, never()).getOrCompute(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void seriesNotInMemoryShouldBeLoadedOffTheRequestThread() {
+        Thread requestThread = Thread.currentThread();
+        Thread[] loadingThread = new Thread[1];
+        when(candleSeriesStore.isLoaded("BTC", "1h")).thenReturn(false);
+        when(indicatorCacheService.getOrCompute(eq("CCI"), eq("BTC"), eq("1h"), isNull(), eq(BigDecimal.class), any(Supplier.class)))
+                .thenAnswer(invocation -> {
+                    loadingThread[0] = Thread.currentThread();
+                    return new BigDecimal("-120.5");
+                });
+
+        ResponseEntity<BigDecimal> response = analyticsController.getCci("BTC", "1h", null).block();
+
+        assertThat(response.getBody()).isEqualByComparingTo("-120.5");
+        assertThat(loadingThread[0]).isNotSameAs(requestThread);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedCalculationShouldRespondWithServerError() {
+        when(candleSeriesStore.isLoaded("BTC", "1h")).thenReturn(false);
+        when(streamingIndicatorService.findValue("BTC", "1h", IncrementalIndicatorType.SMA, 30)).thenReturn(Optional.empty());
+        when(indicatorCacheService.getOrCompute(eq("SMA"), eq("BTC"), eq("1h"), eq(30), eq(BigDecimal.class), any(Supplier.class)))
+                .thenThrow(new IllegalStateException("Redis is down"));
+
+        ResponseEntity<BigDecimal> response = analyticsController.getSimpleMovingAverage("BTC", "1h", 30, null).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unsyncedIntervalShouldRespondWithBadRequest() throws Exception {
+        when(candleSeriesStore.isLoaded("BTC", "7m")).thenReturn(false);
+        when(indicatorCacheService.getOrCompute(eq("CCI"), eq("BTC"), eq("7m"), isNull(), eq(BigDecimal.class), any(Supplier.class)))
+                .thenThrow(new UnsupportedKlineIntervalException("Interval 7m is not synced"));
+
+        MvcResult result = mockMvc.perform(get("/api/analytics/cci/BTC/7m"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Interval 7m is not synced"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unknownSymbolShouldRespondWithNotFound() throws Exception {
+        when(candleSeriesStore.isLoaded("XYZ", "1h")).thenReturn(false);
+        when(indicatorCacheService.getOrCompute(eq("CCI"), eq("XYZ"), eq("1h"), isNull(), eq(BigDecimal.class), any(Supplier.class)))
+                .thenThrow(new CurrencyNotFoundException("Currency not found: XYZ"));
+
+        MvcResult result = mockMvc.perform(get("/api/analytics/cci/XYZ/1h"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void periodsOutsideTheCandleSeriesShouldBeRejected() {
+        assertThatThrownBy(() -> analyticsController.getSimpleMovingAverage("BTC", "1h", 0, null))
+                .isInstanceOf(InvalidIndicatorPeriodsException.class);
+        assertThatThrownBy(() -> analyticsController.getRsi("BTC", "1h", -3, null))
+                .isInstanceOf(InvalidIndicatorPeriodsException.class);
+        assertThatThrownBy(() -> analyticsController.getAllIndicators("BTC", "1h", 1001, null))
+                .isInstanceOf(InvalidIndicatorPeriodsException.class);
+        verify(streamingIndicatorService, never()).findValue(any(), any(), any(), anyInt());
+    }
+}
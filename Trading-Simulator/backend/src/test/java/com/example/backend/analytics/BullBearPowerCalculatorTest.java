@@ -47,6 +47,22 @@ public class BullBearPowerCalculatorTest {
         }
     }
 
+    @ParameterizedTest(name = "double engine: {0}")
+    @MethodSource("bullBearPowerTestCases")
+    void testCalculateBullBearPowerWithDoubleEngine(String testName, List<HistoricalKline> klines, BigDecimal expected, boolean expectException) {
+        IndicatorCalculator<BigDecimal> calculator = DoubleIndicatorCalculator.bullBearPower();
+
+        if (expectException) {
+            assertThrows(NotEnoughDataForCalculationException.class, () -> calculator.calculate(klines),
+                    "Should throw NotEnoughDataForCalculationException for: " + testName);
+        } else {
+            BigDecimal actualBP = calculator.calculate(klines);
+
+            assertTrue(IndicatorEngine.isWithinTolerance(expected, actualBP),
+                    "Bull/Bear Power does not match the expected value for: " + testName);
+        }
+    }
+
     static Stream<Arguments> bullBearPowerTestCases() {
         return Stream.of(
                 Arguments.of(
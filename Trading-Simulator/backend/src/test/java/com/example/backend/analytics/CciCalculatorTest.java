@@ -38,6 +38,28 @@ public class CciCalculatorTest {
         }
     }
 
+    @ParameterizedTest(name = "double engine: {0}")
+    @MethodSource("cciTestCases")
+    void testCciCalculatorWithDoubleEngine(String testName,
+                                           List<HistoricalKline> klines,
+                                           BigDecimal expectedValue,
+                                           boolean expectException) {
+        IndicatorCalculator<BigDecimal> calculator = DoubleIndicatorCalculator.cci();
+
+        if (expectException) {
+            Assertions.assertThrows(
+                    NotEnoughDataForCalculationException.class,
+                    () -> calculator.calculate(klines),
+                    "Expected NotEnoughDataForCalculationException for: " + testName
+            );
+        } else {
+            Assertions.assertTrue(
+                    IndicatorEngine.isWithinTolerance(expectedValue, calculator.calculate(klines)),
+                    "Cci result mismatch for test: " + testName
+            );
+        }
+    }
+
     static Stream<Arguments> cciTestCases() {
         return Stream.of(
         Arguments.of(
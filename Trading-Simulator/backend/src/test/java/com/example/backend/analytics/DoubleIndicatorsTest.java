@@ -0,0 +1,77 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.HistoricalKline;
+import com.example.backend.currency.TestKlines;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+class DoubleIndicatorsTest {
+
+    private static List<HistoricalKline> klines;
+
+    @BeforeAll
+    static void setUp() {
+        klines = TestKlines.randomWalk(500, 27_000.0, new Random(42));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("calculatorPairs")
+    void enginesShouldAgreeWithinTolerance(String indicator, IndicatorCalculator<BigDecimal> decimalCalculator,
+                                           IndicatorCalculator<BigDecimal> doubleCalculator) {
+        BigDecimal decimal = decimalCalculator.calculate(klines);
+        BigDecimal fast = doubleCalculator.calculate(klines);
+
+        Assertions.assertTrue(IndicatorEngine.isWithinTolerance(decimal, fast),
+                indicator + " engines disagree: " + decimal + " vs " + fast);
+    }
+
+    @Test
+    void macdEnginesShouldAgreeWithinTolerance() {
+        MacdResult decimal = new MacdCalculator().calculate(klines);
+        MacdResult fast = DoubleIndicatorCalculator.macd().calculate(klines);
+
+        Assertions.assertTrue(IndicatorEngine.isWithinTolerance(decimal.getMacd(), fast.getMacd()),
+                "MACD engines disagree: " + decimal.getMacd() + " vs " + fast.getMacd());
+        Assertions.assertTrue(IndicatorEngine.isWithinTolerance(decimal.getSignalLine(), fast.getSignalLine()),
+                "Signal line engines disagree: " + decimal.getSignalLine() + " vs " + fast.getSignalLine());
+    }
+
+    @Test
+    void emaSeriesEnginesShouldAgreeWithinTolerance() {
+        List<BigDecimal> decimal = new EmaCalculator(14).calculate(klines);
+        List<BigDecimal> fast = DoubleIndicatorCalculator.ema(14).calculate(klines);
+
+        Assertions.assertEquals(decimal.size(), fast.size());
+        for (int i = 0; i < decimal.size(); i++) {
+            Assertions.assertTrue(IndicatorEngine.isWithinTolerance(decimal.get(i), fast.get(i)),
+                    "EMA engines disagree at index " + i);
+        }
+    }
+
+    static Stream<Arguments> calculatorPairs() {
+        TrueRangeCalculator trueRangeCalculator = new TrueRangeCalculator();
+        WilderSmoothingCalculator wilderSmoothingCalculator = new WilderSmoothingCalculator();
+        AdxCalculator adxCalculator = new AdxCalculator(trueRangeCalculator, new PositiveDMCalculator(),
+                new NegativeDMCalculator(), wilderSmoothingCalculator, new DirectionalIndicatorCalculator(), new DXCalculator());
+
+        return Stream.of(
+                Arguments.of("SMA", new SmaCalculator(30), DoubleIndicatorCalculator.sma(30)),
+                Arguments.of("RSI", new RsiCalculator(14), DoubleIndicatorCalculator.rsi(14)),
+                Arguments.of("Volatility", new VolatilityCalculator(14), DoubleIndicatorCalculator.volatility(14)),
+                Arguments.of("ADX", adxCalculator, DoubleIndicatorCalculator.adx()),
+                Arguments.of("ATR", new AtrCalculator(trueRangeCalculator, wilderSmoothingCalculator), DoubleIndicatorCalculator.atr()),
+                Arguments.of("Bull/Bear Power", new BullBearPowerCalculator(new EmaCalculatorFactory()), DoubleIndicatorCalculator.bullBearPower()),
+                Arguments.of("Williams %R", new WilliamsRCalculator(), DoubleIndicatorCalculator.williamsR()),
+                Arguments.of("CCI", new CciCalculator(), DoubleIndicatorCalculator.cci())
+        );
+    }
+}
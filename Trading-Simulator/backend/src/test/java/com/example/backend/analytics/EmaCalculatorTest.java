@@ -52,6 +52,26 @@ class EmaCalculatorTest {
         }
     }
 
+    @ParameterizedTest(name = "double engine: {0}")
+    @MethodSource("emaTestCases")
+    void testEmaCalculationWithDoubleEngine(String testName, List<HistoricalKline> klines, int periods, List<BigDecimal> expectedEma, boolean expectException) {
+        IndicatorCalculator<List<BigDecimal>> calculator = DoubleIndicatorCalculator.ema(periods);
+
+        if (expectException) {
+            Assertions.assertThrows(NotEnoughDataForCalculationException.class, () -> calculator.calculate(klines),
+                    "Expected NotEnoughDataForCalculationException for: " + testName);
+        } else {
+            List<BigDecimal> resultEma = calculator.calculate(klines);
+
+            Assertions.assertEquals(expectedEma.size(), resultEma.size(),
+                    "EMA series size did not match the expected size for: " + testName);
+            for (int i = 0; i < expectedEma.size(); i++) {
+                Assertions.assertTrue(IndicatorEngine.isWithinTolerance(expectedEma.get(i), resultEma.get(i)),
+                        "EMA value at index " + i + " did not match the expected value for: " + testName);
+            }
+        }
+    }
+
     static Stream<Arguments> emaTestCases() {
         return Stream.of(
                 Arguments.of(
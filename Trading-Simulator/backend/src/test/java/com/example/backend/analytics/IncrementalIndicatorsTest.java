@@ -0,0 +1,116 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSnapshot;
+import com.example.backend.currency.HistoricalKline;
+import com.example.backend.currency.TestKlines;
+import com.example.backend.exceptions.NotEnoughDataForCalculationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+class IncrementalIndicatorsTest {
+
+    private static final int CANDLES = 300;
+
+    private static CandleSnapshot candles;
+
+    @BeforeAll
+    static void setUp() {
+        candles = CandleSnapshot.of(TestKlines.randomWalk(CANDLES, 27_000.0, new Random(42)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("indicators")
+    void advanceAndPeekShouldMatchBatchCalculation(String name, Supplier<IncrementalIndicator> factory,
+                                                    ToDoubleFunction<CandleSnapshot> batch) {
+        IncrementalIndicator indicator = factory.get();
+
+        for (int i = 0; i < CANDLES; i++) {
+            double expected = batchOrNaN(batch, prefix(i + 1));
+
+            double peeked = indicator.peek(candles.high(i), candles.low(i), candles.close(i));
+            assertClose(expected, peeked, name + " peek at candle " + i);
+
+            double advanced = indicator.advance(candles.high(i), candles.low(i), candles.close(i));
+            assertClose(expected, advanced, name + " advance at candle " + i);
+            Assertions.assertEquals(advanced, indicator.value(), 0.0);
+        }
+    }
+
+    @Test
+    void peekShouldNotChangeState() {
+        IncrementalIndicator peeked = new IncrementalAdx();
+        IncrementalIndicator plain = new IncrementalAdx();
+        for (int i = 0; i < 100; i++) {
+            peeked.peek(candles.high(i) * 2, candles.low(i) / 2, candles.close(i));
+            peeked.advance(candles.high(i), candles.low(i), candles.close(i));
+            plain.advance(candles.high(i), candles.low(i), candles.close(i));
+        }
+
+        Assertions.assertEquals(plain.value(), peeked.value(), 0.0);
+    }
+
+    @Test
+    void macdSignalShouldMatchBatchCalculation() {
+        IncrementalMacd macd = new IncrementalMacd();
+        for (int i = 0; i < CANDLES; i++) {
+            macd.advance(candles.high(i), candles.low(i), candles.close(i));
+        }
+
+        double[] expected = DoubleIndicators.macd(candles);
+        Assertions.assertEquals(expected[0], macd.value(), 1e-8);
+        Assertions.assertEquals(expected[1], macd.signal(), 1e-8);
+    }
+
+    static Stream<Arguments> indicators() {
+        return Stream.of(
+                Arguments.of("SMA", (Supplier<IncrementalIndicator>) () -> new IncrementalSma(30),
+                        (ToDoubleFunction<CandleSnapshot>) c -> DoubleIndicators.sma(c, 30)),
+                Arguments.of("EMA", (Supplier<IncrementalIndicator>) () -> new IncrementalEma(14),
+                        (ToDoubleFunction<CandleSnapshot>) c -> DoubleIndicators.lastEma(c, 14)),
+                Arguments.of("RSI", (Supplier<IncrementalIndicator>) () -> new IncrementalRsi(14),
+                        (ToDoubleFunction<CandleSnapshot>) c -> DoubleIndicators.rsi(c, 14)),
+                Arguments.of("MACD", (Supplier<IncrementalIndicator>) IncrementalMacd::new,
+                        (ToDoubleFunction<CandleSnapshot>) c -> DoubleIndicators.macd(c)[0]),
+                Arguments.of("ADX", (Supplier<IncrementalIndicator>) IncrementalAdx::new,
+                        (ToDoubleFunction<CandleSnapshot>) DoubleIndicators::adx),
+                Arguments.of("ATR", (Supplier<IncrementalIndicator>) IncrementalAtr::new,
+                        (ToDoubleFunction<CandleSnapshot>) DoubleIndicators::atr),
+                Arguments.of("Bull/Bear Power", (Supplier<IncrementalIndicator>) IncrementalBullBearPower::new,
+                        (ToDoubleFunction<CandleSnapshot>) DoubleIndicators::bullBearPower),
+                Arguments.of("Williams %R", (Supplier<IncrementalIndicator>) IncrementalWilliamsR::new,
+                        (ToDoubleFunction<CandleSnapshot>) DoubleIndicators::williamsR)
+        );
+    }
+
+    private static double batchOrNaN(ToDoubleFunction<CandleSnapshot> batch, CandleSnapshot snapshot) {
+        try {
+            return batch.applyAsDouble(snapshot);
+        } catch (NotEnoughDataForCalculationException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static void assertClose(double expected, double actual, String message) {
+        if (Double.isNaN(expected)) {
+            Assertions.assertTrue(Double.isNaN(actual), message + ": expected no value but was " + actual);
+            return;
+        }
+        double allowed = Math.max(Math.abs(expected) * IndicatorEngine.RELATIVE_TOLERANCE, 1e-8);
+        Assertions.assertEquals(expected, actual, allowed, message);
+    }
+
+    private static CandleSnapshot prefix(int size) {
+        List<HistoricalKline> klines = candles.toKlines();
+        return CandleSnapshot.of(klines.subList(0, size));
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSeriesStore;
+import com.example.backend.currency.Currency;
+import com.example.backend.currency.HistoricalKline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IndicatorCacheServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Mock
+    private CandleSeriesStore candleSeriesStore;
+
+    private IndicatorCacheService indicatorCacheService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenAnswer(invocation -> {
+                    ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+                    return List.of();
+                });
+        when(candleSeriesStore.resolveCurrencyId("BTC")).thenReturn(1);
+        when(candleSeriesStore.lastOpenTime(1, "1h")).thenReturn(3_600_000L);
+
+        indicatorCacheService = new IndicatorCacheService(redisTemplate, candleSeriesStore, 60, 100, 600, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indicatorCacheService.shutdown();
+    }
+
+    @Test
+    void savedValueShouldBeServedLocallyWithoutRedisRead() {
+        indicatorCacheService.saveSma("BTC", "1h", 30, new BigDecimal("40.00"));
+
+        assertThat(indicatorCacheService.getSma("BTC", "1h", 30)).isEqualByComparingTo("40.00");
+        verify(stringCommands).set(eq(key("SMA:BTC:1h:30@3600000")), any(), any(), any());
+        verify(stringCommands, never()).get(any());
+    }
+
+    @Test
+    void localMissShouldReadBinaryValueFromRedis() {
+        when(stringCommands.get(key("ADX:BTC:1h@3600000"))).thenReturn(IndicatorValueCodec.encode(new BigDecimal("25.5")));
+
+        assertThat(indicatorCacheService.getAdx("BTC", "1h")).isEqualByComparingTo("25.5");
+        assertThat(indicatorCacheService.getAdx("BTC", "1h")).isEqualByComparingTo("25.5");
+        verify(stringCommands, times(1)).get(any());
+    }
+
+    @Test
+    void newCandleShouldInvalidateCachedValues() {
+        indicatorCacheService.saveRsi("BTC", "1h", 14, new BigDecimal("55"));
+
+        Currency currency = new Currency();
+        currency.setSymbol("BTC");
+        indicatorCacheService.onKlines(currency, "1h", List.of(HistoricalKline.builder().openTime(7_200_000L).build()));
+
+        assertThat(indicatorCacheService.getRsi("BTC", "1h", 14)).isNull();
+        verify(stringCommands).get(key("RSI:BTC:1h:14@7200000"));
+    }
+
+    @Test
+    void getAllShouldReadLocalMissesWithOneMget() {
+        indicatorCacheService.saveAll(indicatorCacheService.batch("BTC", "1h")
+                .sma(14, BigDecimal.ONE)
+                .macd(new MacdResult(BigDecimal.ONE, BigDecimal.TEN)));
+        when(stringCommands.mGet(any(byte[][].class))).thenAnswer(invocation -> {
+            byte[][] requested = (byte[][]) invocation.getRawArguments()[0];
+            return Arrays.stream(requested)
+                    .map(requestedKey -> Arrays.equals(requestedKey, key("CCI:BTC:1h@3600000"))
+                            ? IndicatorValueCodec.encode(new BigDecimal("-120.5"))
+                            : null)
+                    .toList();
+        });
+
+        IndicatorCacheService.CachedIndicators cached = indicatorCacheService.getAll("BTC", "1h", 14);
+
+        assertThat(cached.getSma()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(cached.getMacd().getSignalLine()).isEqualByComparingTo(BigDecimal.TEN);
+        assertThat(cached.getCci()).isEqualByComparingTo("-120.5");
+        assertThat(cached.getAtr()).isNull();
+        verify(stringCommands, times(1)).mGet(any(byte[][].class));
+    }
+
+    @Test
+    void concurrentMissesShouldShareOneCalculation() throws Exception {
+        AtomicInteger calculations = new AtomicInteger();
+        CountDownLatch calculating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<BigDecimal>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> indicatorCacheService.getOrCompute("SMA", "BTC", "1h", 30, BigDecimal.class, () -> {
+                    calculations.incrementAndGet();
+                    calculating.countDown();
+                    await(release);
+                    return new BigDecimal("42");
+                })));
+            }
+            assertThat(calculating.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<BigDecimal> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualByComparingTo("42");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(calculations.get()).isEqualTo(1);
+        verify(stringCommands, times(1)).set(eq(key("SMA:BTC:1h:30@3600000")), any(), any(), any());
+    }
+
+    @Test
+    void expiredValueShouldBeServedWhileRecalculatedInBackground() throws Exception {
+        indicatorCacheService.saveRsi("BTC", "1h", 14, new BigDecimal("55"));
+        Currency currency = new Currency();
+        currency.setSymbol("BTC");
+        indicatorCacheService.onKlines(currency, "1h", List.of(HistoricalKline.builder().openTime(7_200_000L).build()));
+        CountDownLatch recalculated = new CountDownLatch(1);
+
+        BigDecimal served = indicatorCacheService.getOrCompute("RSI", "BTC", "1h", 14, BigDecimal.class, () -> {
+            recalculated.countDown();
+            return new BigDecimal("60");
+        });
+
+        assertThat(served).isEqualByComparingTo("55");
+        assertThat(recalculated.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(stringCommands, timeout(5000)).set(eq(key("RSI:BTC:1h:14@7200000")), any(), any(), any());
+        assertThat(indicatorCacheService.getRsi("BTC", "1h", 14)).isEqualByComparingTo("60");
+    }
+
+    @Test
+    void missWithoutPreviousValueShouldPropagateCalculationFailure() {
+        assertThatThrownBy(() ->
+                        indicatorCacheService.getOrCompute("ATR", "BTC", "1h", null, BigDecimal.class, () -> {
+                            throw new IllegalStateException("no candles");
+                        }))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] key(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
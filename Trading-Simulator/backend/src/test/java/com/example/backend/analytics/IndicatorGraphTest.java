@@ -0,0 +1,90 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSnapshot;
+import com.example.backend.currency.HistoricalKline;
+import com.example.backend.currency.TestKlines;
+import com.example.backend.exceptions.NotEnoughDataForCalculationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IndicatorGraphTest {
+
+    private IndicatorCalculatorFactory calculators;
+    private List<HistoricalKline> klines;
+    private CandleSnapshot candles;
+
+    @BeforeEach
+    void setUp() {
+        TrueRangeCalculator trueRangeCalculator = new TrueRangeCalculator();
+        PositiveDMCalculator positiveDMCalculator = new PositiveDMCalculator();
+        NegativeDMCalculator negativeDMCalculator = new NegativeDMCalculator();
+        WilderSmoothingCalculator wilderSmoothingCalculator = new WilderSmoothingCalculator();
+        DirectionalIndicatorCalculator directionalIndicatorCalculator = new DirectionalIndicatorCalculator();
+        DXCalculator dxCalculator = new DXCalculator();
+        EmaCalculatorFactory emaCalculatorFactory = new EmaCalculatorFactory();
+        calculators = new IndicatorCalculatorFactory(
+                new AdxCalculator(trueRangeCalculator, positiveDMCalculator, negativeDMCalculator,
+                        wilderSmoothingCalculator, directionalIndicatorCalculator, dxCalculator),
+                new BullBearPowerCalculator(emaCalculatorFactory),
+                new AtrCalculator(trueRangeCalculator, wilderSmoothingCalculator),
+                emaCalculatorFactory, trueRangeCalculator, positiveDMCalculator, negativeDMCalculator,
+                wilderSmoothingCalculator, directionalIndicatorCalculator, dxCalculator, "decimal");
+
+        klines = TestKlines.randomWalk(120, 100, new Random(7));
+        candles = CandleSnapshot.of(klines);
+    }
+
+    @ParameterizedTest
+    @EnumSource(IndicatorEngine.class)
+    void graphShouldMatchSeparateCalculators(IndicatorEngine engine) {
+        IndicatorGraph graph = new IndicatorGraph(() -> candles, engine, calculators);
+
+        Assertions.assertEquals(calculators.sma(14, engine).calculate(candles), graph.sma(14));
+        List<BigDecimal> emaSeries = calculators.ema(14, engine).calculate(candles);
+        Assertions.assertEquals(emaSeries.get(emaSeries.size() - 1), graph.ema(14));
+        Assertions.assertEquals(calculators.rsi(14, engine).calculate(candles), graph.rsi(14));
+        Assertions.assertEquals(calculators.volatility(14, engine).calculate(candles), graph.volatility(14));
+        Assertions.assertEquals(calculators.macd(engine).calculate(candles), graph.macd());
+        Assertions.assertEquals(calculators.adx(engine).calculate(candles), graph.adx());
+        Assertions.assertEquals(calculators.atr(engine).calculate(candles), graph.atr());
+        Assertions.assertEquals(calculators.bullBearPower(engine).calculate(candles), graph.bullBearPower());
+        Assertions.assertEquals(calculators.williamsR(engine).calculate(candles), graph.williamsR());
+        Assertions.assertEquals(calculators.cci(engine).calculate(candles), graph.cci());
+    }
+
+    @Test
+    void graphShouldReadCandlesOnceAndOnlyWhenUsed() {
+        AtomicInteger reads = new AtomicInteger();
+        IndicatorGraph graph = new IndicatorGraph(() -> {
+            reads.incrementAndGet();
+            return candles;
+        }, IndicatorEngine.DECIMAL, calculators);
+
+        Assertions.assertEquals(0, reads.get());
+
+        graph.adx();
+        graph.atr();
+        graph.macd();
+        graph.ema(12);
+        graph.sma(30);
+
+        Assertions.assertEquals(1, reads.get());
+    }
+
+    @Test
+    void graphShouldReportMissingData() {
+        CandleSnapshot few = CandleSnapshot.of(klines.subList(0, 20));
+        IndicatorGraph graph = new IndicatorGraph(() -> few, IndicatorEngine.DECIMAL, calculators);
+
+        Assertions.assertNotNull(graph.atr());
+        Assertions.assertThrows(NotEnoughDataForCalculationException.class, graph::adx);
+    }
+}
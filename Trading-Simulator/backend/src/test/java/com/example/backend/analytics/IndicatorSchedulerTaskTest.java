@@ -0,0 +1,85 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSeriesStore;
+import com.example.backend.exceptions.NotEnoughDataForCalculationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndicatorSchedulerTaskTest {
+
+    private AnalyticsService analyticsService;
+    private IndicatorCacheService indicatorCacheService;
+    private SimpleMeterRegistry meterRegistry;
+    private IndicatorScheduler indicatorScheduler;
+    private IndicatorGraph graph;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        analyticsService = mock(AnalyticsService.class);
+        indicatorCacheService = spy(new IndicatorCacheService(mock(RedisTemplate.class), mock(CandleSeriesStore.class), 60, 100, 600, 1));
+        meterRegistry = new SimpleMeterRegistry();
+        indicatorScheduler = new IndicatorScheduler(analyticsService, indicatorCacheService,
+                mock(IndicatorCalculatorFactory.class), meterRegistry, 1, 1);
+
+        graph = mock(IndicatorGraph.class);
+        when(analyticsService.graph("BTC", "1h", IndicatorEngine.DOUBLE)).thenReturn(graph);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indicatorScheduler.shutdown();
+    }
+
+    @Test
+    void updateIndicators_ShouldWriteAllIndicatorsInOneBatch() {
+        when(graph.sma(30)).thenReturn(BigDecimal.ONE);
+        when(graph.ema(14)).thenReturn(BigDecimal.TEN);
+        when(graph.macd()).thenReturn(new MacdResult(BigDecimal.ONE, BigDecimal.ZERO));
+
+        indicatorScheduler.updateIndicators("BTC", "1h", IndicatorEngine.DOUBLE);
+
+        verify(indicatorCacheService).saveAll(argThat(batch ->
+                batch.contains("SMA", 30) && batch.contains("EMA", 14) && batch.contains("MACD", null)));
+        assertThat(meterRegistry.get("analytics.indicators.task").tag("interval", "1h").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("analytics.indicators.task.failures").counter().count()).isZero();
+    }
+
+    @Test
+    void updateIndicators_ShouldSaveOtherIndicators_WhenOneCannotBeComputed() {
+        when(graph.sma(30)).thenThrow(new NotEnoughDataForCalculationException("Not enough data for SMA calculation"));
+        when(graph.ema(14)).thenReturn(BigDecimal.TEN);
+
+        indicatorScheduler.updateIndicators("BTC", "1h", IndicatorEngine.DOUBLE);
+
+        verify(indicatorCacheService).saveAll(argThat(batch -> !batch.contains("SMA", 30) && batch.contains("EMA", 14)));
+        assertThat(meterRegistry.get("analytics.indicators.failures").tag("indicator", "SMA").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("analytics.indicators.task.failures").counter().count()).isZero();
+    }
+
+    @Test
+    void updateIndicators_ShouldCountFailedTasks() {
+        when(analyticsService.graph("BTC", "1h", IndicatorEngine.DOUBLE))
+                .thenThrow(new NotEnoughDataForCalculationException("No candles"));
+
+        indicatorScheduler.updateIndicators("BTC", "1h", IndicatorEngine.DOUBLE);
+
+        verify(indicatorCacheService, never()).saveAll(any());
+        assertThat(meterRegistry.get("analytics.indicators.task.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("analytics.indicators.task").tag("interval", "1h").timer().count()).isEqualTo(1);
+    }
+}
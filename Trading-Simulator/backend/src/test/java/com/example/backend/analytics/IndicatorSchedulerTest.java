@@ -67,9 +67,9 @@ public class IndicatorSchedulerTest {
     void testSchedulerUpdatesIndicators() {
         indicatorScheduler.updateIndicators();
 
-        Mockito.verify(indicatorCacheService, Mockito.atLeastOnce()).saveSma(
-                Mockito.eq("BTC"), Mockito.eq("5m"), Mockito.anyInt(), Mockito.any(BigDecimal.class)
-        );
+        Mockito.verify(indicatorCacheService, Mockito.atLeastOnce()).saveAll(Mockito.argThat(batch ->
+                batch.getSymbol().equals("BTC") && batch.getInterval().equals("5m") && batch.contains("SMA", 30)
+        ));
     }
 }
 
@@ -0,0 +1,38 @@
+package com.example.backend.analytics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+class IndicatorValueCodecTest {
+
+    @Test
+    void decimalShouldRoundTripWithScale() {
+        BigDecimal value = new BigDecimal("-27123.4567890123");
+
+        byte[] encoded = IndicatorValueCodec.encode(value);
+
+        Assertions.assertEquals(13, encoded.length);
+        Assertions.assertEquals(value, IndicatorValueCodec.decode(encoded));
+    }
+
+    @Test
+    void largeDecimalShouldRoundTrip() {
+        BigDecimal value = new BigDecimal("123456789012345678901234567890.12345678901234567890");
+
+        Assertions.assertEquals(value, IndicatorValueCodec.decode(IndicatorValueCodec.encode(value)));
+    }
+
+    @Test
+    void macdShouldRoundTrip() {
+        MacdResult value = new MacdResult(new BigDecimal("12.34567891"), new BigDecimal("-0.00000001"));
+
+        Assertions.assertEquals(value, IndicatorValueCodec.decode(IndicatorValueCodec.encode(value)));
+    }
+
+    @Test
+    void unsupportedValueShouldBeRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> IndicatorValueCodec.encode("40.00"));
+    }
+}
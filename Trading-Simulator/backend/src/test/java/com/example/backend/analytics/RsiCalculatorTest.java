@@ -28,6 +28,35 @@ class RsiCalculatorTest {
                 "RSI calculation do not match the expected value.");
     }
 
+    @Test
+    void testRsiCalculationWithDoubleEngine() {
+        List<HistoricalKline> klines = new ArrayList<>();
+        klines.add(createKline(new BigDecimal("10")));
+        klines.add(createKline(new BigDecimal("12")));
+        klines.add(createKline(new BigDecimal("9")));
+        klines.add(createKline(new BigDecimal("13")));
+
+        BigDecimal result = DoubleIndicatorCalculator.rsi(3).calculate(klines);
+
+        Assertions.assertEquals(0, result.setScale(2, RoundingMode.HALF_UP).compareTo(new BigDecimal("67")),
+                "RSI calculation do not match the expected value.");
+    }
+
+    @Test
+    void testRsiEnginesAgreeForPricesAtDatabaseScale() {
+        List<HistoricalKline> klines = new ArrayList<>();
+        klines.add(createKline(new BigDecimal("10.0000000000")));
+        klines.add(createKline(new BigDecimal("12.0000000000")));
+        klines.add(createKline(new BigDecimal("9.0000000000")));
+        klines.add(createKline(new BigDecimal("13.0000000000")));
+
+        BigDecimal decimal = new RsiCalculator(3).calculate(klines);
+        BigDecimal fast = DoubleIndicatorCalculator.rsi(3).calculate(klines);
+
+        Assertions.assertTrue(IndicatorEngine.isWithinTolerance(decimal, fast),
+                "RSI engines disagree: " + decimal + " vs " + fast);
+    }
+
     private HistoricalKline createKline(BigDecimal closePrice) {
         HistoricalKline kline = new HistoricalKline();
         kline.setClosePrice(closePrice);
@@ -0,0 +1,59 @@
+package com.example.backend.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    void callersShouldShareRunningLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        Runnable[] pending = new Runnable[1];
+        Executor deferred = task -> pending[0] = task;
+
+        CompletableFuture<Integer> first = singleFlight.submit("SMA", loads::incrementAndGet, deferred);
+        CompletableFuture<Integer> second = singleFlight.submit("SMA", loads::incrementAndGet, deferred);
+        assertThat(second).isSameAs(first);
+        assertThat(singleFlight.isInFlight("SMA")).isTrue();
+
+        pending[0].run();
+
+        assertThat(first.join()).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.isInFlight("SMA")).isFalse();
+    }
+
+    @Test
+    void finishedLoadShouldNotBeReused() {
+        assertThat(singleFlight.execute("SMA", () -> 1)).isEqualTo(1);
+        assertThat(singleFlight.execute("SMA", () -> 2)).isEqualTo(2);
+    }
+
+    @Test
+    void failureShouldBeRethrownAndReleaseKey() {
+        assertThatThrownBy(() -> singleFlight.execute("SMA", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        assertThat(singleFlight.isInFlight("SMA")).isFalse();
+    }
+
+    @Test
+    void rejectedLoadShouldReleaseKey() {
+        CompletableFuture<Integer> future = singleFlight.submit("SMA", () -> 1, task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        assertThat(future).isCompletedExceptionally();
+        assertThat(singleFlight.isInFlight("SMA")).isFalse();
+    }
+}
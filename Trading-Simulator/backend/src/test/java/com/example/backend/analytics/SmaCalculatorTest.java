@@ -38,6 +38,20 @@ class SmaCalculatorTest {
         }
     }
 
+    @ParameterizedTest(name = "double engine: {0}")
+    @MethodSource("smaTestCases")
+    void testSmaCalculationWithDoubleEngine(String testName, List<HistoricalKline> klines, int periods, BigDecimal expected, boolean expectException) {
+        IndicatorCalculator<BigDecimal> calculator = DoubleIndicatorCalculator.sma(periods);
+
+        if (expectException) {
+            Assertions.assertThrows(NotEnoughDataForCalculationException.class, () -> calculator.calculate(klines),
+                    "Expected NotEnoughDataForCalculationException for: " + testName);
+        } else {
+            Assertions.assertTrue(IndicatorEngine.isWithinTolerance(expected, calculator.calculate(klines)),
+                    "SMA calculation did not match the expected value for: " + testName);
+        }
+    }
+
     static Stream<Arguments> smaTestCases() {
         return Stream.of(
                 Arguments.of(
@@ -0,0 +1,140 @@
+package com.example.backend.analytics;
+
+import com.example.backend.currency.CandleSeriesStore;
+import com.example.backend.currency.CandleSnapshot;
+import com.example.backend.currency.Currency;
+import com.example.backend.currency.HistoricalKline;
+import com.example.backend.currency.TestKlines;
+import com.example.backend.exceptions.CurrencyNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingIndicatorServiceTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Mock
+    private CandleSeriesStore candleSeriesStore;
+
+    private StreamingIndicatorService streamingIndicatorService;
+    private Currency currency;
+    private List<HistoricalKline> klines;
+
+    @BeforeEach
+    void setUp() {
+        streamingIndicatorService = new StreamingIndicatorService(candleSeriesStore, true, 2);
+        lenient().when(candleSeriesStore.getCapacity()).thenReturn(1000);
+        currency = new Currency();
+        currency.setCurrencyid(1);
+        currency.setSymbol("BTC");
+
+        klines = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            klines.add(kline(i, 100 + (i % 7) * 3 - i % 5));
+        }
+    }
+
+    @Test
+    void findValue_ShouldSeedFromStoredCandles() {
+        stubStore(klines.subList(0, 40));
+
+        Optional<BigDecimal> sma = streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.SMA, 30);
+
+        assertThat(sma).isPresent();
+        assertThat(sma.get().doubleValue())
+                .isCloseTo(DoubleIndicators.sma(CandleSnapshot.of(klines.subList(0, 40)), 30), within(1e-9));
+    }
+
+    @Test
+    void onKlines_ShouldAdvanceClosedCandlesAndPeekTheFormingOne() {
+        stubStore(klines.subList(0, 40));
+        streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.EMA, 14);
+
+        // The sync fetches again from the last candle it stored, which was still forming
+        streamingIndicatorService.onKlines(currency, "1m", klines.subList(39, 50));
+        List<HistoricalKline> revised = new ArrayList<>(klines.subList(49, 51));
+        revised.set(1, kline(50, 250));
+        streamingIndicatorService.onKlines(currency, "1m", revised);
+
+        List<HistoricalKline> expected = new ArrayList<>(klines.subList(0, 50));
+        expected.add(kline(50, 250));
+        Optional<BigDecimal> ema = streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.EMA, 14);
+        assertThat(ema).isPresent();
+        assertThat(ema.get().doubleValue())
+                .isCloseTo(DoubleIndicators.lastEma(CandleSnapshot.of(expected), 14), within(1e-9));
+        verify(candleSeriesStore, times(1)).snapshot(1, "1m");
+    }
+
+    @Test
+    void findValue_ShouldBeEmptyWithoutEnoughCandles() {
+        stubStore(klines.subList(0, 10));
+
+        assertThat(streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.SMA, 30)).isEmpty();
+    }
+
+    @Test
+    void findValue_ShouldEvictLeastRecentlyReadIndicatorAtTheLimit() {
+        stubStore(klines);
+
+        assertThat(streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.SMA, 30)).isPresent();
+        assertThat(streamingIndicatorService.findMacd("BTC", "1m")).isPresent();
+        assertThat(streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.SMA, 30)).isPresent();
+        assertThat(streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.ATR, 0)).isPresent();
+        verify(candleSeriesStore, times(3)).snapshot(1, "1m");
+
+        // SMA was read after MACD, so MACD was evicted and SMA is still tracked
+        assertThat(streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.SMA, 30)).isPresent();
+        verify(candleSeriesStore, times(3)).snapshot(1, "1m");
+        assertThat(streamingIndicatorService.findMacd("BTC", "1m")).isPresent();
+        verify(candleSeriesStore, times(4)).snapshot(1, "1m");
+    }
+
+    @Test
+    void findValue_ShouldNotTrackPeriodsTheSeriesCannotCover() {
+        assertThat(streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.SMA, 0)).isEmpty();
+        assertThat(streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.RSI, -5)).isEmpty();
+        assertThat(streamingIndicatorService.findValue("BTC", "1m", IncrementalIndicatorType.EMA, 1001)).isEmpty();
+        verify(candleSeriesStore, never()).snapshot(1, "1m");
+    }
+
+    @Test
+    void findValue_ShouldIgnoreUnsyncedIntervals() {
+        assertThat(streamingIndicatorService.findValue("BTC", "2m", IncrementalIndicatorType.SMA, 30)).isEmpty();
+    }
+
+    @Test
+    void findValue_ShouldBeEmptyForUnknownSymbols() {
+        when(candleSeriesStore.resolveCurrencyId("ROYAL_COIN")).thenThrow(new CurrencyNotFoundException("Currency not found: ROYAL_COIN"));
+
+        assertThat(streamingIndicatorService.findValue("ROYAL_COIN", "1h", IncrementalIndicatorType.SMA, 3)).isEmpty();
+    }
+
+    private void stubStore(List<HistoricalKline> stored) {
+        when(candleSeriesStore.resolveCurrencyId("BTC")).thenReturn(1);
+        when(candleSeriesStore.snapshot(1, "1m")).thenReturn(CandleSnapshot.of(stored));
+    }
+
+    private HistoricalKline kline(int index, double close) {
+        HistoricalKline kline = TestKlines.kline(currency, "1m", index * MINUTE, BigDecimal.valueOf(close));
+        kline.setHighPrice(kline.getClosePrice().add(BigDecimal.ONE));
+        kline.setLowPrice(kline.getClosePrice().subtract(BigDecimal.ONE));
+        return kline;
+    }
+}
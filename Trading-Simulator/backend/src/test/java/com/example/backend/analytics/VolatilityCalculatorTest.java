@@ -47,6 +47,23 @@ class VolatilityCalculatorTest {
                 "Volatility calculation match the expected approximate value.");
     }
 
+    @Test
+    void testVolatilityCalculationWithDoubleEngine() {
+        List<HistoricalKline> klines = new ArrayList<>();
+        klines.add(createKline(new BigDecimal("10")));
+        klines.add(createKline(new BigDecimal("20")));
+        klines.add(createKline(new BigDecimal("30")));
+
+        BigDecimal decimal = new VolatilityCalculator(3).calculate(klines);
+        BigDecimal fast = DoubleIndicatorCalculator.volatility(3).calculate(klines);
+
+        Assertions.assertTrue(IndicatorEngine.isWithinTolerance(decimal, fast),
+                "Volatility engines disagree: " + decimal + " vs " + fast);
+        Assertions.assertEquals(0, DoubleIndicatorCalculator.volatility(2).calculate(klines.subList(0, 2))
+                        .compareTo(new BigDecimal("5.0")),
+                "Volatility of 10 and 20 should be 5.");
+    }
+
     private HistoricalKline createKline(BigDecimal closePrice) {
         HistoricalKline kline = new HistoricalKline();
         kline.setClosePrice(closePrice);
@@ -33,6 +33,24 @@ public class WilliamsRCalculatorTest {
         }
     }
 
+    @ParameterizedTest(name = "double engine: {0}")
+    @MethodSource("williamsRTestCases")
+    void testWilliamsRCalculatorWithDoubleEngine(String testName,
+                                                 List<HistoricalKline> klines,
+                                                 BigDecimal expectedValue,
+                                                 boolean expectException) {
+        IndicatorCalculator<BigDecimal> calculator = DoubleIndicatorCalculator.williamsR();
+
+        if (expectException) {
+            Assertions.assertThrows(NotEnoughDataForCalculationException.class,
+                    () -> calculator.calculate(klines),
+                    "Expected NotEnoughDataForCalculationException for: " + testName);
+        } else {
+            Assertions.assertTrue(IndicatorEngine.isWithinTolerance(expectedValue, calculator.calculate(klines)),
+                    "Williams %R result mismatch in: " + testName);
+        }
+    }
+
     static Stream<Arguments> williamsRTestCases() {
         return Stream.of(
                 Arguments.of(
@@ -0,0 +1,68 @@
+package com.example.backend.currency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinanceWebSocketPriceFeedTest {
+
+    private static final String BTC_TICK = "{\"stream\":\"btcusdt@miniTicker\",\"data\":{\"e\":\"24hrMiniTicker\",\"E\":1700000000000,\"s\":\"BTCUSDT\",\"c\":\"37000.50000000\",\"o\":\"36000.00\",\"h\":\"37100.00\",\"l\":\"35900.00\",\"v\":\"100\",\"q\":\"3700000\"}}";
+    private static final String ETH_TICK = "{\"stream\":\"ethusdt@miniTicker\",\"data\":{\"e\":\"24hrMiniTicker\",\"E\":1700000001000,\"s\":\"ETHUSDT\",\"c\":\"2000.25000000\",\"o\":\"1990.00\",\"h\":\"2010.00\",\"l\":\"1980.00\",\"v\":\"50\",\"q\":\"100000\"}}";
+
+    private final AtomicReference<String> requestedUri = new AtomicReference<>();
+    private DisposableServer server;
+
+    @BeforeEach
+    void startStubServer() {
+        server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    requestedUri.set(request.uri());
+                    return response.sendWebsocket((in, out) ->
+                            out.sendString(Flux.just(BTC_TICK, "not json", ETH_TICK)));
+                })
+                .bindNow();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void ticks_ShouldEmitParsedTicksFromCombinedStream() {
+        BinanceWebSocketPriceFeed feed = new BinanceWebSocketPriceFeed("ws://localhost:" + server.port());
+
+        List<PriceTick> ticks = feed.ticks(List.of("BTCUSDT", "ETHUSDT"))
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(ticks).hasSize(2);
+        assertThat(ticks.get(0).getSymbol()).isEqualTo("BTC");
+        assertThat(ticks.get(0).getPrice()).isEqualByComparingTo(new BigDecimal("37000.5"));
+        assertThat(ticks.get(0).getEventTime()).isEqualTo(1700000000000L);
+        assertThat(ticks.get(1).getSymbol()).isEqualTo("ETH");
+        assertThat(ticks.get(1).getPrice()).isEqualByComparingTo(new BigDecimal("2000.25"));
+        assertThat(requestedUri.get()).isEqualTo("/stream?streams=btcusdt@miniTicker/ethusdt@miniTicker");
+    }
+
+    @Test
+    void ticks_ShouldFailWhenServerClosesStream() {
+        BinanceWebSocketPriceFeed feed = new BinanceWebSocketPriceFeed("ws://localhost:" + server.port());
+
+        assertThrows(IllegalStateException.class, () -> feed.ticks(List.of("BTCUSDT", "ETHUSDT"))
+                .blockLast(Duration.ofSeconds(10)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.backend.currency;
+
+import com.example.backend.exceptions.CurrencyNotFoundException;
+import com.example.backend.exceptions.UnsupportedKlineIntervalException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import(LivePriceBook.class)
+class CandleSeriesStoreTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private HistoricalKlineRepository historicalKlineRepository;
+
+    @Autowired
+    private LivePriceBook livePriceBook;
+
+    private CandleSeriesStore candleSeriesStore;
+    private Currency currency;
+
+    @BeforeEach
+    void setUp() {
+        candleSeriesStore = new CandleSeriesStore(jdbcTemplate, currencyRepository, livePriceBook, 3);
+        currency = new Currency();
+        currency.setSymbol("BTC");
+        currency.setName("Bitcoin");
+        currency = currencyRepository.saveAndFlush(currency);
+    }
+
+    @Test
+    void snapshot_ShouldLoadNewestCandlesFromDatabaseOnce() {
+        for (long i = 0; i < 5; i++) {
+            historicalKlineRepository.save(kline(i * HOUR, String.valueOf(100 + i)));
+        }
+        historicalKlineRepository.flush();
+
+        CandleSnapshot snapshot = candleSeriesStore.snapshot("btc", "1h");
+        historicalKlineRepository.save(kline(5 * HOUR, "105"));
+        historicalKlineRepository.flush();
+
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.openTime(0)).isEqualTo(2 * HOUR);
+        assertThat(snapshot.close(2)).isEqualTo(104.0);
+        assertThat(candleSeriesStore.snapshot("BTC", "1h").lastOpenTime()).isEqualTo(4 * HOUR);
+    }
+
+    @Test
+    void apply_ShouldUpdateLoadedSeries() {
+        historicalKlineRepository.saveAndFlush(kline(0, "100"));
+        candleSeriesStore.snapshot(currency.getCurrencyid(), "1h");
+
+        candleSeriesStore.apply(currency, "1h", List.of(kline(0, "101"), kline(HOUR, "102")));
+
+        CandleSnapshot snapshot = candleSeriesStore.snapshot(currency.getCurrencyid(), "1h");
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.close(0)).isEqualTo(101.0);
+        assertThat(snapshot.close(1)).isEqualTo(102.0);
+    }
+
+    @Test
+    void isLoaded_ShouldOnlyReportSeriesInMemory() {
+        livePriceBook.register(currency);
+
+        assertThat(candleSeriesStore.isLoaded("btc", "1h")).isFalse();
+        candleSeriesStore.snapshot(currency.getCurrencyid(), "1h");
+        assertThat(candleSeriesStore.isLoaded("btc", "1h")).isTrue();
+        assertThat(candleSeriesStore.isLoaded("btc", "4h")).isFalse();
+        assertThat(candleSeriesStore.isLoaded("NOPE", "1h")).isFalse();
+    }
+
+    @Test
+    void snapshot_ShouldThrowForUnknownSymbol() {
+        assertThrows(CurrencyNotFoundException.class, () -> candleSeriesStore.snapshot("NOPE", "1h"));
+    }
+
+    @Test
+    void snapshot_ShouldRejectUnsyncedIntervalsWithoutCachingThem() {
+        livePriceBook.register(currency);
+
+        assertThrows(UnsupportedKlineIntervalException.class, () -> candleSeriesStore.snapshot("BTC", "4h"));
+        assertThrows(UnsupportedKlineIntervalException.class,
+                () -> candleSeriesStore.lastOpenTime(currency.getCurrencyid(), "anything"));
+        assertThat(candleSeriesStore.isLoaded("BTC", "4h")).isFalse();
+        assertThat(candleSeriesStore.isLoaded("BTC", "anything")).isFalse();
+    }
+
+    private HistoricalKline kline(long openTime, String close) {
+        return TestKlines.kline(currency, "1h", openTime, new BigDecimal(close));
+    }
+}
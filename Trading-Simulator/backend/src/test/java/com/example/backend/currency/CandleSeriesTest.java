@@ -0,0 +1,87 @@
+package com.example.backend.currency;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleSeriesTest {
+
+    @Test
+    void upsert_ShouldAppendNewerAndReplaceSameOpenTime() {
+        CandleSeries series = new CandleSeries(5);
+
+        series.upsert(kline(1, "100.5"));
+        series.upsert(kline(2, "101"));
+        series.upsert(kline(2, "102.25"));
+
+        CandleSnapshot snapshot = series.snapshot();
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.close(0)).isEqualTo(100.5);
+        assertThat(snapshot.close(1)).isEqualTo(102.25);
+        assertThat(snapshot.lastOpenTime()).isEqualTo(2L);
+    }
+
+    @Test
+    void upsert_ShouldEvictOldestWhenFullAndKeepChronologicalOrder() {
+        CandleSeries series = new CandleSeries(3);
+        for (long openTime = 1; openTime <= 5; openTime++) {
+            series.upsert(kline(openTime, String.valueOf(100 + openTime)));
+        }
+        series.upsert(kline(4, "999"));
+        series.upsert(kline(1, "1"));
+
+        CandleSnapshot snapshot = series.snapshot();
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(new long[]{snapshot.openTime(0), snapshot.openTime(1), snapshot.openTime(2)}).containsExactly(3, 4, 5);
+        assertThat(snapshot.close(1)).isEqualTo(999.0);
+    }
+
+    @Test
+    void snapshot_ShouldNotChangeWhenSeriesIsUpdated() {
+        CandleSeries series = new CandleSeries(2);
+        series.upsert(kline(1, "10"));
+        CandleSnapshot snapshot = series.snapshot();
+
+        series.upsert(kline(1, "11"));
+        series.upsert(kline(2, "12"));
+
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.close(0)).isEqualTo(10.0);
+    }
+
+    @Test
+    void toKlines_ShouldUseDatabaseScale() {
+        CandleSeries series = new CandleSeries(2);
+        series.upsert(kline(1, "0.00001234"));
+
+        List<HistoricalKline> klines = series.snapshot().toKlines();
+
+        assertThat(klines).hasSize(1);
+        assertThat(klines.get(0).getClosePrice()).isEqualTo(new BigDecimal("0.0000123400"));
+        assertThat(klines.get(0).getOpenTime()).isEqualTo(1L);
+    }
+
+    @Test
+    void snapshot_ShouldBeReusedUntilSeriesChanges() {
+        CandleSeries series = new CandleSeries(2);
+        series.upsert(kline(1, "10"));
+
+        CandleSnapshot first = series.snapshot();
+        assertThat(series.snapshot()).isSameAs(first);
+        assertThat(first.toKlines()).isSameAs(first.toKlines());
+
+        series.upsert(kline(2, "11"));
+
+        CandleSnapshot second = series.snapshot();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.size()).isEqualTo(2);
+        assertThat(first.size()).isEqualTo(1);
+    }
+
+    private HistoricalKline kline(long openTime, String close) {
+        return TestKlines.kline(null, "1m", openTime, new BigDecimal(close));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.currency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(CurrentPriceWriter.class)
+class CurrentPriceWriterTest {
+
+    @Autowired
+    private CurrentPriceWriter currentPriceWriter;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Currency currency;
+
+    @BeforeEach
+    void setUp() {
+        currency = new Currency();
+        currency.setSymbol("BTC");
+        currency.setName("Bitcoin");
+        currency = currencyRepository.saveAndFlush(currency);
+    }
+
+    @Test
+    void flush_ShouldWriteLatestPricePerSymbolOnce() {
+        currentPriceWriter.enqueue(new PriceTick("BTC", new BigDecimal("100"), 1L, PriceTick.TimeSource.EXCHANGE));
+        currentPriceWriter.enqueue(new PriceTick("BTC", new BigDecimal("101"), 2L, PriceTick.TimeSource.EXCHANGE));
+
+        assertThat(currentPriceWriter.flush()).isEqualTo(1);
+        assertThat(currentPriceWriter.flush()).isZero();
+
+        entityManager.clear();
+        assertThat(currencyRepository.findBySymbol("BTC").orElseThrow().getCurrentPrice()).isEqualByComparingTo("101");
+    }
+
+    @Test
+    void savingCurrencyLoadedBeforeFlush_ShouldKeepWrittenPrice() {
+        Currency loadedBeforeFlush = currencyRepository.findBySymbol("BTC").orElseThrow();
+
+        currentPriceWriter.enqueue(new PriceTick("BTC", new BigDecimal("100"), 1L, PriceTick.TimeSource.EXCHANGE));
+        currentPriceWriter.flush();
+
+        loadedBeforeFlush.setPriceChange(new BigDecimal("5"));
+        currencyRepository.saveAndFlush(loadedBeforeFlush);
+
+        entityManager.clear();
+        Currency stored = currencyRepository.findBySymbol("BTC").orElseThrow();
+        assertThat(stored.getCurrentPrice()).isEqualByComparingTo("100");
+        assertThat(stored.getPriceChange()).isEqualByComparingTo("5");
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.backend.currency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(HistoricalKlineWriter.class)
+class HistoricalKlineWriterTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Autowired
+    private HistoricalKlineWriter historicalKlineWriter;
+
+    @Autowired
+    private HistoricalKlineRepository historicalKlineRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Currency currency;
+    private long openTime;
+
+    @BeforeEach
+    void setUp() {
+        currency = new Currency();
+        currency.setSymbol("BTC");
+        currency.setName("Bitcoin");
+        currency = currencyRepository.saveAndFlush(currency);
+        openTime = (System.currentTimeMillis() / MINUTE - 2) * MINUTE;
+    }
+
+    @Test
+    void upsert_ShouldInsertAndThenUpdateByNaturalKey() {
+        int written = historicalKlineWriter.upsert(currency, "1m", List.of(
+                kline(openTime, "100"), kline(openTime + MINUTE, "101"), kline(openTime + 2 * MINUTE, "102")));
+
+        assertThat(written).isEqualTo(3);
+        assertThat(historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(currency, "1m"))
+                .extracting(HistoricalKline::getClosePrice)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("100"), new BigDecimal("101"), new BigDecimal("102"));
+
+        written = historicalKlineWriter.upsert(currency, "1m", List.of(
+                kline(openTime, "100"), kline(openTime + MINUTE, "101"), kline(openTime + 2 * MINUTE, "103.5")));
+
+        assertThat(written).isEqualTo(1);
+        entityManager.clear();
+        List<HistoricalKline> stored = historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(currency, "1m");
+        assertThat(stored).hasSize(3);
+        assertThat(stored.get(2).getClosePrice()).isEqualByComparingTo("103.5");
+    }
+
+    @Test
+    void upsert_ShouldKeepIntervalsApart() {
+        historicalKlineWriter.upsert(currency, "1m", List.of(kline(openTime, "100")));
+        historicalKlineWriter.upsert(currency, "5m", List.of(kline(openTime, "200")));
+
+        assertThat(historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(currency, "1m")).hasSize(1);
+        assertThat(historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(currency, "5m")).hasSize(1);
+    }
+
+    private HistoricalKline kline(long openTime, String close) {
+        return TestKlines.kline(currency, "1m", openTime, new BigDecimal(close));
+    }
+}
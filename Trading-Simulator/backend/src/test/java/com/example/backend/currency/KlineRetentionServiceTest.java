@@ -0,0 +1,102 @@
+package com.example.backend.currency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(HistoricalKlineWriter.class)
+class KlineRetentionServiceTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long DAY = 24 * 60 * MINUTE;
+
+    @Autowired
+    private HistoricalKlineWriter historicalKlineWriter;
+
+    @Autowired
+    private HistoricalKlineRepository historicalKlineRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private Currency bitcoin;
+    private Currency ethereum;
+
+    @BeforeEach
+    void setUp() {
+        bitcoin = currencyRepository.saveAndFlush(currency("BTC", "Bitcoin"));
+        ethereum = currencyRepository.saveAndFlush(currency("ETH", "Ethereum"));
+    }
+
+    @Test
+    void prune_ShouldKeepNewestRowsPerCurrency() {
+        long now = System.currentTimeMillis();
+        historicalKlineWriter.upsert(bitcoin, "1m", klines(bitcoin, now - 10 * MINUTE, MINUTE, 5));
+        historicalKlineWriter.upsert(ethereum, "1m", klines(ethereum, now - 10 * MINUTE, MINUTE, 2));
+        historicalKlineWriter.upsert(bitcoin, "5m", klines(bitcoin, now - 50 * MINUTE, 5 * MINUTE, 5));
+        environment.setProperty("kline.retention.max-rows", "3");
+        environment.setProperty("kline.retention.max-rows.5m", "4");
+
+        Map<String, Integer> pruned = new KlineRetentionService(jdbcTemplate, environment).prune();
+
+        assertThat(pruned).containsEntry("1m", 2).containsEntry("5m", 1).containsEntry("1d", 0);
+        List<HistoricalKline> remaining = historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(bitcoin, "1m");
+        assertThat(remaining).extracting(HistoricalKline::getOpenTime)
+                .containsExactly(now - 8 * MINUTE, now - 7 * MINUTE, now - 6 * MINUTE);
+        assertThat(historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(ethereum, "1m")).hasSize(2);
+    }
+
+    @Test
+    void prune_ShouldDeleteRowsOlderThanMaxAge() {
+        long now = System.currentTimeMillis();
+        historicalKlineWriter.upsert(bitcoin, "1d", klines(bitcoin, now - 10 * DAY + DAY / 2, DAY, 10));
+        environment.setProperty("kline.retention.max-rows", "0");
+        environment.setProperty("kline.retention.max-age-days.1d", "7");
+
+        Map<String, Integer> pruned = new KlineRetentionService(jdbcTemplate, environment).prune();
+
+        assertThat(pruned).containsEntry("1d", 3);
+        assertThat(historicalKlineRepository.findByCurrencyAndTimeIntervalOrderByOpenTimeAsc(bitcoin, "1d")).hasSize(7);
+    }
+
+    private List<HistoricalKline> klines(Currency currency, long firstOpenTime, long step, int count) {
+        List<HistoricalKline> klines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long openTime = firstOpenTime + i * step;
+            klines.add(HistoricalKline.builder()
+                    .currency(currency)
+                    .openTime(openTime)
+                    .openPrice(BigDecimal.ONE)
+                    .highPrice(BigDecimal.ONE)
+                    .lowPrice(BigDecimal.ONE)
+                    .closePrice(BigDecimal.ONE)
+                    .volume(BigDecimal.ONE)
+                    .closeTime(openTime + step - 1)
+                    .build());
+        }
+        return klines;
+    }
+
+    private Currency currency(String symbol, String name) {
+        Currency currency = new Currency();
+        currency.setSymbol(symbol);
+        currency.setName(name);
+        return currency;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.currency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(HistoricalKlineWriter.class)
+class KlineSyncCursorTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Autowired
+    private HistoricalKlineRepository historicalKlineRepository;
+
+    @Autowired
+    private HistoricalKlineWriter historicalKlineWriter;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    private KlineSyncCursor klineSyncCursor;
+    private Currency currency;
+    private long latestOpenTime;
+
+    @BeforeEach
+    void setUp() {
+        currency = new Currency();
+        currency.setSymbol("ETH");
+        currency.setName("Ethereum");
+        currency = currencyRepository.saveAndFlush(currency);
+
+        latestOpenTime = (System.currentTimeMillis() / MINUTE - 1) * MINUTE;
+        historicalKlineWriter.upsert(currency, "1m", List.of(
+                kline(latestOpenTime - 2 * MINUTE), kline(latestOpenTime - MINUTE), kline(latestOpenTime)));
+        klineSyncCursor = new KlineSyncCursor(historicalKlineRepository);
+    }
+
+    @Test
+    void get_ShouldStartFromNewestStoredOpenTime() {
+        assertThat(klineSyncCursor.get(currency, "1m")).contains(latestOpenTime);
+        assertThat(klineSyncCursor.get(currency, "5m")).isEmpty();
+    }
+
+    @Test
+    void startTime_ShouldRequestFullWindowWhenTooManyCandlesAreMissing() {
+        assertThat(klineSyncCursor.startTime(currency, "1m", 1000)).contains(latestOpenTime);
+        assertThat(klineSyncCursor.startTime(currency, "1m", 1)).isEmpty();
+    }
+
+    @Test
+    void advance_ShouldNeverMoveBackwards() {
+        klineSyncCursor.advance(currency, "1m", latestOpenTime + MINUTE);
+        klineSyncCursor.advance(currency, "1m", latestOpenTime - MINUTE);
+
+        assertThat(klineSyncCursor.get(currency, "1m")).contains(latestOpenTime + MINUTE);
+    }
+
+    private HistoricalKline kline(long openTime) {
+        return TestKlines.kline(currency, "1m", openTime, BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.backend.currency;
+
+import com.example.backend.exceptions.PriceNotAvailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LivePriceBookTest {
+
+    private LivePriceBook livePriceBook;
+
+    @BeforeEach
+    void setUp() {
+        livePriceBook = new LivePriceBook(60_000);
+        livePriceBook.register(currency(1, "BTC", new BigDecimal("50000")));
+        livePriceBook.register(currency(2, "ETH", null));
+    }
+
+    @Test
+    void register_ShouldSeedPriceFromDatabase() {
+        assertThat(livePriceBook.findPrice(1)).contains(new BigDecimal("50000"));
+        assertThat(livePriceBook.find("ETH")).isEmpty();
+    }
+
+    @Test
+    void publish_ShouldNotifyListenersOnlyWhenPriceChanges() {
+        List<PriceSnapshot> changes = new ArrayList<>();
+        livePriceBook.addListener(changes::add);
+        long now = System.currentTimeMillis();
+
+        livePriceBook.publish(new PriceTick("BTC", new BigDecimal("50000.00"), now, PriceTick.TimeSource.EXCHANGE));
+        livePriceBook.publish(new PriceTick("BTC", new BigDecimal("50100"), now + 1, PriceTick.TimeSource.EXCHANGE));
+        livePriceBook.publish(new PriceTick("BTC", new BigDecimal("50200"), now - 1, PriceTick.TimeSource.EXCHANGE));
+
+        assertThat(changes).extracting(PriceSnapshot::getPrice).containsExactly(new BigDecimal("50100"));
+    }
+
+    @Test
+    void publish_ShouldReplaceSnapshotAndIncreaseSequence() {
+        long before = livePriceBook.find(1).orElseThrow().getSequence();
+
+        PriceSnapshot snapshot = livePriceBook.publish(new PriceTick("BTC", new BigDecimal("51000"), System.currentTimeMillis(), PriceTick.TimeSource.EXCHANGE));
+
+        assertThat(snapshot.getCurrencyId()).isEqualTo(1);
+        assertThat(snapshot.getSequence()).isGreaterThan(before);
+        assertThat(livePriceBook.find("BTC")).contains(snapshot);
+        assertThat(livePriceBook.findPrice(1)).contains(new BigDecimal("51000"));
+    }
+
+    @Test
+    void publish_ShouldIgnoreOutOfOrderAndUnknownTicks() {
+        long now = System.currentTimeMillis();
+        livePriceBook.publish(new PriceTick("BTC", new BigDecimal("51000"), now, PriceTick.TimeSource.EXCHANGE));
+
+        assertThat(livePriceBook.publish(new PriceTick("BTC", new BigDecimal("49000"), now - 1000, PriceTick.TimeSource.EXCHANGE))).isNull();
+        assertThat(livePriceBook.publish(new PriceTick("DOGE", BigDecimal.ONE, now, PriceTick.TimeSource.EXCHANGE))).isNull();
+        assertThat(livePriceBook.findPrice(1)).contains(new BigDecimal("51000"));
+    }
+
+    @Test
+    void freshPrice_ShouldRefuseStalePrice() {
+        livePriceBook.publish(new PriceTick("ETH", new BigDecimal("2000"), System.currentTimeMillis() - 120_000, PriceTick.TimeSource.EXCHANGE));
+
+        assertThat(livePriceBook.staleness("ETH").orElseThrow().toSeconds()).isGreaterThanOrEqualTo(120);
+        assertThrows(PriceNotAvailableException.class, () -> livePriceBook.freshPrice(2));
+        assertThat(livePriceBook.freshPrice(3)).isEmpty();
+    }
+
+    @Test
+    void freshPrice_ShouldRefuseSeededPriceUntilFeedConfirmsIt() {
+        assertThat(livePriceBook.isStale(livePriceBook.find(1).orElseThrow())).isTrue();
+        assertThrows(PriceNotAvailableException.class, () -> livePriceBook.freshPrice(1));
+
+        livePriceBook.publish(new PriceTick("BTC", new BigDecimal("50500"), System.currentTimeMillis() - 1000, PriceTick.TimeSource.EXCHANGE));
+
+        assertThat(livePriceBook.freshPrice(1)).contains(new BigDecimal("50500"));
+    }
+
+    @Test
+    void publish_ShouldCompareEventTimesOnlyOfTheSameClock() {
+        long now = System.currentTimeMillis();
+        livePriceBook.publish(new PriceTick("BTC", new BigDecimal("51000"), now, PriceTick.TimeSource.EXCHANGE));
+
+        // The local clock runs behind the exchange; the fallback tick arrived later and wins
+        assertThat(livePriceBook.publish(new PriceTick("BTC", new BigDecimal("51500"), now - 5000, PriceTick.TimeSource.LOCAL))).isNotNull();
+        assertThat(livePriceBook.publish(new PriceTick("BTC", new BigDecimal("51200"), now - 6000, PriceTick.TimeSource.LOCAL))).isNull();
+        assertThat(livePriceBook.findPrice(1)).contains(new BigDecimal("51500"));
+    }
+
+    private Currency currency(Integer id, String symbol, BigDecimal price) {
+        Currency currency = new Currency();
+        currency.setCurrencyid(id);
+        currency.setSymbol(symbol);
+        currency.setCurrentPrice(price);
+        return currency;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.currency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class PriceFeedManagerTest {
+
+    private final CurrentPriceWriter currentPriceWriter = mock(CurrentPriceWriter.class);
+    private PriceFeedManager manager;
+
+    @AfterEach
+    void tearDown() {
+        manager.stop();
+    }
+
+    @Test
+    void start_ShouldUseFallbackUntilPrimaryFeedRecovers() throws InterruptedException {
+        Sinks.Many<PriceTick> primaryTicks = Sinks.many().multicast().directBestEffort();
+        AtomicInteger primaryConnections = new AtomicInteger();
+
+        PriceFeed primary = feed("primary", symbols -> primaryConnections.incrementAndGet() == 1
+                ? Flux.error(new IllegalStateException("connection refused"))
+                : primaryTicks.asFlux());
+        PriceFeed fallback = feed("fallback", symbols -> Flux.interval(Duration.ofMillis(10))
+                .map(i -> new PriceTick("BTC", BigDecimal.ONE, System.currentTimeMillis(), PriceTick.TimeSource.EXCHANGE)));
+
+        LivePriceBook livePriceBook = new LivePriceBook(60_000);
+        Currency bitcoin = new Currency();
+        bitcoin.setCurrencyid(1);
+        bitcoin.setSymbol("BTC");
+        livePriceBook.register(bitcoin);
+
+        manager = new PriceFeedManager(primary, fallback, livePriceBook, currentPriceWriter, 50);
+        manager.start();
+
+        waitUntil(manager::isFallbackActive);
+        verify(currentPriceWriter, timeout(5000).atLeastOnce())
+                .enqueue(argThat(tick -> tick.getPrice().compareTo(BigDecimal.ONE) == 0));
+
+        waitUntil(() -> primaryConnections.get() == 2 && primaryTicks.currentSubscriberCount() > 0);
+        primaryTicks.tryEmitNext(new PriceTick("BTC", BigDecimal.TEN, System.currentTimeMillis(), PriceTick.TimeSource.EXCHANGE));
+
+        waitUntil(() -> !manager.isFallbackActive());
+        verify(currentPriceWriter, atLeastOnce()).enqueue(argThat(tick -> tick.getPrice().compareTo(BigDecimal.TEN) == 0));
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private PriceFeed feed(String name, Function<List<String>, Flux<PriceTick>> source) {
+        return new PriceFeed() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Flux<PriceTick> ticks(List<String> symbols) {
+                return source.apply(symbols);
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.backend.currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Candles for tests.
+ */
+public final class TestKlines {
+
+    private TestKlines() {
+    }
+
+    /**
+     * Candle of the currency and interval whose prices all equal the close, closing right before the next one opens.
+     */
+    public static HistoricalKline kline(Currency currency, String interval, long openTime, BigDecimal close) {
+        return HistoricalKline.builder()
+                .currency(currency)
+                .timeInterval(interval)
+                .openTime(openTime)
+                .openPrice(close)
+                .highPrice(close)
+                .lowPrice(close)
+                .closePrice(close)
+                .volume(BigDecimal.TEN)
+                .closeTime(openTime + KlineIntervals.toMillis(interval) - 1)
+                .build();
+    }
+
+    /**
+     * One-minute candles starting at open time 0 whose closes follow a random walk from the start price, with
+     * prices at the database scale.
+     */
+    public static List<HistoricalKline> randomWalk(int count, double start, Random random) {
+        List<HistoricalKline> result = new ArrayList<>();
+        double close = start;
+        for (int i = 0; i < count; i++) {
+            double open = close;
+            close = open * (1 + random.nextGaussian() * 0.01);
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.005);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.005);
+            result.add(HistoricalKline.builder()
+                    .openTime(i * 60_000L)
+                    .openPrice(price(open))
+                    .highPrice(price(high))
+                    .lowPrice(price(low))
+                    .closePrice(price(close))
+                    .volume(BigDecimal.TEN)
+                    .closeTime(i * 60_000L + 59_999)
+                    .build());
+        }
+        return result;
+    }
+
+    private static BigDecimal price(double value) {
+        return BigDecimal.valueOf(value).setScale(CandleSeries.PRICE_SCALE, RoundingMode.HALF_UP);
+    }
+}
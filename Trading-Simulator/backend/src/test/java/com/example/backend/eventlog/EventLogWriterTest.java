@@ -0,0 +1,152 @@
+package com.example.backend.eventlog;
+
+import com.example.backend.adminEvent.AdminEvent;
+import com.example.backend.adminEvent.AdminEventRepository;
+import com.example.backend.eventlog.QueuedEvent.EventTable;
+import com.example.backend.userEvent.UserEvent;
+import com.example.backend.userEvent.UserEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventLogWriterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserEventRepository userEventRepository;
+
+    @Autowired
+    private AdminEventRepository adminEventRepository;
+
+    @Autowired
+    private EventStatisticRepository eventStatisticRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userEventRepository.deleteAll();
+        adminEventRepository.deleteAll();
+        eventStatisticRepository.deleteAll();
+    }
+
+    @Test
+    void async_ShouldWriteQueuedEventsInBatchesAndFlushOnShutdown() {
+        EventLogWriter writer = writer(true, 10_000);
+        writer.start();
+
+        for (int i = 0; i < 1200; i++) {
+            writer.log(userEvent("user" + i + "@example.com", Map.of("order", i)));
+            if (i % 4 == 0) {
+                writer.log(adminEvent("admin@example.com"));
+            }
+        }
+        writer.shutdown();
+
+        assertThat(userEventRepository.count()).isEqualTo(1200);
+        assertThat(adminEventRepository.count()).isEqualTo(300);
+        UserEvent stored = userEventRepository.findAll().stream()
+                .filter(event -> event.getEmail().equals("user7@example.com"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(stored.getEventType()).isEqualTo(UserEvent.EventType.BUY_CRYPTO);
+        assertThat(stored.getDetails()).isEqualTo("{\"order\":7}");
+        assertThat(meterRegistry.get("events.log.dropped").counter().count()).isZero();
+        assertThat(statisticsStore().totals(EventTable.USER_EVENT)).containsExactly(Map.entry("BUY_CRYPTO", 1200L));
+        assertThat(statisticsStore().totals(EventTable.ADMIN_EVENT)).containsExactly(Map.entry("GET_ALL_USERS", 300L));
+    }
+
+    @Test
+    void async_ShouldDropAndCountEvents_WhenQueueIsFull() {
+        EventLogWriter writer = writer(true, 2);
+
+        for (int i = 0; i < 5; i++) {
+            writer.log(userEvent("user" + i + "@example.com", null));
+        }
+
+        assertThat(meterRegistry.get("events.log.overflow").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("events.log.dropped").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("events.log.queue.size").gauge().value()).isEqualTo(2);
+        assertThat(userEventRepository.count()).isZero();
+
+        writer.shutdown();
+
+        assertThat(userEventRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void sync_ShouldWriteEventBeforeReturning() {
+        EventLogWriter writer = writer(false, 10);
+        writer.start();
+
+        writer.log(adminEvent("admin@example.com"));
+
+        assertThat(adminEventRepository.findAll())
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getAdminEmail()).isEqualTo("admin@example.com");
+                    assertThat(event.getEventType()).isEqualTo(AdminEvent.EventType.GET_ALL_USERS);
+                });
+        writer.shutdown();
+    }
+
+    @Test
+    void async_ShouldWriteRestOfFailedBatch_AndCountOnlyFailedEvents() {
+        EventLogWriter writer = writer(true, 10);
+
+        writer.log(userEvent("first@example.com", null));
+        writer.log(new QueuedEvent(EventTable.USER_EVENT, "user@example.com", "x".repeat(300), LocalDateTime.now(), null));
+        writer.log(userEvent("second@example.com", null));
+        writer.shutdown();
+
+        assertThat(meterRegistry.get("events.log.write.failures").counter().count()).isEqualTo(1);
+        assertThat(userEventRepository.findAll()).extracting(UserEvent::getEmail)
+                .containsExactlyInAnyOrder("first@example.com", "second@example.com");
+        assertThat(statisticsStore().totals(EventTable.USER_EVENT))
+                .containsOnly(Map.entry(UserEvent.EventType.BUY_CRYPTO.name(), 2L));
+    }
+
+    private EventLogWriter writer(boolean async, int queueCapacity) {
+        return new EventLogWriter(jdbcTemplate, objectMapper, statisticsStore(), transactionManager, meterRegistry,
+                async, queueCapacity, 100, 0);
+    }
+
+    private EventStatisticsStore statisticsStore() {
+        return new EventStatisticsStore(jdbcTemplate, eventStatisticRepository);
+    }
+
+    private static QueuedEvent userEvent(String email, Map<String, Object> details) {
+        return new QueuedEvent(EventTable.USER_EVENT, email, UserEvent.EventType.BUY_CRYPTO.name(), LocalDateTime.now(), details);
+    }
+
+    private static QueuedEvent adminEvent(String email) {
+        return new QueuedEvent(EventTable.ADMIN_EVENT, email, AdminEvent.EventType.GET_ALL_USERS.name(), LocalDateTime.now(), null);
+    }
+}
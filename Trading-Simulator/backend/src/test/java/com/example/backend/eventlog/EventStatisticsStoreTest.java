@@ -0,0 +1,123 @@
+package com.example.backend.eventlog;
+
+import com.example.backend.adminEvent.AdminEventRepository;
+import com.example.backend.eventlog.QueuedEvent.EventTable;
+import com.example.backend.userEvent.UserEvent;
+import com.example.backend.userEvent.UserEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import(EventStatisticsStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventStatisticsStoreTest {
+
+    private static final LocalDateTime TEN_FIFTEEN = LocalDateTime.of(2024, 3, 1, 10, 15);
+    private static final LocalDateTime TEN_FORTY = LocalDateTime.of(2024, 3, 1, 10, 40);
+    private static final LocalDateTime ELEVEN_FIVE = LocalDateTime.of(2024, 3, 1, 11, 5);
+    private static final LocalDateTime NEXT_DAY = LocalDateTime.of(2024, 3, 2, 9, 0);
+
+    @Autowired
+    private EventStatisticsStore store;
+
+    @Autowired
+    private EventStatisticRepository eventStatisticRepository;
+
+    @Autowired
+    private UserEventRepository userEventRepository;
+
+    @Autowired
+    private AdminEventRepository adminEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        eventStatisticRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userEventRepository.deleteAll();
+        adminEventRepository.deleteAll();
+        eventStatisticRepository.deleteAll();
+    }
+
+    @Test
+    void add_ShouldCountEventsPerTypeHourDayAndInTotal() {
+        store.add(List.of(
+                event("LOGIN", TEN_FIFTEEN),
+                event("LOGIN", TEN_FORTY),
+                event("BUY_CRYPTO", ELEVEN_FIVE)));
+        store.add(List.of(event("LOGIN", NEXT_DAY)));
+
+        assertThat(store.totals(EventTable.USER_EVENT)).containsOnly(
+                Map.entry("LOGIN", 3L), Map.entry("BUY_CRYPTO", 1L));
+        assertThat(store.totals(EventTable.ADMIN_EVENT)).isEmpty();
+        assertThat(store.timeline(EventTable.USER_EVENT, StatisticGranularity.HOUR, TEN_FORTY, ELEVEN_FIVE))
+                .extracting(EventStatisticDTO::getEventType, EventStatisticDTO::getBucketStart, EventStatisticDTO::getCount)
+                .containsExactly(
+                        tuple("LOGIN", TEN_FIFTEEN.withMinute(0), 2L),
+                        tuple("BUY_CRYPTO", ELEVEN_FIVE.withMinute(0), 1L));
+        assertThat(store.timeline(EventTable.USER_EVENT, StatisticGranularity.DAY, TEN_FIFTEEN, NEXT_DAY))
+                .extracting(EventStatisticDTO::getEventType, EventStatisticDTO::getBucketStart, EventStatisticDTO::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple("LOGIN", TEN_FIFTEEN.toLocalDate().atStartOfDay(), 2L),
+                        tuple("BUY_CRYPTO", TEN_FIFTEEN.toLocalDate().atStartOfDay(), 1L),
+                        tuple("LOGIN", NEXT_DAY.toLocalDate().atStartOfDay(), 1L));
+    }
+
+    @Test
+    void remove_ShouldTakeEventOffItsCounters() {
+        store.add(List.of(event("LOGIN", TEN_FIFTEEN), event("LOGIN", NEXT_DAY)));
+
+        store.remove(EventTable.USER_EVENT, "LOGIN", NEXT_DAY);
+
+        assertThat(store.totals(EventTable.USER_EVENT)).containsOnly(Map.entry("LOGIN", 1L));
+        assertThat(store.timeline(EventTable.USER_EVENT, StatisticGranularity.DAY, TEN_FIFTEEN, NEXT_DAY))
+                .extracting(EventStatisticDTO::getBucketStart)
+                .containsExactly(TEN_FIFTEEN.toLocalDate().atStartOfDay());
+    }
+
+    @Test
+    void backfill_ShouldBuildCountersFromExistingEvents_OnlyOnce() {
+        insertUserEvent("LOGIN", TEN_FIFTEEN);
+        insertUserEvent("LOGIN", TEN_FORTY);
+        insertUserEvent("SELL_CRYPTO", NEXT_DAY);
+
+        store.backfill(EventTable.USER_EVENT);
+        store.backfill(EventTable.USER_EVENT);
+
+        assertThat(store.totals(EventTable.USER_EVENT)).containsOnly(
+                Map.entry("LOGIN", 2L), Map.entry("SELL_CRYPTO", 1L));
+        assertThat(store.timeline(EventTable.USER_EVENT, StatisticGranularity.HOUR, TEN_FIFTEEN, NEXT_DAY))
+                .extracting(EventStatisticDTO::getEventType, EventStatisticDTO::getBucketStart, EventStatisticDTO::getCount)
+                .containsExactly(
+                        tuple("LOGIN", TEN_FIFTEEN.withMinute(0), 2L),
+                        tuple("SELL_CRYPTO", NEXT_DAY, 1L));
+        assertThat(store.totals(EventTable.ADMIN_EVENT)).isEmpty();
+    }
+
+    private void insertUserEvent(String eventType, LocalDateTime eventTime) {
+        UserEvent event = new UserEvent();
+        event.setEmail("user@example.com");
+        event.setEventType(UserEvent.EventType.valueOf(eventType));
+        event.setEventTime(eventTime);
+        userEventRepository.save(event);
+    }
+
+    private static QueuedEvent event(String eventType, LocalDateTime eventTime) {
+        return new QueuedEvent(EventTable.USER_EVENT, "user@example.com", eventType, eventTime, null);
+    }
+}
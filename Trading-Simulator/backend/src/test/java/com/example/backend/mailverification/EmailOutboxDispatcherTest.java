@@ -0,0 +1,278 @@
+package com.example.backend.mailverification;
+
+import com.example.backend.mailVerification.EmailOutbox;
+import com.example.backend.mailVerification.EmailOutboxDispatcher;
+import com.example.backend.mailVerification.EmailOutboxRepository;
+import com.example.backend.mailVerification.EmailOutboxStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    private FakeSmtpServer smtpServer;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpServer = new FakeSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, mailSender, 100, 2, 3, 30000, 0, 60000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        dispatcher.shutdown();
+        smtpServer.close();
+    }
+
+    @Test
+    void dispatch_ShouldSendDueEmailsOverOneConnectionPerWorker() {
+        List<EmailOutbox> due = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            due.add(email(i, "user" + i + "@example.com"));
+        }
+        givenClaimable(due);
+
+        dispatcher.dispatch();
+
+        assertThat(due).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+            assertThat(email.getSentAt()).isNotNull();
+        });
+        assertThat(smtpServer.getMessages()).isEqualTo(10);
+        assertThat(smtpServer.getConnections()).isEqualTo(2);
+        ArgumentCaptor<List<EmailOutbox>> saved = ArgumentCaptor.forClass(List.class);
+        verify(emailOutboxRepository, times(2)).saveAll(saved.capture());
+        assertThat(saved.getAllValues()).flatExtracting(share -> share).containsExactlyInAnyOrderElementsOf(due);
+    }
+
+    @Test
+    void dispatch_ShouldClaimDueEmailsForTheLeaseBeforeSending() {
+        EmailOutbox email = email(1, "user@example.com");
+        givenClaimable(List.of(email));
+
+        dispatcher.dispatch();
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        InOrder inOrder = inOrder(emailOutboxRepository);
+        inOrder.verify(emailOutboxRepository).claim(eq(List.of(1L)), eq(EmailOutboxStatus.PENDING), now.capture(),
+                leaseUntil.capture(), claimToken.capture());
+        inOrder.verify(emailOutboxRepository).findByClaimTokenOrderByEmailOutboxidAsc(claimToken.getValue());
+        inOrder.verify(emailOutboxRepository).saveAll(List.of(email));
+        assertThat(leaseUntil.getValue()).isEqualTo(now.getValue().plusSeconds(60));
+    }
+
+    @Test
+    void dispatch_ShouldSendNothing_WhenEmailsWereClaimedByAnotherDispatcher() {
+        when(emailOutboxRepository.findDueIds(eq(EmailOutboxStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(emailOutboxRepository.claim(anyList(), eq(EmailOutboxStatus.PENDING), any(LocalDateTime.class),
+                any(LocalDateTime.class), anyString())).thenReturn(0);
+
+        dispatcher.dispatch();
+
+        assertThat(smtpServer.getMessages()).isZero();
+        verify(emailOutboxRepository, never()).findByClaimTokenOrderByEmailOutboxidAsc(anyString());
+        verify(emailOutboxRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void dispatch_ShouldRetryOnlyRejectedEmailsWithBackoff() {
+        EmailOutbox accepted = email(1, "user@example.com");
+        EmailOutbox rejected = email(2, "rejected@example.com");
+        givenClaimable(List.of(accepted, rejected));
+
+        dispatcher.dispatch();
+
+        assertThat(accepted.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(rejected.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(rejected.getAttempts()).isEqualTo(1);
+        assertThat(rejected.getLastError()).isNotNull();
+        assertThat(rejected.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+    }
+
+    @Test
+    void dispatch_ShouldMarkEmailFailed_WhenMaxAttemptsReached() throws IOException {
+        smtpServer.close();
+        EmailOutbox email = email(1, "user@example.com");
+        email.setAttempts(2);
+        givenClaimable(List.of(email));
+
+        dispatcher.dispatch();
+
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.FAILED);
+        assertThat(email.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void dispatch_ShouldClaimOnlyPermittedEmails_WhenRateLimited() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        EmailOutboxDispatcher rateLimited = new EmailOutboxDispatcher(emailOutboxRepository, mailSender, 100, 2, 3, 30000, 5, 60000);
+        givenClaimable(List.of(email(1, "user1@example.com"), email(2, "user2@example.com"),
+                email(3, "user3@example.com"), email(4, "user4@example.com"), email(5, "user5@example.com")));
+
+        try {
+            rateLimited.dispatch();
+        } finally {
+            rateLimited.shutdown();
+        }
+
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(emailOutboxRepository).findDueIds(
+                eq(EmailOutboxStatus.PENDING), any(LocalDateTime.class), page.capture());
+        assertThat(page.getValue().getPageSize()).isEqualTo(5);
+        assertThat(smtpServer.getMessages()).isEqualTo(5);
+    }
+
+    /**
+     * Lets the dispatcher find and claim the given emails.
+     */
+    private void givenClaimable(List<EmailOutbox> emails) {
+        List<Long> ids = emails.stream().map(EmailOutbox::getEmailOutboxid).toList();
+        when(emailOutboxRepository.findDueIds(eq(EmailOutboxStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(ids);
+        when(emailOutboxRepository.claim(eq(ids), eq(EmailOutboxStatus.PENDING), any(LocalDateTime.class),
+                any(LocalDateTime.class), anyString())).thenReturn(ids.size());
+        when(emailOutboxRepository.findByClaimTokenOrderByEmailOutboxidAsc(anyString())).thenReturn(emails);
+    }
+
+    private static EmailOutbox email(long id, String recipient) {
+        LocalDateTime now = LocalDateTime.now();
+        return EmailOutbox.builder()
+                .emailOutboxid(id)
+                .recipient(recipient)
+                .fromAddress("no-reply@royalcoin.com")
+                .fromName("Royal Coin")
+                .subject("Subject " + id)
+                .textBody("Text " + id)
+                .htmlBody("<p>Html " + id + "</p>")
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    /**
+     * Minimal SMTP server that accepts every message except those for rejected@example.com and counts connections
+     * and delivered messages.
+     */
+    private static class FakeSmtpServer {
+
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger messages = new AtomicInteger();
+
+        FakeSmtpServer() throws IOException {
+            serverSocket = new ServerSocket(0);
+            Thread acceptor = new Thread(this::accept, "FakeSmtpServer");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        int getConnections() {
+            return connections.get();
+        }
+
+        int getMessages() {
+            return messages.get();
+        }
+
+        void close() throws IOException {
+            serverSocket.close();
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread session = new Thread(() -> serve(socket), "FakeSmtpSession");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                reply(out, "220 localhost");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("RCPT") && command.contains("REJECTED@EXAMPLE.COM")) {
+                        reply(out, "550 Mailbox unavailable");
+                    } else if (command.equals("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // message content is not inspected
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK");
+                    } else if (command.equals("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else {
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // connection closed by the client
+            }
+        }
+
+        private static void reply(PrintWriter out, String response) {
+            out.print(response + "\r\n");
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.mailverification;
+
+import com.example.backend.mailVerification.EmailOutbox;
+import com.example.backend.mailVerification.EmailOutboxRepository;
+import com.example.backend.mailVerification.EmailOutboxStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxRepositoryTest {
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void claim_ShouldHandEachDueEmailToOneDispatcherUntilTheLeaseRunsOut() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Long id = emailOutboxRepository.save(email(now)).getEmailOutboxid();
+        List<Long> dueIds = emailOutboxRepository.findDueIds(EmailOutboxStatus.PENDING, now, PageRequest.of(0, 10));
+        assertThat(dueIds).containsExactly(id);
+
+        assertThat(emailOutboxRepository.claim(dueIds, EmailOutboxStatus.PENDING, now, now.plusMinutes(5), "first")).isEqualTo(1);
+        assertThat(emailOutboxRepository.claim(dueIds, EmailOutboxStatus.PENDING, now, now.plusMinutes(5), "second")).isZero();
+
+        assertThat(emailOutboxRepository.findByClaimTokenOrderByEmailOutboxidAsc("first"))
+                .extracting(EmailOutbox::getEmailOutboxid).containsExactly(id);
+        assertThat(emailOutboxRepository.findByClaimTokenOrderByEmailOutboxidAsc("second")).isEmpty();
+        assertThat(emailOutboxRepository.findDueIds(EmailOutboxStatus.PENDING, now.plusMinutes(1), PageRequest.of(0, 10))).isEmpty();
+
+        LocalDateTime expired = now.plusMinutes(6);
+        assertThat(emailOutboxRepository.claim(dueIds, EmailOutboxStatus.PENDING, expired, expired.plusMinutes(5), "second")).isEqualTo(1);
+    }
+
+    private static EmailOutbox email(LocalDateTime now) {
+        return EmailOutbox.builder()
+                .recipient("user@example.com")
+                .fromAddress("no-reply@royalcoin.com")
+                .fromName("Royal Coin")
+                .subject("Subject")
+                .textBody("Text")
+                .htmlBody("<p>Html</p>")
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.backend.mailverification;
+
+import com.example.backend.alert.global.GlobalAlert;
+import com.example.backend.mailVerification.EmailTemplate;
+import com.example.backend.mailVerification.EmailTemplates;
+import com.example.backend.mailVerification.GlobalAlertEmailTemplate;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the pre-parsed templates with the concatenation the emails were built with before. Both produce the same
+ * bodies, which is asserted; the timings are only logged, since they depend on the machine.
+ * <p>
+ * Left out of the default build; run it with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class EmailTemplateBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateBenchmarkTest.class);
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final String URL = "http://localhost:8080/verify?token=0f8fad5b-d9cb-469f-a165-70867728950e";
+    private static final String MESSAGE = "System maintenance scheduled at midnight.\nTrading will be paused for one hour.";
+
+    @Test
+    void verificationEmail_ShouldMatchConcatenation() {
+        IntFunction<String> concatenated = i -> concatenatedVerificationHtml("User" + i, URL);
+        IntFunction<String> templated = i -> EmailTemplates.VERIFICATION_HTML.render(
+                EmailTemplate.values("firstname", "User" + i, "url", URL));
+
+        assertThat(templated.apply(1)).isEqualTo(concatenated.apply(1));
+        logger.info("Verification email: concatenation {} ns/op, template {} ns/op",
+                measure(concatenated), measure(templated));
+    }
+
+    @Test
+    void globalAlertFanout_ShouldMatchConcatenation() {
+        GlobalAlert globalAlert = GlobalAlert.builder()
+                .message(MESSAGE)
+                .scheduledFor(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .createdAt(LocalDateTime.now())
+                .active(true)
+                .build();
+        GlobalAlertEmailTemplate template = GlobalAlertEmailTemplate.render(globalAlert);
+        IntFunction<String> concatenated = i -> concatenatedGlobalAlertHtml("User" + i, MESSAGE, "2024-01-01 00:00");
+        IntFunction<String> templated = i -> template.html("User" + i);
+
+        assertThat(templated.apply(1)).isEqualTo(concatenated.apply(1));
+        logger.info("Global alert email per recipient: concatenation {} ns/op, bound template {} ns/op",
+                measure(concatenated), measure(templated));
+    }
+
+    private static long measure(IntFunction<String> render) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += render.apply(i).length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += render.apply(i).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isPositive();
+        return elapsed / ITERATIONS;
+    }
+
+    private static String concatenatedVerificationHtml(String firstname, String verificationUrl) {
+        return "<html>" +
+                "<body style='font-family: Arial, sans-serif;'>" +
+                "<p>Hello " + firstname + ",</p>" +
+                "<p>Thank you for registering at <strong>Royal Coin</strong>!</p>" +
+                "<p>To activate your account, please click the button below:</p>" +
+                "<p style='text-align: center;'>" +
+                "<a href='" + verificationUrl + "' style='background-color: #4CAF50; color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px;'>Activate Account</a>" +
+                "</p>" +
+                "<p>If the button above does not work, copy and paste the following link into your browser:</p>" +
+                "<p><a href='" + verificationUrl + "'>" + verificationUrl + "</a></p>" +
+                "<p>If you did not register at our application, please ignore this email.</p>" +
+                "<br>" +
+                "<p>Best regards,<br>Royal Coin Team</p>" +
+                "<hr>" +
+                "<p style='font-size: small;'>If you have any questions, feel free to contact us at RoyalCoinSupport@gmail.com.</p>" +
+                "</body>" +
+                "</html>";
+    }
+
+    private static String concatenatedGlobalAlertHtml(String firstname, String message, String scheduledDate) {
+        return "<html>" +
+                "<body style='font-family: Arial, sans-serif;'>" +
+                "<p>Hello " + firstname + ",</p>" +
+                "<p>" + message.replace("\n", "<br>") + "</p>" +
+                "<p>This notification is scheduled for: <strong>" + scheduledDate + "</strong>.</p>" +
+                "<br>" +
+                "<p>Best regards,<br>Royal Coin Team</p>" +
+                "<hr>" +
+                "<p style='font-size: small;'>If you have any questions, feel free to contact us at <a href='mailto:RoyalCoinSupport@gmail.com'>RoyalCoinSupport@gmail.com</a>.</p>" +
+                "</body>" +
+                "</html>";
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.backend.mailverification;
+
+import com.example.backend.mailVerification.EmailTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmailTemplateTest {
+
+    @Test
+    void render_ShouldSubstituteEveryPlaceholder() {
+        EmailTemplate template = EmailTemplate.parse("<p>Hello {{firstname}},</p><a href='{{url}}'>{{url}}</a>");
+
+        String rendered = template.render(Map.of("firstname", "John", "url", "http://localhost/verify"));
+
+        assertThat(rendered).isEqualTo("<p>Hello John,</p><a href='http://localhost/verify'>http://localhost/verify</a>");
+    }
+
+    @Test
+    void render_ShouldRenderNullValuesLikeConcatenation() {
+        EmailTemplate template = EmailTemplate.parse("Hello {{firstname}}");
+
+        assertThat(template.render(EmailTemplate.values("firstname", null))).isEqualTo("Hello null");
+    }
+
+    @Test
+    void render_ShouldThrow_WhenPlaceholderHasNoValue() {
+        EmailTemplate template = EmailTemplate.parse("Hello {{firstname}}");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+    }
+
+    @Test
+    void parse_ShouldThrow_WhenPlaceholderIsNotClosed() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.parse("Hello {{firstname"));
+    }
+
+    @Test
+    void bind_ShouldKeepUnboundPlaceholders() {
+        EmailTemplate template = EmailTemplate.parse("Hello {{firstname}}, {{message}} ({{date}})");
+
+        EmailTemplate bound = template.bind(Map.of("message", "Maintenance tonight", "date", "immediately"));
+
+        assertThat(bound.render(Map.of("firstname", "Anna"))).isEqualTo("Hello Anna, Maintenance tonight (immediately)");
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.backend.mailverification;
 
+import com.example.backend.mailVerification.EmailOutboxRepository;
 import com.example.backend.mailVerification.VerificationMailController;
 import com.example.backend.mailVerification.VerificationService;
 import com.example.backend.userEvent.UserEventTrackingService;
@@ -49,6 +50,9 @@ public class VerificationMailControllerTest {
 
     @MockBean
     private JavaMailSender mailSender;
+
+    @MockBean
+    private EmailOutboxRepository emailOutboxRepository;
     @Test
     public void verifyAccount_InvalidToken_ShouldReturnBadRequest() throws Exception {
         when(userRepository.findByVerificationToken("invalidToken")).thenReturn(Optional.empty());
@@ -1,5 +1,6 @@
 package com.example.backend.portfolio;
 
+import com.example.backend.currency.LivePriceBook;
 import com.example.backend.auth.AuthenticationService;
 import com.example.backend.exceptions.PortfolioAlreadyExistsException;
 import com.example.backend.exceptions.PortfolioNotFoundException;
@@ -23,6 +24,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(SpringExtension.class)
 class PortfolioServiceTest {
 
+    @Mock
+    private LivePriceBook livePriceBook;
+
     @Mock
     private PortfolioRepository portfolioRepository;
 
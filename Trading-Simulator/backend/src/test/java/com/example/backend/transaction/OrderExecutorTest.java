@@ -0,0 +1,110 @@
+package com.example.backend.transaction;
+
+import com.example.backend.exceptions.InsufficientFundsException;
+import com.example.backend.exceptions.OrderRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderExecutorTest {
+
+    private final OrderExecutor orderExecutor = new OrderExecutor(4, 100);
+
+    @AfterEach
+    void tearDown() {
+        orderExecutor.shutdown();
+    }
+
+    @Test
+    void execute_ShouldRunOrdersOfOneUserOneAtATime() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> callers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int order = i;
+            callers.add(CompletableFuture.runAsync(() -> orderExecutor.execute(7, () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                executed.add(order);
+                running.decrementAndGet();
+            })));
+        }
+        CompletableFuture.allOf(callers.toArray(new CompletableFuture[0])).join();
+
+        assertThat(overlapped).isFalse();
+        assertThat(executed).hasSize(50);
+    }
+
+    @Test
+    void execute_ShouldRunOrdersOfUsersOnDifferentShardsInParallel() throws Exception {
+        CountDownLatch secondUserRan = new CountDownLatch(1);
+        assertThat(orderExecutor.shardOf(1)).isNotEqualTo(orderExecutor.shardOf(2));
+
+        CompletableFuture<Boolean> firstUser = CompletableFuture.supplyAsync(() ->
+                orderExecutor.execute(1, () -> secondUserRan.await(5, TimeUnit.SECONDS)));
+        orderExecutor.execute(2, secondUserRan::countDown);
+
+        assertThat(firstUser.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void execute_ShouldReturnResultAndRethrowOrderExceptions() {
+        assertThat(orderExecutor.execute(3, () -> 42)).isEqualTo(42);
+        InsufficientFundsException thrown = assertThrows(InsufficientFundsException.class,
+                () -> orderExecutor.execute(3, () -> {
+                    throw new InsufficientFundsException("Insufficient balance");
+                }));
+        assertThat(thrown.getMessage()).isEqualTo("Insufficient balance");
+    }
+
+    @Test
+    void execute_ShouldRunNestedOrderOfSameShardDirectly() {
+        String result = orderExecutor.execute(5, () -> orderExecutor.execute(9, () -> "nested"));
+
+        assertThat(orderExecutor.shardOf(5)).isEqualTo(orderExecutor.shardOf(9));
+        assertThat(result).isEqualTo("nested");
+    }
+
+    @Test
+    void execute_ShouldReject_WhenQueueOfShardIsFull() throws Exception {
+        OrderExecutor small = new OrderExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            CompletableFuture<Void> running = CompletableFuture.runAsync(() -> small.execute(1, () -> {
+                started.countDown();
+                release.await();
+                return null;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> small.execute(1, () -> {
+            }));
+            while (small.pendingOrders(1) == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(OrderRejectedException.class, () -> small.execute(1, () -> {
+            }));
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            small.shutdown();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.backend.transaction.transactionService;
+
+import com.example.backend.currency.Currency;
+import com.example.backend.currency.CurrencyRepository;
+import com.example.backend.currency.LivePriceBook;
+import com.example.backend.portfolio.Portfolio;
+import com.example.backend.portfolio.PortfolioAsset;
+import com.example.backend.portfolio.PortfolioAssetRepository;
+import com.example.backend.portfolio.PortfolioRepository;
+import com.example.backend.transaction.TransactionOperationService;
+import com.example.backend.transaction.TransactionRepository;
+import com.example.backend.user.Role;
+import com.example.backend.user.User;
+import com.example.backend.user.UserLock;
+import com.example.backend.user.UserRepository;
+import com.example.backend.userEvent.UserEventTrackingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Runs trades against the database outside of a test transaction, so every order commits like in production. Each
+ * test starts with John Doe holding 1000 USD, his empty "Main" portfolio and BTC priced at 100.
+ */
+@DataJpaTest
+@Import({TransactionOperationService.class, UserLock.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public abstract class BaseTradeTest {
+
+    protected static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000");
+    protected static final BigDecimal PRICE = new BigDecimal("100");
+
+    @Autowired
+    protected TransactionOperationService transactionOperationService;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected PortfolioRepository portfolioRepository;
+
+    @Autowired
+    protected PortfolioAssetRepository portfolioAssetRepository;
+
+    @Autowired
+    protected CurrencyRepository currencyRepository;
+
+    @Autowired
+    protected TransactionRepository transactionRepository;
+
+    @MockBean
+    protected UserEventTrackingService userEventTrackingService;
+
+    @MockBean
+    protected LivePriceBook livePriceBook;
+
+    protected User user;
+    protected Portfolio portfolio;
+    protected Currency btc;
+
+    @BeforeEach
+    void setUpTrader() {
+        LocalDateTime now = LocalDateTime.now();
+        user = userRepository.save(User.builder()
+                .firstname("John")
+                .lastname("Doe")
+                .email("john@example.com")
+                .password("password")
+                .verified(true)
+                .role(Role.ROLE_USER)
+                .createdAt(now)
+                .updatedAt(now)
+                .balance(INITIAL_BALANCE)
+                .build());
+        portfolio = portfolioRepository.save(Portfolio.builder()
+                .user(user)
+                .name("Main")
+                .createdAt(now)
+                .updatedAt(now)
+                .portfolioAssets(new ArrayList<>())
+                .build());
+        btc = currencyRepository.save(currency("BTC", "Bitcoin", PRICE));
+    }
+
+    @AfterEach
+    void tearDownTrades() {
+        transactionRepository.deleteAll();
+        portfolioAssetRepository.deleteAll();
+        portfolioRepository.deleteAll();
+        currencyRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    protected BigDecimal holding(Currency currency) {
+        return portfolioAssetRepository.findByPortfolioAndCurrency(portfolio, currency)
+                .map(PortfolioAsset::getAmount)
+                .orElseThrow();
+    }
+
+    protected static Currency currency(String symbol, String name, BigDecimal price) {
+        Currency currency = new Currency();
+        currency.setSymbol(symbol);
+        currency.setName(name);
+        currency.setCurrentPrice(price);
+        return currency;
+    }
+}
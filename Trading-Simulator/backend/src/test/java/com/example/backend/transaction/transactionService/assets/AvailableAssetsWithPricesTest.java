@@ -1,5 +1,6 @@
 package com.example.backend.transaction.transactionService.assets;
 
+import com.example.backend.currency.LivePriceBook;
 import com.example.backend.currency.Currency;
 import com.example.backend.currency.CurrencyRepository;
 import com.example.backend.currency.CurrencyService;
@@ -27,6 +28,9 @@ public class AvailableAssetsWithPricesTest {
     @InjectMocks
     private CurrencyService currencyService;
 
+    @Mock
+    private LivePriceBook livePriceBook;
+
     @Mock
     private CurrencyRepository currencyRepository;
 
@@ -0,0 +1,116 @@
+package com.example.backend.transaction.transactionService.bulk;
+
+import com.example.backend.currency.Currency;
+import com.example.backend.transaction.BulkOrderItem;
+import com.example.backend.transaction.BulkOrderResponse;
+import com.example.backend.transaction.BulkOrderResult;
+import com.example.backend.transaction.BulkOrderStatus;
+import com.example.backend.transaction.BulkOrderType;
+import com.example.backend.transaction.transactionService.BaseTradeTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BulkOrderTest extends BaseTradeTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Currency eth;
+
+    @BeforeEach
+    void setUp() {
+        eth = currencyRepository.save(currency("ETH", "Ethereum", new BigDecimal("10")));
+    }
+
+    @Test
+    void bestEffort_ShouldExecuteValidOrdersAndReportFailedOnes() {
+        List<BulkOrderItem> orders = List.of(
+                order(BulkOrderType.BUY, btc.getCurrencyid(), "200", null),
+                order(BulkOrderType.BUY, eth.getCurrencyid(), null, "10"),
+                order(BulkOrderType.SELL, btc.getCurrencyid(), null, "5"),
+                order(BulkOrderType.SELL, eth.getCurrencyid(), "50", null),
+                order(BulkOrderType.BUY, -1, "10", null));
+
+        BulkOrderResponse response = transactionOperationService.executeBulkOrders(
+                portfolio.getPortfolioid(), orders, false, user);
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getExecutedCount()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BulkOrderResult::getStatus).containsExactly(
+                BulkOrderStatus.EXECUTED, BulkOrderStatus.EXECUTED, BulkOrderStatus.FAILED,
+                BulkOrderStatus.EXECUTED, BulkOrderStatus.FAILED);
+        assertThat(response.getResults().get(2).getMessage()).isEqualTo("Insufficient amount of currency to sell");
+        assertThat(response.getResults().get(4).getMessage()).isEqualTo("Currency not found");
+        assertThat(response.getResults().get(0).getTransactionid()).isNotNull();
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getBalance()).isEqualByComparingTo("750");
+        assertThat(transactionRepository.count()).isEqualTo(3);
+        assertThat(holding(btc)).isEqualByComparingTo("2");
+        assertThat(holding(eth)).isEqualByComparingTo("5");
+    }
+
+    @Test
+    void allOrNothing_ShouldRollBackAllOrders_WhenOneFails() {
+        List<BulkOrderItem> orders = List.of(
+                order(BulkOrderType.BUY, btc.getCurrencyid(), "600", null),
+                order(BulkOrderType.BUY, eth.getCurrencyid(), "600", null),
+                order(BulkOrderType.BUY, eth.getCurrencyid(), "100", null));
+
+        BulkOrderResponse response = transactionOperationService.executeBulkOrders(
+                portfolio.getPortfolioid(), orders, true, user);
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getExecutedCount()).isZero();
+        assertThat(response.getResults()).extracting(BulkOrderResult::getStatus).containsExactly(
+                BulkOrderStatus.ROLLED_BACK, BulkOrderStatus.FAILED, BulkOrderStatus.SKIPPED);
+        assertThat(response.getResults().get(1).getMessage()).isEqualTo("Insufficient balance");
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getBalance()).isEqualByComparingTo("1000");
+        assertThat(transactionRepository.count()).isZero();
+        assertThat(portfolioAssetRepository.count()).isZero();
+    }
+
+    @Test
+    void bulkOrders_ShouldLoadPortfolioHoldingsAndCurrenciesOnce() {
+        transactionOperationService.executeBulkOrders(portfolio.getPortfolioid(),
+                List.of(order(BulkOrderType.BUY, btc.getCurrencyid(), "100", null)), true, user);
+        List<BulkOrderItem> orders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            orders.add(order(BulkOrderType.BUY, btc.getCurrencyid(), "10", null));
+            orders.add(order(BulkOrderType.SELL, btc.getCurrencyid(), null, "0.05"));
+            orders.add(order(BulkOrderType.BUY, eth.getCurrencyid(), null, "1"));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkOrderResponse response = transactionOperationService.executeBulkOrders(
+                portfolio.getPortfolioid(), orders, true, user);
+
+        assertThat(response.getExecutedCount()).isEqualTo(30);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(3);
+        assertThat(statistics.getFlushCount()).isEqualTo(1);
+        assertThat(holding(btc)).isEqualByComparingTo("1.5");
+        assertThat(holding(eth)).isEqualByComparingTo("10");
+    }
+
+    private static BulkOrderItem order(BulkOrderType type, Integer currencyid, String amountInUSD, String amountOfCurrency) {
+        BulkOrderItem order = new BulkOrderItem();
+        order.setType(type);
+        order.setCurrencyid(currencyid);
+        order.setAmountInUSD(amountInUSD == null ? null : new BigDecimal(amountInUSD));
+        order.setAmountOfCurrency(amountOfCurrency == null ? null : new BigDecimal(amountOfCurrency));
+        return order;
+    }
+}
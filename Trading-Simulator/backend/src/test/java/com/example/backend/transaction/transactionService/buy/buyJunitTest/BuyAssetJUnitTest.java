@@ -1,5 +1,6 @@
 package com.example.backend.transaction.transactionService.buy.buyJunitTest;
 
+import com.example.backend.currency.LivePriceBook;
 import com.example.backend.auth.AuthenticationService;
 import com.example.backend.currency.Currency;
 import com.example.backend.currency.CurrencyRepository;
@@ -12,7 +13,10 @@ import com.example.backend.transaction.Transaction;
 import com.example.backend.transaction.TransactionOperationService;
 import com.example.backend.transaction.TransactionRepository;
 import com.example.backend.user.User;
+import com.example.backend.user.UserLock;
 import com.example.backend.user.UserRepository;
+import com.example.backend.userEvent.UserEventTrackingService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -34,6 +38,9 @@ public class BuyAssetJUnitTest {
     @InjectMocks
     private TransactionOperationService transactionOperationService;
 
+    @Mock
+    private LivePriceBook livePriceBook;
+
     @Mock
     private PortfolioRepository portfolioRepository;
 
@@ -52,6 +59,17 @@ public class BuyAssetJUnitTest {
     @Mock
     private AuthenticationService authenticationService;
 
+    @Mock
+    private UserLock userLock;
+
+    @Mock
+    private UserEventTrackingService userEventTrackingService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userLock.lock(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
     @Test
     public void testBuyAsset_SuccessfulPurchase() {
         String email = "user@example.com";
@@ -74,7 +92,6 @@ public class BuyAssetJUnitTest {
         BigDecimal amountInUSD = BigDecimal.valueOf(500).setScale(8, RoundingMode.HALF_UP);
         BigDecimal amountOfCurrency = null;
 
-        when(userRepository.save(any(User.class))).thenReturn(currentUser);
         when(portfolioAssetRepository.findByPortfolioAndCurrency(portfolio, currency)).thenReturn(Optional.empty());
 
         assertDoesNotThrow(() -> transactionOperationService.buyAsset(1, "BTC", amountInUSD, amountOfCurrency, currentUser));
@@ -102,7 +119,7 @@ public class BuyAssetJUnitTest {
         assertEquals(portfolio, savedTransaction.getPortfolio());
         assertEquals(currency, savedTransaction.getCurrency());
 
-        verify(userRepository).save(any(User.class));
+        verify(userRepository, never()).save(any(User.class));
         verify(portfolioAssetRepository).findByPortfolioAndCurrency(portfolio, currency);
     }
 
@@ -329,7 +346,7 @@ public class BuyAssetJUnitTest {
     }
 
     @Test
-    public void testBuyAsset_UserRepositoryThrowsException() {
+    public void testBuyAsset_TransactionRepositoryThrowsException() {
         String email = "user@example.com";
 
         User currentUser = new User();
@@ -350,7 +367,7 @@ public class BuyAssetJUnitTest {
         BigDecimal amountInUSD = BigDecimal.valueOf(500).setScale(8, RoundingMode.HALF_UP);
         BigDecimal amountOfCurrency = null;
 
-        when(userRepository.save(any(User.class))).thenThrow(new RuntimeException("Database write error"));
+        when(transactionRepository.save(any(Transaction.class))).thenThrow(new RuntimeException("Database write error"));
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
             transactionOperationService.buyAsset(1, "BTC", amountInUSD, amountOfCurrency, currentUser);
@@ -391,8 +408,6 @@ public class BuyAssetJUnitTest {
         BigDecimal amountOfCurrency = new BigDecimal("999999.99999999").setScale(8, RoundingMode.HALF_UP);
         BigDecimal priceInUSD = null;
 
-        when(userRepository.save(any(User.class))).thenReturn(currentUser);
-        when(portfolioAssetRepository.save(any(PortfolioAsset.class))).thenReturn(portfolioAsset);
 
         BigDecimal originalBalance = currentUser.getBalance().setScale(8, RoundingMode.HALF_UP);
 
@@ -429,7 +444,6 @@ public class BuyAssetJUnitTest {
         BigDecimal amountInUSD = new BigDecimal("999999999999.99").setScale(8, RoundingMode.HALF_UP);
         BigDecimal amountOfCurrency = null;
 
-        when(userRepository.save(any(User.class))).thenReturn(currentUser);
         when(portfolioAssetRepository.findByPortfolioAndCurrency(portfolio, currency))
                 .thenReturn(Optional.empty());
 
@@ -473,7 +487,6 @@ public class BuyAssetJUnitTest {
         BigDecimal amountInUSD = BigDecimal.ONE.setScale(8, RoundingMode.HALF_UP);
         BigDecimal amountOfCurrency = null;
 
-        when(userRepository.save(any(User.class))).thenReturn(currentUser);
         when(portfolioAssetRepository.findByPortfolioAndCurrency(portfolio, currency))
                 .thenReturn(Optional.empty());
 
@@ -486,7 +499,7 @@ public class BuyAssetJUnitTest {
 
         assertEquals(0, expectedBalance.compareTo(actualBalance));
 
-        verify(userRepository).save(any(User.class));
+        verify(userRepository, never()).save(any(User.class));
         verify(portfolioAssetRepository).findByPortfolioAndCurrency(portfolio, currency);
     }
 
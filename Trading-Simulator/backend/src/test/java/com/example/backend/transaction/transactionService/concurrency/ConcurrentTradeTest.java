@@ -0,0 +1,81 @@
+package com.example.backend.transaction.transactionService.concurrency;
+
+import com.example.backend.exceptions.AssetNotOwnedException;
+import com.example.backend.exceptions.InsufficientAssetAmountException;
+import com.example.backend.exceptions.InsufficientFundsException;
+import com.example.backend.portfolio.PortfolioAsset;
+import com.example.backend.transaction.transactionService.BaseTradeTest;
+import com.example.backend.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs parallel buys and sells of one user against the database and checks that no update of the balance or the
+ * holding is lost: both must match the number of trades that succeeded.
+ */
+class ConcurrentTradeTest extends BaseTradeTest {
+
+    private static final int THREADS = 8;
+    private static final int TRADES_PER_THREAD = 20;
+    private static final BigDecimal TRADE_USD = new BigDecimal("10");
+    private static final BigDecimal TRADE_AMOUNT = new BigDecimal("0.1");
+
+    @Test
+    void parallelBuysAndSells_ShouldConserveBalanceAndHoldings() throws Exception {
+        AtomicInteger buys = new AtomicInteger();
+        AtomicInteger sells = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int trade = 0; trade < TRADES_PER_THREAD; trade++) {
+                    try {
+                        if (trade % 2 == 0) {
+                            transactionOperationService.buyAsset(portfolio.getPortfolioid(), "BTC", TRADE_USD, null, user);
+                            buys.incrementAndGet();
+                        } else {
+                            transactionOperationService.sellAsset(portfolio.getPortfolioid(), btc.getCurrencyid(), TRADE_AMOUNT, null, user);
+                            sells.incrementAndGet();
+                        }
+                    } catch (InsufficientFundsException | AssetNotOwnedException | InsufficientAssetAmountException e) {
+                        // rejected against the current state, which is what the lock guarantees
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int netBuys = buys.get() - sells.get();
+        User finalUser = userRepository.findById(user.getId()).orElseThrow();
+        PortfolioAsset asset = portfolioAssetRepository.findAll().get(0);
+
+        assertThat(buys.get()).isPositive();
+        assertThat(sells.get()).isPositive();
+        assertThat(portfolioAssetRepository.count()).isEqualTo(1);
+        assertThat(transactionRepository.count()).isEqualTo(buys.get() + sells.get());
+        assertThat(finalUser.getBalance())
+                .isEqualByComparingTo(INITIAL_BALANCE.subtract(TRADE_USD.multiply(BigDecimal.valueOf(netBuys))));
+        assertThat(asset.getAmount())
+                .isEqualByComparingTo(TRADE_AMOUNT.multiply(BigDecimal.valueOf(netBuys)));
+        assertThat(finalUser.getBalance().add(asset.getAmount().multiply(PRICE)))
+                .isEqualByComparingTo(INITIAL_BALANCE);
+    }
+}
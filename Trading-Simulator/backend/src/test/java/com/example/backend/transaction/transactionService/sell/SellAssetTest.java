@@ -1,5 +1,6 @@
 package com.example.backend.transaction.transactionService.sell;
 
+import com.example.backend.currency.LivePriceBook;
 import com.example.backend.auth.AuthenticationService;
 import com.example.backend.currency.Currency;
 import com.example.backend.currency.CurrencyRepository;
@@ -12,7 +13,9 @@ import com.example.backend.transaction.Transaction;
 import com.example.backend.transaction.TransactionOperationService;
 import com.example.backend.transaction.TransactionRepository;
 import com.example.backend.user.User;
+import com.example.backend.user.UserLock;
 import com.example.backend.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -33,6 +36,9 @@ public class SellAssetTest {
     @InjectMocks
     private TransactionOperationService transactionOperationService;
 
+    @Mock
+    private LivePriceBook livePriceBook;
+
     @Mock
     private PortfolioRepository portfolioRepository;
 
@@ -51,6 +57,14 @@ public class SellAssetTest {
     @Mock
     private AuthenticationService authenticationService;
 
+    @Mock
+    private UserLock userLock;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userLock.lock(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
     @Test
     public void testSellAsset_SuccessfulSale() {
         String email = "user@example.com";
@@ -81,8 +95,6 @@ public class SellAssetTest {
         BigDecimal amountOfCurrency = new BigDecimal("0.50000000").setScale(8, RoundingMode.HALF_UP);
         BigDecimal priceInUSD = null;
 
-        when(portfolioAssetRepository.save(any(PortfolioAsset.class))).thenReturn(portfolioAsset);
-
         BigDecimal originalBalance = currentUser.getBalance().setScale(8, RoundingMode.HALF_UP);
 
         assertDoesNotThrow(() -> transactionOperationService.sellAsset(1, 1, amountOfCurrency, priceInUSD, currentUser));
@@ -97,11 +109,7 @@ public class SellAssetTest {
         BigDecimal actualNewAmount = portfolioAsset.getAmount().setScale(8, RoundingMode.HALF_UP);
         assertEquals(0, expectedNewAmount.compareTo(actualNewAmount));
 
-        ArgumentCaptor<PortfolioAsset> portfolioAssetCaptor = ArgumentCaptor.forClass(PortfolioAsset.class);
-        verify(portfolioAssetRepository).save(portfolioAssetCaptor.capture());
-        PortfolioAsset savedPortfolioAsset = portfolioAssetCaptor.getValue();
-
-        assertEquals(expectedNewAmount, savedPortfolioAsset.getAmount());
+        verify(portfolioAssetRepository, never()).save(any(PortfolioAsset.class));
 
         ArgumentCaptor<Transaction> transactionCaptor = ArgumentCaptor.forClass(Transaction.class);
         verify(transactionRepository).save(transactionCaptor.capture());
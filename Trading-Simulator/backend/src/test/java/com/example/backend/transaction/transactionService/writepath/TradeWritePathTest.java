@@ -0,0 +1,82 @@
+package com.example.backend.transaction.transactionService.writepath;
+
+import com.example.backend.portfolio.PortfolioAsset;
+import com.example.backend.transaction.transactionService.BaseTradeTest;
+import com.example.backend.userEvent.UserEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that an order writes nothing until its transaction commits and then flushes all of its changes at once:
+ * the changed user, portfolio and holding through dirty checking and the new rows with ids taken from the pooled
+ * sequences, while the trade event is left for after the commit.
+ */
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"
+})
+class TradeWritePathTest extends BaseTradeTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void firstBuy_ShouldInsertHoldingAndTransactionInOneFlush() {
+        statistics.clear();
+
+        transactionOperationService.buyAsset(portfolio.getPortfolioid(), "BTC", new BigDecimal("10"), null, user);
+
+        assertThat(statistics.getFlushCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("990");
+        verify(userEventTrackingService).logEventAfterCommit(eq("john@example.com"), eq(UserEvent.EventType.BUY_CRYPTO), anyMap());
+    }
+
+    @Test
+    void buyAndSellOfHeldCurrency_ShouldUpdateThroughDirtyCheckingInOneFlush() {
+        transactionOperationService.buyAsset(portfolio.getPortfolioid(), "BTC", new BigDecimal("10"), null, user);
+
+        statistics.clear();
+        transactionOperationService.buyAsset(portfolio.getPortfolioid(), "BTC", new BigDecimal("10"), null, user);
+
+        assertThat(statistics.getFlushCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(3);
+
+        statistics.clear();
+        transactionOperationService.sellAsset(portfolio.getPortfolioid(), btc.getCurrencyid(), new BigDecimal("0.05"), null, user);
+
+        assertThat(statistics.getFlushCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+
+        PortfolioAsset asset = portfolioAssetRepository.findAll().get(0);
+        assertThat(asset.getAmount()).isEqualByComparingTo("0.15");
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("985");
+        assertThat(transactionRepository.count()).isEqualTo(3);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.backend.user;
 import com.example.backend.auth.AuthenticationService;
 import com.example.backend.exceptions.InvalidAmountException;
 import com.example.backend.exceptions.UserNotAuthenticatedException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,6 +27,14 @@ class UserServiceTest {
     @InjectMocks
     private UserService userService;
 
+    @Mock
+    private UserLock userLock;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userLock.lock(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
     @Test
     void addFunds_ShouldAddFunds_WhenAmountIsValid() {
         BigDecimal amount = BigDecimal.valueOf(100);
@@ -0,0 +1,162 @@
+package com.example.backend.userEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DailyTransactionCounterTest {
+
+    private static final Instant BEFORE_MIDNIGHT = Instant.parse("2024-03-01T23:59:59Z");
+    private static final Instant AFTER_MIDNIGHT = Instant.parse("2024-03-02T00:00:01Z");
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private Clock clock;
+
+    private DailyTransactionCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(BEFORE_MIDNIGHT);
+        counter = new DailyTransactionCounter(redisTemplate, clock, 2);
+    }
+
+    @Test
+    void flush_ShouldAddLocalCountsToTheDayKeyInOneIncrement() throws InterruptedException {
+        when(valueOperations.increment("COUNTER:TRANSACTIONS:2024-03-01", 1000L)).thenReturn(1005L);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(counter::increment);
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(counter.getTodayCount()).isEqualTo(1000);
+
+        counter.flush();
+
+        verify(redisTemplate).expire("COUNTER:TRANSACTIONS:2024-03-01", Duration.ofDays(2));
+        verify(valueOperations, never()).get(anyString());
+        assertThat(counter.getTodayCount()).isEqualTo(1005);
+    }
+
+    @Test
+    void flush_ShouldNotLoseIncrementsMadeWhileFlushing() throws Exception {
+        // A fixed clock, so the mocked one does not record every increment
+        DailyTransactionCounter fixedClockCounter = new DailyTransactionCounter(redisTemplate,
+                Clock.fixed(BEFORE_MIDNIGHT, ZoneOffset.UTC), 2);
+        AtomicLong redisTotal = new AtomicLong();
+        when(valueOperations.increment(anyString(), anyLong()))
+                .thenAnswer(invocation -> redisTotal.addAndGet(invocation.getArgument(1)));
+        int threads = 4;
+        int incrementsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean incrementing = new AtomicBoolean(true);
+        Future<?> flusher = executor.submit(() -> {
+            while (incrementing.get()) {
+                fixedClockCounter.flush();
+                LockSupport.parkNanos(100_000);
+            }
+        });
+        Future<?>[] incrementers = new Future<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            incrementers[t] = executor.submit(() -> {
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    fixedClockCounter.increment();
+                }
+            });
+        }
+        for (Future<?> incrementer : incrementers) {
+            incrementer.get(30, TimeUnit.SECONDS);
+        }
+        incrementing.set(false);
+        flusher.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        fixedClockCounter.flush();
+
+        assertThat(redisTotal.get()).isEqualTo((long) threads * incrementsPerThread);
+        assertThat(fixedClockCounter.getTodayCount()).isEqualTo((long) threads * incrementsPerThread);
+    }
+
+    @Test
+    void flush_ShouldPickUpCountOfOtherInstances_WhenNothingToAdd() {
+        when(valueOperations.get("COUNTER:TRANSACTIONS:2024-03-01")).thenReturn("42");
+
+        assertThat(counter.getTodayCount()).isZero();
+        counter.flush();
+
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+        assertThat(counter.getTodayCount()).isEqualTo(42);
+    }
+
+    @Test
+    void flush_ShouldKeepCount_WhenRedisIsUnavailable() {
+        when(valueOperations.increment(anyString(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(3L);
+        counter.increment();
+        counter.increment();
+
+        counter.flush();
+        assertThat(counter.getTodayCount()).isEqualTo(2);
+
+        counter.increment();
+        counter.flush();
+
+        verify(valueOperations).increment("COUNTER:TRANSACTIONS:2024-03-01", 3L);
+        assertThat(counter.getTodayCount()).isEqualTo(3);
+    }
+
+    @Test
+    void countsBeforeMidnight_ShouldGoToTheirOwnDay() {
+        when(valueOperations.increment("COUNTER:TRANSACTIONS:2024-03-01", 2L)).thenReturn(2L);
+        when(valueOperations.increment("COUNTER:TRANSACTIONS:2024-03-02", 1L)).thenReturn(1L);
+        counter.increment();
+        counter.increment();
+
+        when(clock.instant()).thenReturn(AFTER_MIDNIGHT);
+        assertThat(counter.getTodayCount()).isZero();
+        counter.increment();
+        counter.flush();
+
+        verify(valueOperations).increment("COUNTER:TRANSACTIONS:2024-03-01", 2L);
+        verify(valueOperations).increment("COUNTER:TRANSACTIONS:2024-03-02", 1L);
+        assertThat(counter.getTodayCount()).isEqualTo(1);
+    }
+}